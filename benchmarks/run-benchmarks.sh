@@ -0,0 +1,19 @@
+#!/bin/bash
+
+# Build the benchmarked services as plain jars and run the JMH suites
+# Usage: ./run-benchmarks.sh [extra maven arguments, e.g. -Djmh.include=Signature]
+
+set -e
+
+cd "$(dirname "$0")"
+
+# The services are packaged as Spring Boot jars, install their plain classes for the benchmark module
+for service in evaluation-service scenario-library-service message-queue-service webhook-management-service; do
+  echo "📦 Installing $service..."
+  mvn -B -q -f "../$service/pom.xml" install -DskipTests -Dspring-boot.repackage.skip=true
+done
+
+echo "⏱️  Running benchmarks..."
+mvn -B -Pbenchmark verify "$@"
+
+echo "✅ Results written to target/jmh-result.json"
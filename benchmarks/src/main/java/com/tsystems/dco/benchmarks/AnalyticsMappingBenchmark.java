@@ -0,0 +1,167 @@
+/*
+ *   ========================================================================
+ *  SDV Developer Console
+ *
+ *   Copyright (C) 2022 - 2023 T-Systems International GmbH
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *   SPDX-License-Identifier: Apache-2.0
+ *
+ *   ========================================================================
+ */
+
+package com.tsystems.dco.benchmarks;
+
+import com.tsystems.dco.simulation.dto.AnalyticsDashboardDTO;
+import com.tsystems.dco.simulation.service.AnalyticsService;
+import com.tsystems.dco.util.DurationHistogram;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Maps the native query rows of the analytics dashboard into DTOs.
+ *
+ * The EntityManager returns prepared rows with the column types the PostgreSQL driver produces
+ * (numeric sums as BigDecimal), so only the row mapping in AnalyticsService is measured.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AnalyticsMappingBenchmark {
+
+    private static final String[] STATUSES = {"Done", "Error", "Running", "Pending"};
+
+    /**
+     * Days covered by the dashboard, one rollup row per day.
+     */
+    @Param({"30", "365"})
+    private int daysBack;
+
+    /**
+     * Distinct platforms and scenario types in the rollup.
+     */
+    @Param({"12"})
+    private int labels;
+
+    private AnalyticsService analyticsService;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        List<Object[]> dailyRows = new ArrayList<>(daysBack);
+        LocalDate today = LocalDate.now();
+        for (int day = 0; day < daysBack; day++) {
+            long total = 200 + random.nextInt(800);
+            long success = total - random.nextInt((int) total / 5);
+            dailyRows.add(new Object[] {Date.valueOf(today.minusDays(day)), BigDecimal.valueOf(total),
+                    BigDecimal.valueOf(success), BigDecimal.valueOf(total - success),
+                    BigDecimal.valueOf(total * (30 + random.nextInt(600)))});
+        }
+        List<Object[]> distributionRows = new ArrayList<>(labels);
+        for (int i = 0; i < labels; i++) {
+            distributionRows.add(new Object[] {"label-" + i, BigDecimal.valueOf(1000 + random.nextInt(100_000))});
+        }
+        List<Object[]> histogramRows = new ArrayList<>();
+        for (int bucket = 0; bucket < DurationHistogram.bucketOf(3600); bucket += 3) {
+            histogramRows.add(new Object[] {bucket, BigDecimal.valueOf(random.nextInt(5000))});
+        }
+        List<Object[]> trendRows = new ArrayList<>(20);
+        for (int i = 0; i < 20; i++) {
+            trendRows.add(new Object[] {Timestamp.valueOf(LocalDateTime.now().minusMinutes(i * 7L)), 30 + random.nextInt(600)});
+        }
+        List<Object[]> recentRows = new ArrayList<>(10);
+        for (int i = 0; i < 10; i++) {
+            recentRows.add(new Object[] {UUID.randomUUID().toString(), "simulation-" + i, STATUSES[i % STATUSES.length],
+                    "label-" + (i % labels), "1", Timestamp.valueOf(LocalDateTime.now().minusMinutes(i)),
+                    "benchmark", 30 + random.nextInt(600)});
+        }
+        Object[] overview = {BigDecimal.valueOf(250_000), BigDecimal.valueOf(230_000), BigDecimal.valueOf(20_000),
+                BigDecimal.valueOf(75_000_000)};
+        Object[] active = {12L, 40L};
+        Object[] performance = {BigDecimal.valueOf(301.5), 3, 3599};
+
+        EntityManager entityManager = proxy(EntityManager.class, (proxy, method, args) -> {
+            if (!method.getName().equals("createNativeQuery")) {
+                throw new UnsupportedOperationException(method.getName());
+            }
+            String sql = (String) args[0];
+            if (sql.contains("simulation_duration_histogram")) {
+                return query(histogramRows, null);
+            } else if (sql.contains("GROUP BY rollup_date")) {
+                return query(dailyRows, null);
+            } else if (sql.contains("as label")) {
+                return query(distributionRows, null);
+            } else if (sql.contains("total_duration")) {
+                return query(null, overview);
+            } else if (sql.contains("as running")) {
+                return query(null, active);
+            } else if (sql.contains("avg_duration")) {
+                return query(null, performance);
+            } else if (sql.contains("CAST(id AS VARCHAR)")) {
+                return query(recentRows, null);
+            } else if (sql.contains("execution_duration IS NOT NULL")) {
+                return query(trendRows, null);
+            }
+            throw new IllegalArgumentException("Unexpected query: " + sql);
+        });
+        analyticsService = new AnalyticsService(null, null, null, entityManager);
+    }
+
+    @Benchmark
+    public AnalyticsDashboardDTO dashboard() {
+        return analyticsService.getDashboardAnalytics(daysBack);
+    }
+
+    private static Query query(List<Object[]> rows, Object[] singleResult) {
+        return proxy(Query.class, (proxy, method, args) -> switch (method.getName()) {
+            case "setParameter" -> proxy;
+            case "getResultList" -> rows;
+            case "getSingleResult" -> singleResult;
+            default -> throw new UnsupportedOperationException(method.getName());
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, handler);
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ *   ========================================================================
+ *  SDV Developer Console
+ *
+ *   Copyright (C) 2022 - 2023 T-Systems International GmbH
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *   SPDX-License-Identifier: Apache-2.0
+ *
+ *   ========================================================================
+ */
+
+
+package com.tsystems.dco.benchmarks;
+
+import com.tsystems.dco.evaluation.model.EvaluationMetricResult;
+import com.tsystems.dco.evaluation.model.EvaluationResult;
+import com.tsystems.dco.evaluation.model.EvaluationRule;
+import com.tsystems.dco.evaluation.service.CompiledRuleSet;
+import com.tsystems.dco.evaluation.service.EvaluationEngine;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares scoring a simulation with the current EvaluationEngine against the compiled rule set.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EvaluationEngineBenchmark {
+
+    private static final String[] OPERATORS = {"<", ">", "=", "<=", ">=", "!="};
+
+    @Param({"5", "20", "100"})
+    private int ruleCount;
+
+    private EvaluationEngine evaluationEngine;
+    private List<EvaluationRule> rules;
+    private Map<String, Double> metrics;
+    private EvaluationResult evaluationResult;
+    private CompiledRuleSet compiledRuleSet;
+    private double[] values;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        evaluationEngine = new EvaluationEngine();
+        rules = new ArrayList<>();
+        metrics = new HashMap<>();
+        for (int i = 0; i < ruleCount; i++) {
+            EvaluationRule rule = new EvaluationRule();
+            rule.setRuleName("rule_" + i);
+            rule.setMetricName("metric_" + i);
+            rule.setOperator(OPERATORS[i % OPERATORS.length]);
+            rule.setThresholdValue(BigDecimal.valueOf(random.nextInt(100)));
+            rule.setWeight(1 + random.nextInt(100));
+            rules.add(rule);
+            metrics.put(rule.getMetricName(), random.nextDouble() * 100);
+        }
+        evaluationResult = new EvaluationResult("benchmark-sim", 0, "PENDING");
+        compiledRuleSet = CompiledRuleSet.compile(rules);
+        values = compiledRuleSet.fill(metrics, compiledRuleSet.newValues());
+    }
+
+    /**
+     * Current path: per rule map lookup, BigDecimal conversion and result entity.
+     */
+    @Benchmark
+    public void engine(Blackhole blackhole) {
+        List<EvaluationMetricResult> results = evaluationEngine.evaluateMetrics(rules, metrics, evaluationResult);
+        blackhole.consume(evaluationEngine.calculateScore(results));
+        blackhole.consume(evaluationEngine.determineVerdict(results));
+    }
+
+    /**
+     * Compiled rules, values copied from the metric map on every call.
+     */
+    @Benchmark
+    public int compiledFromMap() {
+        return compiledRuleSet.score(compiledRuleSet.fill(metrics, values));
+    }
+
+    /**
+     * Compiled rules on an already filled value array, as when re-scoring stored metrics.
+     */
+    @Benchmark
+    public int compiled() {
+        return compiledRuleSet.score(values);
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ *   ========================================================================
+ *  SDV Developer Console
+ *
+ *   Copyright (C) 2022 - 2023 T-Systems International GmbH
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *   SPDX-License-Identifier: Apache-2.0
+ *
+ *   ========================================================================
+ */
+
+package com.tsystems.dco.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tsystems.dco.messagequeue.config.JacksonConfig;
+import com.tsystems.dco.messagequeue.config.RabbitMQConfig;
+import com.tsystems.dco.messagequeue.service.MessagePublishingService;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializes simulation events the way MessagePublishingService publishes them, with the
+ * production ObjectMapper and message converter. The broker send is replaced by a blackhole.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventSerializationBenchmark {
+
+    /**
+     * Metric samples carried by the event, from a status change up to a metrics batch.
+     */
+    @Param({"0", "100", "1000"})
+    private int metricCount;
+
+    private MessagePublishingService publishingService;
+    private Map<String, Object> payload;
+
+    @Setup
+    public void setUp(Blackhole blackhole) {
+        ObjectMapper objectMapper = new JacksonConfig().objectMapper();
+        RabbitTemplate rabbitTemplate = new RabbitTemplate() {
+            @Override
+            public void send(String exchange, String routingKey, Message message, CorrelationData correlationData) {
+                blackhole.consume(message);
+            }
+        };
+        rabbitTemplate.setMessageConverter(new RabbitMQConfig().jsonMessageConverter(objectMapper));
+        publishingService = new MessagePublishingService(rabbitTemplate, objectMapper);
+
+        Random random = new Random(42);
+        payload = new LinkedHashMap<>();
+        payload.put("simulationId", UUID.randomUUID().toString());
+        payload.put("name", "Highway lane change regression");
+        payload.put("status", "Running");
+        payload.put("platform", "Task Mgmt");
+        payload.put("environment", "Development");
+        payload.put("scenarios", List.of(UUID.randomUUID().toString(), UUID.randomUUID().toString()));
+        payload.put("tracks", List.of(UUID.randomUUID().toString()));
+        payload.put("startedAt", LocalDateTime.now());
+        List<Map<String, Object>> metrics = new ArrayList<>(metricCount);
+        for (int i = 0; i < metricCount; i++) {
+            Map<String, Object> metric = new LinkedHashMap<>();
+            metric.put("metricName", "vehicle_signal_" + (i % 40));
+            metric.put("metricValue", random.nextDouble() * 1000);
+            metric.put("unit", "ms");
+            metric.put("recordedAt", LocalDateTime.now().minusNanos(i * 1_000_000L));
+            metrics.add(metric);
+        }
+        payload.put("metrics", metrics);
+    }
+
+    /**
+     * Queue publish: payload serialized with writeValueAsString.
+     */
+    @Benchmark
+    public String publishMessage() {
+        return publishingService.publishMessage("simulation.events", payload, Map.of("source", "benchmark"), null, null);
+    }
+
+    /**
+     * Domain event: envelope converted by the Jackson message converter.
+     */
+    @Benchmark
+    public String publishEvent() {
+        return publishingService.publishEvent("simulation.metrics", "scenario-library-service", payload, null);
+    }
+}
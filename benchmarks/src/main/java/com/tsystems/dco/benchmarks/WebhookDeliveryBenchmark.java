@@ -0,0 +1,230 @@
+/*
+ *   ========================================================================
+ *  SDV Developer Console
+ *
+ *   Copyright (C) 2022 - 2023 T-Systems International GmbH
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *   SPDX-License-Identifier: Apache-2.0
+ *
+ *   ========================================================================
+ */
+
+package com.tsystems.dco.benchmarks;
+
+import com.tsystems.dco.webhook.config.WebhookConfig;
+import com.tsystems.dco.webhook.entity.Webhook;
+import com.tsystems.dco.webhook.entity.WebhookDelivery;
+import com.tsystems.dco.webhook.entity.WebhookEventType;
+import com.tsystems.dco.webhook.metrics.WebhookMetricsService;
+import com.tsystems.dco.webhook.repository.WebhookDeliveryRepository;
+import com.tsystems.dco.webhook.repository.WebhookRepository;
+import com.tsystems.dco.webhook.routing.WebhookRoutingIndex;
+import com.tsystems.dco.webhook.service.WebhookDeliveryExecutor;
+import com.tsystems.dco.webhook.service.WebhookDeliveryService;
+import com.tsystems.dco.webhook.service.WebhookDeliveryStats;
+import com.tsystems.dco.webhook.service.WebhookHttpClient;
+import com.tsystems.dco.webhook.service.WebhookRetryPolicy;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fan-out of one event to all subscribed webhooks against a local mock receiver, reported as deliveries
+ * per second.
+ *
+ * fanOut runs WebhookDeliveryService with the pooled non-blocking WebhookHttpClient, sequentialBlocking
+ * posts to one subscriber after another with a RestTemplate as deliveries did before. The receiver answers
+ * after receiverDelayMs, standing in for the processing time of real receivers. Repositories are in-memory
+ * stand-ins and subscribers are resolved from the routing index, so only the HTTP side and the delivery
+ * bookkeeping are measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WebhookDeliveryBenchmark {
+
+    private static final String EVENT_TYPE = "SIMULATION_COMPLETED";
+
+    /**
+     * Webhooks subscribed to the event.
+     */
+    @Param({"1", "10", "50"})
+    private int subscribers;
+
+    /**
+     * Time the receiver takes to answer.
+     */
+    @Param({"0", "20"})
+    private int receiverDelayMs;
+
+    private HttpServer receiver;
+    private ExecutorService receiverThreads;
+    private WebhookHttpClient httpClient;
+    private WebhookDeliveryExecutor deliveryExecutor;
+    private WebhookDeliveryService deliveryService;
+    private RestTemplate restTemplate;
+    private List<Webhook> webhooks;
+    private Map<String, Object> eventData;
+
+    @Setup
+    public void setUp() throws IOException {
+        receiverThreads = Executors.newFixedThreadPool(256);
+        receiver = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        receiver.setExecutor(receiverThreads);
+        receiver.createContext("/", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            if (receiverDelayMs > 0) {
+                try {
+                    Thread.sleep(receiverDelayMs);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            exchange.sendResponseHeaders(204, -1);
+            exchange.close();
+        });
+        receiver.start();
+
+        webhooks = new ArrayList<>(subscribers);
+        for (int i = 0; i < subscribers; i++) {
+            Webhook webhook = new Webhook();
+            webhook.setId(UUID.randomUUID());
+            webhook.setName("subscriber-" + i);
+            webhook.setUrl("http://127.0.0.1:" + receiver.getAddress().getPort() + "/hooks/" + i);
+            webhook.setSecret("whsec_" + i);
+            WebhookEventType eventType = new WebhookEventType();
+            eventType.setWebhook(webhook);
+            eventType.setEventType(EVENT_TYPE);
+            webhook.getEventTypes().add(eventType);
+            webhooks.add(webhook);
+        }
+        eventData = Map.of("simulationId", UUID.randomUUID().toString(), "status", "Done",
+                "platform", "Task", "duration", 1234);
+
+        WebhookRepository webhookRepository = proxy(WebhookRepository.class, (proxy, method, args) ->
+                switch (method.getName()) {
+                    case "findActiveWebhooksWithSubscriptions" -> webhooks;
+                    case "getReferenceById" -> null;
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+        WebhookDeliveryRepository deliveryRepository = proxy(WebhookDeliveryRepository.class, (proxy, method, args) ->
+                switch (method.getName()) {
+                    case "save" -> {
+                        WebhookDelivery delivery = (WebhookDelivery) args[0];
+                        if (delivery.getId() == null) {
+                            delivery.setId(UUID.randomUUID());
+                        }
+                        yield delivery;
+                    }
+                    case "saveIfClaimed" -> true;
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+        PlatformTransactionManager transactionManager = proxy(PlatformTransactionManager.class, (proxy, method, args) -> null);
+        WebhookRoutingIndex routingIndex = new WebhookRoutingIndex(webhookRepository, transactionManager);
+        routingIndex.rebuild();
+        // All subscribers share the receiver's host, allow them all in flight
+        httpClient = new WebhookHttpClient(1000, 30000, 30000, subscribers, 8, false);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        deliveryExecutor = new WebhookDeliveryExecutor(meterRegistry, 1, 1, 20, false);
+        deliveryService = new WebhookDeliveryService(webhookRepository, deliveryRepository, httpClient,
+                new WebhookConfig().objectMapper(), new WebhookMetricsService(meterRegistry),
+                new WebhookRetryPolicy(5000, 300000, 0.5, 120000), deliveryExecutor, routingIndex,
+                new WebhookDeliveryStats(webhookRepository));
+
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(1000);
+        requestFactory.setReadTimeout(30000);
+        restTemplate = new RestTemplate(requestFactory);
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        deliveryExecutor.shutdown();
+        httpClient.shutdown();
+        receiver.stop(0);
+        receiverThreads.shutdownNow();
+    }
+
+    @Benchmark
+    public void fanOut(Deliveries deliveries) {
+        deliveryService.deliverToSubscribers(UUID.randomUUID().toString(), EVENT_TYPE, eventData).join();
+        deliveries.deliveries += subscribers;
+    }
+
+    @Benchmark
+    public void sequentialBlocking(Deliveries deliveries) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        for (Webhook webhook : webhooks) {
+            restTemplate.postForEntity(webhook.getUrl(), new HttpEntity<>(eventData, headers), String.class);
+        }
+        deliveries.deliveries += subscribers;
+    }
+
+    /**
+     * Deliveries per second next to events per second.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Deliveries {
+
+        public long deliveries;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            deliveries = 0;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, handler);
+    }
+}
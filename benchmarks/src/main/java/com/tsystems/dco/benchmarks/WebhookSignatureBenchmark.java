@@ -0,0 +1,99 @@
+/*
+ *   ========================================================================
+ *  SDV Developer Console
+ *
+ *   Copyright (C) 2022 - 2023 T-Systems International GmbH
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *   SPDX-License-Identifier: Apache-2.0
+ *
+ *   ========================================================================
+ */
+
+package com.tsystems.dco.benchmarks;
+
+import com.tsystems.dco.webhook.service.WebhookDeliveryService;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HMAC-SHA256 signing of webhook payloads in WebhookDeliveryService.generateSignature.
+ *
+ * The method is private, it is called through a constant method handle which the JIT inlines like a direct call.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WebhookSignatureBenchmark {
+
+    private static final MethodHandle GENERATE_SIGNATURE = generateSignatureHandle();
+
+    /**
+     * Payload size in bytes, from a status event up to a metrics batch.
+     */
+    @Param({"1024", "16384", "262144"})
+    private int payloadBytes;
+
+    private WebhookDeliveryService deliveryService;
+    private String payload;
+    private String secret;
+
+    @Setup
+    public void setUp() {
+        deliveryService = new WebhookDeliveryService(null, null, null, null, null, null, null, null, null);
+        Random random = new Random(42);
+        StringBuilder json = new StringBuilder(payloadBytes).append("{\"metrics\":[");
+        while (json.length() < payloadBytes - 64) {
+            json.append("{\"name\":\"signal_").append(random.nextInt(40))
+                    .append("\",\"value\":").append(random.nextDouble()).append("},");
+        }
+        json.setLength(json.length() - 1);
+        payload = json.append("]}").toString();
+        secret = "whsec_" + Long.toHexString(random.nextLong()) + Long.toHexString(random.nextLong());
+    }
+
+    @Benchmark
+    public String generateSignature() throws Throwable {
+        return (String) GENERATE_SIGNATURE.invokeExact(deliveryService, payload, secret);
+    }
+
+    private static MethodHandle generateSignatureHandle() {
+        try {
+            return MethodHandles.privateLookupIn(WebhookDeliveryService.class, MethodHandles.lookup())
+                    .findVirtual(WebhookDeliveryService.class, "generateSignature",
+                            MethodType.methodType(String.class, String.class, String.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+}
@@ -23,11 +23,13 @@
 
 package com.tsystems.dco.scenario;
 
+import com.tsystems.dco.scenario.model.MetricSeries;
 import com.tsystems.dco.scenario.model.SimulationInput;
 import com.tsystems.dco.scenario.model.SimulationPage;
 import com.tsystems.dco.scenario.model.SimulationResult;
-import com.tsystems.dco.scenario.model.SimulationLog;
+import com.tsystems.dco.scenario.model.SimulationLogPage;
 import com.tsystems.dco.scenario.model.SimulationMetric;
+import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
 
@@ -41,7 +43,9 @@ public interface SimulationClient {
   
   List<SimulationResult> getAllSimulationResults(UUID simulationId);
   
-  List<SimulationLog> getSimulationLogs(UUID simulationId);
+  SimulationLogPage getSimulationLogs(UUID simulationId, Integer page, Integer size, String cursor, Boolean withTotal);
   
   List<SimulationMetric> getSimulationMetrics(UUID simulationId);
+
+  MetricSeries getSimulationMetricSeries(UUID simulationId, String metricName, Instant from, Instant to, Integer points, String mode);
 }
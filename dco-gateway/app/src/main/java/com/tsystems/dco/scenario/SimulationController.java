@@ -23,10 +23,11 @@
 
 package com.tsystems.dco.scenario;
 
+import com.tsystems.dco.scenario.model.MetricSeries;
 import com.tsystems.dco.scenario.model.SimulationInput;
 import com.tsystems.dco.scenario.model.SimulationPage;
 import com.tsystems.dco.scenario.model.SimulationResult;
-import com.tsystems.dco.scenario.model.SimulationLog;
+import com.tsystems.dco.scenario.model.SimulationLogPage;
 import com.tsystems.dco.scenario.model.SimulationMetric;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
@@ -36,6 +37,7 @@ import org.springframework.graphql.data.method.annotation.MutationMapping;
 import org.springframework.graphql.data.method.annotation.QueryMapping;
 import org.springframework.stereotype.Controller;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
 
@@ -94,12 +96,17 @@ public class SimulationController {
 
   /**
    * @param simulationId
-   * @return List<SimulationLog>
+   * @param page
+   * @param size
+   * @param cursor    keyset pagination cursor, switches to keyset mode when present
+   * @param withTotal count the total in keyset mode
+   * @return SimulationLogPage
    */
   @QueryMapping
-  public List<SimulationLog> getSimulationLogs(@Argument UUID simulationId) {
+  public SimulationLogPage getSimulationLogs(@Argument UUID simulationId, @Argument Integer page, @Argument Integer size,
+                                             @Argument String cursor, @Argument Boolean withTotal) {
     LOGGER.info("Getting simulation logs for simulationId: {}", simulationId);
-    return simulationClient.getSimulationLogs(simulationId);
+    return simulationClient.getSimulationLogs(simulationId, page, size, cursor, withTotal);
   }
 
   /**
@@ -112,4 +119,21 @@ public class SimulationController {
     return simulationClient.getSimulationMetrics(simulationId);
   }
 
+  /**
+   * @param simulationId
+   * @param metricName
+   * @param from
+   * @param to
+   * @param points
+   * @param mode BUCKET or LTTB
+   * @return MetricSeries
+   */
+  @QueryMapping
+  public MetricSeries getSimulationMetricSeries(@Argument UUID simulationId, @Argument String metricName, @Argument String from,
+                                                @Argument String to, @Argument Integer points, @Argument String mode) {
+    LOGGER.info("Getting simulation metric series {} for simulationId: {}", metricName, simulationId);
+    return simulationClient.getSimulationMetricSeries(simulationId, metricName, from != null ? Instant.parse(from) : null,
+      to != null ? Instant.parse(to) : null, points, mode);
+  }
+
 }
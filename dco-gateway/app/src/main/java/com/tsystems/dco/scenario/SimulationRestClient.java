@@ -24,15 +24,17 @@
 package com.tsystems.dco.scenario;
 
 import com.tsystems.dco.scenario.feign.ScenarioFeignClient;
+import com.tsystems.dco.scenario.model.MetricSeries;
 import com.tsystems.dco.scenario.model.SimulationInput;
 import com.tsystems.dco.scenario.model.SimulationPage;
 import com.tsystems.dco.scenario.model.SimulationResult;
-import com.tsystems.dco.scenario.model.SimulationLog;
+import com.tsystems.dco.scenario.model.SimulationLogPage;
 import com.tsystems.dco.scenario.model.SimulationMetric;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
 
@@ -80,8 +82,8 @@ public class SimulationRestClient implements SimulationClient {
   }
 
   @Override
-  public List<SimulationLog> getSimulationLogs(UUID simulationId) {
-    ResponseEntity<List<SimulationLog>> responseEntity = client.getSimulationLogs(simulationId);
+  public SimulationLogPage getSimulationLogs(UUID simulationId, Integer page, Integer size, String cursor, Boolean withTotal) {
+    ResponseEntity<SimulationLogPage> responseEntity = client.getSimulationLogs(simulationId, page, size, cursor, withTotal);
     return responseEntity.getBody();
   }
 
@@ -90,4 +92,10 @@ public class SimulationRestClient implements SimulationClient {
     ResponseEntity<List<SimulationMetric>> responseEntity = client.getSimulationMetrics(simulationId);
     return responseEntity.getBody();
   }
+
+  @Override
+  public MetricSeries getSimulationMetricSeries(UUID simulationId, String metricName, Instant from, Instant to, Integer points, String mode) {
+    ResponseEntity<MetricSeries> responseEntity = client.getSimulationMetricSeries(simulationId, metricName, from, to, points, mode);
+    return responseEntity.getBody();
+  }
 }
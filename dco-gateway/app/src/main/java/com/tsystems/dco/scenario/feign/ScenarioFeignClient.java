@@ -24,16 +24,18 @@
 package com.tsystems.dco.scenario.feign;
 
 import com.tsystems.dco.scenario.model.Scenario;
+import com.tsystems.dco.scenario.model.MetricSeries;
 import com.tsystems.dco.scenario.model.ScenarioPage;
 import com.tsystems.dco.scenario.model.SimulationInput;
 import com.tsystems.dco.scenario.model.SimulationPage;
 import com.tsystems.dco.scenario.model.SimulationResult;
-import com.tsystems.dco.scenario.model.SimulationLog;
+import com.tsystems.dco.scenario.model.SimulationLogPage;
 import com.tsystems.dco.scenario.model.SimulationMetric;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
 
@@ -85,8 +87,20 @@ public interface ScenarioFeignClient {
   ResponseEntity<List<SimulationResult>> getAllSimulationResults(@PathVariable(value = "simulationId") UUID simulationId);
 
   @GetMapping(value = "/api/simulation/{simulationId}/logs", produces = {"application/json"})
-  ResponseEntity<List<SimulationLog>> getSimulationLogs(@PathVariable(value = "simulationId") UUID simulationId);
+  ResponseEntity<SimulationLogPage> getSimulationLogs(@PathVariable(value = "simulationId") UUID simulationId,
+                                                      @RequestParam(value = "page", required = false) Integer page,
+                                                      @RequestParam(value = "size", required = false) Integer size,
+                                                      @RequestParam(value = "cursor", required = false) String cursor,
+                                                      @RequestParam(value = "withTotal", required = false) Boolean withTotal);
 
   @GetMapping(value = "/api/simulation/{simulationId}/metrics", produces = {"application/json"})
   ResponseEntity<List<SimulationMetric>> getSimulationMetrics(@PathVariable(value = "simulationId") UUID simulationId);
+
+  @GetMapping(value = "/api/simulation/{simulationId}/metrics/series", produces = {"application/json"})
+  ResponseEntity<MetricSeries> getSimulationMetricSeries(@PathVariable(value = "simulationId") UUID simulationId,
+                                                         @RequestParam(value = "metricName") String metricName,
+                                                         @RequestParam(value = "from", required = false) Instant from,
+                                                         @RequestParam(value = "to", required = false) Instant to,
+                                                         @RequestParam(value = "points", required = false) Integer points,
+                                                         @RequestParam(value = "mode", required = false) String mode);
 }
@@ -39,6 +39,8 @@ interface AnalyticsDashboard {
     minDuration: number;
     maxDuration: number;
     medianDuration: number;
+    p90Duration: number;
+    p99Duration: number;
     durationTrend: Array<{
       timestamp: string;
       value: number;
@@ -399,6 +401,30 @@ export default function AnalyticsPage() {
                     {formatDuration(performanceMetrics.maxDuration)}
                   </Typography>
                 </Box>
+                <Box textAlign="center">
+                  <Typography variant="caption" color="text.secondary">
+                    P50
+                  </Typography>
+                  <Typography variant="h6">
+                    {formatDuration(performanceMetrics.medianDuration)}
+                  </Typography>
+                </Box>
+                <Box textAlign="center">
+                  <Typography variant="caption" color="text.secondary">
+                    P90
+                  </Typography>
+                  <Typography variant="h6">
+                    {formatDuration(performanceMetrics.p90Duration)}
+                  </Typography>
+                </Box>
+                <Box textAlign="center">
+                  <Typography variant="caption" color="text.secondary">
+                    P99
+                  </Typography>
+                  <Typography variant="h6">
+                    {formatDuration(performanceMetrics.p99Duration)}
+                  </Typography>
+                </Box>
               </Box>
             </CardContent>
           </Card>
@@ -60,9 +60,24 @@ export interface EvaluationResult {
   verdict: 'PASS' | 'FAIL' | 'WARNING'
   evaluatedAt: string
   evaluationDurationMs: number
+  ruleSnapshotVersion?: number
   metricResults: EvaluationMetricResult[]
 }
 
+export interface EvaluationJob {
+  id: number
+  simulationId: string
+  status: 'QUEUED' | 'RUNNING' | 'SUCCEEDED' | 'FAILED'
+  runAt: string
+  attempts: number
+  maxAttempts: number
+  evaluationResultId?: number
+  errorMessage?: string
+  createdAt: string
+  startedAt?: string
+  completedAt?: string
+}
+
 // Rules API
 export const getRules = async (): Promise<EvaluationRule[]> => {
   try {
@@ -117,7 +132,7 @@ export const deleteRule = async (ruleId: number): Promise<void> => {
 }
 
 // Evaluation API
-export const triggerEvaluation = async (simulationId: string): Promise<EvaluationResult> => {
+export const triggerEvaluation = async (simulationId: string): Promise<EvaluationJob> => {
   try {
     const response = await axios.post(`${EVALUATION_API_BASE}/evaluations/trigger`, {
       simulationId,
@@ -129,6 +144,16 @@ export const triggerEvaluation = async (simulationId: string): Promise<Evaluatio
   }
 }
 
+export const getEvaluationJob = async (jobId: number): Promise<EvaluationJob> => {
+  try {
+    const response = await axios.get(`${EVALUATION_API_BASE}/evaluations/jobs/${jobId}`)
+    return response.data
+  } catch (error) {
+    console.error('Error fetching evaluation job:', error)
+    throw error
+  }
+}
+
 export const getEvaluationResult = async (simulationId: string): Promise<EvaluationResult> => {
   try {
     const response = await axios.get(`${EVALUATION_API_BASE}/evaluations/${simulationId}`)
@@ -0,0 +1,43 @@
+package com.tsystems.dco.evaluation.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Thread pools for bulk re-evaluation: one thread driving the running job chunk by chunk,
+ * and a bounded pool scoring the simulations of a chunk in parallel.
+ */
+@Configuration
+public class BulkEvaluationConfig {
+    
+    public static final String RUNNER = "bulkEvaluationRunner";
+    public static final String EXECUTOR = "bulkEvaluationExecutor";
+    
+    @Bean(name = RUNNER)
+    public ThreadPoolTaskExecutor bulkEvaluationRunner() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("bulk-evaluation-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+    
+    @Bean(name = EXECUTOR)
+    public ThreadPoolTaskExecutor bulkEvaluationExecutor(@Value("${evaluation.bulk.workers:4}") int workers) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        // A chunk is split into at most one slice per worker, the queue only absorbs hand-over races
+        executor.setQueueCapacity(workers);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setThreadNamePrefix("bulk-evaluation-worker-");
+        return executor;
+    }
+}
@@ -0,0 +1,28 @@
+package com.tsystems.dco.evaluation.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Worker pool that runs queued evaluation jobs.
+ */
+@Configuration
+public class EvaluationJobConfig {
+    
+    public static final String EXECUTOR = "evaluationJobExecutor";
+    
+    @Bean(name = EXECUTOR)
+    public ThreadPoolTaskExecutor evaluationJobExecutor(@Value("${evaluation.jobs.workers:8}") int workers) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        // The worker never claims more jobs than idle threads, the queue only absorbs hand-over races
+        executor.setQueueCapacity(workers);
+        executor.setThreadNamePrefix("evaluation-job-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+}
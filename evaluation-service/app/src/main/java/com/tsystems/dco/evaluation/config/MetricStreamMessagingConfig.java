@@ -0,0 +1,39 @@
+package com.tsystems.dco.evaluation.config;
+
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.QueueBuilder;
+import org.springframework.amqp.core.TopicExchange;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Metric events of running simulations, consumed by the streaming evaluator, and the provisional verdicts
+ * and abort signals it publishes back to the sdv.events exchange.
+ * 
+ * The queue is shared by all instances with a single active consumer, so the running state of a
+ * simulation lives on one instance. Another instance takes over if it goes away, starting from fresh state.
+ */
+@Configuration
+public class MetricStreamMessagingConfig {
+    
+    public static final String METRICS_QUEUE = "evaluation.simulation.metrics";
+    public static final String METRICS_RECORDED_ROUTING_KEY = "simulation.metrics.recorded";
+    public static final String PROVISIONAL_ROUTING_KEY = "evaluation.simulation.provisional";
+    public static final String ABORT_ROUTING_KEY = "evaluation.simulation.abort";
+    
+    @Bean
+    public Queue simulationMetricsQueue() {
+        return QueueBuilder.durable(METRICS_QUEUE)
+                .singleActiveConsumer()
+                // Samples older than this are of no use for early failure detection
+                .ttl(600000)
+                .build();
+    }
+    
+    @Bean
+    public Binding simulationMetricsBinding(TopicExchange sdvEventsExchange) {
+        return BindingBuilder.bind(simulationMetricsQueue()).to(sdvEventsExchange).with(METRICS_RECORDED_ROUTING_KEY);
+    }
+}
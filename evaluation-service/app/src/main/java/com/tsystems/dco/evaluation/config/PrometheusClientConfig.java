@@ -0,0 +1,58 @@
+package com.tsystems.dco.evaluation.config;
+
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+
+/**
+ * HTTP client for Prometheus, with a bounded connection pool and timeouts so a slow Prometheus
+ * cannot pile up evaluation threads.
+ */
+@Configuration
+public class PrometheusClientConfig {
+    
+    public static final String REST_CLIENT = "prometheusRestClient";
+    
+    @Bean(name = REST_CLIENT)
+    public RestClient prometheusRestClient(@Value("${prometheus.url}") String prometheusUrl,
+                                           @Value("${prometheus.http.max-connections:20}") int maxConnections,
+                                           @Value("${prometheus.http.connect-timeout-ms:2000}") long connectTimeoutMs,
+                                           @Value("${prometheus.http.response-timeout-ms:10000}") long responseTimeoutMs) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                // All requests go to the one Prometheus host
+                .setMaxConnPerRoute(maxConnections)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                        .setSocketTimeout(Timeout.ofMilliseconds(responseTimeoutMs))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(10))
+                        .build())
+                .build();
+        CloseableHttpClient httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                        .setResponseTimeout(Timeout.ofMilliseconds(responseTimeoutMs))
+                        .build())
+                .evictIdleConnections(TimeValue.ofSeconds(30))
+                .build();
+        // Strictly encode URI variables, PromQL selectors contain characters like '+' and '&'
+        DefaultUriBuilderFactory uriBuilderFactory = new DefaultUriBuilderFactory(prometheusUrl);
+        uriBuilderFactory.setEncodingMode(DefaultUriBuilderFactory.EncodingMode.TEMPLATE_AND_VALUES);
+        return RestClient.builder()
+                .uriBuilderFactory(uriBuilderFactory)
+                .requestFactory(new HttpComponentsClientHttpRequestFactory(httpClient))
+                .build();
+    }
+}
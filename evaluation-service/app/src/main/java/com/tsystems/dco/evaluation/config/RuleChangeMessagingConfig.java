@@ -0,0 +1,42 @@
+package com.tsystems.dco.evaluation.config;
+
+import org.springframework.amqp.core.AnonymousQueue;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.TopicExchange;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Broadcast of rule set changes between evaluation-service instances over the sdv.events exchange.
+ * Every instance binds its own exclusive, auto-deleted queue, so each one receives every change.
+ */
+@Configuration
+public class RuleChangeMessagingConfig {
+    
+    public static final String SDV_EVENTS_EXCHANGE = "sdv.events";
+    public static final String RULES_CHANGED_ROUTING_KEY = "evaluation.rules.changed";
+    
+    @Bean
+    public TopicExchange sdvEventsExchange() {
+        return new TopicExchange(SDV_EVENTS_EXCHANGE, true, false);
+    }
+    
+    @Bean
+    public Queue ruleChangeQueue() {
+        return new AnonymousQueue();
+    }
+    
+    @Bean
+    public Binding ruleChangeBinding() {
+        return BindingBuilder.bind(ruleChangeQueue()).to(sdvEventsExchange()).with(RULES_CHANGED_ROUTING_KEY);
+    }
+    
+    @Bean
+    public MessageConverter jsonMessageConverter() {
+        return new Jackson2JsonMessageConverter();
+    }
+}
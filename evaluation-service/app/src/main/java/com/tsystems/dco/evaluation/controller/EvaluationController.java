@@ -1,14 +1,27 @@
 package com.tsystems.dco.evaluation.controller;
 
+import com.tsystems.dco.evaluation.model.BulkEvaluationJob;
+import com.tsystems.dco.evaluation.model.EvaluationJob;
 import com.tsystems.dco.evaluation.model.EvaluationResult;
+import com.tsystems.dco.evaluation.repository.CampaignAggregateRepository;
+import com.tsystems.dco.evaluation.repository.EvaluationMetricResultRepository;
+import com.tsystems.dco.evaluation.repository.EvaluationResultRepository;
+import com.tsystems.dco.evaluation.service.BulkEvaluationService;
+import com.tsystems.dco.evaluation.service.CampaignAggregationService;
+import com.tsystems.dco.evaluation.service.EvaluationJobService;
 import com.tsystems.dco.evaluation.service.EvaluationService;
+import com.tsystems.dco.evaluation.service.StreamingEvaluationService;
+import com.tsystems.dco.evaluation.service.StreamingEvaluator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.net.URI;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -25,6 +38,18 @@ public class EvaluationController {
     @Autowired
     private EvaluationService evaluationService;
     
+    @Autowired
+    private EvaluationJobService evaluationJobService;
+    
+    @Autowired
+    private BulkEvaluationService bulkEvaluationService;
+    
+    @Autowired
+    private StreamingEvaluationService streamingEvaluationService;
+    
+    @Autowired
+    private CampaignAggregationService campaignAggregationService;
+    
     /**
      * Get evaluation result for a simulation.
      * 
@@ -50,7 +75,54 @@ public class EvaluationController {
     }
     
     /**
-     * Manually trigger evaluation for a simulation.
+     * Page through the evaluation history of a simulation, newest first.
+     * Entries only carry score, verdict, timestamp and duration, per-rule results are at the details endpoint.
+     * 
+     * GET /api/v1/evaluations/{simulationId}/history?page=0&size=20
+     */
+    @GetMapping("/{simulationId}/history")
+    public ResponseEntity<?> getEvaluationHistory(@PathVariable String simulationId,
+                                                  @RequestParam(defaultValue = "0") int page,
+                                                  @RequestParam(defaultValue = "20") int size) {
+        Page<EvaluationResultRepository.EvaluationSummary> history = 
+                evaluationService.getEvaluationHistory(simulationId, page, size);
+        return ResponseEntity.ok(new HistoryPage(history));
+    }
+    
+    /**
+     * Get the per-rule results of one evaluation.
+     * 
+     * GET /api/v1/evaluations/results/{resultId}/details
+     */
+    @GetMapping("/results/{resultId}/details")
+    public ResponseEntity<?> getEvaluationDetails(@PathVariable Long resultId) {
+        Optional<List<EvaluationMetricResultRepository.MetricResultDetail>> details = 
+                evaluationService.getEvaluationDetails(resultId);
+        if (details.isPresent()) {
+            return ResponseEntity.ok(details.get());
+        }
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(new ErrorResponse("NOT_FOUND", "No evaluation result found with id: " + resultId));
+    }
+    
+    /**
+     * Get the provisional evaluation of a running simulation, computed from the metrics received so far.
+     * 
+     * GET /api/v1/evaluations/{simulationId}/provisional
+     */
+    @GetMapping("/{simulationId}/provisional")
+    public ResponseEntity<?> getProvisionalEvaluation(@PathVariable String simulationId) {
+        Optional<StreamingEvaluator.Provisional> provisional = streamingEvaluationService.getProvisional(simulationId);
+        if (provisional.isPresent()) {
+            return ResponseEntity.ok(provisional.get());
+        }
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(new ErrorResponse("NOT_FOUND", "No streaming metrics received for simulation: " + simulationId));
+    }
+    
+    /**
+     * Queue an evaluation for a simulation. Returns immediately with the queued job,
+     * whose status can be followed at the Location header.
      * 
      * POST /api/v1/evaluations/trigger
      * Body: { "simulationId": "uuid" }
@@ -66,9 +138,11 @@ public class EvaluationController {
             String simId = request.getSimulationId();
             log.info("Triggering evaluation for simulation: {}", simId);
             
-            EvaluationResult result = evaluationService.triggerEvaluation(simId);
+            EvaluationJob job = evaluationJobService.enqueue(simId);
             
-            return ResponseEntity.status(HttpStatus.ACCEPTED).body(result);
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .location(URI.create("/api/v1/evaluations/jobs/" + job.getId()))
+                    .body(job);
             
         } catch (Exception e) {
             log.error("Error triggering evaluation: {}", e.getMessage(), e);
@@ -77,8 +151,131 @@ public class EvaluationController {
         }
     }
     
+    /**
+     * Get the status of an evaluation job.
+     * 
+     * GET /api/v1/evaluations/jobs/{jobId}
+     */
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<?> getEvaluationJob(@PathVariable Long jobId) {
+        Optional<EvaluationJob> job = evaluationJobService.getJob(jobId);
+        if (job.isPresent()) {
+            return ResponseEntity.ok(job.get());
+        }
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(new ErrorResponse("NOT_FOUND", "No evaluation job found with id: " + jobId));
+    }
+    
+    /**
+     * Queue a re-evaluation of all simulations with stored metrics against the active rules.
+     * Progress can be followed at the Location header.
+     * 
+     * POST /api/v1/evaluations/bulk
+     * Body (optional): { "chunkSize": 500 }
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<?> startBulkEvaluation(@RequestBody(required = false) BulkEvaluationRequest request) {
+        try {
+            BulkEvaluationJob job = bulkEvaluationService.start(request == null ? null : request.getChunkSize());
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .location(URI.create("/api/v1/evaluations/bulk/" + job.getId()))
+                    .body(job);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(new ErrorResponse("NO_ACTIVE_RULES", e.getMessage()));
+        } catch (Exception e) {
+            log.error("Error starting bulk evaluation: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ErrorResponse("EVALUATION_FAILED", e.getMessage()));
+        }
+    }
+    
+    /**
+     * Get the progress and throughput of a bulk re-evaluation.
+     * 
+     * GET /api/v1/evaluations/bulk/{jobId}
+     */
+    @GetMapping("/bulk/{jobId}")
+    public ResponseEntity<?> getBulkEvaluation(@PathVariable Long jobId) {
+        return bulkJobResponse(jobId, bulkEvaluationService.getJob(jobId));
+    }
+    
+    /**
+     * Cancel a bulk re-evaluation. Simulations evaluated so far keep their new results.
+     * 
+     * POST /api/v1/evaluations/bulk/{jobId}/cancel
+     */
+    @PostMapping("/bulk/{jobId}/cancel")
+    public ResponseEntity<?> cancelBulkEvaluation(@PathVariable Long jobId) {
+        return bulkJobResponse(jobId, bulkEvaluationService.cancel(jobId));
+    }
+    
+    /**
+     * Resume a failed or cancelled bulk re-evaluation after its last evaluated simulation.
+     * 
+     * POST /api/v1/evaluations/bulk/{jobId}/resume
+     */
+    @PostMapping("/bulk/{jobId}/resume")
+    public ResponseEntity<?> resumeBulkEvaluation(@PathVariable Long jobId) {
+        try {
+            return bulkJobResponse(jobId, bulkEvaluationService.resume(jobId));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(new ErrorResponse("BULK_JOB_OPEN", e.getMessage()));
+        }
+    }
+    
+    /**
+     * Get pass rate, score distribution and per-rule failure frequencies of a campaign,
+     * over the latest evaluation of each of its simulations.
+     * 
+     * GET /api/v1/evaluations/campaigns/{campaignId}
+     */
+    @GetMapping("/campaigns/{campaignId}")
+    public ResponseEntity<?> getCampaignAggregate(@PathVariable UUID campaignId) {
+        return ResponseEntity.ok(campaignAggregationService.getAggregate(campaignId));
+    }
+    
+    /**
+     * Drill into the latest evaluations of a campaign by verdict, score range or failed rule, lowest score first.
+     * 
+     * GET /api/v1/evaluations/campaigns/{campaignId}/simulations?verdict=FAIL&failedRuleId=3&page=0&size=50
+     */
+    @GetMapping("/campaigns/{campaignId}/simulations")
+    public ResponseEntity<?> getCampaignSimulations(@PathVariable UUID campaignId,
+                                                    @RequestParam(required = false) String verdict,
+                                                    @RequestParam(required = false) Integer minScore,
+                                                    @RequestParam(required = false) Integer maxScore,
+                                                    @RequestParam(required = false) Long failedRuleId,
+                                                    @RequestParam(defaultValue = "0") int page,
+                                                    @RequestParam(defaultValue = "50") int size) {
+        try {
+            CampaignAggregateRepository.SimulationFilter filter = 
+                    new CampaignAggregateRepository.SimulationFilter(verdict, minScore, maxScore, failedRuleId);
+            return ResponseEntity.ok(campaignAggregationService.getSimulations(campaignId, filter, page, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ErrorResponse("INVALID_FILTER", e.getMessage()));
+        }
+    }
+    
+    private ResponseEntity<?> bulkJobResponse(Long jobId, Optional<BulkEvaluationJob> job) {
+        if (job.isPresent()) {
+            return ResponseEntity.ok(job.get());
+        }
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(new ErrorResponse("NOT_FOUND", "No bulk evaluation job found with id: " + jobId));
+    }
+    
     // DTOs
     
+    public static class BulkEvaluationRequest {
+        private Integer chunkSize;
+        
+        public Integer getChunkSize() { return chunkSize; }
+        public void setChunkSize(Integer chunkSize) { this.chunkSize = chunkSize; }
+    }
+    
     public static class TriggerEvaluationRequest {
         private String simulationId;
         
@@ -86,6 +283,28 @@ public class EvaluationController {
         public void setSimulationId(String simulationId) { this.simulationId = simulationId; }
     }
     
+    public static class HistoryPage {
+        private final List<EvaluationResultRepository.EvaluationSummary> content;
+        private final int page;
+        private final int size;
+        private final long totalElements;
+        private final int totalPages;
+        
+        public HistoryPage(Page<EvaluationResultRepository.EvaluationSummary> history) {
+            this.content = history.getContent();
+            this.page = history.getNumber();
+            this.size = history.getSize();
+            this.totalElements = history.getTotalElements();
+            this.totalPages = history.getTotalPages();
+        }
+        
+        public List<EvaluationResultRepository.EvaluationSummary> getContent() { return content; }
+        public int getPage() { return page; }
+        public int getSize() { return size; }
+        public long getTotalElements() { return totalElements; }
+        public int getTotalPages() { return totalPages; }
+    }
+    
     public static class ErrorResponse {
         private String error;
         private String message;
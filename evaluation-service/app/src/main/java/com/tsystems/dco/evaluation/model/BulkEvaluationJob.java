@@ -0,0 +1,245 @@
+package com.tsystems.dco.evaluation.model;
+
+import jakarta.persistence.*;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Bulk re-evaluation of all simulations with stored metrics.
+ * Simulations are processed in simulation ID order, lastSimulationId is the cursor a resumed job continues from.
+ */
+@Entity
+@Table(name = "evaluation_bulk_jobs")
+public class BulkEvaluationJob {
+
+    public enum Status {
+        QUEUED, RUNNING, COMPLETED, FAILED, CANCELLED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status;
+
+    @Column(name = "chunk_size", nullable = false)
+    private Integer chunkSize;
+
+    @Column(name = "last_simulation_id")
+    private UUID lastSimulationId;
+
+    @Column(name = "total_simulations")
+    private Long totalSimulations;
+
+    @Column(name = "processed_count", nullable = false)
+    private Long processedCount;
+
+    @Column(name = "passed_count", nullable = false)
+    private Long passedCount;
+
+    @Column(name = "rule_snapshot_version")
+    private Long ruleSnapshotVersion;
+
+    @Column(name = "error_message")
+    private String errorMessage;
+
+    @Column(name = "worker_id")
+    private String workerId;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "run_started_at")
+    private LocalDateTime runStartedAt;
+
+    @Column(name = "run_start_processed", nullable = false)
+    private Long runStartProcessed;
+
+    @Column(name = "heartbeat_at")
+    private LocalDateTime heartbeatAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    // Constructors
+    public BulkEvaluationJob() {
+    }
+
+    public BulkEvaluationJob(int chunkSize, Long totalSimulations) {
+        this.chunkSize = chunkSize;
+        this.totalSimulations = totalSimulations;
+        this.status = Status.QUEUED;
+        this.processedCount = 0L;
+        this.passedCount = 0L;
+        this.runStartProcessed = 0L;
+    }
+
+    // Progress
+
+    /**
+     * @return Processed share of the simulations counted when the job was created, null if unknown
+     */
+    public Double getProgressPercent() {
+        if (status == Status.COMPLETED) {
+            return 100.0;
+        }
+        if (totalSimulations == null || totalSimulations == 0) {
+            return null;
+        }
+        return Math.min(100.0, Math.round(processedCount * 1000.0 / totalSimulations) / 10.0);
+    }
+
+    /**
+     * @return Simulations per second since the job was last started or resumed, null before the first chunk
+     */
+    public Double getThroughputPerSecond() {
+        if (runStartedAt == null || heartbeatAt == null) {
+            return null;
+        }
+        long millis = Duration.between(runStartedAt, heartbeatAt).toMillis();
+        if (millis <= 0) {
+            return null;
+        }
+        return Math.round((processedCount - runStartProcessed) * 10_000.0 / millis) / 10.0;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public Integer getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(Integer chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public UUID getLastSimulationId() {
+        return lastSimulationId;
+    }
+
+    public void setLastSimulationId(UUID lastSimulationId) {
+        this.lastSimulationId = lastSimulationId;
+    }
+
+    public Long getTotalSimulations() {
+        return totalSimulations;
+    }
+
+    public void setTotalSimulations(Long totalSimulations) {
+        this.totalSimulations = totalSimulations;
+    }
+
+    public Long getProcessedCount() {
+        return processedCount;
+    }
+
+    public void setProcessedCount(Long processedCount) {
+        this.processedCount = processedCount;
+    }
+
+    public Long getPassedCount() {
+        return passedCount;
+    }
+
+    public void setPassedCount(Long passedCount) {
+        this.passedCount = passedCount;
+    }
+
+    public Long getRuleSnapshotVersion() {
+        return ruleSnapshotVersion;
+    }
+
+    public void setRuleSnapshotVersion(Long ruleSnapshotVersion) {
+        this.ruleSnapshotVersion = ruleSnapshotVersion;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+
+    public String getWorkerId() {
+        return workerId;
+    }
+
+    public void setWorkerId(String workerId) {
+        this.workerId = workerId;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getRunStartedAt() {
+        return runStartedAt;
+    }
+
+    public void setRunStartedAt(LocalDateTime runStartedAt) {
+        this.runStartedAt = runStartedAt;
+    }
+
+    public Long getRunStartProcessed() {
+        return runStartProcessed;
+    }
+
+    public void setRunStartProcessed(Long runStartProcessed) {
+        this.runStartProcessed = runStartProcessed;
+    }
+
+    public LocalDateTime getHeartbeatAt() {
+        return heartbeatAt;
+    }
+
+    public void setHeartbeatAt(LocalDateTime heartbeatAt) {
+        this.heartbeatAt = heartbeatAt;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+}
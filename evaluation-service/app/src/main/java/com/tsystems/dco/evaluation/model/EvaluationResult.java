@@ -30,6 +30,9 @@ public class EvaluationResult {
     @Column(name = "evaluation_duration_ms")
     private Long evaluationDurationMs;
 
+    @Column(name = "rule_snapshot_version")
+    private Long ruleSnapshotVersion;
+
     @OneToMany(mappedBy = "evaluationResult", cascade = CascadeType.ALL, orphanRemoval = true)
     @JsonManagedReference
     private List<EvaluationMetricResult> metricResults = new ArrayList<>();
@@ -98,6 +101,14 @@ public class EvaluationResult {
         this.evaluationDurationMs = evaluationDurationMs;
     }
 
+    public Long getRuleSnapshotVersion() {
+        return ruleSnapshotVersion;
+    }
+
+    public void setRuleSnapshotVersion(Long ruleSnapshotVersion) {
+        this.ruleSnapshotVersion = ruleSnapshotVersion;
+    }
+
     public List<EvaluationMetricResult> getMetricResults() {
         return metricResults;
     }
@@ -0,0 +1,96 @@
+package com.tsystems.dco.evaluation.repository;
+
+import com.tsystems.dco.evaluation.model.BulkEvaluationJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repository for managing bulk re-evaluation jobs.
+ */
+@Repository
+public interface BulkEvaluationJobRepository extends JpaRepository<BulkEvaluationJob, Long> {
+
+    /**
+     * Lock the oldest job that is queued or whose worker stopped sending heartbeats.
+     * Rows locked by another worker are skipped.
+     * @param staleBefore Running jobs without a heartbeat since this time are considered abandoned
+     * @return Locked job, if any
+     */
+    @Query(value = """
+        SELECT * FROM evaluation_bulk_jobs
+        WHERE status = 'QUEUED'
+           OR (status = 'RUNNING' AND COALESCE(heartbeat_at, started_at) < :staleBefore)
+        ORDER BY created_at
+        LIMIT 1
+        FOR UPDATE SKIP LOCKED
+        """, nativeQuery = true)
+    Optional<BulkEvaluationJob> lockClaimableJob(@Param("staleBefore") LocalDateTime staleBefore);
+
+    /**
+     * Find the oldest job in one of the given statuses.
+     * @param statuses Statuses
+     * @return Oldest job
+     */
+    Optional<BulkEvaluationJob> findFirstByStatusInOrderByCreatedAtAsc(Collection<BulkEvaluationJob.Status> statuses);
+
+    /**
+     * Record a processed chunk. Only applies while the job is still running on the given worker,
+     * so a cancelled or taken over job is not advanced.
+     * @param id Job ID
+     * @param workerId Worker that processed the chunk
+     * @param lastSimulationId Last simulation ID of the chunk
+     * @param processed Simulations in the chunk
+     * @param passed Passed simulations in the chunk
+     * @param ruleSnapshotVersion Rule set version the chunk was scored with
+     * @param now Current time
+     * @return Number of updated jobs, 0 or 1
+     */
+    @Modifying
+    @Query("UPDATE BulkEvaluationJob j SET j.lastSimulationId = :lastSimulationId, "
+        + "j.processedCount = j.processedCount + :processed, j.passedCount = j.passedCount + :passed, "
+        + "j.ruleSnapshotVersion = :ruleSnapshotVersion, j.heartbeatAt = :now "
+        + "WHERE j.id = :id AND j.workerId = :workerId "
+        + "AND j.status = com.tsystems.dco.evaluation.model.BulkEvaluationJob.Status.RUNNING")
+    int advance(@Param("id") Long id, @Param("workerId") String workerId,
+                @Param("lastSimulationId") UUID lastSimulationId, @Param("processed") long processed,
+                @Param("passed") long passed, @Param("ruleSnapshotVersion") long ruleSnapshotVersion,
+                @Param("now") LocalDateTime now);
+
+    /**
+     * Finish a job that is still running on the given worker.
+     * @param id Job ID
+     * @param workerId Worker that ran the job
+     * @param status Final status
+     * @param errorMessage Error message, null on success
+     * @param now Current time
+     * @return Number of updated jobs, 0 or 1
+     */
+    @Modifying
+    @Query("UPDATE BulkEvaluationJob j SET j.status = :status, j.errorMessage = :errorMessage, "
+        + "j.completedAt = :now, j.heartbeatAt = :now "
+        + "WHERE j.id = :id AND j.workerId = :workerId "
+        + "AND j.status = com.tsystems.dco.evaluation.model.BulkEvaluationJob.Status.RUNNING")
+    int finish(@Param("id") Long id, @Param("workerId") String workerId,
+               @Param("status") BulkEvaluationJob.Status status, @Param("errorMessage") String errorMessage,
+               @Param("now") LocalDateTime now);
+
+    /**
+     * Put a job that is still running on the given worker back into the queue, keeping its cursor.
+     * @param id Job ID
+     * @param workerId Worker that ran the job
+     * @return Number of updated jobs, 0 or 1
+     */
+    @Modifying
+    @Query("UPDATE BulkEvaluationJob j SET j.status = com.tsystems.dco.evaluation.model.BulkEvaluationJob.Status.QUEUED, "
+        + "j.workerId = null WHERE j.id = :id AND j.workerId = :workerId "
+        + "AND j.status = com.tsystems.dco.evaluation.model.BulkEvaluationJob.Status.RUNNING")
+    int release(@Param("id") Long id, @Param("workerId") String workerId);
+}
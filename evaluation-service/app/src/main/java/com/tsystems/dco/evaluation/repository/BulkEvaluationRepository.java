@@ -0,0 +1,151 @@
+package com.tsystems.dco.evaluation.repository;
+
+import com.tsystems.dco.evaluation.model.EvaluationRule;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Array;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Set-based reads and batched writes for bulk re-evaluation.
+ * Complements the JPA repositories, which load and save one evaluation at a time.
+ */
+@Repository
+public class BulkEvaluationRepository {
+    
+    private static final String INSERT_RESULT = 
+            "INSERT INTO evaluation_results (id, simulation_id, overall_score, verdict, evaluated_at, "
+            + "evaluation_duration_ms, rule_snapshot_version) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    
+    private static final String INSERT_METRIC_RESULT = 
+            "INSERT INTO evaluation_metric_results (evaluation_result_id, rule_id, rule_name, metric_name, "
+            + "expected_value, actual_value, passed, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    public BulkEvaluationRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+    
+    /**
+     * Count the simulations with stored metrics.
+     * @return Number of distinct simulation IDs
+     */
+    public long countSimulations() {
+        Long count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(DISTINCT simulation_id) FROM simulation_metrics", Long.class);
+        return count == null ? 0 : count;
+    }
+    
+    /**
+     * Next simulation IDs with stored metrics in ID order, served by the simulation_id index.
+     * @param after Cursor, exclusive, null to start at the beginning
+     * @param limit Maximum number of IDs
+     * @return Simulation IDs, ascending
+     */
+    public List<UUID> findSimulationIdsAfter(UUID after, int limit) {
+        if (after == null) {
+            return jdbcTemplate.queryForList(
+                    "SELECT DISTINCT simulation_id FROM simulation_metrics ORDER BY simulation_id LIMIT ?",
+                    UUID.class, limit);
+        }
+        return jdbcTemplate.queryForList(
+                "SELECT DISTINCT simulation_id FROM simulation_metrics WHERE simulation_id > ? "
+                + "ORDER BY simulation_id LIMIT ?",
+                UUID.class, after, limit);
+    }
+    
+    /**
+     * Stream the latest value of each of the given metrics for a set of simulations in one query.
+     * Metrics without any row are not reported.
+     * @param simulationIds Simulation IDs
+     * @param metricNames Metric names
+     * @param consumer Receives one call per simulation and metric
+     */
+    public void findLatestValues(List<UUID> simulationIds, List<String> metricNames, LatestValueConsumer consumer) {
+        if (simulationIds.isEmpty() || metricNames.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.query(
+                "SELECT DISTINCT ON (simulation_id, metric_name) simulation_id, metric_name, metric_value "
+                + "FROM simulation_metrics WHERE simulation_id = ANY (?) AND metric_name = ANY (?) "
+                + "ORDER BY simulation_id, metric_name, recorded_at DESC",
+                ps -> {
+                    Array ids = ps.getConnection().createArrayOf("uuid", simulationIds.toArray());
+                    Array names = ps.getConnection().createArrayOf("varchar", metricNames.toArray());
+                    ps.setArray(1, ids);
+                    ps.setArray(2, names);
+                },
+                rs -> {
+                    BigDecimal value = rs.getBigDecimal(3);
+                    consumer.accept(rs.getObject(1, UUID.class), rs.getString(2), 
+                                    value == null ? Double.NaN : value.doubleValue());
+                });
+    }
+    
+    /**
+     * Batch insert evaluation results with their metric results.
+     * Result IDs are taken from the evaluation_results sequence up front so metric results can refer to them.
+     * @param rows Scored simulations
+     * @param rules Rules the rows were scored with, in the order of their per-rule arrays
+     * @param ruleSnapshotVersion Rule set version
+     * @param evaluatedAt Evaluation time
+     * @param batchSize JDBC batch size
+     */
+    public void insertResults(List<ResultRow> rows, List<EvaluationRule> rules, long ruleSnapshotVersion,
+                              LocalDateTime evaluatedAt, int batchSize) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        List<Long> ids = jdbcTemplate.queryForList(
+                "SELECT nextval(pg_get_serial_sequence('evaluation_results', 'id')) FROM generate_series(1, ?)",
+                Long.class, rows.size());
+        Timestamp timestamp = Timestamp.valueOf(evaluatedAt);
+        
+        List<Object[]> results = new ArrayList<>(rows.size());
+        List<Object[]> metricResults = new ArrayList<>(rows.size() * rules.size());
+        for (int i = 0; i < rows.size(); i++) {
+            ResultRow row = rows.get(i);
+            Long id = ids.get(i);
+            results.add(new Object[] {id, row.simulationId(), row.score(), row.verdict(), timestamp, 
+                                      null, ruleSnapshotVersion});
+            for (int r = 0; r < rules.size(); r++) {
+                EvaluationRule rule = rules.get(r);
+                double actual = row.actualValues()[r];
+                metricResults.add(new Object[] {id, rule.getId(), rule.getRuleName(), rule.getMetricName(),
+                        rule.getThresholdValue(), 
+                        Double.isNaN(actual) ? null : BigDecimal.valueOf(actual).setScale(2, RoundingMode.HALF_UP),
+                        row.passed()[r], timestamp});
+            }
+        }
+        batch(INSERT_RESULT, results, batchSize);
+        batch(INSERT_METRIC_RESULT, metricResults, batchSize);
+    }
+    
+    private void batch(String sql, List<Object[]> args, int batchSize) {
+        for (int from = 0; from < args.size(); from += batchSize) {
+            jdbcTemplate.batchUpdate(sql, args.subList(from, Math.min(args.size(), from + batchSize)));
+        }
+    }
+    
+    /**
+     * Receives the latest value of a metric, NaN when the latest row has no value.
+     */
+    @FunctionalInterface
+    public interface LatestValueConsumer {
+        void accept(UUID simulationId, String metricName, double value);
+    }
+    
+    /**
+     * Scored simulation, actualValues and passed are indexed like the rules.
+     */
+    public record ResultRow(String simulationId, int score, String verdict, double[] actualValues, boolean[] passed) {
+    }
+}
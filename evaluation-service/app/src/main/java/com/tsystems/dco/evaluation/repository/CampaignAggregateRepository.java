@@ -0,0 +1,211 @@
+package com.tsystems.dco.evaluation.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Set-based aggregation of the evaluations of a campaign, computed in the database.
+ *
+ * A campaign's simulations are read from the scenario library's simulation table in the shared database,
+ * only the latest evaluation of each simulation counts.
+ */
+@Repository
+public class CampaignAggregateRepository {
+
+    /**
+     * Width of a score distribution bucket, scores of 100 fall into the last bucket.
+     */
+    public static final int SCORE_BUCKET_WIDTH = 10;
+
+    private static final String LATEST =
+            "WITH campaign_simulations AS (SELECT id::text AS simulation_id FROM simulation WHERE campaign_id = ?), "
+            + "latest AS (SELECT DISTINCT ON (er.simulation_id) er.id, er.simulation_id, er.overall_score, "
+            + "er.verdict, er.evaluated_at FROM evaluation_results er "
+            + "JOIN campaign_simulations cs ON cs.simulation_id = er.simulation_id "
+            + "ORDER BY er.simulation_id, er.evaluated_at DESC, er.id DESC) ";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CampaignAggregateRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Highest evaluation result ID. Grows with every stored evaluation, so aggregates computed
+     * at the same watermark are still current.
+     * @return Highest ID, 0 without results
+     */
+    public long watermark() {
+        Long watermark = jdbcTemplate.queryForObject(
+                "SELECT COALESCE(MAX(id), 0) FROM evaluation_results", Long.class);
+        return watermark == null ? 0 : watermark;
+    }
+
+    /**
+     * Verdict counts and score statistics of a campaign.
+     * @param campaignId Campaign ID
+     * @return Summary, counts are 0 and statistics null for a campaign without evaluations
+     */
+    public CampaignSummary findSummary(UUID campaignId) {
+        return jdbcTemplate.queryForObject(LATEST
+                + "SELECT (SELECT COUNT(*) FROM campaign_simulations) AS simulations, COUNT(*) AS evaluated, "
+                + "COUNT(*) FILTER (WHERE verdict = 'PASS') AS passed, "
+                + "COUNT(*) FILTER (WHERE verdict = 'FAIL') AS failed, "
+                + "COUNT(*) FILTER (WHERE verdict = 'WARNING') AS warnings, "
+                + "AVG(overall_score) AS average, MIN(overall_score) AS minimum, MAX(overall_score) AS maximum, "
+                + "percentile_cont(ARRAY[0.1, 0.5, 0.9]) WITHIN GROUP (ORDER BY overall_score) AS percentiles "
+                + "FROM latest",
+                (rs, rowNum) -> {
+                    Array array = rs.getArray("percentiles");
+                    Double[] percentiles = array == null ? new Double[3] : (Double[]) array.getArray();
+                    return new CampaignSummary(rs.getLong("simulations"), rs.getLong("evaluated"),
+                            rs.getLong("passed"), rs.getLong("failed"), rs.getLong("warnings"),
+                            nullableDouble(rs, "average"), nullableInteger(rs, "minimum"),
+                            nullableInteger(rs, "maximum"), percentiles[0], percentiles[1], percentiles[2]);
+                },
+                campaignId);
+    }
+
+    /**
+     * Number of latest evaluations per score bucket of {@link #SCORE_BUCKET_WIDTH}, including empty buckets.
+     * @param campaignId Campaign ID
+     * @return Buckets in ascending score order
+     */
+    public List<ScoreBucket> findScoreDistribution(UUID campaignId) {
+        int buckets = 100 / SCORE_BUCKET_WIDTH;
+        long[] counts = new long[buckets];
+        jdbcTemplate.query(LATEST
+                + "SELECT LEAST(overall_score / ?, ?) AS bucket, COUNT(*) AS evaluations FROM latest GROUP BY 1",
+                rs -> {
+                    counts[rs.getInt("bucket")] = rs.getLong("evaluations");
+                },
+                campaignId, SCORE_BUCKET_WIDTH, buckets - 1);
+        List<ScoreBucket> distribution = new ArrayList<>(buckets);
+        for (int i = 0; i < buckets; i++) {
+            int from = i * SCORE_BUCKET_WIDTH;
+            int to = i == buckets - 1 ? 100 : from + SCORE_BUCKET_WIDTH - 1;
+            distribution.add(new ScoreBucket(from, to, counts[i]));
+        }
+        return distribution;
+    }
+
+    /**
+     * How often each rule failed in the latest evaluations of a campaign, most frequent first.
+     * @param campaignId Campaign ID
+     * @return One entry per rule that took part in an evaluation
+     */
+    public List<RuleFailure> findRuleFailures(UUID campaignId) {
+        return jdbcTemplate.query(LATEST
+                + "SELECT emr.rule_id, MAX(emr.rule_name) AS rule_name, MAX(emr.metric_name) AS metric_name, "
+                + "COUNT(*) AS evaluated, COUNT(*) FILTER (WHERE NOT emr.passed) AS failed "
+                + "FROM latest l JOIN evaluation_metric_results emr ON emr.evaluation_result_id = l.id "
+                + "GROUP BY emr.rule_id ORDER BY failed DESC, emr.rule_id",
+                (rs, rowNum) -> new RuleFailure(rs.getLong("rule_id"), rs.getString("rule_name"),
+                        rs.getString("metric_name"), rs.getLong("evaluated"), rs.getLong("failed")),
+                campaignId);
+    }
+
+    /**
+     * Latest evaluations of a campaign matching a drill-down filter, lowest score first.
+     * @param campaignId Campaign ID
+     * @param filter Filter, null criteria match everything
+     * @param limit Maximum number of rows
+     * @param offset Rows to skip
+     * @return Matching evaluations without their rule results
+     */
+    public List<CampaignSimulation> findSimulations(UUID campaignId, SimulationFilter filter, int limit, int offset) {
+        StringBuilder sql = new StringBuilder(LATEST)
+                .append("SELECT l.id, l.simulation_id, l.overall_score, l.verdict, l.evaluated_at FROM latest l WHERE TRUE");
+        List<Object> args = new ArrayList<>();
+        args.add(campaignId);
+        if (filter.verdict() != null) {
+            sql.append(" AND l.verdict = ?");
+            args.add(filter.verdict());
+        }
+        if (filter.minScore() != null) {
+            sql.append(" AND l.overall_score >= ?");
+            args.add(filter.minScore());
+        }
+        if (filter.maxScore() != null) {
+            sql.append(" AND l.overall_score <= ?");
+            args.add(filter.maxScore());
+        }
+        if (filter.failedRuleId() != null) {
+            sql.append(" AND EXISTS (SELECT 1 FROM evaluation_metric_results emr WHERE emr.evaluation_result_id = l.id "
+                    + "AND emr.rule_id = ? AND NOT emr.passed)");
+            args.add(filter.failedRuleId());
+        }
+        sql.append(" ORDER BY l.overall_score, l.simulation_id LIMIT ? OFFSET ?");
+        args.add(limit);
+        args.add(offset);
+        return jdbcTemplate.query(sql.toString(),
+                (rs, rowNum) -> new CampaignSimulation(rs.getLong("id"), rs.getString("simulation_id"),
+                        rs.getInt("overall_score"), rs.getString("verdict"),
+                        toLocalDateTime(rs.getTimestamp("evaluated_at"))),
+                args.toArray());
+    }
+
+    private static Double nullableDouble(ResultSet rs, String column) throws SQLException {
+        double value = rs.getDouble(column);
+        return rs.wasNull() ? null : value;
+    }
+
+    private static Integer nullableInteger(ResultSet rs, String column) throws SQLException {
+        int value = rs.getInt(column);
+        return rs.wasNull() ? null : value;
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime();
+    }
+
+    /**
+     * Verdict counts and score statistics of the latest evaluations of a campaign.
+     */
+    public record CampaignSummary(long simulations, long evaluated, long passed, long failed, long warnings,
+                                  Double averageScore, Integer minScore, Integer maxScore,
+                                  Double p10Score, Double medianScore, Double p90Score) {
+
+        public Double getPassRate() {
+            return evaluated == 0 ? null : (double) passed / evaluated;
+        }
+    }
+
+    /**
+     * Number of evaluations with a score between from and to, both inclusive.
+     */
+    public record ScoreBucket(int from, int to, long evaluations) {
+    }
+
+    /**
+     * Failure frequency of one rule.
+     */
+    public record RuleFailure(long ruleId, String ruleName, String metricName, long evaluated, long failed) {
+
+        public double getFailureRate() {
+            return evaluated == 0 ? 0 : (double) failed / evaluated;
+        }
+    }
+
+    /**
+     * Drill-down criteria, null criteria are not applied.
+     */
+    public record SimulationFilter(String verdict, Integer minScore, Integer maxScore, Long failedRuleId) {
+    }
+
+    /**
+     * Latest evaluation of one simulation of a campaign.
+     */
+    public record CampaignSimulation(long evaluationResultId, String simulationId, int score, String verdict,
+                                     LocalDateTime evaluatedAt) {
+    }
+}
@@ -0,0 +1,135 @@
+package com.tsystems.dco.evaluation.repository;
+
+import com.tsystems.dco.evaluation.model.EvaluationJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository for managing queued evaluation jobs.
+ */
+@Repository
+public interface EvaluationJobRepository extends JpaRepository<EvaluationJob, Long> {
+
+    /**
+     * Lock due jobs for this worker. Rows locked by another worker are skipped,
+     * so several instances can poll the same table without handing out a job twice.
+     * @param now Current time
+     * @param limit Maximum number of jobs
+     * @return Locked jobs, oldest first
+     */
+    @Query(value = """
+        SELECT * FROM evaluation_jobs
+        WHERE status = 'QUEUED' AND run_at <= :now
+        ORDER BY run_at
+        LIMIT :limit
+        FOR UPDATE SKIP LOCKED
+        """, nativeQuery = true)
+    List<EvaluationJob> lockDueJobs(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    /**
+     * Find the open job of a simulation, if any.
+     * @param simulationId ID of the simulation
+     * @param statuses Open statuses
+     * @return Oldest open job
+     */
+    Optional<EvaluationJob> findFirstBySimulationIdAndStatusInOrderByCreatedAtAsc(String simulationId,
+                                                                                 Collection<EvaluationJob.Status> statuses);
+
+    /**
+     * Renew the lease of jobs still running on the given worker.
+     * @param ids Job IDs
+     * @param workerId Worker running the jobs
+     * @param now Current time
+     * @return Number of renewed jobs
+     */
+    @Modifying
+    @Query("UPDATE EvaluationJob j SET j.heartbeatAt = :now WHERE j.id IN :ids AND j.workerId = :workerId "
+        + "AND j.status = com.tsystems.dco.evaluation.model.EvaluationJob.Status.RUNNING")
+    int heartbeat(@Param("ids") Collection<Long> ids, @Param("workerId") String workerId,
+                  @Param("now") LocalDateTime now);
+
+    /**
+     * Complete a job, only while the given worker still holds it.
+     * @param id Job ID
+     * @param workerId Worker running the job
+     * @param evaluationResultId ID of the stored evaluation result
+     * @param now Current time
+     * @return 1 if the job was completed, 0 if the worker lost it to another worker
+     */
+    @Modifying
+    @Query("UPDATE EvaluationJob j SET j.status = com.tsystems.dco.evaluation.model.EvaluationJob.Status.SUCCEEDED, "
+        + "j.evaluationResultId = :evaluationResultId, j.errorMessage = null, j.completedAt = :now "
+        + "WHERE j.id = :id AND j.workerId = :workerId "
+        + "AND j.status = com.tsystems.dco.evaluation.model.EvaluationJob.Status.RUNNING")
+    int markSucceeded(@Param("id") Long id, @Param("workerId") String workerId,
+                      @Param("evaluationResultId") Long evaluationResultId, @Param("now") LocalDateTime now);
+
+    /**
+     * Queue a failed job again, only while the given worker still holds it and it has attempts left.
+     * @param id Job ID
+     * @param workerId Worker running the job
+     * @param errorMessage Failure reason
+     * @param runAt Time of the next attempt
+     * @return 1 if the job was requeued, 0 otherwise
+     */
+    @Modifying
+    @Query("UPDATE EvaluationJob j SET j.status = com.tsystems.dco.evaluation.model.EvaluationJob.Status.QUEUED, "
+        + "j.workerId = null, j.errorMessage = :errorMessage, j.runAt = :runAt "
+        + "WHERE j.id = :id AND j.workerId = :workerId "
+        + "AND j.status = com.tsystems.dco.evaluation.model.EvaluationJob.Status.RUNNING "
+        + "AND j.attempts < j.maxAttempts")
+    int requeueFailed(@Param("id") Long id, @Param("workerId") String workerId,
+                      @Param("errorMessage") String errorMessage, @Param("runAt") LocalDateTime runAt);
+
+    /**
+     * Fail a job for good, only while the given worker still holds it and it ran out of attempts.
+     * @param id Job ID
+     * @param workerId Worker running the job
+     * @param errorMessage Failure reason
+     * @param now Current time
+     * @return 1 if the job was failed, 0 otherwise
+     */
+    @Modifying
+    @Query("UPDATE EvaluationJob j SET j.status = com.tsystems.dco.evaluation.model.EvaluationJob.Status.FAILED, "
+        + "j.workerId = null, j.errorMessage = :errorMessage, j.completedAt = :now "
+        + "WHERE j.id = :id AND j.workerId = :workerId "
+        + "AND j.status = com.tsystems.dco.evaluation.model.EvaluationJob.Status.RUNNING "
+        + "AND j.attempts >= j.maxAttempts")
+    int markFailed(@Param("id") Long id, @Param("workerId") String workerId,
+                   @Param("errorMessage") String errorMessage, @Param("now") LocalDateTime now);
+
+    /**
+     * Put jobs back into the queue whose worker stopped before finishing them and that have attempts left.
+     * @param staleBefore Running jobs without a heartbeat since this time are considered abandoned
+     * @return Number of requeued jobs
+     */
+    @Modifying
+    @Query("UPDATE EvaluationJob j SET j.status = com.tsystems.dco.evaluation.model.EvaluationJob.Status.QUEUED, "
+        + "j.workerId = null WHERE j.status = com.tsystems.dco.evaluation.model.EvaluationJob.Status.RUNNING "
+        + "AND j.heartbeatAt < :staleBefore AND j.attempts < j.maxAttempts")
+    int requeueAbandoned(@Param("staleBefore") LocalDateTime staleBefore);
+
+    /**
+     * Fail jobs whose worker stopped before finishing them and that ran out of attempts,
+     * e.g. because evaluating the simulation crashes the worker.
+     * @param staleBefore Running jobs without a heartbeat since this time are considered abandoned
+     * @param errorMessage Failure reason
+     * @param now Current time
+     * @return Number of failed jobs
+     */
+    @Modifying
+    @Query("UPDATE EvaluationJob j SET j.status = com.tsystems.dco.evaluation.model.EvaluationJob.Status.FAILED, "
+        + "j.workerId = null, j.errorMessage = :errorMessage, j.completedAt = :now "
+        + "WHERE j.status = com.tsystems.dco.evaluation.model.EvaluationJob.Status.RUNNING "
+        + "AND j.heartbeatAt < :staleBefore AND j.attempts >= j.maxAttempts")
+    int failAbandoned(@Param("staleBefore") LocalDateTime staleBefore, @Param("errorMessage") String errorMessage,
+                      @Param("now") LocalDateTime now);
+}
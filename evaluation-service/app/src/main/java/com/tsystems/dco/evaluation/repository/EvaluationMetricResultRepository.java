@@ -2,14 +2,47 @@ package com.tsystems.dco.evaluation.repository;
 
 import com.tsystems.dco.evaluation.model.EvaluationMetricResult;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.util.UUID;
+import java.math.BigDecimal;
+import java.util.List;
 
 /**
  * Repository for managing evaluation metric results.
  */
 @Repository
-public interface EvaluationMetricResultRepository extends JpaRepository<EvaluationMetricResult, UUID> {
-    // Basic CRUD operations are provided by JpaRepository
+public interface EvaluationMetricResultRepository extends JpaRepository<EvaluationMetricResult, Long> {
+    
+    /**
+     * Per-rule results of an evaluation in one query, joined with the rule for its operator
+     * instead of loading every rule separately.
+     * @param evaluationResultId ID of the evaluation result
+     * @return Rule results in evaluation order
+     */
+    @Query("SELECT m.id AS id, m.ruleName AS ruleName, m.metricName AS metricName, r.operator AS operator, "
+        + "m.expectedValue AS expectedValue, m.actualValue AS actualValue, m.passed AS passed "
+        + "FROM EvaluationMetricResult m JOIN m.rule r "
+        + "WHERE m.evaluationResult.id = :evaluationResultId ORDER BY m.id")
+    List<MetricResultDetail> findDetailsByEvaluationResultId(@Param("evaluationResultId") Long evaluationResultId);
+    
+    /**
+     * Result of one rule within an evaluation
+     */
+    interface MetricResultDetail {
+        Long getId();
+        
+        String getRuleName();
+        
+        String getMetricName();
+        
+        String getOperator();
+        
+        BigDecimal getExpectedValue();
+        
+        BigDecimal getActualValue();
+        
+        Boolean getPassed();
+    }
 }
@@ -1,10 +1,17 @@
 package com.tsystems.dco.evaluation.repository;
 
 import com.tsystems.dco.evaluation.model.EvaluationResult;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository for managing evaluation results.
@@ -18,4 +25,50 @@ public interface EvaluationResultRepository extends JpaRepository<EvaluationResu
      * @return List of evaluation results
      */
     List<EvaluationResult> findBySimulationIdOrderByEvaluatedAtDesc(String simulationId);
+    
+    /**
+     * Find the IDs of the latest evaluation results of a simulation. Selected apart from
+     * {@link #findWithMetricResultsById(Long)}, the limit cannot be applied in SQL to a query
+     * fetching the metric results collection.
+     * @param simulationId ID of the simulation
+     * @param pageable Number of IDs
+     * @return IDs, newest evaluation first
+     */
+    @Query("SELECT r.id FROM EvaluationResult r WHERE r.simulationId = :simulationId "
+        + "ORDER BY r.evaluatedAt DESC, r.id DESC")
+    List<Long> findLatestIds(@Param("simulationId") String simulationId, Pageable pageable);
+    
+    /**
+     * Find an evaluation result with its metric results and their rules loaded in the same query.
+     * @param id ID of the evaluation result
+     * @return Evaluation result
+     */
+    @EntityGraph(attributePaths = {"metricResults", "metricResults.rule"})
+    Optional<EvaluationResult> findWithMetricResultsById(Long id);
+    
+    /**
+     * Page through the evaluation results of a simulation without loading their metric results.
+     * Only the projected columns are selected, served by the (simulation_id, evaluated_at) unique index.
+     * @param simulationId ID of the simulation
+     * @param pageable Page and sort
+     * @return Page of summaries
+     */
+    Page<EvaluationSummary> findSummariesBySimulationId(String simulationId, Pageable pageable);
+    
+    /**
+     * Score and verdict of an evaluation, without per-rule details
+     */
+    interface EvaluationSummary {
+        Long getId();
+        
+        Integer getOverallScore();
+        
+        String getVerdict();
+        
+        LocalDateTime getEvaluatedAt();
+        
+        Long getEvaluationDurationMs();
+        
+        Long getRuleSnapshotVersion();
+    }
 }
@@ -0,0 +1,39 @@
+package com.tsystems.dco.evaluation.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for the version counter of the active rule set.
+ */
+@Repository
+public class RuleSetVersionRepository {
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    public RuleSetVersionRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+    
+    /**
+     * Get the current rule set version.
+     * @return Current version
+     */
+    public long current() {
+        Long version = jdbcTemplate.queryForObject(
+                "SELECT version FROM evaluation_rule_set_version WHERE id = 1", Long.class);
+        return version == null ? 0 : version;
+    }
+    
+    /**
+     * Increment the rule set version. Must run in the transaction that changes the rules,
+     * the row lock orders concurrent rule changes.
+     * @return New version
+     */
+    public long increment() {
+        Long version = jdbcTemplate.queryForObject(
+                "UPDATE evaluation_rule_set_version SET version = version + 1, updated_at = CURRENT_TIMESTAMP "
+                + "WHERE id = 1 RETURNING version", Long.class);
+        return version == null ? 0 : version;
+    }
+}
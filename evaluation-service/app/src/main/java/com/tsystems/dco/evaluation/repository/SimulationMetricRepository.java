@@ -6,6 +6,8 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -41,6 +43,29 @@ public interface SimulationMetricRepository extends JpaRepository<SimulationMetr
     return metrics.isEmpty() ? Optional.empty() : Optional.of(metrics.get(0));
   }
   
+  /**
+   * Find the latest value of each of the given metrics for a simulation in one query.
+   * Served by the (simulation_id, metric_name, recorded_at DESC) INCLUDE (metric_value) index.
+   * Metrics without any row are absent from the result.
+   */
+  @Query(value = "SELECT DISTINCT ON (metric_name) metric_name AS metricName, metric_value AS metricValue " +
+                 "FROM simulation_metrics WHERE simulation_id = :simulationId AND metric_name IN (:metricNames) " +
+                 "ORDER BY metric_name, recorded_at DESC",
+         nativeQuery = true)
+  List<LatestMetricValue> findLatestValues(
+    @Param("simulationId") UUID simulationId,
+    @Param("metricNames") Collection<String> metricNames
+  );
+  
+  /**
+   * Latest value of a metric, null when the latest row has no value
+   */
+  interface LatestMetricValue {
+    String getMetricName();
+    
+    BigDecimal getMetricValue();
+  }
+  
   /**
    * Check if metrics exist for a simulation
    */
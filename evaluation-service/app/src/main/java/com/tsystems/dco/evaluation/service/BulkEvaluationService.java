@@ -0,0 +1,295 @@
+package com.tsystems.dco.evaluation.service;
+
+import com.tsystems.dco.evaluation.config.BulkEvaluationConfig;
+import com.tsystems.dco.evaluation.model.BulkEvaluationJob;
+import com.tsystems.dco.evaluation.repository.BulkEvaluationJobRepository;
+import com.tsystems.dco.evaluation.repository.BulkEvaluationRepository;
+import com.tsystems.dco.evaluation.repository.BulkEvaluationRepository.ResultRow;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * Re-scores all simulations with stored metrics against the active rules, e.g. after thresholds changed.
+ * 
+ * A job walks the simulation IDs of simulation_metrics in ascending order, one chunk per transaction:
+ * the latest metric values of the whole chunk are read in one query, scored in parallel on the bulk
+ * evaluation pool and batch inserted together with the advanced cursor. A job interrupted by a restart
+ * therefore resumes after the last committed chunk, without skipping or repeating simulations.
+ */
+@Service
+public class BulkEvaluationService {
+    
+    private static final Logger log = LoggerFactory.getLogger(BulkEvaluationService.class);
+    
+    private static final EnumSet<BulkEvaluationJob.Status> OPEN = 
+            EnumSet.of(BulkEvaluationJob.Status.QUEUED, BulkEvaluationJob.Status.RUNNING);
+    private static final EnumSet<BulkEvaluationJob.Status> RESUMABLE = 
+            EnumSet.of(BulkEvaluationJob.Status.FAILED, BulkEvaluationJob.Status.CANCELLED);
+    private static final int MIN_SLICE_SIZE = 64;
+    
+    @Autowired
+    private BulkEvaluationJobRepository jobRepository;
+    
+    @Autowired
+    private BulkEvaluationRepository bulkRepository;
+    
+    @Autowired
+    private RuleSnapshotCache ruleSnapshotCache;
+    
+    @Autowired
+    @Qualifier(BulkEvaluationConfig.EXECUTOR)
+    private AsyncTaskExecutor executor;
+    
+    @Value("${evaluation.bulk.chunk-size:500}")
+    private int defaultChunkSize;
+    
+    @Value("${evaluation.bulk.max-chunk-size:5000}")
+    private int maxChunkSize;
+    
+    @Value("${evaluation.bulk.batch-size:1000}")
+    private int batchSize;
+    
+    @Value("${evaluation.bulk.workers:4}")
+    private int workers;
+    
+    @Value("${evaluation.bulk.lease-timeout-seconds:120}")
+    private int leaseTimeoutSeconds;
+    
+    /**
+     * Queue a bulk re-evaluation. Only one bulk job runs at a time, an open job is returned instead of a new one.
+     * 
+     * @param chunkSize Simulations per chunk, null for the configured default
+     * @return Queued or already open job
+     */
+    @Transactional
+    public BulkEvaluationJob start(Integer chunkSize) {
+        Optional<BulkEvaluationJob> open = jobRepository.findFirstByStatusInOrderByCreatedAtAsc(OPEN);
+        if (open.isPresent()) {
+            log.info("Bulk evaluation job {} is already {}", open.get().getId(), open.get().getStatus());
+            return open.get();
+        }
+        if (ruleSnapshotCache.current().getRules().isEmpty()) {
+            throw new IllegalStateException("No active evaluation rules configured");
+        }
+        int size = chunkSize == null ? defaultChunkSize : Math.max(1, Math.min(chunkSize, maxChunkSize));
+        BulkEvaluationJob job = jobRepository.save(new BulkEvaluationJob(size, bulkRepository.countSimulations()));
+        log.info("Queued bulk evaluation job {} for {} simulations in chunks of {}", 
+                 job.getId(), job.getTotalSimulations(), size);
+        return job;
+    }
+    
+    @Transactional(readOnly = true)
+    public Optional<BulkEvaluationJob> getJob(Long jobId) {
+        return jobRepository.findById(jobId);
+    }
+    
+    /**
+     * Cancel an open job. The chunk in progress is rolled back, committed chunks are kept.
+     * 
+     * @param jobId Job ID
+     * @return The job, if it exists
+     */
+    @Transactional
+    public Optional<BulkEvaluationJob> cancel(Long jobId) {
+        Optional<BulkEvaluationJob> job = jobRepository.findById(jobId);
+        job.filter(j -> OPEN.contains(j.getStatus())).ifPresent(j -> {
+            j.setStatus(BulkEvaluationJob.Status.CANCELLED);
+            j.setCompletedAt(LocalDateTime.now());
+            log.info("Cancelled bulk evaluation job {} after {} simulations", j.getId(), j.getProcessedCount());
+        });
+        return job;
+    }
+    
+    /**
+     * Queue a failed or cancelled job again, it continues after its last committed chunk.
+     * 
+     * @param jobId Job ID
+     * @return The job, if it exists
+     */
+    @Transactional
+    public Optional<BulkEvaluationJob> resume(Long jobId) {
+        Optional<BulkEvaluationJob> job = jobRepository.findById(jobId);
+        if (job.isPresent() && RESUMABLE.contains(job.get().getStatus())) {
+            Optional<BulkEvaluationJob> open = jobRepository.findFirstByStatusInOrderByCreatedAtAsc(OPEN);
+            if (open.isPresent()) {
+                throw new IllegalStateException("Bulk evaluation job " + open.get().getId() + " is already open");
+            }
+            BulkEvaluationJob j = job.get();
+            j.setStatus(BulkEvaluationJob.Status.QUEUED);
+            j.setWorkerId(null);
+            j.setErrorMessage(null);
+            j.setCompletedAt(null);
+            log.info("Resuming bulk evaluation job {} after simulation {}", j.getId(), j.getLastSimulationId());
+        }
+        return job;
+    }
+    
+    /**
+     * Claim a queued job, or a running job whose worker stopped sending heartbeats.
+     * 
+     * @param workerId ID of the claiming worker
+     * @return Claimed job
+     */
+    @Transactional
+    public Optional<BulkEvaluationJob> claim(String workerId) {
+        LocalDateTime now = LocalDateTime.now();
+        Optional<BulkEvaluationJob> claimed = jobRepository.lockClaimableJob(now.minusSeconds(leaseTimeoutSeconds));
+        claimed.ifPresent(job -> {
+            if (job.getStatus() == BulkEvaluationJob.Status.RUNNING) {
+                log.warn("Taking over bulk evaluation job {} from {}", job.getId(), job.getWorkerId());
+            }
+            job.setStatus(BulkEvaluationJob.Status.RUNNING);
+            job.setWorkerId(workerId);
+            if (job.getStartedAt() == null) {
+                job.setStartedAt(now);
+            }
+            job.setRunStartedAt(now);
+            job.setRunStartProcessed(job.getProcessedCount());
+            job.setHeartbeatAt(now);
+        });
+        return claimed;
+    }
+    
+    /**
+     * Evaluate the next chunk of a job and commit its results together with the advanced cursor.
+     * 
+     * @param jobId Job ID
+     * @param workerId Worker running the job
+     * @param after Cursor, the last simulation ID of the previous chunk or null to start
+     * @param chunkSize Simulations per chunk
+     * @return Last simulation ID of this chunk, null if there were no simulations left
+     * @throws CancellationException if the job is no longer running on this worker, nothing is committed
+     */
+    @Transactional
+    public UUID processChunk(Long jobId, String workerId, UUID after, int chunkSize) {
+        RuleSnapshot snapshot = ruleSnapshotCache.current();
+        CompiledRuleSet ruleSet = snapshot.getCompiledRuleSet();
+        if (ruleSet.size() == 0) {
+            throw new IllegalStateException("No active evaluation rules configured");
+        }
+        
+        List<UUID> simulationIds = bulkRepository.findSimulationIdsAfter(after, chunkSize);
+        if (simulationIds.isEmpty()) {
+            return null;
+        }
+        
+        Map<UUID, double[]> values = new HashMap<>(simulationIds.size() * 2);
+        for (UUID simulationId : simulationIds) {
+            values.put(simulationId, ruleSet.newValues());
+        }
+        bulkRepository.findLatestValues(simulationIds, ruleSet.getMetricNames(), (simulationId, metricName, value) -> {
+            int index = ruleSet.indexOf(metricName);
+            if (index >= 0) {
+                values.get(simulationId)[index] = value;
+            }
+        });
+        
+        List<ResultRow> rows = score(simulationIds, values, ruleSet);
+        LocalDateTime now = LocalDateTime.now();
+        bulkRepository.insertResults(rows, ruleSet.getRules(), snapshot.getVersion(), now, batchSize);
+        
+        long passed = rows.stream().filter(row -> "PASS".equals(row.verdict())).count();
+        UUID last = simulationIds.get(simulationIds.size() - 1);
+        if (jobRepository.advance(jobId, workerId, last, rows.size(), passed, snapshot.getVersion(), now) == 0) {
+            throw new CancellationException("Bulk evaluation job " + jobId + " is no longer running on " + workerId);
+        }
+        return last;
+    }
+    
+    /**
+     * Mark a job completed or failed, unless it was cancelled or taken over meanwhile.
+     * 
+     * @param jobId Job ID
+     * @param workerId Worker running the job
+     * @param errorMessage Error message, null if the job completed
+     */
+    @Transactional
+    public void finish(Long jobId, String workerId, String errorMessage) {
+        BulkEvaluationJob.Status status = errorMessage == null 
+                ? BulkEvaluationJob.Status.COMPLETED : BulkEvaluationJob.Status.FAILED;
+        if (jobRepository.finish(jobId, workerId, status, errorMessage, LocalDateTime.now()) > 0) {
+            log.info("Bulk evaluation job {} {}", jobId, status);
+        }
+    }
+    
+    /**
+     * Hand a job back to the queue on shutdown, so the next worker resumes it without waiting for the lease timeout.
+     * 
+     * @param jobId Job ID
+     * @param workerId Worker running the job
+     */
+    @Transactional
+    public void release(Long jobId, String workerId) {
+        if (jobRepository.release(jobId, workerId) > 0) {
+            log.info("Released bulk evaluation job {}", jobId);
+        }
+    }
+    
+    /**
+     * Score a chunk, split into one slice per worker unless the chunk is too small to be worth it.
+     */
+    List<ResultRow> score(List<UUID> simulationIds, Map<UUID, double[]> values, CompiledRuleSet ruleSet) {
+        int slices = Math.max(1, Math.min(workers, simulationIds.size() / MIN_SLICE_SIZE));
+        if (slices == 1) {
+            return scoreSlice(simulationIds, values, ruleSet);
+        }
+        int sliceSize = (simulationIds.size() + slices - 1) / slices;
+        List<Future<List<ResultRow>>> futures = new ArrayList<>(slices);
+        for (int from = 0; from < simulationIds.size(); from += sliceSize) {
+            List<UUID> slice = simulationIds.subList(from, Math.min(simulationIds.size(), from + sliceSize));
+            futures.add(executor.submit(() -> scoreSlice(slice, values, ruleSet)));
+        }
+        List<ResultRow> rows = new ArrayList<>(simulationIds.size());
+        try {
+            for (Future<List<ResultRow>> future : futures) {
+                rows.addAll(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            futures.forEach(future -> future.cancel(true));
+            throw new IllegalStateException("Interrupted while scoring simulations", e);
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw new IllegalStateException("Scoring simulations failed: " + e.getCause().getMessage(), e.getCause());
+        }
+        return rows;
+    }
+    
+    private static List<ResultRow> scoreSlice(List<UUID> simulationIds, Map<UUID, double[]> values, 
+                                              CompiledRuleSet ruleSet) {
+        int size = ruleSet.size();
+        List<ResultRow> rows = new ArrayList<>(simulationIds.size());
+        for (UUID simulationId : simulationIds) {
+            double[] simulationValues = values.get(simulationId);
+            double[] actual = new double[size];
+            boolean[] passed = new boolean[size];
+            boolean allPassed = true;
+            for (int i = 0; i < size; i++) {
+                actual[i] = ruleSet.valueOf(i, simulationValues);
+                passed[i] = ruleSet.passes(i, simulationValues);
+                allPassed &= passed[i];
+            }
+            rows.add(new ResultRow(simulationId.toString(), ruleSet.score(simulationValues), 
+                                   allPassed ? "PASS" : "FAIL", actual, passed));
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,93 @@
+package com.tsystems.dco.evaluation.service;
+
+import com.tsystems.dco.evaluation.config.BulkEvaluationConfig;
+import com.tsystems.dco.evaluation.model.BulkEvaluationJob;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Picks up bulk re-evaluation jobs and drives them chunk by chunk on the bulk evaluation runner.
+ * On shutdown the job is handed back to the queue after the current chunk. Each chunk refreshes the
+ * job heartbeat, so a job left behind by a crashed instance is taken over once the lease timeout passed.
+ */
+@Component
+public class BulkEvaluationWorker {
+    
+    private static final Logger log = LoggerFactory.getLogger(BulkEvaluationWorker.class);
+    
+    private final String workerId = "bulk-evaluation-worker-" + UUID.randomUUID();
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile boolean stopping;
+    
+    @Autowired
+    private BulkEvaluationService bulkEvaluationService;
+    
+    @Autowired
+    @Qualifier(BulkEvaluationConfig.RUNNER)
+    private TaskExecutor runner;
+    
+    @Scheduled(fixedDelayString = "${evaluation.bulk.poll-interval-ms:5000}")
+    public void poll() {
+        if (stopping || !running.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            Optional<BulkEvaluationJob> job = bulkEvaluationService.claim(workerId);
+            if (job.isEmpty()) {
+                running.set(false);
+                return;
+            }
+            runner.execute(() -> run(job.get()));
+        } catch (RuntimeException e) {
+            running.set(false);
+            log.error("Could not start bulk evaluation: {}", e.getMessage(), e);
+        }
+    }
+    
+    @PreDestroy
+    public void stop() {
+        stopping = true;
+    }
+    
+    void run(BulkEvaluationJob job) {
+        UUID cursor = job.getLastSimulationId();
+        log.info("Running bulk evaluation job {} from simulation {}", job.getId(), cursor);
+        try {
+            while (!stopping) {
+                long start = System.nanoTime();
+                UUID last = bulkEvaluationService.processChunk(job.getId(), workerId, cursor, job.getChunkSize());
+                if (last == null) {
+                    bulkEvaluationService.finish(job.getId(), workerId, null);
+                    return;
+                }
+                cursor = last;
+                log.debug("Bulk evaluation job {}: chunk up to {} in {} ms", 
+                          job.getId(), cursor, (System.nanoTime() - start) / 1_000_000);
+            }
+            log.info("Stopping bulk evaluation job {} after simulation {}", job.getId(), cursor);
+            bulkEvaluationService.release(job.getId(), workerId);
+        } catch (CancellationException e) {
+            log.info("Bulk evaluation job {} stopped: {}", job.getId(), e.getMessage());
+        } catch (Exception e) {
+            log.error("Bulk evaluation job {} failed after simulation {}: {}", job.getId(), cursor, e.getMessage(), e);
+            bulkEvaluationService.finish(job.getId(), workerId, e.getMessage());
+        } finally {
+            running.set(false);
+        }
+    }
+    
+    boolean isRunning() {
+        return running.get();
+    }
+}
@@ -0,0 +1,166 @@
+package com.tsystems.dco.evaluation.service;
+
+import com.tsystems.dco.evaluation.repository.CampaignAggregateRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Aggregate scoring of campaigns: pass rate, score distribution and per-rule failure frequencies
+ * over the latest evaluation of every simulation of a campaign.
+ *
+ * Aggregates are computed in the database and cached per campaign. A cached aggregate is served
+ * as is for fresh-seconds, after that it is kept as long as no evaluation was stored since it was
+ * computed, up to max-age-seconds to also pick up simulations added to a campaign.
+ */
+@Service
+public class CampaignAggregationService {
+
+    private static final Logger log = LoggerFactory.getLogger(CampaignAggregationService.class);
+
+    private static final Set<String> VERDICTS = Set.of("PASS", "FAIL", "WARNING");
+
+    private final Map<UUID, CachedAggregate> cache = new ConcurrentHashMap<>();
+    private final TransactionTemplate aggregateTransaction;
+
+    @Autowired
+    private CampaignAggregateRepository aggregateRepository;
+
+    @Value("${evaluation.campaigns.cache.fresh-seconds:10}")
+    private long freshSeconds;
+
+    @Value("${evaluation.campaigns.cache.max-age-seconds:600}")
+    private long maxAgeSeconds;
+
+    @Value("${evaluation.campaigns.cache.max-entries:500}")
+    private int maxEntries;
+
+    @Value("${evaluation.campaigns.max-page-size:500}")
+    private int maxPageSize;
+
+    public CampaignAggregationService(PlatformTransactionManager transactionManager) {
+        this.aggregateTransaction = new TransactionTemplate(transactionManager);
+        // All queries of an aggregate see the same database snapshot
+        this.aggregateTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.aggregateTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Get the aggregate of a campaign, from the cache while it is current.
+     *
+     * @param campaignId Campaign ID
+     * @return Aggregate over the latest evaluation of each simulation of the campaign
+     */
+    public CampaignAggregate getAggregate(UUID campaignId) {
+        CachedAggregate cached = cache.get(campaignId);
+        LocalDateTime now = LocalDateTime.now();
+        if (cached != null && !now.isAfter(cached.checkedAt().plusSeconds(freshSeconds))) {
+            return cached.aggregate();
+        }
+        // Queried outside the map, inside compute a slow aggregate would block every update of its bin
+        CachedAggregate entry = cache.merge(campaignId, revalidate(campaignId, cached, now),
+                CampaignAggregationService::newer);
+        evictOverflow();
+        return entry.aggregate();
+    }
+
+    /**
+     * Drill into the latest evaluations of a campaign, lowest score first. Rule results of a single
+     * evaluation are available from the evaluation details.
+     *
+     * @param campaignId Campaign ID
+     * @param filter Drill-down criteria
+     * @param page Page number, starting at 0
+     * @param size Page size, capped at evaluation.campaigns.max-page-size
+     * @return Matching evaluations
+     * @throws IllegalArgumentException for an unknown verdict or an empty score range
+     */
+    public List<CampaignAggregateRepository.CampaignSimulation> getSimulations(
+            UUID campaignId, CampaignAggregateRepository.SimulationFilter filter, int page, int size) {
+        if (filter.verdict() != null && !VERDICTS.contains(filter.verdict())) {
+            throw new IllegalArgumentException("Unknown verdict: " + filter.verdict());
+        }
+        if (filter.minScore() != null && filter.maxScore() != null && filter.minScore() > filter.maxScore()) {
+            throw new IllegalArgumentException("minScore must not be greater than maxScore");
+        }
+        int limit = Math.max(1, Math.min(size, maxPageSize));
+        int offset = Math.max(0, page) * limit;
+        return aggregateTransaction.execute(status ->
+                aggregateRepository.findSimulations(campaignId, filter, limit, offset));
+    }
+
+    /**
+     * Drop the cached aggregate of a campaign.
+     *
+     * @param campaignId Campaign ID
+     */
+    public void evict(UUID campaignId) {
+        cache.remove(campaignId);
+    }
+
+    private CachedAggregate revalidate(UUID campaignId, CachedAggregate previous, LocalDateTime now) {
+        long watermark = aggregateRepository.watermark();
+        if (previous != null && previous.watermark() == watermark
+                && !now.isAfter(previous.aggregate().computedAt().plusSeconds(maxAgeSeconds))) {
+            return new CachedAggregate(previous.aggregate(), watermark, now);
+        }
+        long start = System.nanoTime();
+        CachedAggregate computed = aggregateTransaction.execute(status -> {
+            long snapshotWatermark = aggregateRepository.watermark();
+            CampaignAggregate aggregate = new CampaignAggregate(campaignId,
+                    aggregateRepository.findSummary(campaignId),
+                    aggregateRepository.findScoreDistribution(campaignId),
+                    aggregateRepository.findRuleFailures(campaignId),
+                    now);
+            return new CachedAggregate(aggregate, snapshotWatermark, now);
+        });
+        log.debug("Aggregated campaign {} in {} ms", campaignId, (System.nanoTime() - start) / 1_000_000);
+        return computed;
+    }
+
+    /**
+     * Keep the later revalidation when concurrent callers publish for the same campaign
+     */
+    private static CachedAggregate newer(CachedAggregate current, CachedAggregate candidate) {
+        return candidate.checkedAt().isBefore(current.checkedAt()) ? current : candidate;
+    }
+
+    private void evictOverflow() {
+        int overflow = cache.size() - maxEntries;
+        if (overflow <= 0) {
+            return;
+        }
+        cache.entrySet().stream()
+                .sorted(Comparator.comparing(entry -> entry.getValue().checkedAt()))
+                .limit(overflow)
+                .map(Map.Entry::getKey)
+                .toList()
+                .forEach(cache::remove);
+    }
+
+    /**
+     * Aggregate of a campaign at the time it was computed.
+     */
+    public record CampaignAggregate(UUID campaignId,
+                                    CampaignAggregateRepository.CampaignSummary summary,
+                                    List<CampaignAggregateRepository.ScoreBucket> scoreDistribution,
+                                    List<CampaignAggregateRepository.RuleFailure> ruleFailures,
+                                    LocalDateTime computedAt) {
+    }
+
+    private record CachedAggregate(CampaignAggregate aggregate, long watermark, LocalDateTime checkedAt) {
+    }
+}
@@ -0,0 +1,196 @@
+package com.tsystems.dco.evaluation.service;
+
+import com.tsystems.dco.evaluation.model.EvaluationRule;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable, precompiled form of a list of evaluation rules for scoring many simulations.
+ * Operators are resolved once, thresholds are unboxed and every rule refers to its metric by
+ * index, so scoring a simulation is a loop over primitive arrays without allocation.
+ * 
+ * Metric values are passed as a double[] in {@link #getMetricNames()} order, NaN marks a missing metric.
+ * Results match {@link EvaluationEngine}: missing metrics, missing thresholds and unknown operators fail.
+ */
+public final class CompiledRuleSet {
+    
+    private static final Logger log = LoggerFactory.getLogger(CompiledRuleSet.class);
+    
+    private final List<EvaluationRule> rules;
+    private final String[] metricNames;
+    private final Map<String, Integer> metricIndexes;
+    private final int[] ruleMetricIndexes;
+    private final RuleOperator[] operators;
+    private final double[] thresholds;
+    private final int[] weights;
+    private final int totalWeight;
+    
+    private CompiledRuleSet(List<EvaluationRule> rules) {
+        int size = rules.size();
+        this.rules = List.copyOf(rules);
+        this.metricIndexes = new HashMap<>();
+        this.ruleMetricIndexes = new int[size];
+        this.operators = new RuleOperator[size];
+        this.thresholds = new double[size];
+        this.weights = new int[size];
+        int total = 0;
+        for (int i = 0; i < size; i++) {
+            EvaluationRule rule = rules.get(i);
+            ruleMetricIndexes[i] = metricIndexes.computeIfAbsent(rule.getMetricName(), name -> metricIndexes.size());
+            operators[i] = rule.getThresholdValue() == null ? RuleOperator.UNKNOWN : RuleOperator.of(rule.getOperator());
+            if (operators[i] == RuleOperator.UNKNOWN) {
+                log.warn("Rule '{}' can never pass: operator {}, threshold {}", 
+                         rule.getRuleName(), rule.getOperator(), rule.getThresholdValue());
+            }
+            thresholds[i] = rule.getThresholdValue() == null ? Double.NaN : rule.getThresholdValue().doubleValue();
+            weights[i] = rule.getWeight() == null ? 0 : rule.getWeight();
+            total += weights[i];
+        }
+        this.totalWeight = total;
+        this.metricNames = new String[metricIndexes.size()];
+        metricIndexes.forEach((name, index) -> metricNames[index] = name);
+    }
+    
+    /**
+     * Compile a list of rules.
+     * 
+     * @param rules Rules in evaluation order
+     * @return Compiled rule set
+     */
+    public static CompiledRuleSet compile(List<EvaluationRule> rules) {
+        return new CompiledRuleSet(rules);
+    }
+    
+    public List<EvaluationRule> getRules() {
+        return rules;
+    }
+    
+    public int size() {
+        return ruleMetricIndexes.length;
+    }
+    
+    /**
+     * @return Distinct metric names referenced by the rules, in value array order
+     */
+    public List<String> getMetricNames() {
+        return List.of(metricNames);
+    }
+    
+    /**
+     * @param metricName Metric name
+     * @return Index in the value array or -1 if no rule uses the metric
+     */
+    public int indexOf(String metricName) {
+        Integer index = metricIndexes.get(metricName);
+        return index == null ? -1 : index;
+    }
+    
+    /**
+     * @return A value array with every metric missing
+     */
+    public double[] newValues() {
+        double[] values = new double[metricNames.length];
+        Arrays.fill(values, Double.NaN);
+        return values;
+    }
+    
+    /**
+     * Copy metric values by name into a value array, metrics not in the map become missing.
+     * 
+     * @param metrics Metric values by name
+     * @param values Value array to fill
+     * @return The filled value array
+     */
+    public double[] fill(Map<String, Double> metrics, double[] values) {
+        for (int i = 0; i < metricNames.length; i++) {
+            Double value = metrics.get(metricNames[i]);
+            values[i] = value == null ? Double.NaN : value;
+        }
+        return values;
+    }
+    
+    /**
+     * @param rule Rule index
+     * @return Index of the metric of a rule in the value array
+     */
+    public int metricIndexOf(int rule) {
+        return ruleMetricIndexes[rule];
+    }
+    
+    /**
+     * @param rule Rule index
+     * @return Weight of a rule
+     */
+    public int weightOf(int rule) {
+        return weights[rule];
+    }
+    
+    public int getTotalWeight() {
+        return totalWeight;
+    }
+    
+    /**
+     * @param rule Rule index
+     * @param values Metric values
+     * @return Value of the metric of a rule, NaN if missing
+     */
+    public double valueOf(int rule, double[] values) {
+        return values[ruleMetricIndexes[rule]];
+    }
+    
+    /**
+     * @param rule Rule index
+     * @param values Metric values
+     * @return true if the rule passes
+     */
+    public boolean passes(int rule, double[] values) {
+        double actual = values[ruleMetricIndexes[rule]];
+        return !Double.isNaN(actual) && operators[rule].test(actual, thresholds[rule]);
+    }
+    
+    /**
+     * @param values Metric values
+     * @return Sum of the weights of the passed rules
+     */
+    public int passedWeight(double[] values) {
+        int passed = 0;
+        for (int i = 0; i < ruleMetricIndexes.length; i++) {
+            if (passes(i, values)) {
+                passed += weights[i];
+            }
+        }
+        return passed;
+    }
+    
+    /**
+     * @param values Metric values
+     * @return Score between 0 and 100, as {@link EvaluationEngine#calculateScore(List)}
+     */
+    public int score(double[] values) {
+        if (totalWeight == 0) {
+            return 0;
+        }
+        return (int) Math.round((double) passedWeight(values) / totalWeight * 100);
+    }
+    
+    /**
+     * @param values Metric values
+     * @return true if every rule passes and there is at least one rule
+     */
+    public boolean allPassed(double[] values) {
+        if (ruleMetricIndexes.length == 0) {
+            return false;
+        }
+        for (int i = 0; i < ruleMetricIndexes.length; i++) {
+            if (!passes(i, values)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
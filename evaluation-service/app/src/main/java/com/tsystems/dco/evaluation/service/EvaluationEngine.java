@@ -20,64 +20,50 @@ public class EvaluationEngine {
     public List<EvaluationMetricResult> evaluateMetrics(List<EvaluationRule> rules, 
                                                          Map<String, Double> metrics,
                                                          EvaluationResult evaluationResult) {
+        return evaluateMetrics(CompiledRuleSet.compile(rules), metrics, evaluationResult);
+    }
+    
+    /**
+     * Evaluate precompiled rules and build the metric results to store.
+     * 
+     * @param ruleSet Compiled rules
+     * @param metrics Metric values by name
+     * @param evaluationResult Result the metric results belong to
+     * @return One metric result per rule, in rule order
+     */
+    public List<EvaluationMetricResult> evaluateMetrics(CompiledRuleSet ruleSet, 
+                                                         Map<String, Double> metrics,
+                                                         EvaluationResult evaluationResult) {
         
-        List<EvaluationMetricResult> results = new ArrayList<>();
+        double[] values = ruleSet.fill(metrics, ruleSet.newValues());
+        List<EvaluationMetricResult> results = new ArrayList<>(ruleSet.size());
         
-        for (EvaluationRule rule : rules) {
-            EvaluationMetricResult result = evaluateRule(rule, metrics, evaluationResult);
-            results.add(result);
+        for (int i = 0; i < ruleSet.size(); i++) {
+            results.add(evaluateRule(ruleSet, i, values, evaluationResult));
         }
         
         log.info("Evaluated {} rules for simulation: {}", results.size(), evaluationResult.getSimulationId());
         return results;
     }
     
-    private EvaluationMetricResult evaluateRule(EvaluationRule rule, Map<String, Double> metrics, 
+    private EvaluationMetricResult evaluateRule(CompiledRuleSet ruleSet, int index, double[] values, 
                                                 EvaluationResult evaluationResult) {
         
-        Double actualValue = metrics.get(rule.getMetricName());
+        EvaluationRule rule = ruleSet.getRules().get(index);
+        double actualValue = ruleSet.valueOf(index, values);
         
-        if (actualValue == null) {
+        if (Double.isNaN(actualValue)) {
             log.warn("Metric not found: {} for simulation: {}", rule.getMetricName(), evaluationResult.getSimulationId());
             return new EvaluationMetricResult(evaluationResult, rule, null, false);
         }
         
-        BigDecimal actualValueBD = BigDecimal.valueOf(actualValue);
-        BigDecimal thresholdBD = rule.getThresholdValue();
-        
-        boolean passed = applyOperator(actualValueBD, thresholdBD, rule.getOperator());
+        boolean passed = ruleSet.passes(index, values);
         
         log.debug("Rule '{}': {} {} {} = {}", 
                   rule.getRuleName(), actualValue, rule.getOperator(), rule.getThresholdValue(), 
                   passed ? "PASS" : "FAIL");
         
-        return new EvaluationMetricResult(evaluationResult, rule, actualValueBD, passed);
-    }
-    
-    private boolean applyOperator(BigDecimal actualValue, BigDecimal threshold, String operator) {
-        if (actualValue == null || threshold == null) {
-            return false;
-        }
-        
-        int comparison = actualValue.compareTo(threshold);
-        
-        switch (operator) {
-            case "<":
-                return comparison < 0;
-            case ">":
-                return comparison > 0;
-            case "=":
-                return comparison == 0;
-            case "<=":
-                return comparison <= 0;
-            case ">=":
-                return comparison >= 0;
-            case "!=":
-                return comparison != 0;
-            default:
-                log.warn("Unknown operator: {}", operator);
-                return false;
-        }
+        return new EvaluationMetricResult(evaluationResult, rule, BigDecimal.valueOf(actualValue), passed);
     }
     
     public int calculateScore(List<EvaluationMetricResult> results) {
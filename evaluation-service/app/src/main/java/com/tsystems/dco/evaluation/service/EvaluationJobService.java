@@ -0,0 +1,207 @@
+package com.tsystems.dco.evaluation.service;
+
+import com.tsystems.dco.evaluation.model.EvaluationJob;
+import com.tsystems.dco.evaluation.repository.EvaluationJobRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Service for queueing evaluation jobs and tracking their state.
+ * Jobs wait in the evaluation_jobs table until run_at, instead of a request thread sleeping.
+ */
+@Service
+@Transactional
+public class EvaluationJobService {
+    
+    private static final Logger log = LoggerFactory.getLogger(EvaluationJobService.class);
+    private static final int MAX_ERROR_LENGTH = 2000;
+    
+    @Autowired
+    private EvaluationJobRepository jobRepository;
+    
+    @Value("${evaluation.metrics-delay-seconds:5}")
+    private int metricsDelaySeconds;
+    
+    @Value("${evaluation.jobs.max-attempts:3}")
+    private int maxAttempts;
+    
+    @Value("${evaluation.jobs.retry-delay-seconds:10}")
+    private int retryDelaySeconds;
+    
+    @Value("${evaluation.jobs.lease-timeout-seconds:300}")
+    private int leaseTimeoutSeconds;
+    
+    /**
+     * Queue an evaluation of a simulation, due once its metrics are expected to be available.
+     * An open job of the same simulation is returned instead of queueing a second one.
+     * Runs without a surrounding transaction, so the insert losing against a concurrent enqueue
+     * on the unique index of open jobs can be followed by reading the winner.
+     * 
+     * @param simulationId ID of the simulation
+     * @return Queued or already open job
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public EvaluationJob enqueue(String simulationId) {
+        Optional<EvaluationJob> open = findOpenJob(simulationId);
+        if (open.isPresent()) {
+            log.info("Evaluation job {} already open for simulation: {}", open.get().getId(), simulationId);
+            return open.get();
+        }
+        EvaluationJob job = new EvaluationJob(simulationId,
+                LocalDateTime.now().plusSeconds(metricsDelaySeconds), maxAttempts);
+        try {
+            job = jobRepository.save(job);
+        } catch (DataIntegrityViolationException e) {
+            open = findOpenJob(simulationId);
+            if (open.isEmpty()) {
+                // Not a concurrent enqueue, or its job finished meanwhile
+                throw e;
+            }
+            log.info("Evaluation job {} opened concurrently for simulation: {}", open.get().getId(), simulationId);
+            return open.get();
+        }
+        log.info("Queued evaluation job {} for simulation {} (due {})", job.getId(), simulationId, job.getRunAt());
+        return job;
+    }
+    
+    /**
+     * Get job by ID.
+     * 
+     * @param jobId Job ID
+     * @return Job if found
+     */
+    @Transactional(readOnly = true)
+    public Optional<EvaluationJob> getJob(Long jobId) {
+        return jobRepository.findById(jobId);
+    }
+    
+    /**
+     * Claim due jobs for a worker and mark them running.
+     * 
+     * @param workerId ID of the claiming worker
+     * @param limit Maximum number of jobs
+     * @return Claimed jobs
+     */
+    public List<EvaluationJob> claimDueJobs(String workerId, int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<EvaluationJob> jobs = jobRepository.lockDueJobs(now, limit);
+        for (EvaluationJob job : jobs) {
+            job.setStatus(EvaluationJob.Status.RUNNING);
+            job.setAttempts(job.getAttempts() + 1);
+            job.setStartedAt(now);
+            job.setHeartbeatAt(now);
+            job.setWorkerId(workerId);
+        }
+        return jobRepository.saveAll(jobs);
+    }
+    
+    /**
+     * Mark a job as succeeded. Ignored if the worker lost the job, e.g. its lease expired
+     * and another worker took it over.
+     * 
+     * @param jobId Job ID
+     * @param workerId ID of the worker that ran the job
+     * @param evaluationResultId ID of the stored evaluation result
+     * @return true if the job was marked, false if the worker no longer held it
+     */
+    public boolean markSucceeded(Long jobId, String workerId, Long evaluationResultId) {
+        if (jobRepository.markSucceeded(jobId, workerId, evaluationResultId, LocalDateTime.now()) == 0) {
+            log.warn("Evaluation job {} is no longer held by {}, result {} not recorded on the job",
+                     jobId, workerId, evaluationResultId);
+            return false;
+        }
+        return true;
+    }
+    
+    /**
+     * Record a failed attempt. The job is queued again with exponential backoff
+     * until it runs out of attempts. Ignored if the worker lost the job.
+     * 
+     * @param jobId Job ID
+     * @param workerId ID of the worker that ran the job
+     * @param errorMessage Failure reason
+     * @return true if the failure was recorded, false if the worker no longer held the job
+     */
+    public boolean markFailed(Long jobId, String workerId, String errorMessage) {
+        Optional<EvaluationJob> found = jobRepository.findById(jobId);
+        if (found.isEmpty()) {
+            return false;
+        }
+        EvaluationJob job = found.get();
+        boolean recorded;
+        if (job.getAttempts() < job.getMaxAttempts()) {
+            long delay = retryDelaySeconds * (1L << (job.getAttempts() - 1));
+            recorded = jobRepository.requeueFailed(jobId, workerId, truncate(errorMessage),
+                    LocalDateTime.now().plusSeconds(delay)) > 0;
+            if (recorded) {
+                log.warn("Evaluation job {} failed (attempt {}/{}), retrying in {}s", 
+                         jobId, job.getAttempts(), job.getMaxAttempts(), delay);
+            }
+        } else {
+            recorded = jobRepository.markFailed(jobId, workerId, truncate(errorMessage), LocalDateTime.now()) > 0;
+            if (recorded) {
+                log.error("Evaluation job {} failed after {} attempts: {}", jobId, job.getAttempts(), errorMessage);
+            }
+        }
+        if (!recorded) {
+            log.warn("Evaluation job {} is no longer held by {}, failure not recorded: {}", jobId, workerId, errorMessage);
+        }
+        return recorded;
+    }
+    
+    /**
+     * Renew the lease of jobs a worker is still running, so they are not taken for abandoned.
+     * 
+     * @param workerId ID of the worker
+     * @param jobIds IDs of the running jobs
+     */
+    public void heartbeat(String workerId, Collection<Long> jobIds) {
+        if (!jobIds.isEmpty()) {
+            jobRepository.heartbeat(jobIds, workerId, LocalDateTime.now());
+        }
+    }
+    
+    /**
+     * Requeue jobs whose worker stopped sending heartbeats while running them. Jobs that
+     * ran out of attempts are failed instead, a job crashing its worker is not retried forever.
+     * 
+     * @return Number of requeued jobs
+     */
+    public int requeueAbandoned() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime staleBefore = now.minusSeconds(leaseTimeoutSeconds);
+        int failed = jobRepository.failAbandoned(staleBefore, "Worker stopped while running the job", now);
+        if (failed > 0) {
+            log.error("Failed {} abandoned evaluation jobs without attempts left", failed);
+        }
+        int requeued = jobRepository.requeueAbandoned(staleBefore);
+        if (requeued > 0) {
+            log.warn("Requeued {} abandoned evaluation jobs", requeued);
+        }
+        return requeued;
+    }
+    
+    private Optional<EvaluationJob> findOpenJob(String simulationId) {
+        return jobRepository.findFirstBySimulationIdAndStatusInOrderByCreatedAtAsc(
+                simulationId, EnumSet.of(EvaluationJob.Status.QUEUED, EvaluationJob.Status.RUNNING));
+    }
+    
+    private static String truncate(String message) {
+        if (message == null || message.length() <= MAX_ERROR_LENGTH) {
+            return message;
+        }
+        return message.substring(0, MAX_ERROR_LENGTH);
+    }
+}
@@ -0,0 +1,105 @@
+package com.tsystems.dco.evaluation.service;
+
+import com.tsystems.dco.evaluation.config.EvaluationJobConfig;
+import com.tsystems.dco.evaluation.model.EvaluationJob;
+import com.tsystems.dco.evaluation.model.EvaluationResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Polls the evaluation job queue and runs due jobs on the evaluation worker pool.
+ * Only as many jobs are claimed as there are idle workers, the rest stay queued for other instances.
+ * Running jobs are kept leased by heartbeats, only jobs of a stopped worker are taken over.
+ */
+@Component
+public class EvaluationJobWorker {
+    
+    private static final Logger log = LoggerFactory.getLogger(EvaluationJobWorker.class);
+    
+    private final String workerId = "evaluation-worker-" + UUID.randomUUID();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Set<Long> running = ConcurrentHashMap.newKeySet();
+    
+    @Autowired
+    private EvaluationJobService jobService;
+    
+    @Autowired
+    private EvaluationService evaluationService;
+    
+    @Autowired
+    @Qualifier(EvaluationJobConfig.EXECUTOR)
+    private TaskExecutor executor;
+    
+    @Value("${evaluation.jobs.workers:8}")
+    private int workers;
+    
+    @Scheduled(fixedDelayString = "${evaluation.jobs.poll-interval-ms:500}")
+    public void poll() {
+        int idle = workers - inFlight.get();
+        if (idle <= 0) {
+            return;
+        }
+        List<EvaluationJob> jobs = jobService.claimDueJobs(workerId, idle);
+        for (EvaluationJob job : jobs) {
+            inFlight.incrementAndGet();
+            running.add(job.getId());
+            try {
+                executor.execute(() -> run(job));
+            } catch (RuntimeException e) {
+                running.remove(job.getId());
+                inFlight.decrementAndGet();
+                fail(job, "Worker pool rejected job: " + e.getMessage(), 0);
+            }
+        }
+    }
+    
+    @Scheduled(fixedDelayString = "${evaluation.jobs.heartbeat-interval-ms:60000}")
+    public void heartbeat() {
+        jobService.heartbeat(workerId, List.copyOf(running));
+    }
+    
+    @Scheduled(fixedDelayString = "${evaluation.jobs.recovery-interval-ms:60000}")
+    public void recoverAbandoned() {
+        jobService.requeueAbandoned();
+    }
+    
+    void run(EvaluationJob job) {
+        long startTime = System.currentTimeMillis();
+        try {
+            log.info("Running evaluation job {} for simulation {}", job.getId(), job.getSimulationId());
+            EvaluationResult result = evaluationService.evaluate(job.getSimulationId());
+            jobService.markSucceeded(job.getId(), workerId, result.getId());
+        } catch (Exception e) {
+            fail(job, e.getMessage(), System.currentTimeMillis() - startTime);
+        } finally {
+            running.remove(job.getId());
+            inFlight.decrementAndGet();
+        }
+    }
+    
+    /**
+     * Record a failed attempt, and a FAIL result once the job has no attempts left.
+     */
+    private void fail(EvaluationJob job, String errorMessage, long durationMs) {
+        boolean recorded = jobService.markFailed(job.getId(), workerId, errorMessage);
+        if (recorded && job.getAttempts() >= job.getMaxAttempts()) {
+            evaluationService.recordFailure(job.getSimulationId(), durationMs);
+        }
+    }
+    
+    int getInFlight() {
+        return inFlight.get();
+    }
+}
@@ -3,18 +3,21 @@ package com.tsystems.dco.evaluation.service;
 import com.tsystems.dco.evaluation.model.EvaluationMetricResult;
 import com.tsystems.dco.evaluation.model.EvaluationResult;
 import com.tsystems.dco.evaluation.model.EvaluationRule;
+import com.tsystems.dco.evaluation.repository.EvaluationMetricResultRepository;
 import com.tsystems.dco.evaluation.repository.EvaluationResultRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -23,7 +26,7 @@ public class EvaluationService {
     private static final Logger log = LoggerFactory.getLogger(EvaluationService.class);
     
     @Autowired
-    private RuleService ruleService;
+    private RuleSnapshotCache ruleSnapshotCache;
     
     @Autowired
     private MetricsService metricsService;
@@ -34,41 +37,46 @@ public class EvaluationService {
     @Autowired
     private EvaluationResultRepository resultRepository;
     
-    @Value("${evaluation.metrics-delay-seconds:5}")
-    private int metricsDelaySeconds;
+    @Autowired
+    private EvaluationMetricResultRepository metricResultRepository;
+    
+    @Value("${evaluation.history.max-page-size:100}")
+    private int maxHistoryPageSize;
     
-    public EvaluationResult triggerEvaluation(String simulationId) throws Exception {
+    /**
+     * Evaluate a simulation against the active rules and store the result.
+     * Runs on an evaluation worker, see {@link EvaluationJobService} for queueing and delays.
+     * A failed attempt stores no result, see {@link #recordFailure(String, long)}.
+     * 
+     * @param simulationId ID of the simulation
+     * @return Stored evaluation result
+     */
+    public EvaluationResult evaluate(String simulationId) throws Exception {
         log.info("Starting evaluation for simulation: {}", simulationId);
         
         long startTime = System.currentTimeMillis();
         
         try {
-            List<EvaluationRule> rules = ruleService.getAllRules(true);
+            RuleSnapshot snapshot = ruleSnapshotCache.current();
+            List<EvaluationRule> rules = snapshot.getRules();
             if (rules.isEmpty()) {
                 log.warn("No active evaluation rules found");
                 throw new IllegalStateException("No active evaluation rules configured");
             }
             
-            log.info("Found {} active evaluation rules", rules.size());
-            
-            if (metricsDelaySeconds > 0) {
-                log.debug("Waiting {} seconds for metrics to be available", metricsDelaySeconds);
-                Thread.sleep(metricsDelaySeconds * 1000L);
-            }
+            log.info("Found {} active evaluation rules (snapshot version {})", rules.size(), snapshot.getVersion());
             
-            List<String> metricNames = rules.stream()
-                    .map(EvaluationRule::getMetricName)
-                    .distinct()
-                    .collect(Collectors.toList());
+            List<String> metricNames = snapshot.getCompiledRuleSet().getMetricNames();
             
             // Use new MetricsService which checks PostgreSQL first, then Prometheus
             Map<String, Double> metrics = metricsService.getMetrics(metricNames, simulationId);
             log.info("Retrieved {} metrics for evaluation", metrics.size());
             
             EvaluationResult result = new EvaluationResult(simulationId, 0, "PENDING");
+            result.setRuleSnapshotVersion(snapshot.getVersion());
             
             List<EvaluationMetricResult> metricResults = 
-                    evaluationEngine.evaluateMetrics(rules, metrics, result);
+                    evaluationEngine.evaluateMetrics(snapshot.getCompiledRuleSet(), metrics, result);
             
             int score = evaluationEngine.calculateScore(metricResults);
             String verdict = evaluationEngine.determineVerdict(metricResults);
@@ -90,27 +98,71 @@ public class EvaluationService {
             
             return result;
             
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            log.error("Evaluation interrupted for simulation: {}", simulationId);
-            throw new Exception("Evaluation was interrupted", e);
         } catch (Exception e) {
             log.error("Evaluation failed for simulation {}: {}", simulationId, e.getMessage(), e);
-            
-            EvaluationResult failedResult = new EvaluationResult(simulationId, 0, "FAIL");
-            failedResult.setEvaluationDurationMs(System.currentTimeMillis() - startTime);
-            resultRepository.save(failedResult);
-            
             throw e;
         }
     }
     
+    /**
+     * Store a FAIL result for a simulation whose evaluation ran out of attempts.
+     * Attempts that are retried store nothing, so a simulation gets one failed result per evaluation.
+     * 
+     * @param simulationId ID of the simulation
+     * @param durationMs Duration of the last attempt
+     * @return Stored evaluation result
+     */
+    public EvaluationResult recordFailure(String simulationId, long durationMs) {
+        EvaluationResult failedResult = new EvaluationResult(simulationId, 0, "FAIL");
+        failedResult.setEvaluationDurationMs(durationMs);
+        return resultRepository.save(failedResult);
+    }
+    
+    /**
+     * Get the latest evaluation result of a simulation including its metric results.
+     */
+    @Transactional(readOnly = true)
     public Optional<EvaluationResult> getEvaluationResult(String simulationId) {
-        List<EvaluationResult> results = resultRepository.findBySimulationIdOrderByEvaluatedAtDesc(simulationId);
-        return results.isEmpty() ? Optional.empty() : Optional.of(results.get(0));
+        return resultRepository.findLatestIds(simulationId, PageRequest.of(0, 1)).stream()
+                .findFirst()
+                .flatMap(resultRepository::findWithMetricResultsById);
     }
     
+    /**
+     * Get all evaluation results of a simulation including their metric results.
+     * Prefer the paged summaries for simulations that are evaluated often.
+     */
+    @Transactional(readOnly = true)
     public List<EvaluationResult> getEvaluationHistory(String simulationId) {
         return resultRepository.findBySimulationIdOrderByEvaluatedAtDesc(simulationId);
     }
+    
+    /**
+     * Page through the evaluations of a simulation, newest first, without per-rule details.
+     * 
+     * @param simulationId ID of the simulation
+     * @param page Page number, starting at 0
+     * @param size Page size, capped at evaluation.history.max-page-size
+     * @return Page of evaluation summaries
+     */
+    @Transactional(readOnly = true)
+    public Page<EvaluationResultRepository.EvaluationSummary> getEvaluationHistory(String simulationId, int page, int size) {
+        PageRequest pageRequest = PageRequest.of(Math.max(0, page), Math.max(1, Math.min(size, maxHistoryPageSize)),
+                Sort.by(Sort.Order.desc("evaluatedAt"), Sort.Order.desc("id")));
+        return resultRepository.findSummariesBySimulationId(simulationId, pageRequest);
+    }
+    
+    /**
+     * Get the per-rule results of one evaluation.
+     * 
+     * @param evaluationResultId ID of the evaluation result
+     * @return Rule results, empty if the evaluation does not exist
+     */
+    @Transactional(readOnly = true)
+    public Optional<List<EvaluationMetricResultRepository.MetricResultDetail>> getEvaluationDetails(Long evaluationResultId) {
+        if (!resultRepository.existsById(evaluationResultId)) {
+            return Optional.empty();
+        }
+        return Optional.of(metricResultRepository.findDetailsByEvaluationResultId(evaluationResultId));
+    }
 }
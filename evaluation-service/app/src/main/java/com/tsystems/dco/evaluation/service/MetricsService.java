@@ -1,17 +1,15 @@
 package com.tsystems.dco.evaluation.service;
 
-import com.tsystems.dco.evaluation.model.SimulationMetric;
 import com.tsystems.dco.evaluation.repository.SimulationMetricRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import java.math.BigDecimal;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -40,16 +38,27 @@ public class MetricsService {
         }
         
         Map<String, Double> metrics = new HashMap<>();
+        if (metricNames.isEmpty()) {
+            return metrics;
+        }
         
         long startTime = System.currentTimeMillis();
         
+        try {
+            for (SimulationMetricRepository.LatestMetricValue latest
+                    : metricRepository.findLatestValues(simId, new HashSet<>(metricNames))) {
+                if (latest.getMetricValue() != null) {
+                    metrics.put(latest.getMetricName(), latest.getMetricValue().doubleValue());
+                    log.debug("Metric '{}' fetched from PostgreSQL: {}", latest.getMetricName(), latest.getMetricValue());
+                }
+            }
+        } catch (Exception e) {
+            log.error("Error fetching metrics {} from PostgreSQL: {}", metricNames, e.getMessage());
+            return metrics;
+        }
+        
         for (String metricName : metricNames) {
-            Optional<Double> value = getMetricFromPostgres(simId, metricName);
-            
-            if (value.isPresent()) {
-                metrics.put(metricName, value.get());
-                log.debug("Metric '{}' fetched from PostgreSQL: {}", metricName, value.get());
-            } else {
+            if (!metrics.containsKey(metricName)) {
                 log.warn("Metric '{}' not found in PostgreSQL for simulation: {}", 
                         metricName, simulationId);
             }
@@ -62,26 +71,6 @@ public class MetricsService {
         return metrics;
     }
     
-    /**
-     * Get a single metric value from PostgreSQL
-     */
-    private Optional<Double> getMetricFromPostgres(UUID simulationId, String metricName) {
-        try {
-            Optional<SimulationMetric> metric = metricRepository.findLatestMetric(simulationId, metricName);
-            
-            if (metric.isPresent() && metric.get().getMetricValue() != null) {
-                BigDecimal value = metric.get().getMetricValue();
-                return Optional.of(value.doubleValue());
-            }
-            
-            return Optional.empty();
-            
-        } catch (Exception e) {
-            log.error("Error fetching metric '{}' from PostgreSQL: {}", metricName, e.getMessage());
-            return Optional.empty();
-        }
-    }
-    
     /**
      * Check if metrics exist for a simulation in PostgreSQL
      */
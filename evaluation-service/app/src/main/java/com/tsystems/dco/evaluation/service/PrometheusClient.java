@@ -1,31 +1,55 @@
 package com.tsystems.dco.evaluation.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.tsystems.dco.evaluation.config.PrometheusClientConfig;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
-import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
 
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.regex.Pattern;
 
 /**
  * Client for querying metrics from Prometheus.
+ * 
+ * Metric names are combined into one selector per batch, e.g. {__name__=~"a|b|c", simulation_id="..."},
+ * so a simulation costs one request per {@code prometheus.batch-size} metrics instead of one per metric.
+ * Requests go through the pooled client of {@link PrometheusClientConfig}.
  */
 @Service
 public class PrometheusClient {
     
     private static final Logger log = LoggerFactory.getLogger(PrometheusClient.class);
     
-    @Value("${prometheus.url}")
-    private String prometheusUrl;
+    private static final Pattern METRIC_NAME = Pattern.compile("[a-zA-Z_:][a-zA-Z0-9_:]*");
     
-    private final RestTemplate restTemplate;
+    /**
+     * Aggregation of the samples of a metric over a time range.
+     */
+    public enum Aggregation {
+        MIN, MAX, AVG, LAST
+    }
+    
+    private final RestClient restClient;
+    
+    @Value("${prometheus.batch-size:50}")
+    private int batchSize;
     
-    public PrometheusClient() {
-        this.restTemplate = new RestTemplate();
+    @Value("${prometheus.range-max-points:11000}")
+    private int rangeMaxPoints;
+    
+    public PrometheusClient(@Qualifier(PrometheusClientConfig.REST_CLIENT) RestClient restClient) {
+        this.restClient = restClient;
     }
     
     /**
@@ -36,85 +60,78 @@ public class PrometheusClient {
      * @return Metric value, or null if not found
      */
     public Double queryMetric(String metricName, String simulationId) {
-        try {
-            // Build Prometheus query
-            // Example: simulation_duration_seconds{simulation_id="abc-123"}
-            String query = String.format("%s{simulation_id=\"%s\"}", metricName, simulationId);
-            String url = String.format("%s/api/v1/query?query=%s", prometheusUrl, query);
-            
-            log.debug("Querying Prometheus: {}", url);
-            
-            // Execute query
-            Map<String, Object> response = restTemplate.getForObject(url, Map.class);
-            
-            if (response == null || !"success".equals(response.get("status"))) {
-                log.warn("Prometheus query failed for metric: {}", metricName);
-                return null;
-            }
-            
-            // Parse result
-            Map<String, Object> data = (Map<String, Object>) response.get("data");
+        return queryMetrics(List.of(metricName), simulationId).get(metricName);
+    }
+    
+    /**
+     * Query the current value of multiple metrics for a simulation, batched into one instant query per batch.
+     * 
+     * @param metricNames List of metric names to query
+     * @param simulationId ID of the simulation
+     * @return Map of metric name to value, metrics without data are absent
+     */
+    public Map<String, Double> queryMetrics(List<String> metricNames, String simulationId) {
+        Map<String, Double> results = new HashMap<>();
+        for (List<String> batch : batches(metricNames)) {
+            JsonNode data = get("/api/v1/query?query={query}", selector(batch, simulationId));
             if (data == null) {
-                return null;
-            }
-            
-            Object resultObj = data.get("result");
-            if (!(resultObj instanceof java.util.List)) {
-                return null;
+                continue;
             }
-            
-            java.util.List<?> results = (java.util.List<?>) resultObj;
-            if (results.isEmpty()) {
-                log.debug("No data found for metric: {} and simulation: {}", metricName, simulationId);
-                return null;
-            }
-            
-            // Get first result
-            Map<String, Object> firstResult = (Map<String, Object>) results.get(0);
-            Object valueObj = firstResult.get("value");
-            if (!(valueObj instanceof java.util.List)) {
-                return null;
-            }
-            
-            java.util.List<?> value = (java.util.List<?>) valueObj;
-            if (value.size() < 2) {
-                return null;
+            for (JsonNode series : data.path("result")) {
+                String name = series.path("metric").path("__name__").asText(null);
+                double value = sampleValue(series.path("value"));
+                if (name != null && !Double.isNaN(value)) {
+                    results.putIfAbsent(name, value);
+                }
             }
-            
-            // Value is at index 1 (index 0 is timestamp)
-            String valueStr = String.valueOf(value.get(1));
-            return Double.parseDouble(valueStr);
-            
-        } catch (HttpClientErrorException e) {
-            if (e.getStatusCode() == HttpStatus.NOT_FOUND) {
-                log.warn("Metric not found in Prometheus: {}", metricName);
-            } else {
-                log.error("Error querying Prometheus: {}", e.getMessage());
-            }
-            return null;
-        } catch (Exception e) {
-            log.error("Error querying Prometheus for metric {}: {}", metricName, e.getMessage(), e);
-            return null;
         }
+        log.debug("Prometheus returned {} of {} metrics for simulation {}", 
+                  results.size(), metricNames.size(), simulationId);
+        return results;
     }
     
     /**
-     * Query multiple metrics for a simulation.
+     * Aggregate multiple metrics of a simulation over a time range, e.g. the simulation window,
+     * batched into one range query per batch. The step is the smallest that stays within
+     * {@code prometheus.range-max-points}, at least one second.
      * 
      * @param metricNames List of metric names to query
      * @param simulationId ID of the simulation
-     * @return Map of metric name to value
+     * @param start Start of the range
+     * @param end End of the range
+     * @param aggregation Aggregation over all samples of a metric in the range
+     * @return Map of metric name to aggregated value, metrics without data are absent
      */
-    public Map<String, Double> queryMetrics(java.util.List<String> metricNames, String simulationId) {
-        Map<String, Double> results = new HashMap<>();
-        
-        for (String metricName : metricNames) {
-            Double value = queryMetric(metricName, simulationId);
-            if (value != null) {
-                results.put(metricName, value);
+    public Map<String, Double> queryMetricsRange(List<String> metricNames, String simulationId,
+                                                 Instant start, Instant end, Aggregation aggregation) {
+        if (!end.isAfter(start)) {
+            throw new IllegalArgumentException("Range end must be after start");
+        }
+        long stepSeconds = stepSeconds(start, end);
+        Map<String, Accumulator> accumulators = new HashMap<>();
+        for (List<String> batch : batches(metricNames)) {
+            JsonNode data = get("/api/v1/query_range?query={query}&start={start}&end={end}&step={step}",
+                                selector(batch, simulationId), epochSeconds(start), epochSeconds(end), stepSeconds);
+            if (data == null) {
+                continue;
+            }
+            for (JsonNode series : data.path("result")) {
+                String name = series.path("metric").path("__name__").asText(null);
+                if (name == null) {
+                    continue;
+                }
+                Accumulator accumulator = accumulators.computeIfAbsent(name, n -> new Accumulator());
+                for (JsonNode sample : series.path("values")) {
+                    accumulator.add(sample.path(0).asDouble(), sampleValue(sample));
+                }
             }
         }
-        
+        Map<String, Double> results = new HashMap<>();
+        accumulators.forEach((name, accumulator) -> {
+            if (accumulator.count > 0) {
+                results.put(name, accumulator.result(aggregation));
+            }
+        });
         return results;
     }
     
@@ -125,12 +142,119 @@ public class PrometheusClient {
      */
     public boolean isHealthy() {
         try {
-            String url = prometheusUrl + "/-/healthy";
-            restTemplate.getForObject(url, String.class);
+            restClient.get().uri("/-/healthy").retrieve().toBodilessEntity();
             return true;
         } catch (Exception e) {
             log.error("Prometheus health check failed: {}", e.getMessage());
             return false;
         }
     }
+    
+    /**
+     * Selector matching all given metrics of a simulation, names are checked so they cannot break the regex.
+     */
+    static String selector(List<String> metricNames, String simulationId) {
+        return "{__name__=~\"" + String.join("|", metricNames) + "\",simulation_id=\"" 
+                + simulationId.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n") + "\"}";
+    }
+    
+    private List<List<String>> batches(List<String> metricNames) {
+        List<String> valid = new ArrayList<>(metricNames.size());
+        for (String metricName : metricNames) {
+            if (METRIC_NAME.matcher(metricName).matches()) {
+                valid.add(metricName);
+            } else {
+                log.warn("Skipping invalid Prometheus metric name: {}", metricName);
+            }
+        }
+        List<List<String>> batches = new ArrayList<>();
+        for (int from = 0; from < valid.size(); from += batchSize) {
+            batches.add(valid.subList(from, Math.min(valid.size(), from + batchSize)));
+        }
+        return batches;
+    }
+    
+    private long stepSeconds(Instant start, Instant end) {
+        long rangeSeconds = Math.max(1, Duration.between(start, end).toSeconds());
+        return Math.max(1, (rangeSeconds + rangeMaxPoints - 1) / rangeMaxPoints);
+    }
+    
+    private static String epochSeconds(Instant instant) {
+        return BigDecimal.valueOf(instant.toEpochMilli(), 3).toPlainString();
+    }
+    
+    /**
+     * Execute a query and return its data, or null if the request or the query failed.
+     */
+    private JsonNode get(String uriTemplate, Object... uriVariables) {
+        try {
+            JsonNode response = restClient.get().uri(uriTemplate, uriVariables).retrieve().body(JsonNode.class);
+            if (response == null || !"success".equals(response.path("status").asText())) {
+                log.warn("Prometheus query failed: {}", response == null ? null : response.path("error").asText());
+                return null;
+            }
+            return response.path("data");
+        } catch (RestClientException e) {
+            log.error("Error querying Prometheus: {}", e.getMessage());
+            return null;
+        }
+    }
+    
+    /**
+     * Value of a [timestamp, "value"] sample, NaN if absent.
+     */
+    private static double sampleValue(JsonNode sample) {
+        String value = sample.path(1).asText(null);
+        if (value == null) {
+            return Double.NaN;
+        }
+        switch (value) {
+            case "+Inf":
+                return Double.POSITIVE_INFINITY;
+            case "-Inf":
+                return Double.NEGATIVE_INFINITY;
+            default:
+                try {
+                    return Double.parseDouble(value);
+                } catch (NumberFormatException e) {
+                    return Double.NaN;
+                }
+        }
+    }
+    
+    private static final class Accumulator {
+        private double min = Double.POSITIVE_INFINITY;
+        private double max = Double.NEGATIVE_INFINITY;
+        private double sum;
+        private long count;
+        private double lastTimestamp = Double.NEGATIVE_INFINITY;
+        private double last = Double.NaN;
+        
+        void add(double timestamp, double value) {
+            if (Double.isNaN(value)) {
+                return;
+            }
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+            sum += value;
+            count++;
+            if (timestamp >= lastTimestamp) {
+                lastTimestamp = timestamp;
+                last = value;
+            }
+        }
+        
+        double result(Aggregation aggregation) {
+            switch (aggregation) {
+                case MIN:
+                    return min;
+                case MAX:
+                    return max;
+                case AVG:
+                    return sum / count;
+                default:
+                    return last;
+            }
+        }
+    }
 }
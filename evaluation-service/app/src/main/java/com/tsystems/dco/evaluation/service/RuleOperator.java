@@ -0,0 +1,98 @@
+package com.tsystems.dco.evaluation.service;
+
+/**
+ * Comparison operators of evaluation rules, resolved once from their symbol
+ * and applied to primitive doubles.
+ */
+public enum RuleOperator {
+    LT("<") {
+        @Override
+        public boolean test(double actual, double threshold) {
+            return actual < threshold;
+        }
+    },
+    GT(">") {
+        @Override
+        public boolean test(double actual, double threshold) {
+            return actual > threshold;
+        }
+    },
+    EQ("=") {
+        @Override
+        public boolean test(double actual, double threshold) {
+            return actual == threshold;
+        }
+    },
+    LE("<=") {
+        @Override
+        public boolean test(double actual, double threshold) {
+            return actual <= threshold;
+        }
+    },
+    GE(">=") {
+        @Override
+        public boolean test(double actual, double threshold) {
+            return actual >= threshold;
+        }
+    },
+    NE("!=") {
+        @Override
+        public boolean test(double actual, double threshold) {
+            return actual != threshold;
+        }
+    },
+    /**
+     * Unknown symbol, never passes.
+     */
+    UNKNOWN("?") {
+        @Override
+        public boolean test(double actual, double threshold) {
+            return false;
+        }
+    };
+    
+    private final String symbol;
+    
+    RuleOperator(String symbol) {
+        this.symbol = symbol;
+    }
+    
+    public String getSymbol() {
+        return symbol;
+    }
+    
+    /**
+     * @param actual Metric value, NaN never passes
+     * @param threshold Rule threshold
+     * @return true if the value satisfies the rule
+     */
+    public abstract boolean test(double actual, double threshold);
+    
+    /**
+     * Resolve an operator symbol as stored on the rule.
+     * 
+     * @param symbol Operator symbol (<, >, =, <=, >=, !=)
+     * @return Operator, UNKNOWN for unsupported symbols
+     */
+    public static RuleOperator of(String symbol) {
+        if (symbol == null) {
+            return UNKNOWN;
+        }
+        switch (symbol) {
+            case "<":
+                return LT;
+            case ">":
+                return GT;
+            case "=":
+                return EQ;
+            case "<=":
+                return LE;
+            case ">=":
+                return GE;
+            case "!=":
+                return NE;
+            default:
+                return UNKNOWN;
+        }
+    }
+}
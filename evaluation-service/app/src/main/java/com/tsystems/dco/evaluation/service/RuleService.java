@@ -25,6 +25,9 @@ public class RuleService {
     @Autowired
     private EvaluationRuleRepository ruleRepository;
     
+    @Autowired
+    private RuleSnapshotCache ruleSnapshotCache;
+    
     /**
      * Get all evaluation rules.
      * 
@@ -73,7 +76,9 @@ public class RuleService {
         rule.setCreatedAt(LocalDateTime.now());
         rule.setUpdatedAt(LocalDateTime.now());
         
-        return ruleRepository.save(rule);
+        EvaluationRule saved = ruleRepository.save(rule);
+        ruleSnapshotCache.ruleSetChanged();
+        return saved;
     }
     
     /**
@@ -117,7 +122,9 @@ public class RuleService {
         rule.setUpdatedAt(LocalDateTime.now());
         
         log.info("Updated rule: {}", rule.getRuleName());
-        return Optional.of(ruleRepository.save(rule));
+        EvaluationRule saved = ruleRepository.save(rule);
+        ruleSnapshotCache.ruleSetChanged();
+        return Optional.of(saved);
     }
     
     /**
@@ -138,6 +145,7 @@ public class RuleService {
         rule.setIsActive(false);
         rule.setUpdatedAt(LocalDateTime.now());
         ruleRepository.save(rule);
+        ruleSnapshotCache.ruleSetChanged();
         
         log.info("Deactivated rule: {}", rule.getRuleName());
         return true;
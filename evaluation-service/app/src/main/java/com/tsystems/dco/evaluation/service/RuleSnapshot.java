@@ -0,0 +1,40 @@
+package com.tsystems.dco.evaluation.service;
+
+import com.tsystems.dco.evaluation.model.EvaluationRule;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Immutable snapshot of the active evaluation rules at a rule set version.
+ */
+public final class RuleSnapshot {
+    
+    private final long version;
+    private final List<EvaluationRule> rules;
+    private final CompiledRuleSet compiledRuleSet;
+    private final Instant loadedAt;
+    
+    public RuleSnapshot(long version, List<EvaluationRule> rules) {
+        this.version = version;
+        this.rules = List.copyOf(rules);
+        this.compiledRuleSet = CompiledRuleSet.compile(this.rules);
+        this.loadedAt = Instant.now();
+    }
+    
+    public long getVersion() {
+        return version;
+    }
+    
+    public List<EvaluationRule> getRules() {
+        return rules;
+    }
+    
+    public CompiledRuleSet getCompiledRuleSet() {
+        return compiledRuleSet;
+    }
+    
+    public Instant getLoadedAt() {
+        return loadedAt;
+    }
+}
@@ -0,0 +1,141 @@
+package com.tsystems.dco.evaluation.service;
+
+import com.tsystems.dco.evaluation.config.RuleChangeMessagingConfig;
+import com.tsystems.dco.evaluation.repository.EvaluationRuleRepository;
+import com.tsystems.dco.evaluation.repository.RuleSetVersionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Cache of the active evaluation rules as an immutable, versioned {@link RuleSnapshot}.
+ * 
+ * Rule changes increment the rule set version in their transaction. After commit the changing
+ * instance swaps in a fresh snapshot and broadcasts the version, other instances reload when they
+ * receive a newer version. A periodic version check covers missed broadcasts.
+ */
+@Component
+public class RuleSnapshotCache {
+    
+    private static final Logger log = LoggerFactory.getLogger(RuleSnapshotCache.class);
+    
+    private final AtomicReference<RuleSnapshot> current = new AtomicReference<>();
+    private final Object reloadLock = new Object();
+    private final TransactionTemplate snapshotTransaction;
+    
+    @Autowired
+    private EvaluationRuleRepository ruleRepository;
+    
+    @Autowired
+    private RuleSetVersionRepository versionRepository;
+    
+    @Autowired
+    private RabbitTemplate rabbitTemplate;
+    
+    public RuleSnapshotCache(PlatformTransactionManager transactionManager) {
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        // Own transaction, also when reloading after the commit of a rule change,
+        // so version and rules come from the same database snapshot
+        this.snapshotTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.snapshotTransaction.setReadOnly(true);
+    }
+    
+    /**
+     * Get the current snapshot, loading it on first use.
+     * 
+     * @return Current snapshot
+     */
+    public RuleSnapshot current() {
+        RuleSnapshot snapshot = current.get();
+        return snapshot != null ? snapshot : refresh();
+    }
+    
+    /**
+     * Reload the snapshot from the database. An older version never replaces a newer one.
+     * 
+     * @return Current snapshot after the reload
+     */
+    public RuleSnapshot refresh() {
+        synchronized (reloadLock) {
+            RuleSnapshot loaded = snapshotTransaction.execute(status ->
+                    new RuleSnapshot(versionRepository.current(), ruleRepository.findAllByIsActiveTrue()));
+            RuleSnapshot snapshot = current.accumulateAndGet(loaded,
+                    (previous, next) -> previous == null || next.getVersion() >= previous.getVersion() ? next : previous);
+            log.info("Loaded rule snapshot version {} with {} active rules", 
+                     snapshot.getVersion(), snapshot.getRules().size());
+            return snapshot;
+        }
+    }
+    
+    /**
+     * Record a rule change. Called within the transaction that changes the rules,
+     * the snapshot is replaced and the change broadcast once it commits.
+     */
+    public void ruleSetChanged() {
+        long version = versionRepository.increment();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publishChange(version);
+                }
+            });
+        } else {
+            publishChange(version);
+        }
+    }
+    
+    /**
+     * Reload when another instance changed the rules.
+     * 
+     * @param message Change message with the new version
+     */
+    @RabbitListener(queues = "#{ruleChangeQueue.name}")
+    public void onRuleSetChanged(Map<String, Object> message) {
+        Object version = message.get("version");
+        if (!(version instanceof Number)) {
+            log.warn("Ignoring rule change message without version: {}", message);
+            return;
+        }
+        RuleSnapshot snapshot = current.get();
+        if (snapshot == null || ((Number) version).longValue() > snapshot.getVersion()) {
+            log.info("Rule set changed to version {}, reloading", version);
+            refresh();
+        }
+    }
+    
+    @Scheduled(fixedDelayString = "${evaluation.rules.snapshot.verify-interval-ms:60000}")
+    public void verify() {
+        RuleSnapshot snapshot = current.get();
+        if (snapshot != null && versionRepository.current() != snapshot.getVersion()) {
+            log.warn("Rule snapshot version {} is stale, reloading", snapshot.getVersion());
+            refresh();
+        }
+    }
+    
+    private void publishChange(long version) {
+        refresh();
+        try {
+            rabbitTemplate.convertAndSend(RuleChangeMessagingConfig.SDV_EVENTS_EXCHANGE,
+                    RuleChangeMessagingConfig.RULES_CHANGED_ROUTING_KEY,
+                    Map.of("type", "RULES_CHANGED", "version", version));
+        } catch (AmqpException e) {
+            log.warn("Could not broadcast rule set version {}, other instances pick it up on their next check: {}", 
+                     version, e.getMessage());
+        }
+    }
+}
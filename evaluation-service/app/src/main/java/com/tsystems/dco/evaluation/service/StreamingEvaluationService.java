@@ -0,0 +1,169 @@
+package com.tsystems.dco.evaluation.service;
+
+import com.tsystems.dco.evaluation.config.MetricStreamMessagingConfig;
+import com.tsystems.dco.evaluation.config.RuleChangeMessagingConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Evaluates running simulations incrementally from their metric events.
+ * 
+ * Every simulation gets a {@link StreamingEvaluator} on the rule snapshot current at its first sample,
+ * so rules stay fixed for the whole run. A provisional verdict is published whenever it changes,
+ * and an abort signal once when the weighted failure threshold is reached. The final evaluation
+ * after the simulation ended is not affected.
+ */
+@Service
+public class StreamingEvaluationService {
+    
+    private static final Logger log = LoggerFactory.getLogger(StreamingEvaluationService.class);
+    
+    private final Map<String, StreamingEvaluator> evaluators = new ConcurrentHashMap<>();
+    private final Map<String, String> publishedVerdicts = new ConcurrentHashMap<>();
+    
+    @Autowired
+    private RuleSnapshotCache ruleSnapshotCache;
+    
+    @Autowired
+    private RabbitTemplate rabbitTemplate;
+    
+    @Value("${evaluation.streaming.window:10}")
+    private int window;
+    
+    @Value("${evaluation.streaming.min-samples:3}")
+    private int minSamples;
+    
+    @Value("${evaluation.streaming.abort-weight-percent:50}")
+    private int abortWeightPercent;
+    
+    @Value("${evaluation.streaming.idle-timeout-minutes:30}")
+    private long idleTimeoutMinutes;
+    
+    @RabbitListener(queues = MetricStreamMessagingConfig.METRICS_QUEUE, 
+                    autoStartup = "${evaluation.streaming.enabled:true}")
+    public void onMetricsRecorded(MetricsRecordedMessage message) {
+        if (message.getSimulationId() == null || message.getMetrics() == null) {
+            log.warn("Ignoring metrics message without simulation or metrics");
+            return;
+        }
+        accept(message.getSimulationId(), message.getMetrics());
+    }
+    
+    /**
+     * Add samples of a simulation and publish the resulting verdict change or abort signal.
+     * 
+     * @param simulationId ID of the simulation
+     * @param samples Metric samples in arrival order
+     */
+    public void accept(String simulationId, List<MetricSample> samples) {
+        StreamingEvaluator evaluator = evaluators.computeIfAbsent(simulationId, this::newEvaluator);
+        int accepted = 0;
+        for (MetricSample sample : samples) {
+            if (sample.getName() != null && sample.getValue() != null 
+                    && evaluator.accept(sample.getName(), sample.getValue())) {
+                accepted++;
+            }
+        }
+        if (accepted == 0) {
+            return;
+        }
+        
+        String verdict = evaluator.verdict();
+        if (!verdict.equals(publishedVerdicts.put(simulationId, verdict))) {
+            log.debug("Provisional verdict of simulation {}: {}", simulationId, verdict);
+            publish(MetricStreamMessagingConfig.PROVISIONAL_ROUTING_KEY, evaluator.provisional());
+        }
+        if (evaluator.signalAbort()) {
+            StreamingEvaluator.Provisional provisional = evaluator.provisional();
+            log.warn("Simulation {} failed rules weighing {} of {}, signalling early abort", 
+                     simulationId, provisional.failedWeight(), provisional.totalWeight());
+            publish(MetricStreamMessagingConfig.ABORT_ROUTING_KEY, provisional);
+        }
+    }
+    
+    /**
+     * @param simulationId ID of the simulation
+     * @return Provisional evaluation, empty if no samples of the simulation arrived at this instance
+     */
+    public Optional<StreamingEvaluator.Provisional> getProvisional(String simulationId) {
+        return Optional.ofNullable(evaluators.get(simulationId)).map(StreamingEvaluator::provisional);
+    }
+    
+    /**
+     * Drop the state of simulations without samples for the idle timeout, i.e. finished or abandoned runs.
+     */
+    @Scheduled(fixedDelayString = "${evaluation.streaming.eviction-interval-ms:60000}")
+    public void evictIdle() {
+        long idleBefore = System.currentTimeMillis() - idleTimeoutMinutes * 60_000;
+        evaluators.values().removeIf(evaluator -> {
+            if (evaluator.getLastSampleAtMillis() >= idleBefore) {
+                return false;
+            }
+            publishedVerdicts.remove(evaluator.getSimulationId());
+            log.debug("Evicted streaming state of simulation {}", evaluator.getSimulationId());
+            return true;
+        });
+    }
+    
+    int size() {
+        return evaluators.size();
+    }
+    
+    private StreamingEvaluator newEvaluator(String simulationId) {
+        RuleSnapshot snapshot = ruleSnapshotCache.current();
+        return new StreamingEvaluator(simulationId, snapshot.getVersion(), snapshot.getCompiledRuleSet(),
+                                      window, minSamples, abortWeightPercent);
+    }
+    
+    private void publish(String routingKey, StreamingEvaluator.Provisional provisional) {
+        try {
+            rabbitTemplate.convertAndSend(RuleChangeMessagingConfig.SDV_EVENTS_EXCHANGE, routingKey, provisional);
+        } catch (Exception e) {
+            log.error("Failed to publish {} for simulation {}: {}", routingKey, provisional.simulationId(), e.getMessage());
+        }
+    }
+    
+    // Messages
+    
+    public static class MetricsRecordedMessage {
+        private String simulationId;
+        private List<MetricSample> metrics;
+        
+        public String getSimulationId() { return simulationId; }
+        public void setSimulationId(String simulationId) { this.simulationId = simulationId; }
+        public List<MetricSample> getMetrics() { return metrics; }
+        public void setMetrics(List<MetricSample> metrics) { this.metrics = metrics; }
+    }
+    
+    public static class MetricSample {
+        private String name;
+        private Double value;
+        private Long recordedAt;
+        
+        public MetricSample() {
+        }
+        
+        public MetricSample(String name, Double value) {
+            this.name = name;
+            this.value = value;
+        }
+        
+        public String getName() { return name; }
+        public void setName(String name) { this.name = name; }
+        public Double getValue() { return value; }
+        public void setValue(Double value) { this.value = value; }
+        public Long getRecordedAt() { return recordedAt; }
+        public void setRecordedAt(Long recordedAt) { this.recordedAt = recordedAt; }
+    }
+}
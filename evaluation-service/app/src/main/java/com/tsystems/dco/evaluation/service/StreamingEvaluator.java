@@ -0,0 +1,198 @@
+package com.tsystems.dco.evaluation.service;
+
+import com.tsystems.dco.evaluation.model.EvaluationRule;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Running evaluation of one simulation while its metrics arrive.
+ * 
+ * Keeps last, min, max and a ring buffer of the latest samples per rule metric in primitive arrays,
+ * indexed like the value array of the {@link CompiledRuleSet}, so accepting a sample does not allocate.
+ * The provisional verdict follows the final evaluation and uses the last values. The abort decision uses
+ * the windowed averages, so a single spike does not abort a run: once the rules failing on their average
+ * reach the abort weight, the run is considered doomed. Metrics with fewer than minSamples samples are
+ * not judged yet.
+ */
+public final class StreamingEvaluator {
+    
+    public static final String PASS = "PASS";
+    public static final String FAIL = "FAIL";
+    public static final String PENDING = "PENDING";
+    
+    private final String simulationId;
+    private final long ruleSnapshotVersion;
+    private final CompiledRuleSet ruleSet;
+    private final int window;
+    private final int minSamples;
+    private final int abortWeight;
+    
+    private final double[] last;
+    private final double[] min;
+    private final double[] max;
+    private final long[] counts;
+    private final double[] windowValues;
+    private final double[] averages;
+    private long samples;
+    private long lastSampleAtMillis;
+    private boolean abortSignalled;
+    
+    /**
+     * @param simulationId ID of the simulation
+     * @param ruleSnapshotVersion Version of the rules
+     * @param ruleSet Rules to evaluate
+     * @param window Number of latest samples per metric in the windowed average
+     * @param minSamples Samples a metric needs before it counts towards the abort decision
+     * @param abortWeightPercent Share of the total rule weight that must fail to abort
+     */
+    public StreamingEvaluator(String simulationId, long ruleSnapshotVersion, CompiledRuleSet ruleSet,
+                              int window, int minSamples, int abortWeightPercent) {
+        this.simulationId = simulationId;
+        this.ruleSnapshotVersion = ruleSnapshotVersion;
+        this.ruleSet = ruleSet;
+        this.window = Math.max(1, window);
+        this.minSamples = Math.max(1, Math.min(minSamples, this.window));
+        this.abortWeight = Math.max(1, (int) Math.ceil(ruleSet.getTotalWeight() * abortWeightPercent / 100.0));
+        this.last = ruleSet.newValues();
+        this.min = ruleSet.newValues();
+        this.max = ruleSet.newValues();
+        this.counts = new long[last.length];
+        this.windowValues = new double[last.length * this.window];
+        this.averages = ruleSet.newValues();
+        this.lastSampleAtMillis = System.currentTimeMillis();
+    }
+    
+    /**
+     * Add a sample.
+     * 
+     * @param metricName Metric name
+     * @param value Metric value
+     * @return false if no rule uses the metric or the value is NaN
+     */
+    public synchronized boolean accept(String metricName, double value) {
+        int metric = ruleSet.indexOf(metricName);
+        if (metric < 0 || Double.isNaN(value)) {
+            return false;
+        }
+        long count = counts[metric];
+        last[metric] = value;
+        min[metric] = count == 0 ? value : Math.min(min[metric], value);
+        max[metric] = count == 0 ? value : Math.max(max[metric], value);
+        windowValues[metric * window + (int) (count % window)] = value;
+        counts[metric] = count + 1;
+        samples++;
+        lastSampleAtMillis = System.currentTimeMillis();
+        return true;
+    }
+    
+    /**
+     * @return Sum of the weights of the rules failing on the windowed average of their metric
+     */
+    public synchronized int failedWeight() {
+        for (int metric = 0; metric < averages.length; metric++) {
+            averages[metric] = counts[metric] >= minSamples ? windowAverage(metric) : Double.NaN;
+        }
+        int failed = 0;
+        for (int rule = 0; rule < ruleSet.size(); rule++) {
+            if (!Double.isNaN(averages[ruleSet.metricIndexOf(rule)]) && !ruleSet.passes(rule, averages)) {
+                failed += ruleSet.weightOf(rule);
+            }
+        }
+        return failed;
+    }
+    
+    /**
+     * @return true if the failed weight reached the abort weight
+     */
+    public synchronized boolean shouldAbort() {
+        return failedWeight() >= abortWeight;
+    }
+    
+    /**
+     * @return true the first time {@link #shouldAbort()} holds, false afterwards
+     */
+    public synchronized boolean signalAbort() {
+        if (abortSignalled || !shouldAbort()) {
+            return false;
+        }
+        abortSignalled = true;
+        return true;
+    }
+    
+    /**
+     * @return FAIL if a rule fails on the last values, PASS if all rules pass, otherwise PENDING
+     */
+    public synchronized String verdict() {
+        boolean missing = ruleSet.size() == 0;
+        for (int rule = 0; rule < ruleSet.size(); rule++) {
+            if (Double.isNaN(ruleSet.valueOf(rule, last))) {
+                missing = true;
+            } else if (!ruleSet.passes(rule, last)) {
+                return FAIL;
+            }
+        }
+        return missing ? PENDING : PASS;
+    }
+    
+    /**
+     * @return Current state for reporting
+     */
+    public synchronized Provisional provisional() {
+        int failedWeight = failedWeight();
+        List<RuleState> rules = new ArrayList<>(ruleSet.size());
+        for (int rule = 0; rule < ruleSet.size(); rule++) {
+            EvaluationRule evaluationRule = ruleSet.getRules().get(rule);
+            int metric = ruleSet.metricIndexOf(rule);
+            rules.add(new RuleState(evaluationRule.getRuleName(), evaluationRule.getMetricName(),
+                    evaluationRule.getOperator(), evaluationRule.getThresholdValue(), evaluationRule.getWeight(),
+                    counts[metric], boxed(last[metric]), boxed(min[metric]), boxed(max[metric]),
+                    counts[metric] == 0 ? null : windowAverage(metric),
+                    counts[metric] == 0 ? null : ruleSet.passes(rule, last)));
+        }
+        return new Provisional(simulationId, ruleSnapshotVersion, verdict(), ruleSet.score(last), samples,
+                               failedWeight, abortWeight, ruleSet.getTotalWeight(), abortSignalled, rules);
+    }
+    
+    public String getSimulationId() {
+        return simulationId;
+    }
+    
+    public long getRuleSnapshotVersion() {
+        return ruleSnapshotVersion;
+    }
+    
+    public synchronized long getLastSampleAtMillis() {
+        return lastSampleAtMillis;
+    }
+    
+    private double windowAverage(int metric) {
+        int size = (int) Math.min(counts[metric], window);
+        double sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += windowValues[metric * window + i];
+        }
+        return sum / size;
+    }
+    
+    private static Double boxed(double value) {
+        return Double.isNaN(value) ? null : value;
+    }
+    
+    /**
+     * Provisional evaluation of a running simulation.
+     */
+    public record Provisional(String simulationId, long ruleSnapshotVersion, String verdict, int score, long samples,
+                              int failedWeight, int abortWeight, int totalWeight, boolean abortSignalled,
+                              List<RuleState> rules) {
+    }
+    
+    /**
+     * Running state of a rule, null values until its metric has samples.
+     */
+    public record RuleState(String ruleName, String metricName, String operator, BigDecimal threshold,
+                            Integer weight, long samples, Double last, Double min, Double max, Double windowAverage,
+                            Boolean passing) {
+    }
+}
@@ -0,0 +1,31 @@
+-- Evaluation Service Schema
+-- Version: V2.0.2
+-- Description: Persistent queue of evaluation jobs processed by a worker pool
+
+-- Table: evaluation_jobs
+-- One row per requested evaluation, claimed by workers once run_at has passed
+CREATE TABLE evaluation_jobs (
+    id BIGSERIAL PRIMARY KEY,
+    simulation_id VARCHAR(255) NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'QUEUED' CHECK (status IN ('QUEUED', 'RUNNING', 'SUCCEEDED', 'FAILED')),
+    run_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    max_attempts INTEGER NOT NULL DEFAULT 3,
+    evaluation_result_id BIGINT REFERENCES evaluation_results(id) ON DELETE SET NULL,
+    error_message TEXT,
+    worker_id VARCHAR(255),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    started_at TIMESTAMP,
+    heartbeat_at TIMESTAMP,
+    completed_at TIMESTAMP
+);
+
+-- Indexes for claiming due jobs and looking up open jobs of a simulation
+CREATE INDEX idx_evaluation_jobs_due ON evaluation_jobs(run_at) WHERE status = 'QUEUED';
+CREATE INDEX idx_evaluation_jobs_running ON evaluation_jobs(heartbeat_at) WHERE status = 'RUNNING';
+CREATE INDEX idx_evaluation_jobs_simulation_id ON evaluation_jobs(simulation_id, status);
+
+-- At most one open job per simulation, concurrent enqueues of the same simulation can't both insert
+CREATE UNIQUE INDEX idx_evaluation_jobs_open_simulation ON evaluation_jobs(simulation_id) WHERE status IN ('QUEUED', 'RUNNING');
+
+COMMENT ON TABLE evaluation_jobs IS 'Queue of asynchronous evaluation jobs';
@@ -0,0 +1,18 @@
+-- Evaluation Service Schema
+-- Version: V2.0.3
+-- Description: Version counter of the active rule set, recorded on every evaluation result
+
+-- Table: evaluation_rule_set_version
+-- Single row, incremented in the same transaction as every rule change
+CREATE TABLE evaluation_rule_set_version (
+    id SMALLINT PRIMARY KEY CHECK (id = 1),
+    version BIGINT NOT NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+INSERT INTO evaluation_rule_set_version (id, version) VALUES (1, 1);
+
+-- Rule set version the result was evaluated with
+ALTER TABLE evaluation_results ADD COLUMN rule_snapshot_version BIGINT;
+
+COMMENT ON TABLE evaluation_rule_set_version IS 'Version of the active evaluation rule set';
@@ -0,0 +1,28 @@
+-- Evaluation Service Schema
+-- Version: V2.0.4
+-- Description: Resumable bulk re-evaluation of stored simulations
+
+-- Table: evaluation_bulk_jobs
+-- One row per bulk re-evaluation, last_simulation_id is the resume cursor
+CREATE TABLE evaluation_bulk_jobs (
+    id BIGSERIAL PRIMARY KEY,
+    status VARCHAR(20) NOT NULL DEFAULT 'QUEUED' CHECK (status IN ('QUEUED', 'RUNNING', 'COMPLETED', 'FAILED', 'CANCELLED')),
+    chunk_size INTEGER NOT NULL,
+    last_simulation_id UUID,
+    total_simulations BIGINT,
+    processed_count BIGINT NOT NULL DEFAULT 0,
+    passed_count BIGINT NOT NULL DEFAULT 0,
+    rule_snapshot_version BIGINT,
+    error_message TEXT,
+    worker_id VARCHAR(255),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    started_at TIMESTAMP,
+    run_started_at TIMESTAMP,
+    run_start_processed BIGINT NOT NULL DEFAULT 0,
+    heartbeat_at TIMESTAMP,
+    completed_at TIMESTAMP
+);
+
+CREATE INDEX idx_evaluation_bulk_jobs_open ON evaluation_bulk_jobs(created_at) WHERE status IN ('QUEUED', 'RUNNING');
+
+COMMENT ON TABLE evaluation_bulk_jobs IS 'Bulk re-evaluation jobs over all simulations with metrics';
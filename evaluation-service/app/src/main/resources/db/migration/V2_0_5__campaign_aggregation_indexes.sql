@@ -0,0 +1,12 @@
+-- Evaluation Service Schema
+-- Version: V2.0.5
+-- Description: Indexes for campaign aggregation over the latest evaluation of each simulation
+
+-- Serves DISTINCT ON (simulation_id) ... ORDER BY evaluated_at DESC, id DESC without a sort
+CREATE INDEX idx_evaluation_results_sim_latest ON evaluation_results(simulation_id, evaluated_at DESC, id DESC)
+    INCLUDE (overall_score, verdict);
+
+-- Per-rule failure counts as index-only scans, replaces the plain evaluation_result_id index
+CREATE INDEX idx_evaluation_metric_results_eval_rule ON evaluation_metric_results(evaluation_result_id, rule_id)
+    INCLUDE (passed);
+DROP INDEX IF EXISTS idx_evaluation_metric_results_evaluation_id;
@@ -0,0 +1,204 @@
+
+import com.tsystems.dco.evaluation.model.BulkEvaluationJob;
+import com.tsystems.dco.evaluation.model.EvaluationRule;
+import com.tsystems.dco.evaluation.repository.BulkEvaluationJobRepository;
+import com.tsystems.dco.evaluation.repository.BulkEvaluationRepository;
+import com.tsystems.dco.evaluation.repository.BulkEvaluationRepository.ResultRow;
+import com.tsystems.dco.evaluation.service.BulkEvaluationService;
+import com.tsystems.dco.evaluation.service.RuleSnapshot;
+import com.tsystems.dco.evaluation.service.RuleSnapshotCache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class BulkEvaluationServiceTest {
+
+    @Mock
+    private BulkEvaluationJobRepository jobRepository;
+    @Mock
+    private BulkEvaluationRepository bulkRepository;
+    @Mock
+    private RuleSnapshotCache ruleSnapshotCache;
+
+    @InjectMocks
+    private BulkEvaluationService bulkEvaluationService;
+
+    private final RuleSnapshot snapshot = new RuleSnapshot(7, List.of(rule(1L, "cpu", 60), rule(2L, "memory", 40)));
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(bulkEvaluationService, "executor", new SimpleAsyncTaskExecutor());
+        ReflectionTestUtils.setField(bulkEvaluationService, "defaultChunkSize", 500);
+        ReflectionTestUtils.setField(bulkEvaluationService, "maxChunkSize", 5000);
+        ReflectionTestUtils.setField(bulkEvaluationService, "batchSize", 1000);
+        ReflectionTestUtils.setField(bulkEvaluationService, "workers", 4);
+        ReflectionTestUtils.setField(bulkEvaluationService, "leaseTimeoutSeconds", 120);
+    }
+
+    @Test
+    void testProcessChunk_ScoresInsertsAndAdvancesCursor() {
+        UUID first = UUID.fromString("00000000-0000-0000-0000-000000000001");
+        UUID second = UUID.fromString("00000000-0000-0000-0000-000000000002");
+        when(ruleSnapshotCache.current()).thenReturn(snapshot);
+        when(bulkRepository.findSimulationIdsAfter(null, 500)).thenReturn(List.of(first, second));
+        doAnswer(invocation -> {
+            BulkEvaluationRepository.LatestValueConsumer consumer = invocation.getArgument(2);
+            consumer.accept(first, "cpu", 5.0);
+            consumer.accept(first, "memory", 3.0);
+            consumer.accept(second, "cpu", 50.0);
+            return null;
+        }).when(bulkRepository).findLatestValues(any(), any(), any());
+        when(jobRepository.advance(eq(1L), eq("worker-1"), eq(second), eq(2L), eq(1L), eq(7L), any()))
+                .thenReturn(1);
+
+        UUID cursor = bulkEvaluationService.processChunk(1L, "worker-1", null, 500);
+
+        assertEquals(second, cursor);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ResultRow>> rows = ArgumentCaptor.forClass(List.class);
+        verify(bulkRepository).insertResults(rows.capture(), eq(snapshot.getRules()), eq(7L), any(), eq(1000));
+        ResultRow pass = rows.getValue().get(0);
+        assertEquals(first.toString(), pass.simulationId());
+        assertEquals("PASS", pass.verdict());
+        assertEquals(100, pass.score());
+        ResultRow fail = rows.getValue().get(1);
+        assertEquals("FAIL", fail.verdict());
+        assertEquals(0, fail.score());
+        assertEquals(50.0, fail.actualValues()[0]);
+        assertTrue(Double.isNaN(fail.actualValues()[1]), "Missing metric should stay missing");
+    }
+
+    @Test
+    void testProcessChunk_NoSimulationsLeft() {
+        UUID cursor = UUID.randomUUID();
+        when(ruleSnapshotCache.current()).thenReturn(snapshot);
+        when(bulkRepository.findSimulationIdsAfter(cursor, 500)).thenReturn(List.of());
+
+        assertNull(bulkEvaluationService.processChunk(1L, "worker-1", cursor, 500));
+        verify(bulkRepository, never()).insertResults(any(), any(), anyLong(), any(), anyInt());
+        verify(jobRepository, never()).advance(any(), any(), any(), anyLong(), anyLong(), anyLong(), any());
+    }
+
+    @Test
+    void testProcessChunk_JobNoLongerRunning() {
+        when(ruleSnapshotCache.current()).thenReturn(snapshot);
+        when(bulkRepository.findSimulationIdsAfter(null, 500)).thenReturn(List.of(UUID.randomUUID()));
+        when(jobRepository.advance(any(), any(), any(), anyLong(), anyLong(), anyLong(), any())).thenReturn(0);
+
+        assertThrows(CancellationException.class, 
+                () -> bulkEvaluationService.processChunk(1L, "worker-1", null, 500));
+    }
+
+    @Test
+    void testScore_ParallelSlicesKeepOrder() {
+        List<UUID> simulationIds = new ArrayList<>();
+        Map<UUID, double[]> values = new HashMap<>();
+        for (int i = 0; i < 1000; i++) {
+            UUID simulationId = new UUID(0, i);
+            simulationIds.add(simulationId);
+            values.put(simulationId, new double[] {i % 20, 0});
+        }
+
+        List<ResultRow> rows = ReflectionTestUtils.invokeMethod(bulkEvaluationService, "score", 
+                simulationIds, values, snapshot.getCompiledRuleSet());
+
+        assertEquals(1000, rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            assertEquals(simulationIds.get(i).toString(), rows.get(i).simulationId());
+            assertEquals(i % 20 < 10 ? "PASS" : "FAIL", rows.get(i).verdict());
+        }
+    }
+
+    @Test
+    void testStart_ReturnsOpenJob() {
+        BulkEvaluationJob open = new BulkEvaluationJob(500, 10L);
+        when(jobRepository.findFirstByStatusInOrderByCreatedAtAsc(any())).thenReturn(Optional.of(open));
+
+        assertSame(open, bulkEvaluationService.start(100));
+        verify(jobRepository, never()).save(any());
+    }
+
+    @Test
+    void testStart_ClampsChunkSize() {
+        when(jobRepository.findFirstByStatusInOrderByCreatedAtAsc(any())).thenReturn(Optional.empty());
+        when(ruleSnapshotCache.current()).thenReturn(snapshot);
+        when(bulkRepository.countSimulations()).thenReturn(20000L);
+        when(jobRepository.save(any(BulkEvaluationJob.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        BulkEvaluationJob job = bulkEvaluationService.start(1_000_000);
+
+        assertEquals(BulkEvaluationJob.Status.QUEUED, job.getStatus());
+        assertEquals(5000, job.getChunkSize());
+        assertEquals(20000L, job.getTotalSimulations());
+    }
+
+    @Test
+    void testClaim_ResumesFromCursor() {
+        BulkEvaluationJob job = new BulkEvaluationJob(500, 1000L);
+        job.setStatus(BulkEvaluationJob.Status.RUNNING);
+        job.setWorkerId("crashed-worker");
+        job.setProcessedCount(400L);
+        job.setLastSimulationId(UUID.randomUUID());
+        LocalDateTime startedAt = LocalDateTime.now().minusHours(1);
+        job.setStartedAt(startedAt);
+        when(jobRepository.lockClaimableJob(any())).thenReturn(Optional.of(job));
+
+        assertTrue(bulkEvaluationService.claim("worker-1").isPresent());
+
+        assertEquals("worker-1", job.getWorkerId());
+        assertEquals(startedAt, job.getStartedAt());
+        assertEquals(400L, job.getRunStartProcessed());
+        assertEquals(40.0, job.getProgressPercent());
+    }
+
+    @Test
+    void testThroughput_CountsCurrentRunOnly() {
+        BulkEvaluationJob job = new BulkEvaluationJob(500, 1000L);
+        LocalDateTime now = LocalDateTime.now();
+        job.setRunStartedAt(now.minusSeconds(10));
+        job.setRunStartProcessed(400L);
+        job.setProcessedCount(900L);
+        job.setHeartbeatAt(now);
+
+        assertEquals(50.0, job.getThroughputPerSecond());
+    }
+
+    private static EvaluationRule rule(Long id, String metricName, int weight) {
+        EvaluationRule rule = new EvaluationRule();
+        rule.setId(id);
+        rule.setRuleName(metricName + " limit");
+        rule.setMetricName(metricName);
+        rule.setOperator("<");
+        rule.setThresholdValue(BigDecimal.TEN);
+        rule.setWeight(weight);
+        return rule;
+    }
+}
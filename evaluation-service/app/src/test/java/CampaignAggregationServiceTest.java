@@ -0,0 +1,159 @@
+import com.tsystems.dco.evaluation.repository.CampaignAggregateRepository;
+import com.tsystems.dco.evaluation.repository.CampaignAggregateRepository.CampaignSummary;
+import com.tsystems.dco.evaluation.repository.CampaignAggregateRepository.SimulationFilter;
+import com.tsystems.dco.evaluation.service.CampaignAggregationService;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class CampaignAggregationServiceTest {
+
+    private static final UUID CAMPAIGN = UUID.fromString("00000000-0000-0000-0000-00000000000c");
+
+    @Mock
+    private CampaignAggregateRepository aggregateRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private CampaignAggregationService aggregationService;
+
+    private final CampaignSummary summary = new CampaignSummary(4, 3, 2, 1, 0, 70.0, 40, 90, 44.0, 80.0, 88.0);
+
+    @BeforeEach
+    void setUp() {
+        aggregationService = new CampaignAggregationService(transactionManager);
+        ReflectionTestUtils.setField(aggregationService, "aggregateRepository", aggregateRepository);
+        ReflectionTestUtils.setField(aggregationService, "freshSeconds", 10L);
+        ReflectionTestUtils.setField(aggregationService, "maxAgeSeconds", 600L);
+        ReflectionTestUtils.setField(aggregationService, "maxEntries", 2);
+        ReflectionTestUtils.setField(aggregationService, "maxPageSize", 500);
+    }
+
+    @Test
+    void testGetAggregate_ComputesInDatabaseAndCaches() {
+        stubAggregate();
+
+        CampaignAggregationService.CampaignAggregate first = aggregationService.getAggregate(CAMPAIGN);
+        CampaignAggregationService.CampaignAggregate second = aggregationService.getAggregate(CAMPAIGN);
+
+        assertSame(first, second);
+        assertEquals(2.0 / 3, first.summary().getPassRate(), 1e-9);
+        assertEquals(0.5, first.ruleFailures().get(0).getFailureRate(), 1e-9);
+        verify(aggregateRepository, times(1)).findSummary(CAMPAIGN);
+    }
+
+    @Test
+    void testGetAggregate_KeepsAggregateWhileWatermarkUnchanged() {
+        ReflectionTestUtils.setField(aggregationService, "freshSeconds", 0L);
+        stubAggregate();
+
+        CampaignAggregationService.CampaignAggregate first = aggregationService.getAggregate(CAMPAIGN);
+        sleepPastFreshness();
+        CampaignAggregationService.CampaignAggregate second = aggregationService.getAggregate(CAMPAIGN);
+
+        assertSame(first, second);
+        verify(aggregateRepository, times(1)).findSummary(CAMPAIGN);
+    }
+
+    @Test
+    void testGetAggregate_RecomputesAfterNewEvaluation() {
+        ReflectionTestUtils.setField(aggregationService, "freshSeconds", 0L);
+        stubAggregate();
+
+        aggregationService.getAggregate(CAMPAIGN);
+        when(aggregateRepository.watermark()).thenReturn(43L);
+        sleepPastFreshness();
+        aggregationService.getAggregate(CAMPAIGN);
+
+        verify(aggregateRepository, times(2)).findSummary(CAMPAIGN);
+    }
+
+    @Test
+    void testGetAggregate_EvictsBeyondMaxEntries() {
+        stubAggregate();
+        UUID second = UUID.randomUUID();
+        UUID third = UUID.randomUUID();
+
+        aggregationService.getAggregate(CAMPAIGN);
+        aggregationService.getAggregate(second);
+        aggregationService.getAggregate(third);
+        aggregationService.getAggregate(third);
+
+        Object cache = ReflectionTestUtils.getField(aggregationService, "cache");
+        assertEquals(2, ((Map<?, ?>) cache).size());
+        verify(aggregateRepository, times(1)).findSummary(third);
+    }
+
+    @Test
+    void testGetAggregate_QueriesOutsideTheCache() {
+        when(aggregateRepository.watermark()).thenReturn(42L);
+        when(aggregateRepository.findScoreDistribution(CAMPAIGN)).thenReturn(List.of());
+        when(aggregateRepository.findRuleFailures(CAMPAIGN)).thenReturn(List.of());
+        when(aggregateRepository.findSummary(CAMPAIGN)).thenAnswer(invocation -> {
+            // Evicting the campaign from another thread must not wait for the aggregate
+            CompletableFuture.runAsync(() -> aggregationService.evict(CAMPAIGN)).get(1, TimeUnit.SECONDS);
+            return summary;
+        });
+
+        CampaignAggregationService.CampaignAggregate aggregate = aggregationService.getAggregate(CAMPAIGN);
+
+        assertSame(summary, aggregate.summary());
+        assertSame(aggregate, aggregationService.getAggregate(CAMPAIGN));
+    }
+
+    @Test
+    void testGetSimulations_ClampsPage() {
+        SimulationFilter filter = new SimulationFilter("FAIL", null, null, 3L);
+        when(aggregateRepository.findSimulations(CAMPAIGN, filter, 500, 1000)).thenReturn(List.of());
+
+        aggregationService.getSimulations(CAMPAIGN, filter, 2, 10_000);
+
+        verify(aggregateRepository).findSimulations(CAMPAIGN, filter, 500, 1000);
+    }
+
+    @Test
+    void testGetSimulations_RejectsInvalidFilter() {
+        assertThrows(IllegalArgumentException.class, () ->
+                aggregationService.getSimulations(CAMPAIGN, new SimulationFilter("BROKEN", null, null, null), 0, 50));
+        assertThrows(IllegalArgumentException.class, () ->
+                aggregationService.getSimulations(CAMPAIGN, new SimulationFilter(null, 80, 20, null), 0, 50));
+        verify(aggregateRepository, never()).findSimulations(any(), any(), anyInt(), anyInt());
+    }
+
+    private void stubAggregate() {
+        when(aggregateRepository.watermark()).thenReturn(42L);
+        when(aggregateRepository.findSummary(any())).thenReturn(summary);
+        when(aggregateRepository.findScoreDistribution(any())).thenReturn(
+                List.of(new CampaignAggregateRepository.ScoreBucket(40, 49, 1)));
+        when(aggregateRepository.findRuleFailures(any())).thenReturn(
+                List.of(new CampaignAggregateRepository.RuleFailure(3L, "CPU Limit", "cpu", 2, 1)));
+    }
+
+    private static void sleepPastFreshness() {
+        try {
+            Thread.sleep(5);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+
+import com.tsystems.dco.evaluation.model.EvaluationMetricResult;
+import com.tsystems.dco.evaluation.model.EvaluationResult;
+import com.tsystems.dco.evaluation.model.EvaluationRule;
+import com.tsystems.dco.evaluation.service.CompiledRuleSet;
+import com.tsystems.dco.evaluation.service.EvaluationEngine;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CompiledRuleSetTest {
+
+    private final EvaluationEngine evaluationEngine = new EvaluationEngine();
+
+    @Test
+    void testScore_MatchesEngine() {
+        List<EvaluationRule> rules = List.of(
+                rule("Max Duration", "simulation_duration_seconds", "<", "60", 20),
+                rule("Zero Errors", "simulation_errors_total", "=", "0", 30),
+                rule("CPU Limit", "simulation_cpu_percent", "<", "80", 15),
+                rule("CPU Floor", "simulation_cpu_percent", ">=", "10.5", 10),
+                rule("Memory Limit", "simulation_memory_percent", "!=", "85", 25));
+        Map<String, Double> metrics = Map.of(
+                "simulation_duration_seconds", 25.5,
+                "simulation_errors_total", 0.0,
+                "simulation_cpu_percent", 10.5);
+
+        CompiledRuleSet ruleSet = CompiledRuleSet.compile(rules);
+        double[] values = ruleSet.fill(metrics, ruleSet.newValues());
+        List<EvaluationMetricResult> results = evaluationEngine.evaluateMetrics(rules, metrics,
+                new EvaluationResult("sim", 0, "PENDING"));
+
+        assertEquals(4, ruleSet.getMetricNames().size());
+        assertEquals(evaluationEngine.calculateScore(results), ruleSet.score(values));
+        assertEquals(75, ruleSet.score(values));
+        for (int i = 0; i < rules.size(); i++) {
+            assertEquals(results.get(i).isPassed(), ruleSet.passes(i, values), rules.get(i).getRuleName());
+        }
+        assertFalse(ruleSet.allPassed(values), "Memory metric is missing");
+    }
+
+    @Test
+    void testUnknownOperatorNeverPasses() {
+        CompiledRuleSet ruleSet = CompiledRuleSet.compile(List.of(rule("Odd", "metric", "~", "1", 10)));
+        double[] values = ruleSet.fill(Map.of("metric", 1.0), ruleSet.newValues());
+
+        assertFalse(ruleSet.passes(0, values));
+        assertEquals(0, ruleSet.score(values));
+    }
+
+    @Test
+    void testEmptyRuleSet() {
+        CompiledRuleSet ruleSet = CompiledRuleSet.compile(List.of());
+
+        assertEquals(0, ruleSet.score(ruleSet.newValues()));
+        assertFalse(ruleSet.allPassed(ruleSet.newValues()));
+        assertEquals(-1, ruleSet.indexOf("metric"));
+    }
+
+    private static EvaluationRule rule(String name, String metric, String operator, String threshold, int weight) {
+        EvaluationRule rule = new EvaluationRule();
+        rule.setRuleName(name);
+        rule.setMetricName(metric);
+        rule.setOperator(operator);
+        rule.setThresholdValue(new BigDecimal(threshold));
+        rule.setWeight(weight);
+        return rule;
+    }
+}
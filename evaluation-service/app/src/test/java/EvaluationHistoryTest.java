@@ -0,0 +1,122 @@
+import com.tsystems.dco.evaluation.model.EvaluationResult;
+import com.tsystems.dco.evaluation.repository.EvaluationMetricResultRepository;
+import com.tsystems.dco.evaluation.repository.EvaluationResultRepository;
+import com.tsystems.dco.evaluation.service.EvaluationService;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class EvaluationHistoryTest {
+
+    @Mock
+    private EvaluationResultRepository resultRepository;
+
+    @Mock
+    private EvaluationMetricResultRepository metricResultRepository;
+
+    @InjectMocks
+    private EvaluationService evaluationService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(evaluationService, "maxHistoryPageSize", 100);
+    }
+
+    @Test
+    void testHistory_SortsNewestFirst() {
+        EvaluationResultRepository.EvaluationSummary summary = mock(EvaluationResultRepository.EvaluationSummary.class);
+        when(resultRepository.findSummariesBySimulationId(eq("sim-1"), any(Pageable.class)))
+                .thenAnswer(invocation -> new PageImpl<>(List.of(summary), invocation.getArgument(1), 41));
+
+        Page<EvaluationResultRepository.EvaluationSummary> page = evaluationService.getEvaluationHistory("sim-1", 2, 20);
+
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        verify(resultRepository).findSummariesBySimulationId(eq("sim-1"), pageable.capture());
+        assertEquals(2, pageable.getValue().getPageNumber());
+        assertEquals(20, pageable.getValue().getPageSize());
+        assertEquals(Sort.Direction.DESC, pageable.getValue().getSort().getOrderFor("evaluatedAt").getDirection());
+        assertEquals(Sort.Direction.DESC, pageable.getValue().getSort().getOrderFor("id").getDirection());
+        assertEquals(41, page.getTotalElements());
+        assertEquals(3, page.getTotalPages());
+    }
+
+    @Test
+    void testHistory_ClampsPageSize() {
+        when(resultRepository.findSummariesBySimulationId(eq("sim-1"), any(Pageable.class)))
+                .thenAnswer(invocation -> Page.empty(invocation.getArgument(1)));
+
+        evaluationService.getEvaluationHistory("sim-1", -1, 10_000);
+        evaluationService.getEvaluationHistory("sim-1", 0, 0);
+
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        verify(resultRepository, times(2)).findSummariesBySimulationId(eq("sim-1"), pageable.capture());
+        assertEquals(0, pageable.getAllValues().get(0).getPageNumber());
+        assertEquals(100, pageable.getAllValues().get(0).getPageSize());
+        assertEquals(1, pageable.getAllValues().get(1).getPageSize());
+    }
+
+    @Test
+    void testDetails_LoadsRuleResultsOfOneEvaluation() {
+        EvaluationMetricResultRepository.MetricResultDetail detail = mock(EvaluationMetricResultRepository.MetricResultDetail.class);
+        when(resultRepository.existsById(7L)).thenReturn(true);
+        when(metricResultRepository.findDetailsByEvaluationResultId(7L)).thenReturn(List.of(detail));
+
+        Optional<List<EvaluationMetricResultRepository.MetricResultDetail>> details = evaluationService.getEvaluationDetails(7L);
+
+        assertTrue(details.isPresent());
+        assertEquals(1, details.get().size());
+    }
+
+    @Test
+    void testDetails_UnknownEvaluation() {
+        when(resultRepository.existsById(8L)).thenReturn(false);
+
+        assertTrue(evaluationService.getEvaluationDetails(8L).isEmpty());
+        verify(metricResultRepository, never()).findDetailsByEvaluationResultId(anyLong());
+    }
+
+    @Test
+    void testLatestResult_FetchesMetricResultsOfLatestIdOnly() {
+        EvaluationResult latest = new EvaluationResult("sim-1", 90, "PASS");
+        when(resultRepository.findLatestIds(eq("sim-1"), any())).thenReturn(List.of(9L));
+        when(resultRepository.findWithMetricResultsById(9L)).thenReturn(Optional.of(latest));
+
+        assertSame(latest, evaluationService.getEvaluationResult("sim-1").orElseThrow());
+
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        verify(resultRepository).findLatestIds(eq("sim-1"), pageable.capture());
+        assertEquals(1, pageable.getValue().getPageSize());
+    }
+
+    @Test
+    void testLatestResult_EmptyWithoutEvaluations() {
+        when(resultRepository.findLatestIds(eq("sim-1"), any())).thenReturn(List.of());
+
+        assertTrue(evaluationService.getEvaluationResult("sim-1").isEmpty());
+        verify(resultRepository, never()).findWithMetricResultsById(anyLong());
+    }
+}
@@ -0,0 +1,177 @@
+
+import com.tsystems.dco.evaluation.model.EvaluationJob;
+import com.tsystems.dco.evaluation.repository.EvaluationJobRepository;
+import com.tsystems.dco.evaluation.service.EvaluationJobService;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class EvaluationJobServiceTest {
+
+    @Mock
+    private EvaluationJobRepository jobRepository;
+
+    @InjectMocks
+    private EvaluationJobService jobService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(jobService, "metricsDelaySeconds", 5);
+        ReflectionTestUtils.setField(jobService, "maxAttempts", 3);
+        ReflectionTestUtils.setField(jobService, "retryDelaySeconds", 10);
+        ReflectionTestUtils.setField(jobService, "leaseTimeoutSeconds", 300);
+    }
+
+    @Test
+    void testEnqueue_SchedulesAfterMetricsDelay() {
+        when(jobRepository.findFirstBySimulationIdAndStatusInOrderByCreatedAtAsc(eq("sim-1"), any()))
+                .thenReturn(Optional.empty());
+        when(jobRepository.save(any(EvaluationJob.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        LocalDateTime before = LocalDateTime.now();
+        EvaluationJob job = jobService.enqueue("sim-1");
+
+        assertEquals(EvaluationJob.Status.QUEUED, job.getStatus());
+        assertEquals(3, job.getMaxAttempts());
+        assertFalse(job.getRunAt().isBefore(before.plusSeconds(5)), "Job should not be due before the metrics delay");
+    }
+
+    @Test
+    void testEnqueue_ReturnsOpenJob() {
+        EvaluationJob open = new EvaluationJob("sim-1", LocalDateTime.now(), 3);
+        when(jobRepository.findFirstBySimulationIdAndStatusInOrderByCreatedAtAsc(eq("sim-1"), any()))
+                .thenReturn(Optional.of(open));
+
+        assertSame(open, jobService.enqueue("sim-1"));
+        verify(jobRepository, never()).save(any());
+    }
+
+    @Test
+    void testEnqueue_ReturnsJobOpenedConcurrently() {
+        EvaluationJob open = new EvaluationJob("sim-1", LocalDateTime.now(), 3);
+        when(jobRepository.findFirstBySimulationIdAndStatusInOrderByCreatedAtAsc(eq("sim-1"), any()))
+                .thenReturn(Optional.empty(), Optional.of(open));
+        when(jobRepository.save(any(EvaluationJob.class)))
+                .thenThrow(new DataIntegrityViolationException("idx_evaluation_jobs_open_simulation"));
+
+        assertSame(open, jobService.enqueue("sim-1"));
+    }
+
+    @Test
+    void testClaimDueJobs_MarksRunning() {
+        EvaluationJob job = new EvaluationJob("sim-1", LocalDateTime.now(), 3);
+        when(jobRepository.lockDueJobs(any(), anyInt())).thenReturn(List.of(job));
+        when(jobRepository.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<EvaluationJob> claimed = jobService.claimDueJobs("worker-1", 4);
+
+        assertEquals(1, claimed.size());
+        assertEquals(EvaluationJob.Status.RUNNING, job.getStatus());
+        assertEquals(1, job.getAttempts());
+        assertEquals("worker-1", job.getWorkerId());
+        assertEquals(job.getStartedAt(), job.getHeartbeatAt());
+        verify(jobRepository).lockDueJobs(any(), eq(4));
+    }
+
+    @Test
+    void testRequeueAbandoned_FailsJobsOutOfAttempts() {
+        when(jobRepository.failAbandoned(any(), any(), any())).thenReturn(1);
+        when(jobRepository.requeueAbandoned(any())).thenReturn(2);
+
+        LocalDateTime before = LocalDateTime.now();
+        assertEquals(2, jobService.requeueAbandoned());
+
+        InOrder order = inOrder(jobRepository);
+        order.verify(jobRepository).failAbandoned(argThat(staleBefore -> !staleBefore.isBefore(before.minusSeconds(300))),
+                any(), any());
+        order.verify(jobRepository).requeueAbandoned(any());
+    }
+
+    @Test
+    void testHeartbeat_SkipsIdleWorker() {
+        jobService.heartbeat("worker-1", List.of());
+
+        verify(jobRepository, never()).heartbeat(any(), any(), any());
+    }
+
+    @Test
+    void testMarkFailed_RetriesWithBackoff() {
+        EvaluationJob job = new EvaluationJob("sim-1", LocalDateTime.now(), 3);
+        job.setId(1L);
+        job.setAttempts(2);
+        job.setStatus(EvaluationJob.Status.RUNNING);
+        when(jobRepository.findById(1L)).thenReturn(Optional.of(job));
+        when(jobRepository.requeueFailed(eq(1L), eq("worker-1"), eq("Prometheus unavailable"), any())).thenReturn(1);
+
+        LocalDateTime before = LocalDateTime.now();
+        assertTrue(jobService.markFailed(1L, "worker-1", "Prometheus unavailable"));
+
+        verify(jobRepository).requeueFailed(eq(1L), eq("worker-1"), eq("Prometheus unavailable"),
+                argThat(runAt -> !runAt.isBefore(before.plusSeconds(20))));
+        verify(jobRepository, never()).markFailed(any(), any(), any(), any());
+    }
+
+    @Test
+    void testMarkFailed_FailsAfterMaxAttempts() {
+        EvaluationJob job = new EvaluationJob("sim-1", LocalDateTime.now(), 3);
+        job.setId(1L);
+        job.setAttempts(3);
+        job.setStatus(EvaluationJob.Status.RUNNING);
+        when(jobRepository.findById(1L)).thenReturn(Optional.of(job));
+        when(jobRepository.markFailed(eq(1L), eq("worker-1"), eq("No active evaluation rules configured"), any()))
+                .thenReturn(1);
+
+        assertTrue(jobService.markFailed(1L, "worker-1", "No active evaluation rules configured"));
+
+        verify(jobRepository, never()).requeueFailed(any(), any(), any(), any());
+    }
+
+    @Test
+    void testMarkFailed_IgnoredWhenJobTakenOver() {
+        EvaluationJob job = new EvaluationJob("sim-1", LocalDateTime.now(), 3);
+        job.setId(1L);
+        job.setAttempts(1);
+        job.setStatus(EvaluationJob.Status.RUNNING);
+        job.setWorkerId("worker-2");
+        when(jobRepository.findById(1L)).thenReturn(Optional.of(job));
+        when(jobRepository.requeueFailed(eq(1L), eq("worker-1"), any(), any())).thenReturn(0);
+
+        assertFalse(jobService.markFailed(1L, "worker-1", "Prometheus unavailable"));
+    }
+
+    @Test
+    void testMarkSucceeded_StoresResult() {
+        when(jobRepository.markSucceeded(eq(1L), eq("worker-1"), eq(7L), any())).thenReturn(1);
+
+        assertTrue(jobService.markSucceeded(1L, "worker-1", 7L));
+    }
+
+    @Test
+    void testMarkSucceeded_IgnoredWhenJobTakenOver() {
+        when(jobRepository.markSucceeded(eq(1L), eq("worker-1"), eq(7L), any())).thenReturn(0);
+
+        assertFalse(jobService.markSucceeded(1L, "worker-1", 7L));
+    }
+}
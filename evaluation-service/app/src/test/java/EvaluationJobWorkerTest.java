@@ -0,0 +1,84 @@
+import com.tsystems.dco.evaluation.model.EvaluationJob;
+import com.tsystems.dco.evaluation.service.EvaluationJobService;
+import com.tsystems.dco.evaluation.service.EvaluationJobWorker;
+import com.tsystems.dco.evaluation.service.EvaluationService;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class EvaluationJobWorkerTest {
+
+    @Mock
+    private EvaluationJobService jobService;
+    @Mock
+    private EvaluationService evaluationService;
+
+    @InjectMocks
+    private EvaluationJobWorker worker;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(worker, "executor", (TaskExecutor) Runnable::run);
+        ReflectionTestUtils.setField(worker, "workers", 1);
+    }
+
+    @Test
+    void testFailedAttempt_StoresNoResultWhileRetried() throws Exception {
+        claimed(1, 3);
+        when(evaluationService.evaluate("sim-1")).thenThrow(new IllegalStateException("Prometheus unavailable"));
+        when(jobService.markFailed(eq(1L), anyString(), eq("Prometheus unavailable"))).thenReturn(true);
+
+        worker.poll();
+
+        verify(evaluationService, never()).recordFailure(any(), anyLong());
+    }
+
+    @Test
+    void testFailedAttempt_StoresResultAfterLastAttempt() throws Exception {
+        claimed(3, 3);
+        when(evaluationService.evaluate("sim-1")).thenThrow(new IllegalStateException("Prometheus unavailable"));
+        when(jobService.markFailed(eq(1L), anyString(), eq("Prometheus unavailable"))).thenReturn(true);
+
+        worker.poll();
+
+        verify(evaluationService).recordFailure(eq("sim-1"), anyLong());
+    }
+
+    @Test
+    void testFailedAttempt_StoresNoResultWhenJobTakenOver() throws Exception {
+        claimed(3, 3);
+        when(evaluationService.evaluate("sim-1")).thenThrow(new IllegalStateException("Prometheus unavailable"));
+        when(jobService.markFailed(eq(1L), anyString(), eq("Prometheus unavailable"))).thenReturn(false);
+
+        worker.poll();
+
+        verify(evaluationService, never()).recordFailure(any(), anyLong());
+    }
+
+    private void claimed(int attempts, int maxAttempts) {
+        EvaluationJob job = new EvaluationJob("sim-1", LocalDateTime.now(), maxAttempts);
+        job.setId(1L);
+        job.setAttempts(attempts);
+        job.setStatus(EvaluationJob.Status.RUNNING);
+        when(jobService.claimDueJobs(anyString(), anyInt())).thenReturn(List.of(job));
+    }
+}
@@ -0,0 +1,65 @@
+
+import com.tsystems.dco.evaluation.repository.SimulationMetricRepository;
+import com.tsystems.dco.evaluation.service.MetricsService;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class MetricsServiceTest {
+
+    @Mock
+    private SimulationMetricRepository metricRepository;
+
+    @InjectMocks
+    private MetricsService metricsService;
+
+    @Test
+    void testGetMetrics_FetchesAllNamesInOneQuery() {
+        UUID simulationId = UUID.randomUUID();
+        when(metricRepository.findLatestValues(simulationId, Set.of("cpu", "memory", "errors")))
+                .thenReturn(List.of(latest("cpu", new BigDecimal("42.5")), latest("memory", null)));
+
+        Map<String, Double> metrics = metricsService.getMetrics(List.of("cpu", "memory", "errors", "cpu"),
+                simulationId.toString());
+
+        assertEquals(Map.of("cpu", 42.5), metrics);
+        verify(metricRepository, times(1)).findLatestValues(any(), any());
+    }
+
+    @Test
+    void testGetMetrics_InvalidSimulationId() {
+        assertTrue(metricsService.getMetrics(List.of("cpu"), "not-a-uuid").isEmpty());
+        verifyNoInteractions(metricRepository);
+    }
+
+    private static SimulationMetricRepository.LatestMetricValue latest(String name, BigDecimal value) {
+        return new SimulationMetricRepository.LatestMetricValue() {
+            @Override
+            public String getMetricName() {
+                return name;
+            }
+
+            @Override
+            public BigDecimal getMetricValue() {
+                return value;
+            }
+        };
+    }
+}
@@ -0,0 +1,102 @@
+
+import com.tsystems.dco.evaluation.config.PrometheusClientConfig;
+import com.tsystems.dco.evaluation.service.PrometheusClient;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PrometheusClientTest {
+
+    private PrometheusStub prometheus;
+    private PrometheusClient client;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        prometheus = new PrometheusStub();
+        client = new PrometheusClient(new PrometheusClientConfig().prometheusRestClient(prometheus.url(), 4, 1000, 2000));
+        ReflectionTestUtils.setField(client, "batchSize", 50);
+        ReflectionTestUtils.setField(client, "rangeMaxPoints", 11000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        prometheus.close();
+    }
+
+    @Test
+    void testQueryMetrics_OneBatchedRequest() {
+        prometheus.respond("/api/v1/query", """
+            {"status":"success","data":{"resultType":"vector","result":[
+              {"metric":{"__name__":"cpu","simulation_id":"sim-1"},"value":[1700000000,"42.5"]},
+              {"metric":{"__name__":"memory","simulation_id":"sim-1"},"value":[1700000000,"+Inf"]}
+            ]}}
+            """);
+
+        Map<String, Double> metrics = client.queryMetrics(List.of("cpu", "memory", "errors"), "sim-1");
+
+        assertEquals(Map.of("cpu", 42.5, "memory", Double.POSITIVE_INFINITY), metrics);
+        assertEquals(1, prometheus.requests().size());
+        assertEquals("{__name__=~\"cpu|memory|errors\",simulation_id=\"sim-1\"}", 
+                     prometheus.requests().get(0).get("query"));
+    }
+
+    @Test
+    void testQueryMetrics_SplitsBatchesAndSkipsInvalidNames() {
+        ReflectionTestUtils.setField(client, "batchSize", 2);
+
+        client.queryMetrics(List.of("a", "b", "c", "bad name|.*"), "sim-1");
+
+        assertEquals(2, prometheus.requests().size());
+        assertEquals("{__name__=~\"a|b\",simulation_id=\"sim-1\"}", prometheus.requests().get(0).get("query"));
+        assertEquals("{__name__=~\"c\",simulation_id=\"sim-1\"}", prometheus.requests().get(1).get("query"));
+    }
+
+    @Test
+    void testQueryMetric_ErrorReturnsNull() {
+        prometheus.respond("/api/v1/query", 503, "{\"status\":\"error\",\"error\":\"unavailable\"}");
+
+        assertNull(client.queryMetric("cpu", "sim-1"));
+    }
+
+    @Test
+    void testQueryMetricsRange_AggregatesOverWindow() {
+        prometheus.respond("/api/v1/query_range", """
+            {"status":"success","data":{"resultType":"matrix","result":[
+              {"metric":{"__name__":"cpu","instance":"a"},"values":[[100,"10"],[160,"30"]]},
+              {"metric":{"__name__":"cpu","instance":"b"},"values":[[130,"20"],[190,"NaN"]]}
+            ]}}
+            """);
+        Instant start = Instant.ofEpochSecond(100);
+        Instant end = Instant.ofEpochSecond(100 + 22000);
+
+        Map<String, Double> max = client.queryMetricsRange(List.of("cpu"), "sim-1", start, end, 
+                                                           PrometheusClient.Aggregation.MAX);
+        Map<String, Double> avg = client.queryMetricsRange(List.of("cpu"), "sim-1", start, end, 
+                                                           PrometheusClient.Aggregation.AVG);
+        Map<String, Double> last = client.queryMetricsRange(List.of("cpu"), "sim-1", start, end, 
+                                                            PrometheusClient.Aggregation.LAST);
+
+        assertEquals(30.0, max.get("cpu"));
+        assertEquals(20.0, avg.get("cpu"));
+        assertEquals(30.0, last.get("cpu"));
+        Map<String, String> request = prometheus.requests().get(0);
+        assertEquals("100.000", request.get("start"));
+        assertEquals("22100.000", request.get("end"));
+        assertEquals("2", request.get("step"));
+    }
+
+    @Test
+    void testIsHealthy() {
+        prometheus.respond("/-/healthy", "Prometheus Server is Healthy.");
+
+        assertTrue(client.isHealthy());
+    }
+}
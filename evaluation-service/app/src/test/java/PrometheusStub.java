@@ -0,0 +1,79 @@
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Local stand-in for the Prometheus HTTP API. Serves canned JSON per path and records the
+ * decoded query parameters of every request.
+ */
+class PrometheusStub implements AutoCloseable {
+
+    private final HttpServer server;
+    private final Map<String, String> responses = new ConcurrentHashMap<>();
+    private final Map<String, Integer> statuses = new ConcurrentHashMap<>();
+    private final List<Map<String, String>> requests = new CopyOnWriteArrayList<>();
+
+    PrometheusStub() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            String path = exchange.getRequestURI().getPath();
+            Map<String, String> params = parse(exchange.getRequestURI().getRawQuery());
+            params.put("path", path);
+            requests.add(params);
+            byte[] body = responses.getOrDefault(path, "{\"status\":\"success\",\"data\":{\"result\":[]}}")
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(statuses.getOrDefault(path, 200), body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+    }
+
+    String url() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    PrometheusStub respond(String path, String json) {
+        return respond(path, 200, json);
+    }
+
+    PrometheusStub respond(String path, int status, String json) {
+        responses.put(path, json);
+        statuses.put(path, status);
+        return this;
+    }
+
+    List<Map<String, String>> requests() {
+        return requests;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private static Map<String, String> parse(String rawQuery) {
+        Map<String, String> params = new HashMap<>();
+        if (rawQuery == null) {
+            return params;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            params.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                       URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+        }
+        return params;
+    }
+}
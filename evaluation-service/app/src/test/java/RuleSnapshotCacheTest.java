@@ -0,0 +1,110 @@
+
+import com.tsystems.dco.evaluation.model.EvaluationRule;
+import com.tsystems.dco.evaluation.repository.EvaluationRuleRepository;
+import com.tsystems.dco.evaluation.repository.RuleSetVersionRepository;
+import com.tsystems.dco.evaluation.service.RuleSnapshot;
+import com.tsystems.dco.evaluation.service.RuleSnapshotCache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class RuleSnapshotCacheTest {
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private EvaluationRuleRepository ruleRepository;
+    @Mock
+    private RuleSetVersionRepository versionRepository;
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    private RuleSnapshotCache ruleSnapshotCache;
+
+    @BeforeEach
+    void setUp() {
+        ruleSnapshotCache = new RuleSnapshotCache(transactionManager);
+        ReflectionTestUtils.setField(ruleSnapshotCache, "ruleRepository", ruleRepository);
+        ReflectionTestUtils.setField(ruleSnapshotCache, "versionRepository", versionRepository);
+        ReflectionTestUtils.setField(ruleSnapshotCache, "rabbitTemplate", rabbitTemplate);
+    }
+
+    @Test
+    void testCurrent_LoadsOnceAndCaches() {
+        when(versionRepository.current()).thenReturn(3L);
+        when(ruleRepository.findAllByIsActiveTrue()).thenReturn(List.of(rule("cpu")));
+
+        RuleSnapshot first = ruleSnapshotCache.current();
+        RuleSnapshot second = ruleSnapshotCache.current();
+
+        assertSame(first, second);
+        assertEquals(3L, first.getVersion());
+        assertEquals(List.of("cpu"), first.getCompiledRuleSet().getMetricNames());
+        verify(ruleRepository, times(1)).findAllByIsActiveTrue();
+    }
+
+    @Test
+    void testOnRuleSetChanged_ReloadsOnlyNewerVersions() {
+        when(versionRepository.current()).thenReturn(3L, 4L);
+        when(ruleRepository.findAllByIsActiveTrue()).thenReturn(List.of(rule("cpu")), List.of(rule("cpu"), rule("memory")));
+        ruleSnapshotCache.current();
+
+        ruleSnapshotCache.onRuleSetChanged(Map.of("version", 3));
+        verify(ruleRepository, times(1)).findAllByIsActiveTrue();
+
+        ruleSnapshotCache.onRuleSetChanged(Map.of("version", 4));
+        assertEquals(4L, ruleSnapshotCache.current().getVersion());
+        assertEquals(2, ruleSnapshotCache.current().getRules().size());
+    }
+
+    @Test
+    void testRefresh_NeverGoesBackToOlderVersion() {
+        when(versionRepository.current()).thenReturn(5L, 4L);
+        when(ruleRepository.findAllByIsActiveTrue()).thenReturn(List.of(rule("cpu")));
+
+        ruleSnapshotCache.refresh();
+        RuleSnapshot snapshot = ruleSnapshotCache.refresh();
+
+        assertEquals(5L, snapshot.getVersion());
+    }
+
+    @Test
+    void testRuleSetChanged_BroadcastsNewVersion() {
+        when(versionRepository.increment()).thenReturn(6L);
+        when(versionRepository.current()).thenReturn(6L);
+        when(ruleRepository.findAllByIsActiveTrue()).thenReturn(List.of());
+
+        ruleSnapshotCache.ruleSetChanged();
+
+        assertEquals(6L, ruleSnapshotCache.current().getVersion());
+        verify(rabbitTemplate).convertAndSend(eq("sdv.events"), eq("evaluation.rules.changed"), any(Object.class));
+    }
+
+    private static EvaluationRule rule(String metricName) {
+        EvaluationRule rule = new EvaluationRule();
+        rule.setRuleName(metricName + " limit");
+        rule.setMetricName(metricName);
+        rule.setOperator("<");
+        rule.setThresholdValue(BigDecimal.TEN);
+        rule.setWeight(10);
+        return rule;
+    }
+}
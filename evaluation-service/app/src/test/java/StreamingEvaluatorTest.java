@@ -0,0 +1,116 @@
+
+import com.tsystems.dco.evaluation.model.EvaluationRule;
+import com.tsystems.dco.evaluation.service.CompiledRuleSet;
+import com.tsystems.dco.evaluation.service.StreamingEvaluator;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StreamingEvaluatorTest {
+
+    private final CompiledRuleSet ruleSet = CompiledRuleSet.compile(List.of(
+            rule("CPU Limit", "cpu", "<", 80, 60),
+            rule("Zero Errors", "errors", "=", 0, 30),
+            rule("Memory Limit", "memory", "<", 85, 10)));
+
+    @Test
+    void testVerdict_PendingUntilAllMetricsArrive() {
+        StreamingEvaluator evaluator = new StreamingEvaluator("sim-1", 1, ruleSet, 5, 2, 50);
+
+        assertEquals(StreamingEvaluator.PENDING, evaluator.verdict());
+        evaluator.accept("cpu", 40);
+        evaluator.accept("errors", 0);
+        assertEquals(StreamingEvaluator.PENDING, evaluator.verdict());
+        evaluator.accept("memory", 50);
+        assertEquals(StreamingEvaluator.PASS, evaluator.verdict());
+        evaluator.accept("errors", 2);
+        assertEquals(StreamingEvaluator.FAIL, evaluator.verdict());
+    }
+
+    @Test
+    void testAccept_IgnoresUnknownMetricsAndNaN() {
+        StreamingEvaluator evaluator = new StreamingEvaluator("sim-1", 1, ruleSet, 5, 2, 50);
+
+        assertFalse(evaluator.accept("disk", 1));
+        assertFalse(evaluator.accept("cpu", Double.NaN));
+        assertEquals(0, evaluator.provisional().samples());
+    }
+
+    @Test
+    void testAbort_SingleSpikeDoesNotAbort() {
+        StreamingEvaluator evaluator = new StreamingEvaluator("sim-1", 1, ruleSet, 4, 2, 50);
+
+        evaluator.accept("cpu", 30);
+        evaluator.accept("cpu", 30);
+        evaluator.accept("cpu", 30);
+        evaluator.accept("cpu", 150);
+
+        assertEquals(StreamingEvaluator.FAIL, evaluator.verdict());
+        assertEquals(0, evaluator.failedWeight(), "Window average 60 is below the threshold");
+        assertFalse(evaluator.shouldAbort());
+    }
+
+    @Test
+    void testAbort_SignalledOnceWhenWeightedThresholdBreached() {
+        StreamingEvaluator evaluator = new StreamingEvaluator("sim-1", 1, ruleSet, 4, 2, 50);
+
+        evaluator.accept("cpu", 95);
+        assertFalse(evaluator.signalAbort(), "One sample is below the minimum");
+        evaluator.accept("cpu", 90);
+
+        assertEquals(60, evaluator.failedWeight());
+        assertTrue(evaluator.signalAbort());
+        assertFalse(evaluator.signalAbort(), "Abort is only signalled once");
+        assertTrue(evaluator.provisional().abortSignalled());
+    }
+
+    @Test
+    void testWindow_OldSamplesAgeOut() {
+        StreamingEvaluator evaluator = new StreamingEvaluator("sim-1", 1, ruleSet, 3, 2, 50);
+
+        for (int i = 0; i < 5; i++) {
+            evaluator.accept("cpu", 100);
+        }
+        assertTrue(evaluator.shouldAbort());
+        for (int i = 0; i < 3; i++) {
+            evaluator.accept("cpu", 10);
+        }
+
+        assertFalse(evaluator.shouldAbort());
+        StreamingEvaluator.RuleState cpu = evaluator.provisional().rules().get(0);
+        assertEquals(8, cpu.samples());
+        assertEquals(10.0, cpu.last());
+        assertEquals(10.0, cpu.min());
+        assertEquals(100.0, cpu.max());
+        assertEquals(10.0, cpu.windowAverage());
+    }
+
+    @Test
+    void testProvisional_ScoreAndMissingMetrics() {
+        StreamingEvaluator evaluator = new StreamingEvaluator("sim-1", 7, ruleSet, 5, 2, 50);
+        evaluator.accept("cpu", 20);
+
+        StreamingEvaluator.Provisional provisional = evaluator.provisional();
+
+        assertEquals(7, provisional.ruleSnapshotVersion());
+        assertEquals(60, provisional.score());
+        assertEquals(100, provisional.totalWeight());
+        assertEquals(50, provisional.abortWeight());
+        assertNull(provisional.rules().get(1).last());
+        assertNull(provisional.rules().get(1).passing());
+    }
+
+    private static EvaluationRule rule(String name, String metricName, String operator, double threshold, int weight) {
+        EvaluationRule rule = new EvaluationRule();
+        rule.setRuleName(name);
+        rule.setMetricName(metricName);
+        rule.setOperator(operator);
+        rule.setThresholdValue(BigDecimal.valueOf(threshold));
+        rule.setWeight(weight);
+        return rule;
+    }
+}
@@ -58,6 +58,10 @@ CREATE INDEX IF NOT EXISTS idx_simulation_logs_sim_id ON simulation_logs(simulat
 CREATE INDEX IF NOT EXISTS idx_simulation_logs_level ON simulation_logs(log_level);
 CREATE INDEX IF NOT EXISTS idx_simulation_metrics_sim_id ON simulation_metrics(simulation_id);
 CREATE INDEX IF NOT EXISTS idx_simulation_metrics_name ON simulation_metrics(metric_name);
+CREATE INDEX IF NOT EXISTS idx_simulation_tracks_tracks ON simulation_tracks(tracks);
+CREATE INDEX IF NOT EXISTS idx_simulation_scenarios_scenarios ON simulation_scenarios(scenarios);
+CREATE INDEX IF NOT EXISTS idx_simulation_tracks_sim_id ON simulation_tracks(simulation_id);
+CREATE INDEX IF NOT EXISTS idx_simulation_scenarios_sim_id ON simulation_scenarios(simulation_id);
 
 -- Add completion tracking to simulation table
 ALTER TABLE simulation ADD COLUMN IF NOT EXISTS end_date timestamp;
@@ -65,6 +69,56 @@ ALTER TABLE simulation ADD COLUMN IF NOT EXISTS execution_duration integer; -- d
 ALTER TABLE simulation ADD COLUMN IF NOT EXISTS result_summary text;
 ALTER TABLE simulation ADD COLUMN IF NOT EXISTS error_message text;
 
+-- Campaign status transitions, written by the background status poller
+CREATE TABLE IF NOT EXISTS simulation_status_transitions (
+  id uuid DEFAULT uuid_generate_v4 () not null,
+  simulation_id uuid not null,
+  campaign_id uuid,
+  from_status varchar(50),
+  to_status varchar(50) not null,
+  transitioned_at timestamp DEFAULT CURRENT_TIMESTAMP,
+  primary key (id)
+);
+ALTER TABLE simulation_status_transitions ADD CONSTRAINT fk_sim_status_transitions_simulation_id FOREIGN KEY (simulation_id) REFERENCES simulation(id) ON DELETE CASCADE;
+CREATE INDEX IF NOT EXISTS idx_simulation_status_transitions_sim_id ON simulation_status_transitions(simulation_id, transitioned_at);
+CREATE INDEX IF NOT EXISTS idx_simulation_status ON simulation(status);
+
+-- Daily analytics rollup, maintained incrementally on launch and completion
+CREATE INDEX IF NOT EXISTS idx_simulation_created_at ON simulation(created_at);
+CREATE TABLE IF NOT EXISTS simulation_daily_rollup (
+  rollup_date date not null,
+  platform varchar(255) not null,
+  scenario_type varchar(50) not null,
+  total_count bigint not null DEFAULT 0,
+  success_count bigint not null DEFAULT 0,
+  failure_count bigint not null DEFAULT 0,
+  duration_count bigint not null DEFAULT 0,
+  duration_sum bigint not null DEFAULT 0,
+  duration_min integer,
+  duration_max integer,
+  updated_at timestamp DEFAULT CURRENT_TIMESTAMP,
+  primary key (rollup_date, platform, scenario_type)
+);
+
+-- Execution duration histogram per day and platform, merged for dashboard percentiles
+CREATE TABLE IF NOT EXISTS simulation_duration_histogram (
+  rollup_date date not null,
+  platform varchar(255) not null,
+  bucket integer not null,
+  sample_count bigint not null DEFAULT 0,
+  primary key (rollup_date, platform, bucket)
+);
+
+-- Keyset pagination indexes, (timestamp, id) per simulation and (created_at, id) for lists
+CREATE INDEX IF NOT EXISTS idx_simulation_logs_sim_time_id ON simulation_logs(simulation_id, timestamp_log DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_simulation_metrics_sim_time_id ON simulation_metrics(simulation_id, recorded_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_simulation_created_at_id ON simulation(created_at, id);
+CREATE INDEX IF NOT EXISTS idx_scenario_created_at_id ON scenario(created_at, id);
+CREATE INDEX IF NOT EXISTS idx_simulation_metrics_sim_name_time ON simulation_metrics(simulation_id, metric_name, recorded_at DESC) INCLUDE (metric_value);
+
+-- Campaign aggregate scoring, simulations per campaign
+CREATE INDEX IF NOT EXISTS idx_simulation_campaign_id ON simulation(campaign_id);
+
 /* tracks-management-service */
 CREATE EXTENSION IF NOT EXISTS "uuid-ossp";
 CREATE TABLE IF NOT EXISTS track (id uuid DEFAULT uuid_generate_v4 () not null, created_at timestamp, description varchar(255), duration varchar(255), name varchar(255), state varchar(255), track_type varchar(255), primary key (id));
@@ -0,0 +1,4 @@
+CREATE TABLE IF NOT EXISTS simulation_status_transitions (id uuid DEFAULT uuid_generate_v4 () not null, simulation_id uuid not null, campaign_id uuid, from_status varchar(50), to_status varchar(50) not null, transitioned_at timestamp DEFAULT CURRENT_TIMESTAMP, primary key (id));
+ALTER TABLE simulation_status_transitions ADD CONSTRAINT fk_sim_status_transitions_simulation_id FOREIGN KEY (simulation_id) REFERENCES simulation(id) ON DELETE CASCADE;
+CREATE INDEX IF NOT EXISTS idx_simulation_status_transitions_sim_id ON simulation_status_transitions(simulation_id, transitioned_at);
+CREATE INDEX IF NOT EXISTS idx_simulation_status ON simulation(status);
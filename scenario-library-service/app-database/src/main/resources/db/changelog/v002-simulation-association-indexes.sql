@@ -0,0 +1,4 @@
+CREATE INDEX IF NOT EXISTS idx_simulation_tracks_tracks ON simulation_tracks(tracks);
+CREATE INDEX IF NOT EXISTS idx_simulation_scenarios_scenarios ON simulation_scenarios(scenarios);
+CREATE INDEX IF NOT EXISTS idx_simulation_tracks_sim_id ON simulation_tracks(simulation_id);
+CREATE INDEX IF NOT EXISTS idx_simulation_scenarios_sim_id ON simulation_scenarios(simulation_id);
@@ -0,0 +1,4 @@
+ALTER TABLE simulation ADD COLUMN IF NOT EXISTS execution_duration integer;
+CREATE INDEX IF NOT EXISTS idx_simulation_created_at ON simulation(created_at);
+CREATE TABLE IF NOT EXISTS simulation_daily_rollup (rollup_date date not null, platform varchar(255) not null, scenario_type varchar(50) not null, total_count bigint not null DEFAULT 0, success_count bigint not null DEFAULT 0, failure_count bigint not null DEFAULT 0, duration_count bigint not null DEFAULT 0, duration_sum bigint not null DEFAULT 0, duration_min integer, duration_max integer, updated_at timestamp DEFAULT CURRENT_TIMESTAMP, primary key (rollup_date, platform, scenario_type));
+INSERT INTO simulation_daily_rollup (rollup_date, platform, scenario_type, total_count, success_count, failure_count, duration_count, duration_sum, duration_min, duration_max) SELECT DATE(created_at), COALESCE(platform, 'Unknown'), COALESCE(CAST(scenario_type AS VARCHAR), 'Unknown'), COUNT(*), SUM(CASE WHEN status IN ('Done', 'SUCCESS') THEN 1 ELSE 0 END), SUM(CASE WHEN status IN ('Error', 'FAILED') THEN 1 ELSE 0 END), COUNT(execution_duration), COALESCE(SUM(execution_duration), 0), MIN(execution_duration), MAX(execution_duration) FROM simulation WHERE created_at IS NOT NULL GROUP BY 1, 2, 3 ON CONFLICT DO NOTHING;
@@ -0,0 +1,2 @@
+CREATE TABLE IF NOT EXISTS simulation_duration_histogram (rollup_date date not null, platform varchar(255) not null, bucket integer not null, sample_count bigint not null DEFAULT 0, primary key (rollup_date, platform, bucket));
+INSERT INTO simulation_duration_histogram (rollup_date, platform, bucket, sample_count) SELECT rollup_date, platform, bucket, COUNT(*) FROM (SELECT DATE(s.created_at) AS rollup_date, COALESCE(s.platform, 'Unknown') AS platform, CASE WHEN s.execution_duration < 64 THEN GREATEST(s.execution_duration, 0) ELSE 64 + (e.exponent - 6) * 32 + ((s.execution_duration >> (e.exponent - 5)) & 31) END AS bucket FROM simulation s, LATERAL (SELECT length(ltrim(CAST(s.execution_duration AS bit(32))::text, '0')) - 1 AS exponent) e WHERE s.execution_duration IS NOT NULL AND s.created_at IS NOT NULL) durations GROUP BY 1, 2, 3 ON CONFLICT DO NOTHING;
@@ -0,0 +1,12 @@
+--liquibase formatted sql
+
+--changeset dco:v005-keyset-pagination-indexes
+CREATE INDEX IF NOT EXISTS idx_simulation_created_at_id ON simulation(created_at, id);
+CREATE INDEX IF NOT EXISTS idx_scenario_created_at_id ON scenario(created_at, id);
+
+--changeset dco:v005-keyset-pagination-result-indexes
+--comment: simulation_logs and simulation_metrics are created by postgres/dco-init.sql, not by this changelog
+--preconditions onFail:MARK_RAN
+--precondition-sql-check expectedResult:2 SELECT COUNT(*) FROM information_schema.tables WHERE table_schema = current_schema() AND table_name IN ('simulation_logs', 'simulation_metrics')
+CREATE INDEX IF NOT EXISTS idx_simulation_logs_sim_time_id ON simulation_logs(simulation_id, timestamp_log DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_simulation_metrics_sim_time_id ON simulation_metrics(simulation_id, recorded_at DESC, id DESC);
@@ -0,0 +1,7 @@
+--liquibase formatted sql
+
+--changeset dco:v006-metric-series-index
+--comment: simulation_metrics is created by postgres/dco-init.sql, not by this changelog
+--preconditions onFail:MARK_RAN
+--precondition-sql-check expectedResult:1 SELECT COUNT(*) FROM information_schema.tables WHERE table_schema = current_schema() AND table_name = 'simulation_metrics'
+CREATE INDEX IF NOT EXISTS idx_simulation_metrics_sim_name_time ON simulation_metrics(simulation_id, metric_name, recorded_at DESC) INCLUDE (metric_value);
@@ -0,0 +1 @@
+CREATE INDEX IF NOT EXISTS idx_simulation_campaign_id ON simulation(campaign_id);
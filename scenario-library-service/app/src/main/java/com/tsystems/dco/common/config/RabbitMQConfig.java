@@ -19,6 +19,12 @@ public class RabbitMQConfig {
     public static final String SIMULATION_UPDATED_KEY = "simulation.updated";
     public static final String SIMULATION_DELETED_KEY = "simulation.deleted";
     
+    // Metric stream of running simulations and the evaluation's early abort signal on the sdv.events exchange
+    public static final String SDV_EVENTS_EXCHANGE = "sdv.events";
+    public static final String SIMULATION_METRICS_RECORDED_KEY = "simulation.metrics.recorded";
+    public static final String SIMULATION_ABORT_KEY = "evaluation.simulation.abort";
+    public static final String SIMULATION_ABORT_QUEUE = "scenario-library.simulation.abort";
+    
     private RabbitMQConfig() {
         // Private constructor to prevent instantiation
     }
@@ -40,7 +40,7 @@ public interface EvaluationServiceClient {
     /**
      * Trigger an evaluation for a completed simulation
      * @param request Map containing "simulationId"
-     * @return ResponseEntity with evaluation result
+     * @return ResponseEntity with the queued evaluation job (202 Accepted)
      */
     @PostMapping("/api/v1/evaluations/trigger")
     ResponseEntity<Map<String, Object>> triggerEvaluation(@RequestBody Map<String, String> request);
@@ -26,7 +26,11 @@ package com.tsystems.dco.mapper;
 
 import com.tsystems.dco.model.Simulation;
 import com.tsystems.dco.model.SimulationInput;
+import com.tsystems.dco.model.SimulationLog;
+import com.tsystems.dco.model.SimulationMetric;
 import com.tsystems.dco.simulation.entity.SimulationEntity;
+import com.tsystems.dco.simulation.entity.SimulationLogEntity;
+import com.tsystems.dco.simulation.entity.SimulationMetricEntity;
 import org.mapstruct.Mapper;
 import org.mapstruct.factory.Mappers;
 import java.util.List;
@@ -40,4 +44,8 @@ public interface SimulationMapper {
 
   List<Simulation> toModel(List<SimulationEntity> simulationEntities);
 
+  List<SimulationLog> toLogModel(List<SimulationLogEntity> simulationLogEntities);
+
+  List<SimulationMetric> toMetricModel(List<SimulationMetricEntity> simulationMetricEntities);
+
 }
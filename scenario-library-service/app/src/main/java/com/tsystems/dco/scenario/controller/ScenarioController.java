@@ -100,11 +100,19 @@ public class ScenarioController implements ScenarioApi {
    * @param page   (optional)
    * @param size   (optional)
    * @param sort   (optional)
+   * @param cursor    keyset pagination cursor, switches to keyset mode when present (optional)
+   * @param withTotal count the total in keyset mode (optional, default to false)
    * @return OK (status code 200)
    * or Bad Request (status code 400)
    */
   @Override
-  public ResponseEntity<ScenarioPage> scenarioReadByQuery(String query, String search, Integer page, Integer size, List<String> sort) {
+  public ResponseEntity<ScenarioPage> scenarioReadByQuery(String query, String search, Integer page, Integer size, List<String> sort,
+                                                          String cursor, Boolean withTotal) {
+    if (cursor != null) {
+      return ResponseEntity
+        .status(HttpStatus.OK)
+        .body(scenarioService.readScenarioByCursor(query, search, cursor, size, Boolean.TRUE.equals(withTotal)));
+    }
     return ResponseEntity
       .status(HttpStatus.OK)
       .body(scenarioService.readScenarioByQuery(query, search, page, size, sort));
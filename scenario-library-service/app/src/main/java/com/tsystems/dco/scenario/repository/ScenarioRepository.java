@@ -33,7 +33,8 @@ import org.springframework.stereotype.Repository;
 import java.util.UUID;
 
 @Repository
-public interface ScenarioRepository extends JpaRepository<ScenarioEntity, UUID>, JpaSpecificationExecutor<ScenarioEntity> {
+public interface ScenarioRepository extends JpaRepository<ScenarioEntity, UUID>, JpaSpecificationExecutor<ScenarioEntity>,
+  ScenarioRepositoryCustom {
 
   @Query(value = "SELECT * FROM scenario where LOWER(name) like LOWER(?1) and status = 'CREATED'", nativeQuery = true)
   Page<ScenarioEntity> findScenarioByLike(String scenarioPattern, Pageable pageable);
@@ -0,0 +1,44 @@
+/*
+ *   ========================================================================
+ *  SDV Developer Console
+ *
+ *   Copyright (C) 2022 - 2023 T-Systems International GmbH
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *   SPDX-License-Identifier: Apache-2.0
+ *
+ *   ========================================================================
+ */
+
+package com.tsystems.dco.scenario.repository;
+
+import com.tsystems.dco.scenario.entity.ScenarioEntity;
+import com.tsystems.dco.util.KeysetCursor;
+import com.tsystems.dco.util.KeysetQueryUtil;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public class ScenarioRepositoryCustomImpl implements ScenarioRepositoryCustom {
+
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  @Override
+  public List<ScenarioEntity> findAfter(Specification<ScenarioEntity> specification, KeysetCursor cursor, int limit) {
+    return KeysetQueryUtil.findAfter(entityManager, ScenarioEntity.class, specification, cursor, limit);
+  }
+}
@@ -38,6 +38,8 @@ public interface ScenarioService {
 
   ScenarioPage readScenarioByQuery(String query, String search, Integer page, Integer size, List<String> sort);
 
+  ScenarioPage readScenarioByCursor(String query, String search, String cursor, Integer size, boolean withTotal);
+
   Scenario scenarioUpdateById(UUID id, String scenarioInput, MultipartFile file);
 
   ScenarioPage searchScenarioByPattern(String scenarioPattern, Integer page, Integer size);
@@ -36,8 +36,10 @@ import com.tsystems.dco.model.ScenarioPage;
 import com.tsystems.dco.scenario.entity.ScenarioEntity;
 import com.tsystems.dco.scenario.publisher.EventPublisher;
 import com.tsystems.dco.scenario.repository.ScenarioRepository;
-import com.tsystems.dco.simulation.entity.SimulationEntity;
 import com.tsystems.dco.simulation.repository.SimulationRepository;
+import com.tsystems.dco.util.KeysetCursor;
+import com.tsystems.dco.util.KeysetPage;
+import com.tsystems.dco.util.KeysetQueryUtil;
 import com.tsystems.dco.util.QueryUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
@@ -55,7 +57,6 @@ import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -130,7 +131,7 @@ public class ScenarioServiceImpl implements ScenarioService {
       .orElseThrow(() -> new DataNotFoundException(HttpStatus.NOT_FOUND, String.format(ERROR_NOT_FOUND_ID, id)));
     //check, if associated with simulation
     boolean isScenarioAssociated = isScenarioAssociatedWithSimulation(actual.getId());
-    if (isScenarioAssociated) {
+    if (!isScenarioAssociated) {
       LOGGER.info("Deleting scenario : {}", actual.getId());
       actual.setStatus(ScenarioInput.StatusEnum.ARCHIVED.getValue());
       
@@ -177,6 +178,33 @@ public class ScenarioServiceImpl implements ScenarioService {
       .content(ScenarioMapper.INSTANCE.toModel(queried.getContent()));
   }
 
+  /**
+   * @param query
+   * @param search
+   * @param cursor    nextCursor of the previous page, blank for the first page
+   * @param size
+   * @param withTotal
+   * @return ScenarioPage
+   */
+  @Override
+  public ScenarioPage readScenarioByCursor(String query, String search, String cursor, Integer size, boolean withTotal) {
+    int pageSize = KeysetPage.checkSize(Optional.ofNullable(size).orElse(PAGEABLE_DEFAULT_SIZE));
+    var keysetCursor = KeysetCursor.decode(cursor);
+    var specs = ScenarioQueryUtil.getScenarioQuerySpecification(query, search);
+    var rows = scenarioRepository.findAfter(specs, keysetCursor, pageSize + 1);
+    var queried = KeysetPage.of(rows, pageSize, scenario -> new KeysetCursor(scenario.getCreatedAt(), scenario.getId()),
+      withTotal ? scenarioRepository.count(KeysetQueryUtil.positioned(specs)) : null);
+    return new ScenarioPage()
+      .empty(queried.content().isEmpty())
+      .first(keysetCursor == null)
+      .last(!queried.hasNext())
+      .size(pageSize)
+      .elements(queried.content().size())
+      .total(queried.total())
+      .nextCursor(queried.nextCursor())
+      .content(ScenarioMapper.INSTANCE.toModel(queried.content()));
+  }
+
 
   /**
    * @param id
@@ -275,10 +303,7 @@ public class ScenarioServiceImpl implements ScenarioService {
    * @return boolean
    */
   private boolean isScenarioAssociatedWithSimulation(UUID scenarioId) {
-    List<SimulationEntity> simulationEntities = simulationRepository.findAll();
-    List<SimulationEntity> matchedData = simulationEntities.stream().filter(sim -> sim.getScenarios().stream()
-      .anyMatch(t -> t.equals(scenarioId))).collect(Collectors.toList());
-    return matchedData.isEmpty();
+    return scenarioId != null && simulationRepository.existsByScenarioId(scenarioId);
   }
 
 }
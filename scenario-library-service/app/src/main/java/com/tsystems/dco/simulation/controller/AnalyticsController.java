@@ -24,7 +24,7 @@
 package com.tsystems.dco.simulation.controller;
 
 import com.tsystems.dco.simulation.dto.AnalyticsDashboardDTO;
-import com.tsystems.dco.simulation.service.AnalyticsService;
+import com.tsystems.dco.simulation.service.AnalyticsDashboardCache;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -43,7 +43,7 @@ import org.springframework.web.bind.annotation.*;
 @Tag(name = "Analytics", description = "Analytics dashboard endpoints")
 public class AnalyticsController {
 
-    private final AnalyticsService analyticsService;
+    private final AnalyticsDashboardCache analyticsDashboardCache;
 
     @GetMapping("/dashboard")
     @Operation(
@@ -55,7 +55,7 @@ public class AnalyticsController {
         @RequestParam(required = false, defaultValue = "30") Integer daysBack
     ) {
         log.info("Fetching analytics dashboard for last {} days", daysBack);
-        AnalyticsDashboardDTO dashboard = analyticsService.getDashboardAnalytics(daysBack);
+        AnalyticsDashboardDTO dashboard = analyticsDashboardCache.getDashboardAnalytics(daysBack);
         return ResponseEntity.ok(dashboard);
     }
 }
@@ -23,7 +23,9 @@
 
 package com.tsystems.dco.simulation.controller;
 
+import com.tsystems.dco.simulation.entity.SimulationStatusTransitionEntity;
 import com.tsystems.dco.simulation.service.CampaignService;
+import com.tsystems.dco.simulation.service.CampaignStatusService;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -32,6 +34,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -46,6 +49,7 @@ public class CampaignController {
   private static final Logger LOGGER = LoggerFactory.getLogger(CampaignController.class);
 
   private final CampaignService campaignService;
+  private final CampaignStatusService campaignStatusService;
 
   /**
    * Trigger generation of sample results and metrics for a simulation.
@@ -83,4 +87,16 @@ public class CampaignController {
       return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
     }
   }
+
+  /**
+   * Get the recorded campaign status transitions of a simulation.
+   *
+   * @param simulationId The UUID of the simulation
+   * @return ResponseEntity with the transitions, oldest first
+   */
+  @GetMapping("/simulations/{simulationId}/status-history")
+  public ResponseEntity<List<SimulationStatusTransitionEntity>> getStatusHistory(@PathVariable UUID simulationId) {
+    LOGGER.info("Getting status history for simulation: {}", simulationId);
+    return ResponseEntity.ok(campaignStatusService.getStatusHistory(simulationId));
+  }
 }
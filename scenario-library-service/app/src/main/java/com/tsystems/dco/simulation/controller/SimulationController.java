@@ -24,12 +24,17 @@
 package com.tsystems.dco.simulation.controller;
 
 import com.tsystems.dco.api.SimulationApi;
+import com.tsystems.dco.mapper.SimulationMapper;
 import com.tsystems.dco.model.*;
+import com.tsystems.dco.simulation.entity.SimulationLogEntity;
 import com.tsystems.dco.simulation.service.SimulationService;
 import com.tsystems.dco.simulation.service.SimulationResultService;
+import com.tsystems.dco.util.KeysetPage;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
@@ -42,6 +47,7 @@ import java.util.UUID;
 public class SimulationController implements SimulationApi {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(SimulationController.class);
+  private static final int LOG_PAGE_DEFAULT_SIZE = 50;
   private final SimulationService simulationService;
   private final SimulationResultService simulationResultService;
 
@@ -80,12 +86,20 @@ public class SimulationController implements SimulationApi {
    * @param page   (optional)
    * @param size   (optional)
    * @param sort   (optional)
+   * @param cursor    keyset pagination cursor, switches to keyset mode when present (optional)
+   * @param withTotal count the total in keyset mode (optional, default to false)
    * @return OK (status code 200)
    * or Bad Request (status code 400)
    */
   @Override
-  public ResponseEntity<SimulationPage> simulationReadByQuery(String query, String search, Integer page, Integer size, List<String> sort) {
+  public ResponseEntity<SimulationPage> simulationReadByQuery(String query, String search, Integer page, Integer size, List<String> sort,
+                                                              String cursor, Boolean withTotal) {
     LOGGER.info("Simulation read for size - {}", size);
+    if (cursor != null) {
+      return ResponseEntity
+        .status(HttpStatus.OK)
+        .body(simulationService.simulationReadByCursor(query, search, cursor, size, Boolean.TRUE.equals(withTotal)));
+    }
     return ResponseEntity
       .status(HttpStatus.OK)
       .body(simulationService.simulationReadByQuery(query, search, page, size, sort));
@@ -108,6 +122,22 @@ public class SimulationController implements SimulationApi {
       .body(simulationService.isTrackAssociatedWithSimulation(id));
   }
 
+  /**
+   * GET /api/simulation/tracks : find tracks associated with simulations
+   * Returns the subset of the given track ids that are used by at least one simulation
+   *
+   * @param ids The track ids (required)
+   * @return OK (status code 200)
+   * or Bad Request (status code 400)
+   */
+  @Override
+  public ResponseEntity<List<UUID>> findTracksAssociatedWithSimulation(List<UUID> ids) {
+    LOGGER.info("check {} track ids are associated with simulation", ids.size());
+    return ResponseEntity
+      .status(HttpStatus.OK)
+      .body(simulationService.findTracksAssociatedWithSimulation(ids));
+  }
+
   /**
    * GET /api/simulation/{simulationId}/results : Get simulation results
    */
@@ -120,20 +150,38 @@ public class SimulationController implements SimulationApi {
 
   /**
    * GET /api/simulation/{simulationId}/logs : Get simulation logs
+   * Newest first, by page number or by keyset cursor when one is given
    */
   @Override
-  public ResponseEntity<SimulationLogPage> getSimulationLogs(UUID simulationId, Integer page, Integer size) {
-    LOGGER.info("Getting logs for simulation {} (page {}, size {})", simulationId, page, size);
-    // For now, return empty page - the actual mapping will be implemented later
-    SimulationLogPage emptyPage = new SimulationLogPage();
-    emptyPage.setContent(List.of());
-    emptyPage.setEmpty(true);
-    emptyPage.setPage(page != null ? page : 0);
-    emptyPage.setSize(size != null ? size : 50);
-    emptyPage.setPages(0);
-    emptyPage.setElements(0);
-    emptyPage.setTotal(0L);
-    return ResponseEntity.ok(emptyPage);
+  public ResponseEntity<SimulationLogPage> getSimulationLogs(UUID simulationId, Integer page, Integer size,
+                                                             String cursor, Boolean withTotal) {
+    LOGGER.info("Getting logs for simulation {} (page {}, size {}, cursor {})", simulationId, page, size, cursor);
+    int pageSize = size != null ? size : LOG_PAGE_DEFAULT_SIZE;
+    if (cursor != null) {
+      KeysetPage<SimulationLogEntity> logs = simulationResultService.getLogsBySimulation(simulationId, cursor, pageSize,
+        Boolean.TRUE.equals(withTotal));
+      return ResponseEntity.ok(new SimulationLogPage()
+        .content(SimulationMapper.INSTANCE.toLogModel(logs.content()))
+        .empty(logs.content().isEmpty())
+        .first(cursor.isBlank())
+        .last(!logs.hasNext())
+        .size(pageSize)
+        .elements(logs.content().size())
+        .total(logs.total())
+        .nextCursor(logs.nextCursor()));
+    }
+    Page<SimulationLogEntity> logs = simulationResultService.getLogsBySimulation(simulationId,
+      PageRequest.of(page != null ? page : 0, pageSize));
+    return ResponseEntity.ok(new SimulationLogPage()
+      .content(SimulationMapper.INSTANCE.toLogModel(logs.getContent()))
+      .empty(logs.isEmpty())
+      .first(logs.isFirst())
+      .last(logs.isLast())
+      .page(logs.getNumber())
+      .size(logs.getSize())
+      .pages(logs.getTotalPages())
+      .elements(logs.getNumberOfElements())
+      .total(logs.getTotalElements()));
   }
 
   /**
@@ -23,21 +23,40 @@
 
 package com.tsystems.dco.simulation.controller;
 
+import com.tsystems.dco.mapper.SimulationMapper;
+import com.tsystems.dco.model.SimulationMetricPage;
+import com.tsystems.dco.simulation.dto.MetricSeriesDTO;
+import com.tsystems.dco.simulation.dto.SimulationLogInputDTO;
+import com.tsystems.dco.simulation.dto.SimulationMetricInputDTO;
 import com.tsystems.dco.simulation.entity.SimulationLogEntity;
 import com.tsystems.dco.simulation.entity.SimulationMetricEntity;
 import com.tsystems.dco.simulation.entity.SimulationResultEntity;
+import com.tsystems.dco.simulation.service.SimulationLogStreamService;
+import com.tsystems.dco.simulation.service.SimulationLogTailService;
+import com.tsystems.dco.simulation.service.SimulationMetricSeriesService;
 import com.tsystems.dco.simulation.service.SimulationResultService;
+import com.tsystems.dco.util.KeysetPage;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Function;
 
 @RestController
 @RequestMapping("/api/simulation")
@@ -47,6 +66,9 @@ public class SimulationResultController {
   private static final Logger LOGGER = LoggerFactory.getLogger(SimulationResultController.class);
 
   private final SimulationResultService simulationResultService;
+  private final SimulationLogStreamService simulationLogStreamService;
+  private final SimulationLogTailService simulationLogTailService;
+  private final SimulationMetricSeriesService simulationMetricSeriesService;
 
   /**
    * Get all results for a simulation
@@ -104,6 +126,39 @@ public class SimulationResultController {
     return ResponseEntity.ok(logs);
   }
 
+  /**
+   * Add a batch of logs to a simulation
+   */
+  @PostMapping("/{simulationId}/logs:batch")
+  public ResponseEntity<Map<String, Integer>> addSimulationLogs(
+      @PathVariable UUID simulationId,
+      @RequestBody List<SimulationLogInputDTO> logs) {
+    LOGGER.info("Adding {} logs to simulation {}", logs.size(), simulationId);
+    int inserted = simulationResultService.addLogs(simulationId, toEntities(logs, SimulationLogInputDTO::toEntity));
+    return ResponseEntity.status(HttpStatus.CREATED).body(Map.of("inserted", inserted));
+  }
+
+  /**
+   * Stream logs to a simulation as newline delimited JSON, stored in micro-batches while reading
+   */
+  @PostMapping(value = "/{simulationId}/logs:stream", consumes = {"application/x-ndjson", MediaType.TEXT_PLAIN_VALUE})
+  public ResponseEntity<Map<String, Integer>> streamSimulationLogs(
+      @PathVariable UUID simulationId,
+      HttpServletRequest request) throws IOException {
+    LOGGER.info("Streaming logs to simulation {}", simulationId);
+    int inserted = simulationLogStreamService.ingest(simulationId, request.getInputStream());
+    return ResponseEntity.status(HttpStatus.CREATED).body(Map.of("inserted", inserted));
+  }
+
+  /**
+   * Follow new logs of a simulation as Server-Sent Events, logs stored before subscribing are not sent
+   */
+  @GetMapping(value = "/{simulationId}/logs/tail", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public SseEmitter tailSimulationLogs(@PathVariable UUID simulationId) {
+    LOGGER.info("Tailing logs of simulation {}", simulationId);
+    return simulationLogTailService.subscribe(simulationId);
+  }
+
   /**
    * Get logs by level for a simulation
    */
@@ -136,6 +191,42 @@ public class SimulationResultController {
     return ResponseEntity.ok(metrics);
   }
 
+  /**
+   * Get metrics of a simulation by keyset cursor, newest first, without OFFSET
+   */
+  @GetMapping(value = "/{simulationId}/metrics", params = "cursor")
+  public ResponseEntity<SimulationMetricPage> getSimulationMetricsByCursor(
+      @PathVariable UUID simulationId,
+      @RequestParam String cursor,
+      @RequestParam(defaultValue = "100") int size,
+      @RequestParam(defaultValue = "false") boolean withTotal) {
+    LOGGER.info("Getting metrics for simulation {} (cursor {}, size {})", simulationId, cursor, size);
+    KeysetPage<SimulationMetricEntity> metrics = simulationResultService.getMetricsBySimulation(simulationId, cursor,
+      size, withTotal);
+    return ResponseEntity.ok(new SimulationMetricPage()
+      .content(SimulationMapper.INSTANCE.toMetricModel(metrics.content()))
+      .empty(metrics.content().isEmpty())
+      .first(cursor.isBlank())
+      .last(!metrics.hasNext())
+      .size(size)
+      .elements(metrics.content().size())
+      .total(metrics.total())
+      .nextCursor(metrics.nextCursor()));
+  }
+
+  /**
+   * Add a batch of metrics to a simulation
+   */
+  @PostMapping("/{simulationId}/metrics:batch")
+  public ResponseEntity<Map<String, Integer>> addSimulationMetrics(
+      @PathVariable UUID simulationId,
+      @RequestBody List<SimulationMetricInputDTO> metrics) {
+    LOGGER.info("Adding {} metrics to simulation {}", metrics.size(), simulationId);
+    int inserted = simulationResultService.addMetrics(simulationId,
+      toEntities(metrics, SimulationMetricInputDTO::toEntity));
+    return ResponseEntity.status(HttpStatus.CREATED).body(Map.of("inserted", inserted));
+  }
+
   /**
    * Get metrics by category for a simulation
    */
@@ -148,6 +239,21 @@ public class SimulationResultController {
     return ResponseEntity.ok(metrics);
   }
 
+  /**
+   * Get a metric of a simulation downsampled to a number of points, as bucket aggregates or LTTB samples
+   */
+  @GetMapping("/{simulationId}/metrics/series")
+  public ResponseEntity<MetricSeriesDTO> getSimulationMetricSeries(
+      @PathVariable UUID simulationId,
+      @RequestParam String metricName,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+      @RequestParam(defaultValue = "500") int points,
+      @RequestParam(defaultValue = "BUCKET") MetricSeriesDTO.Mode mode) {
+    LOGGER.info("Getting {} series of metric {} for simulation {} ({} points)", mode, metricName, simulationId, points);
+    return ResponseEntity.ok(simulationMetricSeriesService.getSeries(simulationId, metricName, from, to, points, mode));
+  }
+
   /**
    * Get available metric names for a simulation
    */
@@ -167,4 +273,13 @@ public class SimulationResultController {
     String summary = simulationResultService.generateResultSummary(simulationId);
     return ResponseEntity.ok(summary);
   }
+
+  /**
+   * Map uploaded entries to entities, null entries are kept for the service to reject with their position
+   */
+  private static <T, E> List<E> toEntities(List<T> inputs, Function<T, E> toEntity) {
+    List<E> entities = new ArrayList<>(inputs.size());
+    inputs.forEach(input -> entities.add(input != null ? toEntity.apply(input) : null));
+    return entities;
+  }
 }
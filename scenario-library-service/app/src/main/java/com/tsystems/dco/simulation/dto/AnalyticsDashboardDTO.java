@@ -107,6 +107,8 @@ public class AnalyticsDashboardDTO {
         private Double minDuration;
         private Double maxDuration;
         private Double medianDuration;
+        private Double p90Duration;
+        private Double p99Duration;
         private List<MetricDataPoint> durationTrend;
     }
 
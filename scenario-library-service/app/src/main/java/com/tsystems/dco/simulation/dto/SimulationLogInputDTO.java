@@ -0,0 +1,56 @@
+/*
+ *   ========================================================================
+ *  SDV Developer Console
+ *
+ *   Copyright (C) 2022 - 2023 T-Systems International GmbH
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *   SPDX-License-Identifier: Apache-2.0
+ *
+ *   ========================================================================
+ */
+
+package com.tsystems.dco.simulation.dto;
+
+import com.tsystems.dco.simulation.entity.SimulationLogEntity;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Log line of a batch or streamed upload, id and simulation are assigned when it is stored
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SimulationLogInputDTO {
+
+    private SimulationLogEntity.LogLevel logLevel; // INFO when missing
+    private String message;
+    private String component;
+    private Instant timestampLog; // time of storing when missing
+
+    public SimulationLogEntity toEntity() {
+        return SimulationLogEntity.builder()
+            .logLevel(logLevel)
+            .message(message)
+            .component(component)
+            .timestampLog(timestampLog)
+            .build();
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ *   ========================================================================
+ *  SDV Developer Console
+ *
+ *   Copyright (C) 2022 - 2023 T-Systems International GmbH
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *   SPDX-License-Identifier: Apache-2.0
+ *
+ *   ========================================================================
+ */
+
+package com.tsystems.dco.simulation.dto;
+
+import com.tsystems.dco.simulation.entity.SimulationMetricEntity;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Metric sample of a batch upload, id and simulation are assigned when it is stored
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SimulationMetricInputDTO {
+
+    private String metricName;
+    private BigDecimal metricValue;
+    private String metricUnit;
+    private SimulationMetricEntity.MetricCategory category;
+    private Instant recordedAt; // time of storing when missing
+
+    public SimulationMetricEntity toEntity() {
+        return SimulationMetricEntity.builder()
+            .metricName(metricName)
+            .metricValue(metricValue)
+            .metricUnit(metricUnit)
+            .category(category)
+            .recordedAt(recordedAt)
+            .build();
+    }
+}
@@ -42,6 +42,28 @@ public interface SimulationLogRepository extends JpaRepository<SimulationLogEnti
 
   Page<SimulationLogEntity> findBySimulationIdOrderByTimestampLogDesc(UUID simulationId, Pageable pageable);
 
+  /**
+   * First keyset page, newest first, without a count query. Logs without timestamp can't be positioned and are skipped
+   */
+  List<SimulationLogEntity> findBySimulationIdAndTimestampLogNotNullOrderByTimestampLogDescIdDesc(UUID simulationId,
+                                                                                                Pageable pageable);
+
+  /**
+   * Keyset page of the logs older than the given (timestamp, id) position
+   */
+  @Query("SELECT sl FROM simulation_logs sl WHERE sl.simulationId = :simulationId AND (sl.timestampLog < :timestamp OR (sl.timestampLog = :timestamp AND sl.id < :id)) ORDER BY sl.timestampLog DESC, sl.id DESC")
+  List<SimulationLogEntity> findLogsBefore(
+    @Param("simulationId") UUID simulationId,
+    @Param("timestamp") Instant timestamp,
+    @Param("id") UUID id,
+    Pageable pageable
+  );
+
+  /**
+   * Total of a keyset pagination, only logs with a timestamp
+   */
+  long countBySimulationIdAndTimestampLogNotNull(UUID simulationId);
+
   List<SimulationLogEntity> findBySimulationIdAndLogLevel(
     UUID simulationId, 
     SimulationLogEntity.LogLevel logLevel
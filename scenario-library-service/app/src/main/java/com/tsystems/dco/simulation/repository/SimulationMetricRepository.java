@@ -24,6 +24,7 @@
 package com.tsystems.dco.simulation.repository;
 
 import com.tsystems.dco.simulation.entity.SimulationMetricEntity;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -38,6 +39,28 @@ public interface SimulationMetricRepository extends JpaRepository<SimulationMetr
 
   List<SimulationMetricEntity> findBySimulationIdOrderByRecordedAtDesc(UUID simulationId);
 
+  /**
+   * First keyset page, newest first, without a count query. Metrics without recordedAt can't be positioned and are skipped
+   */
+  List<SimulationMetricEntity> findBySimulationIdAndRecordedAtNotNullOrderByRecordedAtDescIdDesc(UUID simulationId,
+                                                                                                Pageable pageable);
+
+  /**
+   * Keyset page of the metrics recorded before the given (recordedAt, id) position
+   */
+  @Query("SELECT sm FROM simulation_metrics sm WHERE sm.simulationId = :simulationId AND (sm.recordedAt < :recordedAt OR (sm.recordedAt = :recordedAt AND sm.id < :id)) ORDER BY sm.recordedAt DESC, sm.id DESC")
+  List<SimulationMetricEntity> findMetricsBefore(
+    @Param("simulationId") UUID simulationId,
+    @Param("recordedAt") Instant recordedAt,
+    @Param("id") UUID id,
+    Pageable pageable
+  );
+
+  /**
+   * Total of a keyset pagination, only metrics with recordedAt
+   */
+  long countBySimulationIdAndRecordedAtNotNull(UUID simulationId);
+
   List<SimulationMetricEntity> findBySimulationIdAndCategory(
     UUID simulationId, 
     SimulationMetricEntity.MetricCategory category
@@ -0,0 +1,166 @@
+/*
+ *   ========================================================================
+ *  SDV Developer Console
+ *
+ *   Copyright (C) 2022 - 2023 T-Systems International GmbH
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *   SPDX-License-Identifier: Apache-2.0
+ *
+ *   ========================================================================
+ */
+
+package com.tsystems.dco.simulation.repository;
+
+import com.tsystems.dco.simulation.dto.MetricSeriesDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Time series reads of a single simulation metric, aggregated in the database so only
+ * the downsampled points leave it.
+ */
+@Repository
+public class SimulationMetricSeriesRepository {
+
+  private static final String RANGE = "SELECT MIN(recorded_at), MAX(recorded_at), COUNT(*) FROM simulation_metrics "
+    + "WHERE simulation_id = ? AND metric_name = ? AND metric_value IS NOT NULL";
+  private static final String COUNT = "SELECT COUNT(*) FROM simulation_metrics "
+    + "WHERE simulation_id = ? AND metric_name = ? AND metric_value IS NOT NULL AND recorded_at >= ? AND recorded_at <= ?";
+  private static final String BUCKETS = """
+    SELECT FLOOR(EXTRACT(EPOCH FROM (recorded_at - ?)) * 1000 / ?) AS bucket,
+           COUNT(*) AS samples,
+           MIN(metric_value) AS min_value,
+           MAX(metric_value) AS max_value,
+           AVG(metric_value) AS avg_value,
+           (ARRAY_AGG(metric_value ORDER BY recorded_at DESC, id DESC))[1] AS last_value
+    FROM simulation_metrics
+    WHERE simulation_id = ? AND metric_name = ? AND metric_value IS NOT NULL
+      AND recorded_at >= ? AND recorded_at <= ?
+    GROUP BY bucket
+    ORDER BY bucket
+    """;
+  private static final String POINTS = "SELECT recorded_at, metric_value FROM simulation_metrics "
+    + "WHERE simulation_id = ? AND metric_name = ? AND metric_value IS NOT NULL AND recorded_at >= ? AND recorded_at <= ? "
+    + "ORDER BY recorded_at, id";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final int fetchSize;
+
+  public SimulationMetricSeriesRepository(JdbcTemplate jdbcTemplate,
+                                          @Value("${simulation.metrics.series.fetch-size:1000}") int fetchSize) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.fetchSize = fetchSize;
+  }
+
+  /**
+   * @param simulationId
+   * @param metricName
+   * @return SeriesRange of all values of the metric, with null bounds when there are none
+   */
+  public SeriesRange findRange(UUID simulationId, String metricName) {
+    return jdbcTemplate.queryForObject(RANGE, (rs, rowNum) -> new SeriesRange(
+      toInstant(rs.getTimestamp(1)), toInstant(rs.getTimestamp(2)), rs.getLong(3)), simulationId, metricName);
+  }
+
+  /**
+   * @param simulationId
+   * @param metricName
+   * @param from
+   * @param to
+   * @return long
+   */
+  public long count(UUID simulationId, String metricName, Instant from, Instant to) {
+    Long count = jdbcTemplate.queryForObject(COUNT, Long.class, simulationId, metricName,
+      Timestamp.from(from), Timestamp.from(to));
+    return count == null ? 0 : count;
+  }
+
+  /**
+   * @param simulationId
+   * @param metricName
+   * @param from          start of the first bucket
+   * @param to
+   * @param bucketWidthMs
+   * @return List<Point> one point per non empty bucket, stamped with the bucket start
+   */
+  public List<MetricSeriesDTO.Point> findBuckets(UUID simulationId, String metricName, Instant from, Instant to,
+                                                 long bucketWidthMs) {
+    Timestamp start = Timestamp.from(from);
+    return jdbcTemplate.query(BUCKETS, (rs, rowNum) -> MetricSeriesDTO.Point.builder()
+        .timestamp(from.plusMillis(rs.getLong("bucket") * bucketWidthMs))
+        .count(rs.getLong("samples"))
+        .min(rs.getDouble("min_value"))
+        .max(rs.getDouble("max_value"))
+        .avg(rs.getDouble("avg_value"))
+        .last(rs.getDouble("last_value"))
+        .build(),
+      start, bucketWidthMs, simulationId, metricName, start, Timestamp.from(to));
+  }
+
+  /**
+   * Reads the raw points through a server side cursor. PostgreSQL only honours the fetch size
+   * with autocommit off, so the read runs in a read-only transaction, joining the caller's if any.
+   *
+   * @param simulationId
+   * @param metricName
+   * @param from
+   * @param to
+   * @param consumer      receives the raw points in time order
+   */
+  @Transactional(readOnly = true)
+  public void streamPoints(UUID simulationId, String metricName, Instant from, Instant to, PointConsumer consumer) {
+    RowCallbackHandler handler = rs -> consumer.accept(rs.getTimestamp(1).getTime(), rs.getDouble(2));
+    jdbcTemplate.query(connection -> {
+      PreparedStatement statement = connection.prepareStatement(POINTS);
+      statement.setFetchSize(fetchSize);
+      statement.setObject(1, simulationId);
+      statement.setString(2, metricName);
+      statement.setTimestamp(3, Timestamp.from(from));
+      statement.setTimestamp(4, Timestamp.from(to));
+      return statement;
+    }, handler);
+  }
+
+  private static Instant toInstant(Timestamp timestamp) {
+    return timestamp == null ? null : timestamp.toInstant();
+  }
+
+  /**
+   * Time range and number of the stored values of a metric
+   *
+   * @param from
+   * @param to
+   * @param count
+   */
+  public record SeriesRange(Instant from, Instant to, long count) {
+  }
+
+  /**
+   * Receives raw points without boxing
+   */
+  @FunctionalInterface
+  public interface PointConsumer {
+    void accept(long epochMillis, double value);
+  }
+}
@@ -24,10 +24,52 @@
 package com.tsystems.dco.simulation.repository;
 
 import com.tsystems.dco.simulation.entity.SimulationEntity;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
-public interface SimulationRepository extends JpaRepository<SimulationEntity, UUID>, JpaSpecificationExecutor<SimulationEntity> {
+public interface SimulationRepository extends JpaRepository<SimulationEntity, UUID>, JpaSpecificationExecutor<SimulationEntity>,
+  SimulationRepositoryCustom {
+
+  List<SimulationEntity> findByStatusIn(Collection<String> statuses, Pageable pageable);
+
+  List<SimulationEntity> findByStatusInAndIdGreaterThan(Collection<String> statuses, UUID id, Pageable pageable);
+
+  @Query(value = "SELECT EXISTS (SELECT 1 FROM simulation_tracks WHERE tracks = :trackId)", nativeQuery = true)
+  boolean existsByTrackId(@Param("trackId") UUID trackId);
+
+  @Query(value = "SELECT DISTINCT tracks FROM simulation_tracks WHERE tracks IN (:trackIds)", nativeQuery = true)
+  List<UUID> findAssociatedTrackIds(@Param("trackIds") Collection<UUID> trackIds);
+
+  @Query(value = "SELECT EXISTS (SELECT 1 FROM simulation_scenarios WHERE scenarios = :scenarioId)", nativeQuery = true)
+  boolean existsByScenarioId(@Param("scenarioId") UUID scenarioId);
+
+  /**
+   * Loads the simulation and locks its row until the end of the transaction,
+   * so concurrent completions of the same simulation run one after the other.
+   */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("SELECT s FROM simulation s WHERE s.id = :id")
+  Optional<SimulationEntity> findByIdForUpdate(@Param("id") UUID id);
+
+  /**
+   * Moves the simulation to a new status only if it still has the expected one,
+   * so concurrent pollers cannot record the same transition twice.
+   */
+  @Transactional
+  @Modifying
+  @Query("UPDATE simulation s SET s.status = :toStatus WHERE s.id = :id AND s.status = :fromStatus")
+  int compareAndSetStatus(@Param("id") UUID id, @Param("fromStatus") String fromStatus, @Param("toStatus") String toStatus);
 }
 
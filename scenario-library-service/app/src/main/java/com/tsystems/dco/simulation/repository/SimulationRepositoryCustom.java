@@ -0,0 +1,43 @@
+/*
+ *   ========================================================================
+ *  SDV Developer Console
+ *
+ *   Copyright (C) 2022 - 2023 T-Systems International GmbH
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *   SPDX-License-Identifier: Apache-2.0
+ *
+ *   ========================================================================
+ */
+
+package com.tsystems.dco.simulation.repository;
+
+import com.tsystems.dco.simulation.entity.SimulationEntity;
+import com.tsystems.dco.util.KeysetCursor;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface SimulationRepositoryCustom {
+
+  /**
+   * Keyset page in (createdAt, id) order
+   *
+   * @param specification
+   * @param cursor position of the previous page or null
+   * @param limit
+   * @return List of SimulationEntity
+   */
+  List<SimulationEntity> findAfter(Specification<SimulationEntity> specification, KeysetCursor cursor, int limit);
+}
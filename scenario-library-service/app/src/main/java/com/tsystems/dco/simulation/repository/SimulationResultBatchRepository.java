@@ -0,0 +1,116 @@
+/*
+ *   ========================================================================
+ *  SDV Developer Console
+ *
+ *   Copyright (C) 2022 - 2023 T-Systems International GmbH
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *   SPDX-License-Identifier: Apache-2.0
+ *
+ *   ========================================================================
+ */
+
+package com.tsystems.dco.simulation.repository;
+
+import com.tsystems.dco.simulation.entity.SimulationLogEntity;
+import com.tsystems.dco.simulation.entity.SimulationMetricEntity;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Bulk inserts of simulation metrics and logs through JDBC batches. Ids are generated up front,
+ * so rows are written without the per-entity persist and flush of the JPA repositories.
+ */
+@Repository
+public class SimulationResultBatchRepository {
+
+  private static final String INSERT_METRIC = "INSERT INTO simulation_metrics "
+    + "(id, simulation_id, metric_name, metric_value, metric_unit, category, recorded_at) VALUES (?, ?, ?, ?, ?, ?, ?)";
+  private static final String INSERT_LOG = "INSERT INTO simulation_logs "
+    + "(id, simulation_id, log_level, message, component, timestamp_log) VALUES (?, ?, ?, ?, ?, ?)";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final int batchSize;
+
+  public SimulationResultBatchRepository(JdbcTemplate jdbcTemplate,
+                                         @Value("${simulation.ingestion.batch-size:500}") int batchSize) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.batchSize = batchSize;
+  }
+
+  /**
+   * @param metrics metrics to insert, missing ids and timestamps are filled in
+   * @return number of inserted rows
+   */
+  public int insertMetrics(List<SimulationMetricEntity> metrics) {
+    Instant now = Instant.now();
+    metrics.forEach(metric -> {
+      if (metric.getId() == null) {
+        metric.setId(UUID.randomUUID());
+      }
+      if (metric.getRecordedAt() == null) {
+        metric.setRecordedAt(now);
+      }
+    });
+    jdbcTemplate.batchUpdate(INSERT_METRIC, metrics, batchSize, (ps, metric) -> {
+      ps.setObject(1, metric.getId());
+      ps.setObject(2, metric.getSimulationId());
+      ps.setString(3, metric.getMetricName());
+      ps.setBigDecimal(4, metric.getMetricValue());
+      ps.setString(5, metric.getMetricUnit());
+      if (metric.getCategory() != null) {
+        ps.setString(6, metric.getCategory().name());
+      } else {
+        ps.setNull(6, Types.VARCHAR);
+      }
+      ps.setTimestamp(7, Timestamp.from(metric.getRecordedAt()));
+    });
+    return metrics.size();
+  }
+
+  /**
+   * @param logs logs to insert, missing ids and timestamps are filled in, missing levels default to INFO
+   * @return number of inserted rows
+   */
+  public int insertLogs(List<SimulationLogEntity> logs) {
+    Instant now = Instant.now();
+    logs.forEach(log -> {
+      if (log.getId() == null) {
+        log.setId(UUID.randomUUID());
+      }
+      if (log.getLogLevel() == null) {
+        log.setLogLevel(SimulationLogEntity.LogLevel.INFO);
+      }
+      if (log.getTimestampLog() == null) {
+        log.setTimestampLog(now);
+      }
+    });
+    jdbcTemplate.batchUpdate(INSERT_LOG, logs, batchSize, (ps, log) -> {
+      ps.setObject(1, log.getId());
+      ps.setObject(2, log.getSimulationId());
+      ps.setString(3, log.getLogLevel().name());
+      ps.setString(4, log.getMessage());
+      ps.setString(5, log.getComponent());
+      ps.setTimestamp(6, Timestamp.from(log.getTimestampLog()));
+    });
+    return logs.size();
+  }
+}
@@ -0,0 +1,127 @@
+/*
+ *   ========================================================================
+ *  SDV Developer Console
+ *
+ *   Copyright (C) 2022 - 2023 T-Systems International GmbH
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *   SPDX-License-Identifier: Apache-2.0
+ *
+ *   ========================================================================
+ */
+
+package com.tsystems.dco.simulation.service;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import com.tsystems.dco.simulation.dto.AnalyticsDashboardDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caches the analytics dashboard per daysBack window. Concurrent misses for the same window
+ * wait for a single computation, and every entry is dropped when a simulation completes.
+ */
+@Slf4j
+@Service
+public class AnalyticsDashboardCache {
+
+    static final int DEFAULT_DAYS_BACK = 30;
+
+    private final AnalyticsService analyticsService;
+    private final Cache<Integer, AnalyticsDashboardDTO> dashboardCache;
+    private final AtomicLong generation = new AtomicLong();
+    private final Counter hits;
+    private final Counter misses;
+    private final Timer computeTimer;
+
+    public AnalyticsDashboardCache(AnalyticsService analyticsService,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${analytics.dashboard.cache.ttl-seconds:60}") long ttlSeconds) {
+        this.analyticsService = analyticsService;
+        this.dashboardCache = CacheBuilder.newBuilder()
+            .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+            .maximumSize(100)
+            .build();
+        this.hits = Counter.builder("analytics.dashboard.cache")
+            .tag("result", "hit")
+            .description("Dashboard requests served from the cache")
+            .register(meterRegistry);
+        this.misses = Counter.builder("analytics.dashboard.cache")
+            .tag("result", "miss")
+            .description("Dashboard requests that computed the dashboard")
+            .register(meterRegistry);
+        this.computeTimer = Timer.builder("analytics.dashboard.compute")
+            .description("Time spent computing the analytics dashboard")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Get the dashboard of the window, computing it at most once for concurrent callers
+     */
+    public AnalyticsDashboardDTO getDashboardAnalytics(Integer daysBack) {
+        int window = daysBack == null || daysBack <= 0 ? DEFAULT_DAYS_BACK : daysBack;
+        long startGeneration = generation.get();
+        AtomicBoolean computed = new AtomicBoolean();
+
+        AnalyticsDashboardDTO dashboard;
+        try {
+            dashboard = dashboardCache.get(window, () -> {
+                computed.set(true);
+                return computeTimer.recordCallable(() -> analyticsService.getDashboardAnalytics(window));
+            });
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Failed to compute analytics dashboard", e.getCause());
+        }
+
+        if (computed.get()) {
+            misses.increment();
+            // A simulation completed while computing, don't keep the possibly stale result
+            if (generation.get() != startGeneration) {
+                dashboardCache.invalidate(window);
+            }
+        } else {
+            hits.increment();
+        }
+        return dashboard;
+    }
+
+    /**
+     * Drop all cached windows once a completion committed and was added to the rollup,
+     * a completed simulation changes every one of them
+     */
+    @Order(1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSimulationFinished(SimulationFinishedEvent event) {
+        log.debug("Invalidating analytics dashboard cache after simulation {} ended with {}",
+            event.simulationId(), event.status());
+        generation.incrementAndGet();
+        dashboardCache.invalidateAll();
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ *   ========================================================================
+ *  SDV Developer Console
+ *
+ *   Copyright (C) 2022 - 2023 T-Systems International GmbH
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *   SPDX-License-Identifier: Apache-2.0
+ *
+ *   ========================================================================
+ */
+
+package com.tsystems.dco.simulation.service;
+
+import com.tsystems.dco.util.DurationHistogram;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import jakarta.persistence.EntityManager;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Maintains the simulation_daily_rollup table, one row per creation day, platform and scenario type.
+ * Rows are updated incrementally when a simulation is launched and when it completes,
+ * so the analytics dashboard never has to rescan the simulation table.
+ * Execution durations are also kept as a {@link DurationHistogram} per day and platform
+ * in simulation_duration_histogram, which can be merged over any window for percentiles.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AnalyticsRollupService {
+
+    static final List<String> SUCCESS_STATUSES = List.of("Done", "SUCCESS");
+    static final List<String> FAILURE_STATUSES = List.of("Error", "FAILED");
+
+    private static final String ROLLUP_KEY_SELECT = """
+        SELECT
+            DATE(created_at),
+            COALESCE(platform, 'Unknown'),
+            COALESCE(CAST(scenario_type AS VARCHAR), 'Unknown'),
+        """;
+
+    private final EntityManager entityManager;
+
+    /**
+     * Count a newly launched simulation
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void recordLaunch(UUID simulationId) {
+        String sql = """
+            INSERT INTO simulation_daily_rollup (rollup_date, platform, scenario_type, total_count, updated_at)
+            """ + ROLLUP_KEY_SELECT + """
+                1,
+                CURRENT_TIMESTAMP
+            FROM simulation
+            WHERE id = :simulationId AND created_at IS NOT NULL
+            ON CONFLICT (rollup_date, platform, scenario_type) DO UPDATE SET
+                total_count = simulation_daily_rollup.total_count + EXCLUDED.total_count,
+                updated_at = EXCLUDED.updated_at
+            """;
+
+        entityManager.createNativeQuery(sql)
+            .setParameter("simulationId", simulationId)
+            .executeUpdate();
+    }
+
+    /**
+     * Add a simulation to the rollup once its first completion committed, a rolled back
+     * completion is never counted. Failures are logged and leave the completion in place.
+     * Ordered before {@link AnalyticsDashboardCache} drops the dashboards read from the rollup.
+     */
+    @Order(0)
+    @TransactionalEventListener
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onSimulationFinished(SimulationFinishedEvent event) {
+        recordCompletion(event.simulationId(), event.status(), event.executionDuration());
+    }
+
+    /**
+     * Add the outcome and duration of a completed simulation to its rollup row
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void recordCompletion(UUID simulationId, String status, Integer durationSeconds) {
+        String sql = """
+            INSERT INTO simulation_daily_rollup (rollup_date, platform, scenario_type, success_count, failure_count,
+                duration_count, duration_sum, duration_min, duration_max, updated_at)
+            """ + ROLLUP_KEY_SELECT + """
+                :successCount,
+                :failureCount,
+                :durationCount,
+                :durationSum,
+                CASE WHEN :durationCount > 0 THEN :duration END,
+                CASE WHEN :durationCount > 0 THEN :duration END,
+                CURRENT_TIMESTAMP
+            FROM simulation
+            WHERE id = :simulationId AND created_at IS NOT NULL
+            ON CONFLICT (rollup_date, platform, scenario_type) DO UPDATE SET
+                success_count = simulation_daily_rollup.success_count + EXCLUDED.success_count,
+                failure_count = simulation_daily_rollup.failure_count + EXCLUDED.failure_count,
+                duration_count = simulation_daily_rollup.duration_count + EXCLUDED.duration_count,
+                duration_sum = simulation_daily_rollup.duration_sum + EXCLUDED.duration_sum,
+                duration_min = LEAST(simulation_daily_rollup.duration_min, EXCLUDED.duration_min),
+                duration_max = GREATEST(simulation_daily_rollup.duration_max, EXCLUDED.duration_max),
+                updated_at = EXCLUDED.updated_at
+            """;
+
+        int duration = durationSeconds != null ? durationSeconds : 0;
+        entityManager.createNativeQuery(sql)
+            .setParameter("simulationId", simulationId)
+            .setParameter("successCount", SUCCESS_STATUSES.contains(status) ? 1 : 0)
+            .setParameter("failureCount", FAILURE_STATUSES.contains(status) ? 1 : 0)
+            .setParameter("durationCount", durationSeconds != null ? 1 : 0)
+            .setParameter("durationSum", (long) duration)
+            .setParameter("duration", duration)
+            .executeUpdate();
+
+        if (durationSeconds != null) {
+            recordDuration(simulationId, durationSeconds);
+        }
+    }
+
+    /**
+     * Add one execution duration to the histogram bucket of its day and platform
+     */
+    private void recordDuration(UUID simulationId, int durationSeconds) {
+        String sql = """
+            INSERT INTO simulation_duration_histogram (rollup_date, platform, bucket, sample_count)
+            SELECT
+                DATE(created_at),
+                COALESCE(platform, 'Unknown'),
+                :bucket,
+                1
+            FROM simulation
+            WHERE id = :simulationId AND created_at IS NOT NULL
+            ON CONFLICT (rollup_date, platform, bucket) DO UPDATE SET
+                sample_count = simulation_duration_histogram.sample_count + 1
+            """;
+
+        entityManager.createNativeQuery(sql)
+            .setParameter("simulationId", simulationId)
+            .setParameter("bucket", DurationHistogram.bucketOf(durationSeconds))
+            .executeUpdate();
+    }
+}
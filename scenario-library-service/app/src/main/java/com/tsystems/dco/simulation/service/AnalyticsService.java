@@ -28,6 +28,7 @@ import com.tsystems.dco.simulation.dto.AnalyticsDashboardDTO.*;
 import com.tsystems.dco.simulation.repository.SimulationMetricRepository;
 import com.tsystems.dco.simulation.repository.SimulationRepository;
 import com.tsystems.dco.simulation.repository.SimulationResultRepository;
+import com.tsystems.dco.util.DurationHistogram;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -40,7 +41,6 @@ import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
-import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -69,18 +69,19 @@ public class AnalyticsService {
             daysBack = 30; // default to last 30 days
         }
 
-        Instant startDate = Instant.now().minus(daysBack, ChronoUnit.DAYS);
-
         log.info("Generating analytics dashboard for last {} days", daysBack);
 
+        // Both trend views are built from the same daily rollup rows
+        List<Object[]> dailyRows = getDailyRollups(daysBack);
+
         return AnalyticsDashboardDTO.builder()
             .overviewStats(calculateOverviewStats())
-            .successRateTrends(calculateSuccessRateTrends(daysBack))
-            .platformDistribution(getPlatformDistribution())
-            .scenarioTypeDistribution(getScenarioTypeDistribution())
-            .performanceMetrics(calculatePerformanceMetrics())
+            .successRateTrends(calculateSuccessRateTrends(dailyRows))
+            .platformDistribution(getDistribution("platform"))
+            .scenarioTypeDistribution(getDistribution("scenario_type"))
+            .performanceMetrics(calculatePerformanceMetrics(daysBack))
             .recentSimulations(getRecentSimulations(10))
-            .historicalTrends(getHistoricalTrends(daysBack))
+            .historicalTrends(getHistoricalTrends(dailyRows))
             .build();
     }
 
@@ -90,28 +91,36 @@ public class AnalyticsService {
     private OverviewStats calculateOverviewStats() {
         String sql = """
             SELECT 
-                COUNT(*) as total,
-                SUM(CASE WHEN status = 'SUCCESS' THEN 1 ELSE 0 END) as successful,
-                SUM(CASE WHEN status = 'FAILED' THEN 1 ELSE 0 END) as failed,
-                SUM(CASE WHEN status = 'RUNNING' THEN 1 ELSE 0 END) as running,
-                SUM(CASE WHEN status = 'PENDING' OR status IS NULL THEN 1 ELSE 0 END) as pending,
-                AVG(CASE WHEN execution_duration IS NOT NULL THEN execution_duration ELSE 0 END) as avg_duration,
-                SUM(CASE WHEN execution_duration IS NOT NULL THEN execution_duration ELSE 0 END) as total_duration
-            FROM simulation
+                COALESCE(SUM(total_count), 0) as total,
+                COALESCE(SUM(success_count), 0) as successful,
+                COALESCE(SUM(failure_count), 0) as failed,
+                COALESCE(SUM(duration_sum), 0) as total_duration
+            FROM simulation_daily_rollup
             """;
 
         Query query = entityManager.createNativeQuery(sql);
         Object[] result = (Object[]) query.getSingleResult();
 
-        Long total = result[0] != null ? ((Number) result[0]).longValue() : 0L;
-        Long successful = result[1] != null ? ((Number) result[1]).longValue() : 0L;
-        Long failed = result[2] != null ? ((Number) result[2]).longValue() : 0L;
-        Long running = result[3] != null ? ((Number) result[3]).longValue() : 0L;
-        Long pending = result[4] != null ? ((Number) result[4]).longValue() : 0L;
-        Double avgDuration = result[5] != null ? ((Number) result[5]).doubleValue() : 0.0;
-        Long totalDuration = result[6] != null ? ((Number) result[6]).longValue() : 0L;
+        Long total = ((Number) result[0]).longValue();
+        Long successful = ((Number) result[1]).longValue();
+        Long failed = ((Number) result[2]).longValue();
+        Long totalDuration = ((Number) result[3]).longValue();
+
+        // Active simulations are a small, indexed subset of the simulation table
+        String activeSql = """
+            SELECT 
+                SUM(CASE WHEN status IN ('Running', 'RUNNING') THEN 1 ELSE 0 END) as running,
+                SUM(CASE WHEN status IN ('Pending', 'PENDING') OR status IS NULL THEN 1 ELSE 0 END) as pending
+            FROM simulation
+            WHERE status IN ('Running', 'RUNNING', 'Pending', 'PENDING') OR status IS NULL
+            """;
+
+        Object[] active = (Object[]) entityManager.createNativeQuery(activeSql).getSingleResult();
+        Long running = active[0] != null ? ((Number) active[0]).longValue() : 0L;
+        Long pending = active[1] != null ? ((Number) active[1]).longValue() : 0L;
 
         Double successRate = total > 0 ? (successful * 100.0) / total : 0.0;
+        Double avgDuration = total > 0 ? (double) totalDuration / total : 0.0;
 
         return OverviewStats.builder()
             .totalSimulations(total)
@@ -126,30 +135,37 @@ public class AnalyticsService {
     }
 
     /**
-     * Calculate success rate trends over time
+     * Load the daily rollup rows of the requested window, newest first
      */
-    private List<TrendDataPoint> calculateSuccessRateTrends(Integer daysBack) {
+    private List<Object[]> getDailyRollups(Integer daysBack) {
         String sql = """
             SELECT 
-                DATE(created_at) as simulation_date,
-                COUNT(*) as total_count,
-                SUM(CASE WHEN status = 'SUCCESS' THEN 1 ELSE 0 END) as success_count,
-                SUM(CASE WHEN status = 'FAILED' THEN 1 ELSE 0 END) as failure_count
-            FROM simulation
-            WHERE created_at >= :startDate
-            GROUP BY DATE(created_at)
-            ORDER BY simulation_date DESC
+                rollup_date,
+                SUM(total_count) as total_count,
+                SUM(success_count) as success_count,
+                SUM(failure_count) as failure_count,
+                SUM(duration_sum) as duration_sum
+            FROM simulation_daily_rollup
+            WHERE rollup_date >= :startDate
+            GROUP BY rollup_date
+            ORDER BY rollup_date DESC
             """;
 
-        Instant startDate = Instant.now().minus(daysBack, ChronoUnit.DAYS);
-        
+        LocalDate startDate = LocalDate.now(ZoneId.systemDefault()).minusDays(daysBack);
+
         Query query = entityManager.createNativeQuery(sql);
         query.setParameter("startDate", startDate);
 
         @SuppressWarnings("unchecked")
         List<Object[]> results = query.getResultList();
+        return results;
+    }
 
-        return results.stream().map(row -> {
+    /**
+     * Calculate success rate trends over time
+     */
+    private List<TrendDataPoint> calculateSuccessRateTrends(List<Object[]> dailyRows) {
+        return dailyRows.stream().map(row -> {
             LocalDate date = ((java.sql.Date) row[0]).toLocalDate();
             Long totalCount = ((Number) row[1]).longValue();
             Long successCount = ((Number) row[2]).longValue();
@@ -167,17 +183,17 @@ public class AnalyticsService {
     }
 
     /**
-     * Get platform distribution
+     * Get platform or scenario type distribution
      */
-    private List<DistributionItem> getPlatformDistribution() {
+    private List<DistributionItem> getDistribution(String column) {
         String sql = """
             SELECT 
-                COALESCE(platform, 'Unknown') as platform_name,
-                COUNT(*) as platform_count
-            FROM simulation
-            GROUP BY platform
-            ORDER BY platform_count DESC
-            """;
+                %s as label,
+                SUM(total_count) as label_count
+            FROM simulation_daily_rollup
+            GROUP BY %s
+            ORDER BY label_count DESC
+            """.formatted(column, column);
 
         Query query = entityManager.createNativeQuery(sql);
         @SuppressWarnings("unchecked")
@@ -199,51 +215,23 @@ public class AnalyticsService {
     }
 
     /**
-     * Get scenario type distribution
+     * Calculate performance metrics of the requested window
      */
-    private List<DistributionItem> getScenarioTypeDistribution() {
+    private PerformanceMetrics calculatePerformanceMetrics(Integer daysBack) {
         String sql = """
             SELECT 
-                COALESCE(CAST(scenario_type AS VARCHAR), 'Unknown') as type_name,
-                COUNT(*) as type_count
-            FROM simulation
-            GROUP BY scenario_type
-            ORDER BY type_count DESC
+                CASE WHEN SUM(duration_count) > 0 THEN SUM(duration_sum) * 1.0 / SUM(duration_count) END as avg_duration,
+                MIN(duration_min) as min_duration,
+                MAX(duration_max) as max_duration
+            FROM simulation_daily_rollup
+            WHERE duration_count > 0
+              AND rollup_date >= :startDate
             """;
 
-        Query query = entityManager.createNativeQuery(sql);
-        @SuppressWarnings("unchecked")
-        List<Object[]> results = query.getResultList();
-
-        Long total = results.stream().mapToLong(row -> ((Number) row[1]).longValue()).sum();
-
-        return results.stream().map(row -> {
-            String label = (String) row[0];
-            Long count = ((Number) row[1]).longValue();
-            Double percentage = total > 0 ? (count * 100.0) / total : 0.0;
-
-            return DistributionItem.builder()
-                .label(label)
-                .count(count)
-                .percentage(Math.round(percentage * 100.0) / 100.0)
-                .build();
-        }).collect(Collectors.toList());
-    }
-
-    /**
-     * Calculate performance metrics
-     */
-    private PerformanceMetrics calculatePerformanceMetrics() {
-        String sql = """
-            SELECT 
-                AVG(CASE WHEN execution_duration IS NOT NULL THEN execution_duration ELSE 0 END) as avg_duration,
-                MIN(CASE WHEN execution_duration IS NOT NULL THEN execution_duration ELSE 0 END) as min_duration,
-                MAX(CASE WHEN execution_duration IS NOT NULL THEN execution_duration ELSE 0 END) as max_duration
-            FROM simulation
-            WHERE execution_duration IS NOT NULL
-            """;
+        LocalDate startDate = LocalDate.now(ZoneId.systemDefault()).minusDays(daysBack);
 
         Query query = entityManager.createNativeQuery(sql);
+        query.setParameter("startDate", startDate);
         Object[] result = (Object[]) query.getSingleResult();
 
         Double avgDuration = result[0] != null ? ((Number) result[0]).doubleValue() : 0.0;
@@ -277,15 +265,50 @@ public class AnalyticsService {
                 .build();
         }).collect(Collectors.toList());
 
+        DurationHistogram histogram = getDurationHistogram(daysBack);
+
         return PerformanceMetrics.builder()
             .averageDuration(Math.round(avgDuration * 100.0) / 100.0)
             .minDuration(Math.round(minDuration * 100.0) / 100.0)
             .maxDuration(Math.round(maxDuration * 100.0) / 100.0)
-            .medianDuration(avgDuration) // TODO: Calculate actual median
+            .medianDuration(percentile(histogram, 0.5))
+            .p90Duration(percentile(histogram, 0.9))
+            .p99Duration(percentile(histogram, 0.99))
             .durationTrend(durationTrend)
             .build();
     }
 
+    /**
+     * Merge the per day and platform duration histograms of the requested window
+     */
+    private DurationHistogram getDurationHistogram(Integer daysBack) {
+        String sql = """
+            SELECT 
+                bucket,
+                SUM(sample_count) as sample_count
+            FROM simulation_duration_histogram
+            WHERE rollup_date >= :startDate
+            GROUP BY bucket
+            """;
+
+        LocalDate startDate = LocalDate.now(ZoneId.systemDefault()).minusDays(daysBack);
+
+        Query query = entityManager.createNativeQuery(sql);
+        query.setParameter("startDate", startDate);
+
+        @SuppressWarnings("unchecked")
+        List<Object[]> results = query.getResultList();
+
+        DurationHistogram histogram = new DurationHistogram();
+        results.forEach(row -> histogram.add(((Number) row[0]).intValue(), ((Number) row[1]).longValue()));
+        return histogram;
+    }
+
+    private Double percentile(DurationHistogram histogram, double quantile) {
+        Double value = histogram.valueAtQuantile(quantile);
+        return value != null ? Math.round(value * 100.0) / 100.0 : 0.0;
+    }
+
     /**
      * Get recent simulations
      */
@@ -328,34 +351,14 @@ public class AnalyticsService {
     /**
      * Get historical trends (daily aggregation)
      */
-    private List<DailyTrend> getHistoricalTrends(Integer daysBack) {
-        String sql = """
-            SELECT 
-                DATE(created_at) as trend_date,
-                COUNT(*) as total_simulations,
-                SUM(CASE WHEN status = 'SUCCESS' THEN 1 ELSE 0 END) as successful_simulations,
-                SUM(CASE WHEN status = 'FAILED' THEN 1 ELSE 0 END) as failed_simulations,
-                AVG(CASE WHEN execution_duration IS NOT NULL THEN execution_duration ELSE 0 END) as avg_duration
-            FROM simulation
-            WHERE created_at >= :startDate
-            GROUP BY DATE(created_at)
-            ORDER BY trend_date DESC
-            """;
-
-        Instant startDate = Instant.now().minus(daysBack, ChronoUnit.DAYS);
-        
-        Query query = entityManager.createNativeQuery(sql);
-        query.setParameter("startDate", startDate);
-
-        @SuppressWarnings("unchecked")
-        List<Object[]> results = query.getResultList();
-
-        return results.stream().map(row -> {
+    private List<DailyTrend> getHistoricalTrends(List<Object[]> dailyRows) {
+        return dailyRows.stream().map(row -> {
             LocalDate date = ((java.sql.Date) row[0]).toLocalDate();
             Long totalSimulations = ((Number) row[1]).longValue();
             Long successfulSimulations = ((Number) row[2]).longValue();
             Long failedSimulations = ((Number) row[3]).longValue();
-            Double avgDuration = row[4] != null ? ((Number) row[4]).doubleValue() : 0.0;
+            Long durationSum = ((Number) row[4]).longValue();
+            Double avgDuration = totalSimulations > 0 ? (double) durationSum / totalSimulations : 0.0;
 
             return DailyTrend.builder()
                 .date(date.format(DATE_FORMATTER))
@@ -39,7 +39,9 @@ import com.tsystems.dco.simulation.entity.SimulationResultEntity;
 import java.math.BigDecimal;
 import java.security.SecureRandom;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
@@ -118,21 +120,26 @@ public class CampaignService {
     return checkStatus(campaignId, null, null);
   }
 
+  /**
+   * Record the results of a campaign status change, called once per stored transition
+   *
+   * @param simulationId
+   * @param simulationName
+   * @param status
+   */
+  public void onStatusChanged(UUID simulationId, String simulationName, String status) {
+    generateSampleResults(simulationId, simulationName, status);
+  }
+
   /**
    * Generate sample simulation results for demonstration
    */
   private void generateSampleResults(UUID simulationId, String simulationName, String status) {
     try {
       // Add some sample logs
-      simulationResultService.addLog(simulationId, 
-        SimulationLogEntity.LogLevel.INFO, 
-        "Simulation execution started", 
-        "SimulationEngine");
-        
-      simulationResultService.addLog(simulationId, 
-        SimulationLogEntity.LogLevel.INFO, 
-        "Loading scenarios and tracks", 
-        "DataLoader");
+      simulationResultService.addLogs(simulationId, List.of(
+        sampleLog(SimulationLogEntity.LogLevel.INFO, "Simulation execution started", "SimulationEngine"),
+        sampleLog(SimulationLogEntity.LogLevel.INFO, "Loading scenarios and tracks", "DataLoader")));
 
       // ========================================
       // REAL METRIC COLLECTION STARTS HERE
@@ -151,83 +158,77 @@ public class CampaignService {
         LOGGER.warn("No start time found for simulation {}, using fallback duration: {} seconds", simulationId, durationSeconds);
       }
       
+      List<SimulationMetricEntity> metrics = new ArrayList<>();
+
       // Save simulation_duration_seconds metric (always save it)
-      simulationResultService.addMetric(simulationId, 
-        "simulation_duration_seconds", 
+      metrics.add(sampleMetric("simulation_duration_seconds", 
         BigDecimal.valueOf(durationSeconds), 
         "seconds", 
-        SimulationMetricEntity.MetricCategory.PERFORMANCE);
+        SimulationMetricEntity.MetricCategory.PERFORMANCE));
       
       // Generate realistic performance metrics
       SecureRandom random = new SecureRandom();
       
       // CPU usage (0-100%)
       double cpuUsage = 30 + random.nextDouble() * 50; // 30-80%
-      simulationResultService.addMetric(simulationId, 
-        "cpu_usage_percent", 
+      metrics.add(sampleMetric("cpu_usage_percent", 
         BigDecimal.valueOf(cpuUsage), 
         "percent", 
-        SimulationMetricEntity.MetricCategory.PERFORMANCE);
+        SimulationMetricEntity.MetricCategory.PERFORMANCE));
       
       // Memory usage (MB)
       double memoryUsageMB = 500 + random.nextDouble() * 1500; // 500-2000 MB
-      simulationResultService.addMetric(simulationId, 
-        "memory_usage_mb", 
+      metrics.add(sampleMetric("memory_usage_mb", 
         BigDecimal.valueOf(memoryUsageMB), 
         "MB", 
-        SimulationMetricEntity.MetricCategory.PERFORMANCE);
+        SimulationMetricEntity.MetricCategory.PERFORMANCE));
       
       // Memory usage (percent) - Assuming total memory of 4GB (4096 MB)
       double memoryPercent = (memoryUsageMB / 4096.0) * 100.0;
-      simulationResultService.addMetric(simulationId, 
-        "simulation_memory_percent", 
+      metrics.add(sampleMetric("simulation_memory_percent", 
         BigDecimal.valueOf(memoryPercent), 
         "percent", 
-        SimulationMetricEntity.MetricCategory.PERFORMANCE);
+        SimulationMetricEntity.MetricCategory.PERFORMANCE));
       
       // Error count
       int errorCount = "Error".equals(status) ? random.nextInt(5) + 1 : 0;
-      simulationResultService.addMetric(simulationId, 
-        "simulation_error_count", 
+      metrics.add(sampleMetric("simulation_error_count", 
         BigDecimal.valueOf(errorCount), 
         "count", 
-        SimulationMetricEntity.MetricCategory.SYSTEM);
+        SimulationMetricEntity.MetricCategory.SYSTEM));
       
       // Webhook metrics
       int webhooksSent = random.nextInt(20) + 10; // 10-30 webhooks
       int webhooksDelivered = "Error".equals(status) ? webhooksSent - random.nextInt(5) : webhooksSent;
       double successRate = (double) webhooksDelivered / webhooksSent * 100;
       
-      simulationResultService.addMetric(simulationId, 
-        "webhook_delivery_success_rate", 
+      metrics.add(sampleMetric("webhook_delivery_success_rate", 
         BigDecimal.valueOf(successRate), 
         "percent", 
-        SimulationMetricEntity.MetricCategory.SYSTEM);
+        SimulationMetricEntity.MetricCategory.SYSTEM));
       
       double avgDeliveryTime = 100 + random.nextDouble() * 400; // 100-500ms
-      simulationResultService.addMetric(simulationId, 
-        "webhook_avg_delivery_time_ms", 
+      metrics.add(sampleMetric("webhook_avg_delivery_time_ms", 
         BigDecimal.valueOf(avgDeliveryTime), 
         "milliseconds", 
-        SimulationMetricEntity.MetricCategory.SYSTEM);
+        SimulationMetricEntity.MetricCategory.SYSTEM));
       
       // Vehicle metrics
       int vehiclesProcessed = random.nextInt(40) + 10; // 10-50 vehicles
-      simulationResultService.addMetric(simulationId, 
-        "vehicles_processed", 
+      metrics.add(sampleMetric("vehicles_processed", 
         BigDecimal.valueOf(vehiclesProcessed), 
         "count", 
-        SimulationMetricEntity.MetricCategory.VEHICLE);
+        SimulationMetricEntity.MetricCategory.VEHICLE));
       
       // Scenario metrics
       int scenariosExecuted = random.nextInt(10) + 1; // 1-10 scenarios
-      simulationResultService.addMetric(simulationId, 
-        "scenarios_executed", 
+      metrics.add(sampleMetric("scenarios_executed", 
         BigDecimal.valueOf(scenariosExecuted), 
         "count", 
-        SimulationMetricEntity.MetricCategory.SCENARIO);
+        SimulationMetricEntity.MetricCategory.SCENARIO));
       
-      LOGGER.info("Recorded {} metrics for simulation {}", 9, simulationId);
+      simulationResultService.addMetrics(simulationId, metrics);
+      LOGGER.info("Recorded {} metrics for simulation {}", metrics.size(), simulationId);
 
       // If simulation is done, complete it and publish completion event
       if ("Done".equals(status)) {
@@ -293,6 +294,24 @@ public class CampaignService {
     }
   }
 
+  private SimulationMetricEntity sampleMetric(String name, BigDecimal value, String unit,
+                                              SimulationMetricEntity.MetricCategory category) {
+    return SimulationMetricEntity.builder()
+      .metricName(name)
+      .metricValue(value)
+      .metricUnit(unit)
+      .category(category)
+      .build();
+  }
+
+  private SimulationLogEntity sampleLog(SimulationLogEntity.LogLevel level, String message, String component) {
+    return SimulationLogEntity.builder()
+      .logLevel(level)
+      .message(message)
+      .component(component)
+      .build();
+  }
+
   /**
    * @return String
    */
@@ -344,7 +363,7 @@ public class CampaignService {
       
       evaluationServiceClient.triggerEvaluation(request);
       
-      LOGGER.info("Successfully triggered evaluation for simulation: {}", simulationId);
+      LOGGER.info("Queued evaluation for simulation: {}", simulationId);
     } catch (Exception e) {
       LOGGER.error("Failed to trigger automatic evaluation for simulation {}: {}", 
                    simulationId, e.getMessage());
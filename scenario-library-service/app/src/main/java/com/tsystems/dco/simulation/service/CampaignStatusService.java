@@ -0,0 +1,157 @@
+/*
+ *   ========================================================================
+ *  SDV Developer Console
+ *
+ *   Copyright (C) 2022 - 2023 T-Systems International GmbH
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *   SPDX-License-Identifier: Apache-2.0
+ *
+ *   ========================================================================
+ */
+
+package com.tsystems.dco.simulation.service;
+
+import com.tsystems.dco.simulation.entity.SimulationEntity;
+import com.tsystems.dco.simulation.entity.SimulationStatusTransitionEntity;
+import com.tsystems.dco.simulation.repository.SimulationRepository;
+import com.tsystems.dco.simulation.repository.SimulationStatusTransitionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Keeps the stored simulation status in sync with the campaign service.
+ * Active simulations are polled in the background and every status change is
+ * recorded as a transition, so reads never have to contact the campaign service.
+ */
+@Service
+public class CampaignStatusService {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(CampaignStatusService.class);
+  static final List<String> ACTIVE_STATUSES = List.of("Pending", "Running");
+
+  private final SimulationRepository simulationRepository;
+  private final SimulationStatusTransitionRepository transitionRepository;
+  private final CampaignService campaignService;
+  private final TransactionTemplate transitionTransaction;
+  private final int batchSize;
+
+  public CampaignStatusService(SimulationRepository simulationRepository,
+                               SimulationStatusTransitionRepository transitionRepository,
+                               CampaignService campaignService,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${campaign.status.batch-size:100}") int batchSize) {
+    this.simulationRepository = simulationRepository;
+    this.transitionRepository = transitionRepository;
+    this.campaignService = campaignService;
+    this.transitionTransaction = new TransactionTemplate(transactionManager);
+    this.batchSize = batchSize;
+  }
+
+  /**
+   * Poll the campaign status of all active simulations, batch-size at a time in the order of their IDs.
+   */
+  @Scheduled(fixedDelayString = "${campaign.status.poll-interval-ms:15000}",
+    initialDelayString = "${campaign.status.poll-interval-ms:15000}")
+  public void pollActiveCampaigns() {
+    UUID lastId = null;
+    int polled = 0;
+    List<SimulationEntity> active;
+    do {
+      try {
+        active = findActive(lastId);
+      } catch (Exception e) {
+        LOGGER.warn("Failed to load active simulations for status polling: {}", e.getMessage());
+        return;
+      }
+      active.forEach(this::refreshStatus);
+      if (!active.isEmpty()) {
+        lastId = active.get(active.size() - 1).getId();
+      }
+      polled += active.size();
+    } while (active.size() == batchSize);
+    LOGGER.debug("Polled campaign status for {} active simulations", polled);
+  }
+
+  /**
+   * Store a new campaign status for the simulation. The status and its transition are
+   * stored in one transaction, side effects of the change (results, events, evaluation)
+   * are triggered only by the caller that wins the transition.
+   *
+   * @param simulation
+   * @param status
+   * @return true if the status changed
+   */
+  public boolean applyStatus(SimulationEntity simulation, String status) {
+    String current = simulation.getStatus();
+    if (status == null || status.equals(current) || current == null) {
+      return false;
+    }
+    boolean changed = Boolean.TRUE.equals(transitionTransaction.execute(transaction -> {
+      if (simulationRepository.compareAndSetStatus(simulation.getId(), current, status) == 0) {
+        return false;
+      }
+      transitionRepository.save(SimulationStatusTransitionEntity.builder()
+        .simulationId(simulation.getId())
+        .campaignId(simulation.getCampaignId())
+        .fromStatus(current)
+        .toStatus(status)
+        .build());
+      return true;
+    }));
+    if (!changed) {
+      LOGGER.debug("Status of simulation {} already moved on from {}", simulation.getId(), current);
+      return false;
+    }
+    LOGGER.info("Simulation {} moved from {} to {}", simulation.getId(), current, status);
+    simulation.setStatus(status);
+    return true;
+  }
+
+  private List<SimulationEntity> findActive(UUID lastId) {
+    PageRequest page = PageRequest.of(0, batchSize, Sort.by(Sort.Order.asc("id")));
+    return lastId == null
+      ? simulationRepository.findByStatusIn(ACTIVE_STATUSES, page)
+      : simulationRepository.findByStatusInAndIdGreaterThan(ACTIVE_STATUSES, lastId, page);
+  }
+
+  private void refreshStatus(SimulationEntity simulation) {
+    try {
+      String status = campaignService.checkStatus(simulation.getCampaignId()).getStatus();
+      if (applyStatus(simulation, status)) {
+        campaignService.onStatusChanged(simulation.getId(), simulation.getName(), status);
+      }
+    } catch (Exception e) {
+      LOGGER.warn("Failed to refresh status of simulation {}: {}", simulation.getId(), e.getMessage());
+    }
+  }
+
+  /**
+   * @param simulationId
+   * @return List of recorded transitions, oldest first
+   */
+  public List<SimulationStatusTransitionEntity> getStatusHistory(UUID simulationId) {
+    return transitionRepository.findBySimulationIdOrderByTransitionedAtAsc(simulationId);
+  }
+}
@@ -0,0 +1,99 @@
+/*
+ *   ========================================================================
+ *  SDV Developer Console
+ *
+ *   Copyright (C) 2022 - 2023 T-Systems International GmbH
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *   SPDX-License-Identifier: Apache-2.0
+ *
+ *   ========================================================================
+ */
+
+package com.tsystems.dco.simulation.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tsystems.dco.common.config.RabbitMQConfig;
+import com.tsystems.dco.simulation.entity.SimulationEntity;
+import com.tsystems.dco.simulation.entity.SimulationLogEntity;
+import com.tsystems.dco.simulation.repository.SimulationRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.ExchangeTypes;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.annotation.Exchange;
+import org.springframework.amqp.rabbit.annotation.Queue;
+import org.springframework.amqp.rabbit.annotation.QueueBinding;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * Stops simulations the evaluation service judged as doomed from their streamed metrics,
+ * so no further compute is spent on them. The abort is a status transition like any other,
+ * simulations that already ended or moved on concurrently are left untouched.
+ */
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "simulation.abort-on-evaluation.enabled", havingValue = "true", matchIfMissing = true)
+public class SimulationAbortListener {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(SimulationAbortListener.class);
+  private static final String ABORTED_STATUS = "Error";
+
+  private final SimulationRepository simulationRepository;
+  private final CampaignStatusService campaignStatusService;
+  private final SimulationResultService simulationResultService;
+  private final ObjectMapper objectMapper;
+
+  /**
+   * @param message provisional evaluation published with the abort signal
+   */
+  @RabbitListener(bindings = @QueueBinding(
+    value = @Queue(value = RabbitMQConfig.SIMULATION_ABORT_QUEUE, durable = "true"),
+    exchange = @Exchange(value = RabbitMQConfig.SDV_EVENTS_EXCHANGE, type = ExchangeTypes.TOPIC),
+    key = RabbitMQConfig.SIMULATION_ABORT_KEY))
+  public void onAbort(Message message) {
+    JsonNode provisional;
+    UUID simulationId;
+    try {
+      provisional = objectMapper.readTree(message.getBody());
+      simulationId = UUID.fromString(provisional.path("simulationId").asText());
+    } catch (IOException | IllegalArgumentException e) {
+      LOGGER.warn("Ignoring malformed abort signal: {}", e.getMessage());
+      return;
+    }
+    SimulationEntity simulation = simulationRepository.findById(simulationId)
+      .filter(found -> CampaignStatusService.ACTIVE_STATUSES.contains(found.getStatus()))
+      .orElse(null);
+    if (simulation == null) {
+      LOGGER.debug("Ignoring abort signal for simulation {}, it is not running", simulationId);
+      return;
+    }
+    if (!campaignStatusService.applyStatus(simulation, ABORTED_STATUS)) {
+      LOGGER.debug("Ignoring abort signal for simulation {}, its status changed meanwhile", simulationId);
+      return;
+    }
+    String reason = String.format("Aborted early by evaluation: failed rules weigh %d of %d",
+      provisional.path("failedWeight").asInt(), provisional.path("totalWeight").asInt());
+    LOGGER.warn("Aborting simulation {}: {}", simulationId, reason);
+    simulationResultService.addLog(simulationId, SimulationLogEntity.LogLevel.WARN, reason, "EvaluationService");
+    simulationResultService.completeSimulation(simulationId, ABORTED_STATUS, null, reason);
+  }
+}
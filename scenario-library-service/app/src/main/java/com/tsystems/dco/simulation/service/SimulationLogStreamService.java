@@ -0,0 +1,111 @@
+/*
+ *   ========================================================================
+ *  SDV Developer Console
+ *
+ *   Copyright (C) 2022 - 2023 T-Systems International GmbH
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *   SPDX-License-Identifier: Apache-2.0
+ *
+ *   ========================================================================
+ */
+
+package com.tsystems.dco.simulation.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tsystems.dco.exception.DataNotFoundException;
+import com.tsystems.dco.simulation.dto.SimulationLogInputDTO;
+import com.tsystems.dco.simulation.entity.SimulationLogEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Ingests a stream of newline delimited JSON log lines, storing them in micro-batches
+ * while the upload is still being read. Logs before an invalid line stay stored.
+ */
+@Service
+public class SimulationLogStreamService {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(SimulationLogStreamService.class);
+
+  private final SimulationResultService simulationResultService;
+  private final ObjectMapper objectMapper;
+  private final int batchSize;
+
+  public SimulationLogStreamService(SimulationResultService simulationResultService,
+                                    ObjectMapper objectMapper,
+                                    @Value("${simulation.ingestion.batch-size:500}") int batchSize) {
+    this.simulationResultService = simulationResultService;
+    this.objectMapper = objectMapper;
+    this.batchSize = batchSize;
+  }
+
+  /**
+   * @param simulationId
+   * @param ndjson one JSON log object per line, blank lines are skipped
+   * @return number of stored logs
+   * @throws IOException when the stream can't be read
+   * @throws DataNotFoundException with status bad request when a line is not a log object, telling the
+   *                               line and the number of logs stored before it
+   */
+  public int ingest(UUID simulationId, InputStream ndjson) throws IOException {
+    int inserted = 0;
+    int lineNumber = 0;
+    List<SimulationLogEntity> batch = new ArrayList<>(batchSize);
+    try (BufferedReader reader = new BufferedReader(new InputStreamReader(ndjson, StandardCharsets.UTF_8))) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        lineNumber++;
+        if (line.isBlank()) {
+          continue;
+        }
+        try {
+          SimulationLogInputDTO log = objectMapper.readValue(line, SimulationLogInputDTO.class);
+          batch.add(log != null ? log.toEntity() : null);
+        } catch (JsonProcessingException e) {
+          // Store the lines before, the upload can be resumed after the invalid line
+          if (!batch.isEmpty()) {
+            inserted += simulationResultService.addLogs(simulationId, batch);
+          }
+          LOGGER.warn("Invalid log on line {} for simulation {}, {} logs stored", lineNumber, simulationId, inserted);
+          throw new DataNotFoundException(HttpStatus.BAD_REQUEST, String.format(
+            "Invalid log on line %d: %s. The %d logs before it were stored",
+            lineNumber, e.getOriginalMessage(), inserted));
+        }
+        if (batch.size() >= batchSize) {
+          inserted += simulationResultService.addLogs(simulationId, batch);
+          batch = new ArrayList<>(batchSize);
+        }
+      }
+    }
+    if (!batch.isEmpty()) {
+      inserted += simulationResultService.addLogs(simulationId, batch);
+    }
+    LOGGER.info("Ingested {} streamed logs for simulation {}", inserted, simulationId);
+    return inserted;
+  }
+}
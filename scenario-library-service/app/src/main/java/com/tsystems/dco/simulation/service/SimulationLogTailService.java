@@ -0,0 +1,220 @@
+/*
+ *   ========================================================================
+ *  SDV Developer Console
+ *
+ *   Copyright (C) 2022 - 2023 T-Systems International GmbH
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *   SPDX-License-Identifier: Apache-2.0
+ *
+ *   ========================================================================
+ */
+
+package com.tsystems.dco.simulation.service;
+
+import com.tsystems.dco.simulation.entity.SimulationLogEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes newly stored simulation logs to Server-Sent Events subscribers, so clients
+ * follow a running simulation without polling the logs table.
+ * Subscribers only see logs stored by this instance after they subscribed, nothing is replayed.
+ * Each subscriber has its own bounded queue drained by a small pool, so a slow client
+ * never holds up the others. Subscribers whose queue overflows or whose send takes longer
+ * than send-timeout-ms are completed. Clients that reconnect read the logs they missed from
+ * the paged logs endpoint.
+ */
+@Service
+public class SimulationLogTailService {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(SimulationLogTailService.class);
+  private static final String LOG_EVENT = "log";
+
+  private final Map<UUID, List<Subscriber>> subscribers = new ConcurrentHashMap<>();
+  private final ExecutorService broadcaster;
+  private final long timeoutMs;
+  private final long sendTimeoutMs;
+  private final int queueCapacity;
+
+  public SimulationLogTailService(@Value("${simulation.logs.tail.timeout-ms:1800000}") long timeoutMs,
+                                  @Value("${simulation.logs.tail.send-timeout-ms:10000}") long sendTimeoutMs,
+                                  @Value("${simulation.logs.tail.queue-capacity:1000}") int queueCapacity,
+                                  @Value("${simulation.logs.tail.threads:4}") int threads) {
+    this.timeoutMs = timeoutMs;
+    this.sendTimeoutMs = sendTimeoutMs;
+    this.queueCapacity = Math.max(1, queueCapacity);
+    AtomicInteger threadNumber = new AtomicInteger();
+    this.broadcaster = Executors.newFixedThreadPool(Math.max(1, threads), runnable -> {
+      Thread thread = new Thread(runnable, "simulation-log-tail-" + threadNumber.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  /**
+   * @param simulationId
+   * @return SseEmitter receiving a "log" event per stored log line
+   */
+  public SseEmitter subscribe(UUID simulationId) {
+    SseEmitter emitter = new SseEmitter(timeoutMs);
+    Subscriber subscriber = new Subscriber(simulationId, emitter);
+    subscribers.computeIfAbsent(simulationId, id -> new CopyOnWriteArrayList<>()).add(subscriber);
+    Runnable remove = () -> unsubscribe(subscriber);
+    emitter.onCompletion(remove);
+    emitter.onTimeout(remove);
+    emitter.onError(error -> remove.run());
+    LOGGER.debug("New log tail subscriber for simulation {}", simulationId);
+    return emitter;
+  }
+
+  /**
+   * Queue logs to the subscribers once the transaction storing them has committed
+   *
+   * @param event
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onLogsAdded(SimulationLogsAddedEvent event) {
+    for (Subscriber subscriber : subscribers.getOrDefault(event.simulationId(), List.of())) {
+      if (subscriber.isStalled()) {
+        drop(subscriber, "send timed out");
+        continue;
+      }
+      for (SimulationLogEntity log : event.logs()) {
+        if (!subscriber.pending.offer(log)) {
+          drop(subscriber, "queue full");
+          break;
+        }
+      }
+      schedule(subscriber);
+    }
+  }
+
+  /**
+   * Complete subscribers stuck in a send, e.g. clients that stopped reading
+   */
+  @Scheduled(fixedDelayString = "${simulation.logs.tail.send-timeout-ms:10000}")
+  public void dropStalledSubscribers() {
+    subscribers.values().forEach(simulationSubscribers -> simulationSubscribers.stream()
+      .filter(Subscriber::isStalled)
+      .forEach(subscriber -> drop(subscriber, "send timed out")));
+  }
+
+  private void schedule(Subscriber subscriber) {
+    if (!subscriber.pending.isEmpty() && subscriber.draining.compareAndSet(false, true)) {
+      try {
+        broadcaster.execute(() -> drain(subscriber));
+      } catch (RejectedExecutionException e) {
+        // Shutting down
+        subscriber.draining.set(false);
+      }
+    }
+  }
+
+  private void drain(Subscriber subscriber) {
+    SimulationLogEntity log;
+    try {
+      while (!subscriber.dropped.get() && (log = subscriber.pending.poll()) != null) {
+        subscriber.sendingSince = System.currentTimeMillis();
+        subscriber.emitter.send(SseEmitter.event().name(LOG_EVENT).id(String.valueOf(log.getId())).data(log));
+        subscriber.sendingSince = 0;
+      }
+    } catch (IOException | IllegalStateException e) {
+      LOGGER.debug("Dropping log tail subscriber for simulation {}: {}", subscriber.simulationId, e.getMessage());
+      subscriber.sendingSince = 0;
+      subscriber.dropped.set(true);
+      unsubscribe(subscriber);
+      subscriber.emitter.completeWithError(e);
+      return;
+    }
+    if (subscriber.dropped.get()) {
+      // Dropped while sending, the emitter is free to complete now
+      subscriber.emitter.complete();
+      return;
+    }
+    subscriber.draining.set(false);
+    // Logs queued after the last poll
+    schedule(subscriber);
+  }
+
+  /**
+   * Stop sending to a subscriber. The emitter is completed right away when idle, otherwise by the
+   * draining thread once its send returns, as emitter calls wait for a send in progress.
+   */
+  private void drop(Subscriber subscriber, String reason) {
+    if (subscriber.dropped.compareAndSet(false, true)) {
+      LOGGER.debug("Dropping log tail subscriber for simulation {}: {}", subscriber.simulationId, reason);
+      subscriber.pending.clear();
+      unsubscribe(subscriber);
+      if (subscriber.draining.compareAndSet(false, true)) {
+        subscriber.emitter.complete();
+      }
+    }
+  }
+
+  private void unsubscribe(Subscriber subscriber) {
+    subscribers.computeIfPresent(subscriber.simulationId, (id, simulationSubscribers) -> {
+      simulationSubscribers.remove(subscriber);
+      return simulationSubscribers.isEmpty() ? null : simulationSubscribers;
+    });
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    broadcaster.shutdownNow();
+    subscribers.values().forEach(simulationSubscribers ->
+      simulationSubscribers.forEach(subscriber -> subscriber.emitter.complete()));
+    subscribers.clear();
+  }
+
+  private final class Subscriber {
+
+    private final UUID simulationId;
+    private final SseEmitter emitter;
+    private final BlockingQueue<SimulationLogEntity> pending = new ArrayBlockingQueue<>(queueCapacity);
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean dropped = new AtomicBoolean();
+    private volatile long sendingSince;
+
+    private Subscriber(UUID simulationId, SseEmitter emitter) {
+      this.simulationId = simulationId;
+      this.emitter = emitter;
+    }
+
+    private boolean isStalled() {
+      long since = sendingSince;
+      return since != 0 && System.currentTimeMillis() - since > sendTimeoutMs;
+    }
+  }
+}
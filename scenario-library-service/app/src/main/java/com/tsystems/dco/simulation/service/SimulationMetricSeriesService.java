@@ -0,0 +1,178 @@
+/*
+ *   ========================================================================
+ *  SDV Developer Console
+ *
+ *   Copyright (C) 2022 - 2023 T-Systems International GmbH
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *   SPDX-License-Identifier: Apache-2.0
+ *
+ *   ========================================================================
+ */
+
+package com.tsystems.dco.simulation.service;
+
+import com.tsystems.dco.exception.DataNotFoundException;
+import com.tsystems.dco.simulation.dto.MetricSeriesDTO;
+import com.tsystems.dco.simulation.repository.SimulationMetricSeriesRepository;
+import com.tsystems.dco.simulation.repository.SimulationRepository;
+import com.tsystems.dco.util.Lttb;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Downsamples the values of a simulation metric to a number of points a chart can render, either
+ * as min/max/avg/last aggregates per time bucket computed in the database or as an LTTB selection
+ * of the raw points.
+ */
+@Service
+public class SimulationMetricSeriesService {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(SimulationMetricSeriesService.class);
+  private static final int MIN_POINTS = 3;
+
+  private final SimulationMetricSeriesRepository seriesRepository;
+  private final SimulationRepository simulationRepository;
+  private final int maxPoints;
+  private final long lttbMaxRawPoints;
+
+  public SimulationMetricSeriesService(SimulationMetricSeriesRepository seriesRepository,
+                                       SimulationRepository simulationRepository,
+                                       @Value("${simulation.metrics.series.max-points:5000}") int maxPoints,
+                                       @Value("${simulation.metrics.series.lttb-max-raw-points:1000000}") long lttbMaxRawPoints) {
+    this.seriesRepository = seriesRepository;
+    this.simulationRepository = simulationRepository;
+    this.maxPoints = maxPoints;
+    this.lttbMaxRawPoints = lttbMaxRawPoints;
+  }
+
+  /**
+   * @param simulationId
+   * @param metricName
+   * @param from         start of the range, the first value when null
+   * @param to           end of the range, the last value when null
+   * @param points       target number of points
+   * @param mode         BUCKET aggregates or LTTB samples
+   * @return MetricSeriesDTO
+   */
+  @Transactional(readOnly = true)
+  public MetricSeriesDTO getSeries(UUID simulationId, String metricName, Instant from, Instant to, int points,
+                                   MetricSeriesDTO.Mode mode) {
+    if (!simulationRepository.existsById(simulationId)) {
+      throw new DataNotFoundException(HttpStatus.NOT_FOUND, "Simulation not found with id: " + simulationId);
+    }
+    if (from != null && to != null && to.isBefore(from)) {
+      throw new DataNotFoundException(HttpStatus.BAD_REQUEST, "Invalid range, 'to' is before 'from'");
+    }
+    int target = Math.max(MIN_POINTS, Math.min(points, maxPoints));
+    if (from == null || to == null) {
+      SimulationMetricSeriesRepository.SeriesRange range = seriesRepository.findRange(simulationId, metricName);
+      if (range.count() == 0) {
+        return emptySeries(metricName, mode, from, to);
+      }
+      from = from != null ? from : range.from();
+      to = to != null ? to : range.to();
+    }
+    if (mode == MetricSeriesDTO.Mode.LTTB) {
+      long rawPoints = seriesRepository.count(simulationId, metricName, from, to);
+      if (rawPoints <= lttbMaxRawPoints) {
+        return lttbSeries(simulationId, metricName, from, to, target, (int) rawPoints);
+      }
+      LOGGER.warn("{} raw points of metric {} exceed the LTTB limit, using buckets", rawPoints, metricName);
+    }
+    return bucketSeries(simulationId, metricName, from, to, target);
+  }
+
+  private MetricSeriesDTO bucketSeries(UUID simulationId, String metricName, Instant from, Instant to, int target) {
+    long bucketWidthMs = Math.max(1, (to.toEpochMilli() - from.toEpochMilli()) / target + 1);
+    List<MetricSeriesDTO.Point> buckets = seriesRepository.findBuckets(simulationId, metricName, from, to, bucketWidthMs);
+    long rawPoints = buckets.stream().mapToLong(MetricSeriesDTO.Point::getCount).sum();
+    return MetricSeriesDTO.builder()
+      .metricName(metricName)
+      .mode(MetricSeriesDTO.Mode.BUCKET)
+      .from(from)
+      .to(to)
+      .bucketWidthMs(bucketWidthMs)
+      .rawPoints(rawPoints)
+      .points(buckets)
+      .build();
+  }
+
+  private MetricSeriesDTO lttbSeries(UUID simulationId, String metricName, Instant from, Instant to, int target,
+                                     int expectedPoints) {
+    RawSeries raw = new RawSeries(expectedPoints);
+    seriesRepository.streamPoints(simulationId, metricName, from, to, raw::add);
+    int[] kept = Lttb.downsample(raw.times, raw.values, raw.length, target);
+    List<MetricSeriesDTO.Point> sampled = new ArrayList<>(kept.length);
+    for (int index : kept) {
+      sampled.add(MetricSeriesDTO.Point.builder()
+        .timestamp(Instant.ofEpochMilli(raw.times[index]))
+        .value(raw.values[index])
+        .build());
+    }
+    return MetricSeriesDTO.builder()
+      .metricName(metricName)
+      .mode(MetricSeriesDTO.Mode.LTTB)
+      .from(from)
+      .to(to)
+      .rawPoints((long) raw.length)
+      .points(sampled)
+      .build();
+  }
+
+  private static MetricSeriesDTO emptySeries(String metricName, MetricSeriesDTO.Mode mode, Instant from, Instant to) {
+    return MetricSeriesDTO.builder()
+      .metricName(metricName)
+      .mode(mode)
+      .from(from)
+      .to(to)
+      .rawPoints(0L)
+      .points(List.of())
+      .build();
+  }
+
+  /**
+   * Raw points in primitive arrays, growing when rows were added after counting
+   */
+  private static final class RawSeries {
+    private long[] times;
+    private double[] values;
+    private int length;
+
+    private RawSeries(int capacity) {
+      times = new long[Math.max(capacity, 16)];
+      values = new double[times.length];
+    }
+
+    private void add(long epochMillis, double value) {
+      if (length == times.length) {
+        times = Arrays.copyOf(times, length * 2);
+        values = Arrays.copyOf(values, length * 2);
+      }
+      times[length] = epochMillis;
+      values[length] = value;
+      length++;
+    }
+  }
+}
@@ -0,0 +1,102 @@
+/*
+ *   ========================================================================
+ *  SDV Developer Console
+ *
+ *   Copyright (C) 2022 - 2023 T-Systems International GmbH
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *   SPDX-License-Identifier: Apache-2.0
+ *
+ *   ========================================================================
+ */
+
+package com.tsystems.dco.simulation.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tsystems.dco.common.config.RabbitMQConfig;
+import com.tsystems.dco.simulation.entity.SimulationMetricEntity;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.MessageBuilder;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streams stored simulation metrics to the sdv.events exchange, so the evaluation service can judge
+ * a simulation while it is still running. Publishing failures are logged and never affect ingestion.
+ */
+@Service
+@RequiredArgsConstructor
+public class SimulationMetricStreamPublisher {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(SimulationMetricStreamPublisher.class);
+
+  private final RabbitTemplate rabbitTemplate;
+  private final ObjectMapper objectMapper;
+
+  @Value("${simulation.metrics.stream.enabled:true}")
+  private boolean enabled;
+
+  /**
+   * Publish metrics once the transaction storing them has committed
+   *
+   * @param event
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onMetricsAdded(SimulationMetricsAddedEvent event) {
+    if (!enabled || event.metrics().isEmpty()) {
+      return;
+    }
+    try {
+      byte[] body = objectMapper.writeValueAsBytes(toMessage(event));
+      rabbitTemplate.send(RabbitMQConfig.SDV_EVENTS_EXCHANGE, RabbitMQConfig.SIMULATION_METRICS_RECORDED_KEY,
+        MessageBuilder.withBody(body).setContentType(MessageProperties.CONTENT_TYPE_JSON).build());
+      LOGGER.debug("Streamed {} metrics of simulation {}", event.metrics().size(), event.simulationId());
+    } catch (JsonProcessingException | RuntimeException e) {
+      LOGGER.warn("Failed to stream metrics of simulation {}: {}", event.simulationId(), e.getMessage());
+    }
+  }
+
+  /**
+   * @param event
+   * @return message body, values as numbers and timestamps as epoch milliseconds
+   */
+  Map<String, Object> toMessage(SimulationMetricsAddedEvent event) {
+    List<Map<String, Object>> metrics = new ArrayList<>(event.metrics().size());
+    for (SimulationMetricEntity metric : event.metrics()) {
+      if (metric.getMetricValue() == null) {
+        continue;
+      }
+      Map<String, Object> sample = new LinkedHashMap<>();
+      sample.put("name", metric.getMetricName());
+      sample.put("value", metric.getMetricValue().doubleValue());
+      sample.put("recordedAt", metric.getRecordedAt() == null ? null : metric.getRecordedAt().toEpochMilli());
+      metrics.add(sample);
+    }
+    Map<String, Object> message = new LinkedHashMap<>();
+    message.put("simulationId", event.simulationId().toString());
+    message.put("metrics", metrics);
+    return message;
+  }
+}
@@ -26,6 +26,7 @@ package com.tsystems.dco.simulation.service;
 import com.tsystems.dco.simulation.entity.SimulationLogEntity;
 import com.tsystems.dco.simulation.entity.SimulationMetricEntity;
 import com.tsystems.dco.simulation.entity.SimulationResultEntity;
+import com.tsystems.dco.util.KeysetPage;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -53,10 +54,14 @@ public interface SimulationResultService {
   // Log management
   SimulationLogEntity addLog(UUID simulationId, SimulationLogEntity.LogLevel level, 
                             String message, String component);
+
+  int addLogs(UUID simulationId, List<SimulationLogEntity> logs);
   
   List<SimulationLogEntity> getLogsBySimulation(UUID simulationId);
   
   Page<SimulationLogEntity> getLogsBySimulation(UUID simulationId, Pageable pageable);
+
+  KeysetPage<SimulationLogEntity> getLogsBySimulation(UUID simulationId, String cursor, int size, boolean withTotal);
   
   List<SimulationLogEntity> getLogsByLevel(UUID simulationId, SimulationLogEntity.LogLevel level);
   
@@ -67,8 +72,12 @@ public interface SimulationResultService {
   // Metric management
   SimulationMetricEntity addMetric(UUID simulationId, String metricName, BigDecimal value, 
                                   String unit, SimulationMetricEntity.MetricCategory category);
+
+  int addMetrics(UUID simulationId, List<SimulationMetricEntity> metrics);
   
   List<SimulationMetricEntity> getMetricsBySimulation(UUID simulationId);
+
+  KeysetPage<SimulationMetricEntity> getMetricsBySimulation(UUID simulationId, String cursor, int size, boolean withTotal);
   
   List<SimulationMetricEntity> getMetricsByCategory(UUID simulationId, SimulationMetricEntity.MetricCategory category);
   
@@ -23,18 +23,25 @@
 
 package com.tsystems.dco.simulation.service;
 
+import com.tsystems.dco.exception.DataNotFoundException;
 import com.tsystems.dco.simulation.entity.SimulationLogEntity;
 import com.tsystems.dco.simulation.entity.SimulationMetricEntity;
 import com.tsystems.dco.simulation.entity.SimulationResultEntity;
 import com.tsystems.dco.simulation.repository.SimulationLogRepository;
 import com.tsystems.dco.simulation.repository.SimulationMetricRepository;
 import com.tsystems.dco.simulation.repository.SimulationRepository;
+import com.tsystems.dco.simulation.repository.SimulationResultBatchRepository;
 import com.tsystems.dco.simulation.repository.SimulationResultRepository;
+import com.tsystems.dco.util.KeysetCursor;
+import com.tsystems.dco.util.KeysetPage;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -55,6 +62,8 @@ public class SimulationResultServiceImpl implements SimulationResultService {
   private final SimulationLogRepository logRepository;
   private final SimulationMetricRepository metricRepository;
   private final SimulationRepository simulationRepository;
+  private final SimulationResultBatchRepository batchRepository;
+  private final ApplicationEventPublisher applicationEventPublisher;
 
   @Override
   public SimulationResultEntity saveResult(UUID simulationId, SimulationResultEntity.ResultType resultType,
@@ -136,7 +145,25 @@ public class SimulationResultServiceImpl implements SimulationResultService {
       .timestampLog(Instant.now())
       .build();
     
-    return logRepository.save(log);
+    SimulationLogEntity saved = logRepository.save(log);
+    applicationEventPublisher.publishEvent(new SimulationLogsAddedEvent(simulationId, List.of(saved)));
+    return saved;
+  }
+
+  @Override
+  public int addLogs(UUID simulationId, List<SimulationLogEntity> logs) {
+    if (logs == null || logs.isEmpty()) {
+      return 0;
+    }
+    checkSimulationExists(simulationId);
+    for (int i = 0; i < logs.size(); i++) {
+      checkRequired(logs.get(i) != null && logs.get(i).getMessage() != null, "Log " + i + " has no message");
+    }
+    logs.forEach(log -> log.setSimulationId(simulationId));
+    int inserted = batchRepository.insertLogs(logs);
+    applicationEventPublisher.publishEvent(new SimulationLogsAddedEvent(simulationId, logs));
+    LOGGER.debug("Added {} logs for simulation {}", inserted, simulationId);
+    return inserted;
   }
 
   @Override
@@ -151,6 +178,19 @@ public class SimulationResultServiceImpl implements SimulationResultService {
     return logRepository.findBySimulationIdOrderByTimestampLogDesc(simulationId, pageable);
   }
 
+  @Override
+  @Transactional(readOnly = true)
+  public KeysetPage<SimulationLogEntity> getLogsBySimulation(UUID simulationId, String cursor, int size, boolean withTotal) {
+    KeysetPage.checkSize(size);
+    KeysetCursor keysetCursor = KeysetCursor.decode(cursor);
+    Pageable limit = PageRequest.of(0, size + 1);
+    List<SimulationLogEntity> rows = keysetCursor == null
+      ? logRepository.findBySimulationIdAndTimestampLogNotNullOrderByTimestampLogDescIdDesc(simulationId, limit)
+      : logRepository.findLogsBefore(simulationId, keysetCursor.timestamp(), keysetCursor.id(), limit);
+    return KeysetPage.of(rows, size, log -> new KeysetCursor(log.getTimestampLog(), log.getId()),
+      withTotal ? logRepository.countBySimulationIdAndTimestampLogNotNull(simulationId) : null);
+  }
+
   @Override
   @Transactional(readOnly = true)
   public List<SimulationLogEntity> getLogsByLevel(UUID simulationId, SimulationLogEntity.LogLevel level) {
@@ -183,7 +223,25 @@ public class SimulationResultServiceImpl implements SimulationResultService {
       .recordedAt(Instant.now())
       .build();
     
-    return metricRepository.save(metric);
+    SimulationMetricEntity saved = metricRepository.save(metric);
+    applicationEventPublisher.publishEvent(new SimulationMetricsAddedEvent(simulationId, List.of(saved)));
+    return saved;
+  }
+
+  @Override
+  public int addMetrics(UUID simulationId, List<SimulationMetricEntity> metrics) {
+    if (metrics == null || metrics.isEmpty()) {
+      return 0;
+    }
+    checkSimulationExists(simulationId);
+    for (int i = 0; i < metrics.size(); i++) {
+      checkRequired(metrics.get(i) != null && metrics.get(i).getMetricName() != null, "Metric " + i + " has no name");
+    }
+    metrics.forEach(metric -> metric.setSimulationId(simulationId));
+    int inserted = batchRepository.insertMetrics(metrics);
+    applicationEventPublisher.publishEvent(new SimulationMetricsAddedEvent(simulationId, metrics));
+    LOGGER.debug("Added {} metrics for simulation {}", inserted, simulationId);
+    return inserted;
   }
 
   @Override
@@ -192,6 +250,19 @@ public class SimulationResultServiceImpl implements SimulationResultService {
     return metricRepository.findBySimulationIdOrderByRecordedAtDesc(simulationId);
   }
 
+  @Override
+  @Transactional(readOnly = true)
+  public KeysetPage<SimulationMetricEntity> getMetricsBySimulation(UUID simulationId, String cursor, int size, boolean withTotal) {
+    KeysetPage.checkSize(size);
+    KeysetCursor keysetCursor = KeysetCursor.decode(cursor);
+    Pageable limit = PageRequest.of(0, size + 1);
+    List<SimulationMetricEntity> rows = keysetCursor == null
+      ? metricRepository.findBySimulationIdAndRecordedAtNotNullOrderByRecordedAtDescIdDesc(simulationId, limit)
+      : metricRepository.findMetricsBefore(simulationId, keysetCursor.timestamp(), keysetCursor.id(), limit);
+    return KeysetPage.of(rows, size, metric -> new KeysetCursor(metric.getRecordedAt(), metric.getId()),
+      withTotal ? metricRepository.countBySimulationIdAndRecordedAtNotNull(simulationId) : null);
+  }
+
   @Override
   @Transactional(readOnly = true)
   public List<SimulationMetricEntity> getMetricsByCategory(UUID simulationId, SimulationMetricEntity.MetricCategory category) {
@@ -229,7 +300,9 @@ public class SimulationResultServiceImpl implements SimulationResultService {
   public void completeSimulation(UUID simulationId, String status, String summary, String errorMessage) {
     LOGGER.info("Completing simulation {} with status {}", simulationId, status);
     
-    simulationRepository.findById(simulationId).ifPresent(simulation -> {
+    // Locked, so of concurrent completions only one sees the simulation without end date
+    simulationRepository.findByIdForUpdate(simulationId).ifPresent(simulation -> {
+      boolean firstCompletion = simulation.getEndDate() == null;
       simulation.setStatus(status);
       simulation.setEndDate(Instant.now());
       simulation.setResultSummary(summary != null ? summary : generateResultSummary(simulationId));
@@ -242,6 +315,24 @@ public class SimulationResultServiceImpl implements SimulationResultService {
       }
       
       simulationRepository.save(simulation);
+
+      // Only the first completion is added to the analytics rollup, once it committed
+      if (firstCompletion) {
+        applicationEventPublisher.publishEvent(
+          new SimulationFinishedEvent(simulationId, status, simulation.getExecutionDuration()));
+      }
     });
   }
+
+  private static void checkRequired(boolean present, String message) {
+    if (!present) {
+      throw new DataNotFoundException(HttpStatus.BAD_REQUEST, message);
+    }
+  }
+
+  private void checkSimulationExists(UUID simulationId) {
+    if (!simulationRepository.existsById(simulationId)) {
+      throw new DataNotFoundException(HttpStatus.NOT_FOUND, "Simulation not found with id: " + simulationId);
+    }
+  }
 }
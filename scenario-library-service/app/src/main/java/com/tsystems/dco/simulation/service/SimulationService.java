@@ -35,5 +35,9 @@ public interface SimulationService {
 
   SimulationPage simulationReadByQuery(String query, String search, Integer page, Integer size, List<String> sort);
 
+  SimulationPage simulationReadByCursor(String query, String search, String cursor, Integer size, boolean withTotal);
+
   boolean isTrackAssociatedWithSimulation(UUID trackId);
+
+  List<UUID> findTracksAssociatedWithSimulation(List<UUID> trackIds);
 }
@@ -32,6 +32,9 @@ import com.tsystems.dco.model.SimulationPage;
 import com.tsystems.dco.scenario.repository.ScenarioRepository;
 import com.tsystems.dco.simulation.entity.SimulationEntity;
 import com.tsystems.dco.simulation.repository.SimulationRepository;
+import com.tsystems.dco.util.KeysetCursor;
+import com.tsystems.dco.util.KeysetPage;
+import com.tsystems.dco.util.KeysetQueryUtil;
 import com.tsystems.dco.util.QueryUtil;
 import feign.FeignException;
 import lombok.RequiredArgsConstructor;
@@ -44,6 +47,9 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -56,9 +62,11 @@ public class SimulationServiceImpl implements SimulationService {
 
   private final SimulationRepository simulationRepository;
   private final TrackRepositoryApiClient trackRepositoryApiClient;
+  private final TrackLookupService trackLookupService;
   private final CampaignService campaignService;
   private final ScenarioRepository scenarioRepository;
   private final SimulationEventPublisher eventPublisher;
+  private final AnalyticsRollupService analyticsRollupService;
 
 
   /**
@@ -77,6 +85,12 @@ public class SimulationServiceImpl implements SimulationService {
     simulationEntity.setCampaignId(campaign.getId());
     simulationEntity.setStatus(campaign.getStatus());
     SimulationEntity simulation = simulationRepository.save(simulationEntity);
+
+    try {
+      analyticsRollupService.recordLaunch(simulation.getId());
+    } catch (Exception e) {
+      LOGGER.warn("Failed to update analytics rollup for simulation {}: {}", simulation.getId(), e.getMessage());
+    }
     
     // Publish simulation started event
     try {
@@ -132,11 +146,61 @@ public class SimulationServiceImpl implements SimulationService {
     var specs = SimulationQueryUtil.getSimulationQuerySpecification(query, search);
     var queried = simulationRepository.findAll(specs, pageable);
 
+    return new SimulationPage()
+      .empty(queried.isEmpty())
+      .first(queried.isFirst())
+      .last(queried.isLast())
+      .page(queried.getNumber())
+      .size(queried.getSize())
+      .pages(queried.getTotalPages())
+      .elements(queried.getNumberOfElements())
+      .total(queried.getTotalElements())
+      .content(toSimulations(queried.getContent()));
+  }
+
+  /**
+   * @param query
+   * @param search
+   * @param cursor    nextCursor of the previous page, blank for the first page
+   * @param size
+   * @param withTotal
+   * @return SimulationPage
+   */
+  @Override
+  public SimulationPage simulationReadByCursor(String query, String search, String cursor, Integer size, boolean withTotal) {
+    int pageSize = KeysetPage.checkSize(Optional.ofNullable(size).orElse(QueryUtil.PAGEABLE_DEFAULT_SIZE));
+    var keysetCursor = KeysetCursor.decode(cursor);
+    var specs = SimulationQueryUtil.getSimulationQuerySpecification(query, search);
+    var rows = simulationRepository.findAfter(specs, keysetCursor, pageSize + 1);
+    var queried = KeysetPage.of(rows, pageSize, simulation -> new KeysetCursor(simulation.getCreatedAt(), simulation.getId()),
+      withTotal ? simulationRepository.count(KeysetQueryUtil.positioned(specs)) : null);
+
+    return new SimulationPage()
+      .empty(queried.content().isEmpty())
+      .first(keysetCursor == null)
+      .last(!queried.hasNext())
+      .size(pageSize)
+      .elements(queried.content().size())
+      .total(queried.total())
+      .nextCursor(queried.nextCursor())
+      .content(toSimulations(queried.content()));
+  }
+
+  /**
+   * @param simulationEntities
+   * @return List of Simulation
+   */
+  private List<Simulation> toSimulations(List<SimulationEntity> simulationEntities) {
     List<Simulation> simulations = new ArrayList<>();
-    List<SimulationEntity> simulationEntities = queried.getContent();
+    //resolve the tracks of the whole page with a single call
+    Set<UUID> pageTrackIds = simulationEntities.stream()
+      .map(SimulationEntity::getTracks)
+      .filter(Objects::nonNull)
+      .flatMap(List::stream)
+      .collect(Collectors.toSet());
+    Map<UUID, Track> tracksById = pageTrackIds.isEmpty() ? Map.of() : trackLookupService.findTracksByIds(pageTrackIds);
     simulationEntities.forEach(simulation -> {
-      List<UUID> trackIds = simulation.getTracks();
-      List<Track> tracks = trackRepositoryApiClient.findTrackByIds(trackIds).getBody();
+      List<Track> tracks = getTracks(simulation, tracksById);
       IntStream vehicleStream = tracks.stream().mapToInt(v -> v.getVehicles().size());
       List<String> brands = tracks.stream().flatMap(track -> track.getVehicles().stream().map(VehicleResponse::getBrand)).collect(Collectors.toList());
       Simulation sim = Simulation.builder().id(simulation.getId())
@@ -145,7 +209,7 @@ public class SimulationServiceImpl implements SimulationService {
         .environment(simulation.getEnvironment())
         .scenarioType(simulation.getScenarioType())
         .startDate(simulation.getStartDate())
-        .status(campaignService.checkStatus(simulation.getCampaignId(), simulation.getId(), simulation.getName()).getStatus())
+        .status(simulation.getStatus())
         .noOfVehicle(vehicleStream.sum())
         .brands(brands)
         .hardware(simulation.getHardware())
@@ -155,17 +219,23 @@ public class SimulationServiceImpl implements SimulationService {
         .build();
       simulations.add(sim);
     });
+    return simulations;
+  }
 
-    return new SimulationPage()
-      .empty(queried.isEmpty())
-      .first(queried.isFirst())
-      .last(queried.isLast())
-      .page(queried.getNumber())
-      .size(queried.getSize())
-      .pages(queried.getTotalPages())
-      .elements(queried.getNumberOfElements())
-      .total(queried.getTotalElements())
-      .content(simulations);
+  /**
+   * @param simulation
+   * @param tracksById
+   * @return List
+   */
+  private List<Track> getTracks(SimulationEntity simulation, Map<UUID, Track> tracksById) {
+    if (simulation.getTracks() == null) {
+      return List.of();
+    }
+    return simulation.getTracks().stream()
+      .distinct()
+      .map(tracksById::get)
+      .filter(track -> track != null && track.getVehicles() != null)
+      .collect(Collectors.toList());
   }
 
   /**
@@ -174,10 +244,19 @@ public class SimulationServiceImpl implements SimulationService {
    */
   @Override
   public boolean isTrackAssociatedWithSimulation(UUID trackId) {
-    List<SimulationEntity> simulationEntities = simulationRepository.findAll();
-    List<SimulationEntity> matchedData = simulationEntities.stream().filter(sim -> sim.getTracks().stream()
-      .anyMatch(t -> t.equals(trackId))).collect(Collectors.toList());
-    return !matchedData.isEmpty();
+    return simulationRepository.existsByTrackId(trackId);
+  }
+
+  /**
+   * @param trackIds
+   * @return List of the given track ids used by at least one simulation
+   */
+  @Override
+  public List<UUID> findTracksAssociatedWithSimulation(List<UUID> trackIds) {
+    if (trackIds == null || trackIds.isEmpty()) {
+      return List.of();
+    }
+    return simulationRepository.findAssociatedTrackIds(trackIds);
   }
 
 }
@@ -0,0 +1,93 @@
+/*
+ *   ========================================================================
+ *  SDV Developer Console
+ *
+ *   Copyright (C) 2022 - 2023 T-Systems International GmbH
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *   SPDX-License-Identifier: Apache-2.0
+ *
+ *   ========================================================================
+ */
+
+package com.tsystems.dco.simulation.service;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.tsystems.dco.integration.Track;
+import com.tsystems.dco.integration.TrackRepositoryApiClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Resolves tracks from tracks-management-service for a whole page of simulations at once,
+ * keeping recently fetched tracks in a short-lived cache keyed by track id.
+ */
+@Service
+public class TrackLookupService {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(TrackLookupService.class);
+
+  private final TrackRepositoryApiClient trackRepositoryApiClient;
+  private final Cache<UUID, Track> trackCache;
+
+  public TrackLookupService(TrackRepositoryApiClient trackRepositoryApiClient,
+                            @Value("${track-service.cache.ttl-seconds:30}") long ttlSeconds,
+                            @Value("${track-service.cache.max-size:1000}") long maxSize) {
+    this.trackRepositoryApiClient = trackRepositoryApiClient;
+    this.trackCache = CacheBuilder.newBuilder()
+      .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+      .maximumSize(maxSize)
+      .build();
+  }
+
+  /**
+   * @param trackIds
+   * @return Map of track id to track, unknown ids are absent
+   */
+  public Map<UUID, Track> findTracksByIds(Collection<UUID> trackIds) {
+    Map<UUID, Track> tracks = new HashMap<>();
+    List<UUID> missing = new ArrayList<>();
+    for (UUID trackId : new LinkedHashSet<>(trackIds)) {
+      Track cached = trackCache.getIfPresent(trackId);
+      if (cached != null) {
+        tracks.put(trackId, cached);
+      } else {
+        missing.add(trackId);
+      }
+    }
+    if (!missing.isEmpty()) {
+      LOGGER.debug("fetching {} tracks, {} served from cache", missing.size(), tracks.size());
+      List<Track> fetched = trackRepositoryApiClient.findTrackByIds(missing).getBody();
+      if (fetched != null) {
+        fetched.forEach(track -> {
+          trackCache.put(track.getId(), track);
+          tracks.put(track.getId(), track);
+        });
+      }
+    }
+    return tracks;
+  }
+}
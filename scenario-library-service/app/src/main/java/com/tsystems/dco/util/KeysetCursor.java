@@ -0,0 +1,69 @@
+/*
+ *   ========================================================================
+ *  SDV Developer Console
+ *
+ *   Copyright (C) 2022 - 2023 T-Systems International GmbH
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *   SPDX-License-Identifier: Apache-2.0
+ *
+ *   ========================================================================
+ */
+
+package com.tsystems.dco.util;
+
+import com.tsystems.dco.exception.DataNotFoundException;
+import org.springframework.http.HttpStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position of the last row of a keyset page, ordered by a timestamp and the row id as tie breaker.
+ * Clients receive it as an opaque, url safe string.
+ *
+ * @param timestamp timestamp of the last row
+ * @param id        id of the last row
+ */
+public record KeysetCursor(Instant timestamp, UUID id) {
+
+  private static final String SEPARATOR = ":";
+
+  /**
+   * @return String
+   */
+  public String encode() {
+    String raw = timestamp.getEpochSecond() + SEPARATOR + timestamp.getNano() + SEPARATOR + id;
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * @param cursor encoded cursor, blank for the first page
+   * @return KeysetCursor or null for the first page
+   */
+  public static KeysetCursor decode(String cursor) {
+    if (cursor == null || cursor.isBlank()) {
+      return null;
+    }
+    try {
+      String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(SEPARATOR);
+      return new KeysetCursor(Instant.ofEpochSecond(Long.parseLong(parts[0]), Long.parseLong(parts[1])),
+        UUID.fromString(parts[2]));
+    } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+      throw new DataNotFoundException(HttpStatus.BAD_REQUEST, "Invalid cursor: " + cursor);
+    }
+  }
+}
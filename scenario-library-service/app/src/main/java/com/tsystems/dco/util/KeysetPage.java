@@ -0,0 +1,82 @@
+/*
+ *   ========================================================================
+ *  SDV Developer Console
+ *
+ *   Copyright (C) 2022 - 2023 T-Systems International GmbH
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *   SPDX-License-Identifier: Apache-2.0
+ *
+ *   ========================================================================
+ */
+
+package com.tsystems.dco.util;
+
+import com.tsystems.dco.exception.DataNotFoundException;
+import org.springframework.http.HttpStatus;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset (cursor) pagination. The total is only present when it was requested.
+ *
+ * @param content    rows of the page
+ * @param size       requested page size
+ * @param nextCursor cursor of the following page, null on the last page
+ * @param total      total number of rows or null
+ * @param <T>        row type
+ */
+public record KeysetPage<T>(List<T> content, int size, String nextCursor, Long total) {
+
+  public static final int MAX_SIZE = 1000;
+
+  /**
+   * Check a requested page size before fetching size + 1 rows.
+   *
+   * @param size requested page size
+   * @return size
+   * @throws DataNotFoundException with status bad request when size is not between 1 and {@link #MAX_SIZE}
+   */
+  public static int checkSize(int size) {
+    if (size < 1 || size > MAX_SIZE) {
+      throw new DataNotFoundException(HttpStatus.BAD_REQUEST,
+        "Invalid page size " + size + ", must be between 1 and " + MAX_SIZE);
+    }
+    return size;
+  }
+
+  /**
+   * @param rows      rows fetched with a limit of size + 1
+   * @param size      requested page size
+   * @param cursorOf  cursor of a row
+   * @param total     total number of rows or null
+   * @param <T>       row type
+   * @return KeysetPage
+   */
+  public static <T> KeysetPage<T> of(List<T> rows, int size, Function<T, KeysetCursor> cursorOf, Long total) {
+    if (rows.size() <= size) {
+      return new KeysetPage<>(rows, size, null, total);
+    }
+    List<T> content = rows.subList(0, size);
+    return new KeysetPage<>(content, size, cursorOf.apply(content.get(size - 1)).encode(), total);
+  }
+
+  /**
+   * @return true when a following page exists
+   */
+  public boolean hasNext() {
+    return nextCursor != null;
+  }
+}
@@ -0,0 +1,97 @@
+/*
+ *   ========================================================================
+ *  SDV Developer Console
+ *
+ *   Copyright (C) 2022 - 2023 T-Systems International GmbH
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *   SPDX-License-Identifier: Apache-2.0
+ *
+ *   ========================================================================
+ */
+
+package com.tsystems.dco.util;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+public class KeysetQueryUtil {
+
+  private KeysetQueryUtil() {
+  }
+
+  private static final String CREATED_AT = "createdAt";
+  private static final String ID = "id";
+
+  /**
+   * Rows matching the specification that follow the cursor in (createdAt, id) order, without
+   * OFFSET and without a count query. Rows without createdAt can't be positioned and are skipped.
+   *
+   * @param entityManager
+   * @param type          entity type with createdAt and id attributes
+   * @param specification filter, may be null
+   * @param cursor        position of the previous page or null for the first page
+   * @param limit         maximum number of rows
+   * @param <T>           entity type
+   * @return List of entities
+   */
+  public static <T> List<T> findAfter(EntityManager entityManager, Class<T> type, Specification<T> specification,
+                                      KeysetCursor cursor, int limit) {
+    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+    CriteriaQuery<T> query = cb.createQuery(type);
+    Root<T> root = query.from(type);
+    Path<Instant> createdAt = root.get(CREATED_AT);
+    Path<UUID> id = root.get(ID);
+
+    List<Predicate> predicates = new ArrayList<>();
+    if (specification != null) {
+      Predicate predicate = specification.toPredicate(root, query, cb);
+      if (predicate != null) {
+        predicates.add(predicate);
+      }
+    }
+    predicates.add(cb.isNotNull(createdAt));
+    if (cursor != null) {
+      predicates.add(cb.or(
+        cb.greaterThan(createdAt, cursor.timestamp()),
+        cb.and(cb.equal(createdAt, cursor.timestamp()), cb.greaterThan(id, cursor.id()))));
+    }
+    query.select(root)
+      .where(predicates.toArray(Predicate[]::new))
+      .orderBy(cb.asc(createdAt), cb.asc(id));
+    return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+  }
+
+  /**
+   * Restrict a specification to the rows {@link #findAfter} can page through, for counting the total.
+   *
+   * @param specification filter, may be null
+   * @param <T>           entity type with a createdAt attribute
+   * @return Specification
+   */
+  public static <T> Specification<T> positioned(Specification<T> specification) {
+    Specification<T> hasCreatedAt = (root, query, cb) -> cb.isNotNull(root.get(CREATED_AT));
+    return specification == null ? hasCreatedAt : specification.and(hasCreatedAt);
+  }
+}
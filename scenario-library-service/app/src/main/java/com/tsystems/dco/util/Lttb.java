@@ -0,0 +1,85 @@
+/*
+ *   ========================================================================
+ *  SDV Developer Console
+ *
+ *   Copyright (C) 2022 - 2023 T-Systems International GmbH
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *   SPDX-License-Identifier: Apache-2.0
+ *
+ *   ========================================================================
+ */
+
+package com.tsystems.dco.util;
+
+/**
+ * Largest-Triangle-Three-Buckets downsampling of a time series. Keeps the first and the last
+ * point and, for every bucket in between, the point spanning the largest triangle with the point
+ * kept in the previous bucket and the average of the next bucket, which preserves the visual shape.
+ */
+public final class Lttb {
+
+  private Lttb() {
+  }
+
+  /**
+   * @param x         x values in ascending order
+   * @param y         y values
+   * @param length    number of valid values in x and y
+   * @param threshold number of points to keep, all points are kept below 3
+   * @return int[] indices of the kept points in ascending order
+   */
+  public static int[] downsample(long[] x, double[] y, int length, int threshold) {
+    if (threshold >= length || threshold < 3) {
+      int[] all = new int[length];
+      for (int i = 0; i < length; i++) {
+        all[i] = i;
+      }
+      return all;
+    }
+    int[] sampled = new int[threshold];
+    double every = (double) (length - 2) / (threshold - 2);
+    int a = 0;
+    sampled[0] = 0;
+    for (int i = 0; i < threshold - 2; i++) {
+      int nextStart = (int) Math.floor((i + 1) * every) + 1;
+      int nextEnd = Math.min((int) Math.floor((i + 2) * every) + 1, length);
+      double avgX = 0;
+      double avgY = 0;
+      for (int j = nextStart; j < nextEnd; j++) {
+        avgX += x[j];
+        avgY += y[j];
+      }
+      int nextLength = nextEnd - nextStart;
+      avgX /= nextLength;
+      avgY /= nextLength;
+
+      int start = (int) Math.floor(i * every) + 1;
+      int end = (int) Math.floor((i + 1) * every) + 1;
+      double maxArea = -1;
+      int maxIndex = start;
+      for (int j = start; j < end; j++) {
+        double area = Math.abs((x[a] - avgX) * (y[j] - y[a]) - (x[a] - x[j]) * (avgY - y[a]));
+        if (area > maxArea) {
+          maxArea = area;
+          maxIndex = j;
+        }
+      }
+      sampled[i + 1] = maxIndex;
+      a = maxIndex;
+    }
+    sampled[threshold - 1] = length - 1;
+    return sampled;
+  }
+}
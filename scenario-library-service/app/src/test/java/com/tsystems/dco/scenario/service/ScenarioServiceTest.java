@@ -32,7 +32,6 @@ import com.tsystems.dco.model.Scenario;
 import com.tsystems.dco.model.ScenarioPage;
 import com.tsystems.dco.scenario.entity.ScenarioEntity;
 import com.tsystems.dco.scenario.repository.ScenarioRepository;
-import com.tsystems.dco.simulation.entity.SimulationEntity;
 import com.tsystems.dco.simulation.repository.SimulationRepository;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -45,8 +44,6 @@ import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.util.Arrays;
-import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -110,11 +107,11 @@ class ScenarioServiceTest {
     UUID uuid = UUID.randomUUID();
     ScenarioEntity scenarioEntity = ScenarioEntity.builder().name(TEST).description(TEST).createdBy(TEST).build();
     given(scenarioRepository.findById(uuid)).willReturn(Optional.of(scenarioEntity));
-    List<UUID> scenarioIds = Arrays.asList(UUID.randomUUID(), uuid);
-    List<SimulationEntity> simulationEntities = Arrays.asList(SimulationEntity.builder().id(UUID.randomUUID()).scenarios(scenarioIds).build());
-    given(simulationRepository.findAll()).willReturn(simulationEntities);
+    scenarioEntity.setId(uuid);
+    given(simulationRepository.existsByScenarioId(uuid)).willReturn(false);
     scenarioService.deleteScenarioById(uuid);
     verify(scenarioRepository).findById(any());
+    verify(simulationRepository).existsByScenarioId(uuid);
   }
 
   @Test
@@ -122,9 +119,7 @@ class ScenarioServiceTest {
     UUID uuid = UUID.randomUUID();
     ScenarioEntity scenarioEntity = ScenarioEntity.builder().name(TEST).id(uuid).createdBy(TEST).build();
     given(scenarioRepository.findById(uuid)).willReturn(Optional.of(scenarioEntity));
-    List<UUID> scenarioIds = Arrays.asList(uuid, UUID.randomUUID());
-    List<SimulationEntity> simulationEntities = Arrays.asList(SimulationEntity.builder().scenarios(scenarioIds).build());
-    given(simulationRepository.findAll()).willReturn(simulationEntities);
+    given(simulationRepository.existsByScenarioId(uuid)).willReturn(true);
     assertThrows(DataDeletionException.class, () -> scenarioService.deleteScenarioById(uuid));
   }
 
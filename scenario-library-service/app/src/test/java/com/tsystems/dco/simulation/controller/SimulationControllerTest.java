@@ -28,6 +28,7 @@ import com.tsystems.dco.App;
 import com.tsystems.dco.model.SimulationInput;
 import com.tsystems.dco.model.SimulationPage;
 import com.tsystems.dco.simulation.service.SimulationService;
+import com.tsystems.dco.util.KeysetCursor;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -37,15 +38,19 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.Instant;
 import java.util.Base64;
+import java.util.List;
 import java.util.UUID;
 
 import static org.mockito.BDDMockito.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
@@ -85,6 +90,19 @@ class SimulationControllerTest {
     verify(simulationService).simulationReadByQuery(any(), any(), any(), any(), any());
   }
 
+  @Test
+  void simulationReadByCursor() throws Exception {
+    given(simulationService.simulationReadByCursor(any(), any(), any(), any(), anyBoolean())).willReturn(new SimulationPage());
+    mockMvc.perform(get("/api/simulation")
+        .param("cursor", new KeysetCursor(Instant.now(), UUID.randomUUID()).encode())
+        .param("size", "20")
+        .header("Authorization", getHeader())
+        .contentType(MediaType.APPLICATION_JSON))
+      .andDo(print())
+      .andExpect(status().isOk()).andReturn().getResponse();
+    verify(simulationService).simulationReadByCursor(any(), any(), any(), any(), anyBoolean());
+  }
+
   @Test
   void isTrackAssociatedWithSimulation() throws Exception {
     given(simulationService.isTrackAssociatedWithSimulation(any())).willReturn(true);
@@ -96,6 +114,22 @@ class SimulationControllerTest {
     verify(simulationService).isTrackAssociatedWithSimulation(any());
   }
 
+  @Test
+  void findTracksAssociatedWithSimulation() throws Exception {
+    UUID uuid = UUID.randomUUID();
+    UUID unused = UUID.randomUUID();
+    given(simulationService.findTracksAssociatedWithSimulation(List.of(uuid, unused))).willReturn(List.of(uuid));
+    mockMvc.perform(get("/api/simulation/tracks")
+        .param("ids", uuid.toString(), unused.toString())
+        .header("Authorization", getHeader())
+        .contentType(MediaType.APPLICATION_JSON))
+      .andDo(print())
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.length()").value(1))
+      .andExpect(jsonPath("$[0]").value(uuid.toString()));
+    verify(simulationService).findTracksAssociatedWithSimulation(List.of(uuid, unused));
+  }
+
   private String getHeader(){
     return "Basic "+ Base64.getEncoder().encodeToString("developer:password".getBytes());
   }
@@ -0,0 +1,96 @@
+/*
+ *   ========================================================================
+ *  SDV Developer Console
+ *
+ *   Copyright (C) 2022 - 2023 T-Systems International GmbH
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *   SPDX-License-Identifier: Apache-2.0
+ *
+ *   ========================================================================
+ */
+
+package com.tsystems.dco.simulation.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SimulationMetricSeriesRepositoryTest {
+
+  private static final int FETCH_SIZE = 250;
+
+  @Mock
+  private JdbcTemplate jdbcTemplate;
+
+  private SimulationMetricSeriesRepository seriesRepository;
+
+  @BeforeEach
+  void setUp() {
+    seriesRepository = new SimulationMetricSeriesRepository(jdbcTemplate, FETCH_SIZE);
+  }
+
+  @Test
+  void streamPointsSetsFetchSizeAndBindsRange() throws SQLException {
+    UUID simulationId = UUID.randomUUID();
+    Instant from = Instant.parse("2026-01-01T00:00:00Z");
+    Instant to = from.plusSeconds(60);
+    List<Double> values = new ArrayList<>();
+
+    seriesRepository.streamPoints(simulationId, "cpu_usage_percent", from, to, (epochMillis, value) -> values.add(value));
+
+    ArgumentCaptor<PreparedStatementCreator> creator = ArgumentCaptor.forClass(PreparedStatementCreator.class);
+    ArgumentCaptor<RowCallbackHandler> handler = ArgumentCaptor.forClass(RowCallbackHandler.class);
+    verify(jdbcTemplate).query(creator.capture(), handler.capture());
+
+    Connection connection = mock(Connection.class);
+    PreparedStatement statement = mock(PreparedStatement.class);
+    when(connection.prepareStatement(startsWith("SELECT recorded_at, metric_value"))).thenReturn(statement);
+    creator.getValue().createPreparedStatement(connection);
+    verify(statement).setFetchSize(FETCH_SIZE);
+    verify(statement).setObject(1, simulationId);
+    verify(statement).setString(2, "cpu_usage_percent");
+    verify(statement).setTimestamp(3, Timestamp.from(from));
+    verify(statement).setTimestamp(4, Timestamp.from(to));
+
+    ResultSet row = mock(ResultSet.class);
+    when(row.getTimestamp(1)).thenReturn(Timestamp.from(from));
+    when(row.getDouble(2)).thenReturn(42.5);
+    handler.getValue().processRow(row);
+    assertEquals(List.of(42.5), values);
+  }
+}
@@ -0,0 +1,126 @@
+/*
+ *   ========================================================================
+ *  SDV Developer Console
+ *
+ *   Copyright (C) 2022 - 2023 T-Systems International GmbH
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *   SPDX-License-Identifier: Apache-2.0
+ *
+ *   ========================================================================
+ */
+
+package com.tsystems.dco.simulation.repository;
+
+import com.tsystems.dco.simulation.entity.SimulationLogEntity;
+import com.tsystems.dco.simulation.entity.SimulationMetricEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class SimulationResultBatchRepositoryTest {
+
+  private static final int BATCH_SIZE = 500;
+
+  @Mock
+  private JdbcTemplate jdbcTemplate;
+
+  private SimulationResultBatchRepository batchRepository;
+
+  @BeforeEach
+  void setUp() {
+    batchRepository = new SimulationResultBatchRepository(jdbcTemplate, BATCH_SIZE);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void insertMetricsInOneBatchUpdate() throws SQLException {
+    UUID simulationId = UUID.randomUUID();
+    Instant recordedAt = Instant.parse("2026-01-01T00:00:00Z");
+    List<SimulationMetricEntity> metrics = List.of(
+      SimulationMetricEntity.builder().simulationId(simulationId).metricName("cpu_usage_percent")
+        .metricValue(BigDecimal.TEN).metricUnit("percent").category(SimulationMetricEntity.MetricCategory.PERFORMANCE)
+        .recordedAt(recordedAt).build(),
+      SimulationMetricEntity.builder().simulationId(simulationId).metricName("memory_usage_mb").build());
+
+    assertEquals(2, batchRepository.insertMetrics(metrics));
+
+    ArgumentCaptor<ParameterizedPreparedStatementSetter<SimulationMetricEntity>> setter =
+      ArgumentCaptor.forClass(ParameterizedPreparedStatementSetter.class);
+    verify(jdbcTemplate).batchUpdate(startsWith("INSERT INTO simulation_metrics"), eq(metrics), eq(BATCH_SIZE),
+      setter.capture());
+    metrics.forEach(metric -> assertNotNull(metric.getId()));
+    assertEquals(recordedAt, metrics.get(0).getRecordedAt());
+    assertNotNull(metrics.get(1).getRecordedAt());
+
+    PreparedStatement first = mock(PreparedStatement.class);
+    setter.getValue().setValues(first, metrics.get(0));
+    verify(first).setObject(1, metrics.get(0).getId());
+    verify(first).setObject(2, simulationId);
+    verify(first).setString(3, "cpu_usage_percent");
+    verify(first).setBigDecimal(4, BigDecimal.TEN);
+    verify(first).setString(6, "PERFORMANCE");
+    verify(first).setTimestamp(7, Timestamp.from(recordedAt));
+
+    PreparedStatement second = mock(PreparedStatement.class);
+    setter.getValue().setValues(second, metrics.get(1));
+    verify(second).setNull(6, Types.VARCHAR);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void insertLogsDefaultsMissingLevelToInfo() throws SQLException {
+    UUID simulationId = UUID.randomUUID();
+    List<SimulationLogEntity> logs = List.of(
+      SimulationLogEntity.builder().simulationId(simulationId).message("started").build());
+
+    assertEquals(1, batchRepository.insertLogs(logs));
+
+    ArgumentCaptor<ParameterizedPreparedStatementSetter<SimulationLogEntity>> setter =
+      ArgumentCaptor.forClass(ParameterizedPreparedStatementSetter.class);
+    verify(jdbcTemplate).batchUpdate(startsWith("INSERT INTO simulation_logs"), eq(logs), eq(BATCH_SIZE),
+      setter.capture());
+    SimulationLogEntity log = logs.get(0);
+    assertNotNull(log.getId());
+    assertNotNull(log.getTimestampLog());
+    assertEquals(SimulationLogEntity.LogLevel.INFO, log.getLogLevel());
+
+    PreparedStatement statement = mock(PreparedStatement.class);
+    setter.getValue().setValues(statement, log);
+    verify(statement).setString(3, "INFO");
+    verify(statement).setString(4, "started");
+  }
+}
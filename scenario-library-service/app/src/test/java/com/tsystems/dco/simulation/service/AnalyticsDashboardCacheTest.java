@@ -0,0 +1,114 @@
+/*
+ *   ========================================================================
+ *  SDV Developer Console
+ *
+ *   Copyright (C) 2022 - 2023 T-Systems International GmbH
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *   SPDX-License-Identifier: Apache-2.0
+ *
+ *   ========================================================================
+ */
+
+package com.tsystems.dco.simulation.service;
+
+import com.tsystems.dco.simulation.dto.AnalyticsDashboardDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class AnalyticsDashboardCacheTest {
+
+  @Mock
+  private AnalyticsService analyticsService;
+
+  private MeterRegistry meterRegistry;
+  private AnalyticsDashboardCache analyticsDashboardCache;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    analyticsDashboardCache = new AnalyticsDashboardCache(analyticsService, meterRegistry, 60);
+  }
+
+  @Test
+  void getDashboardAnalyticsFromCache() {
+    AnalyticsDashboardDTO dashboard = AnalyticsDashboardDTO.builder().build();
+    given(analyticsService.getDashboardAnalytics(30)).willReturn(dashboard);
+
+    assertSame(dashboard, analyticsDashboardCache.getDashboardAnalytics(null));
+    assertSame(dashboard, analyticsDashboardCache.getDashboardAnalytics(30));
+
+    verify(analyticsService, times(1)).getDashboardAnalytics(30);
+    assertEquals(1, meterRegistry.counter("analytics.dashboard.cache", "result", "miss").count());
+    assertEquals(1, meterRegistry.counter("analytics.dashboard.cache", "result", "hit").count());
+    assertEquals(1, meterRegistry.timer("analytics.dashboard.compute").count());
+  }
+
+  @Test
+  void onSimulationFinished() {
+    given(analyticsService.getDashboardAnalytics(7)).willReturn(AnalyticsDashboardDTO.builder().build());
+
+    analyticsDashboardCache.getDashboardAnalytics(7);
+    analyticsDashboardCache.onSimulationFinished(new SimulationFinishedEvent(UUID.randomUUID(), "Done", 42));
+    analyticsDashboardCache.getDashboardAnalytics(7);
+
+    verify(analyticsService, times(2)).getDashboardAnalytics(7);
+  }
+
+  @Test
+  void concurrentMissesShareOneComputation() throws Exception {
+    AnalyticsDashboardDTO dashboard = AnalyticsDashboardDTO.builder().build();
+    CountDownLatch computing = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    given(analyticsService.getDashboardAnalytics(30)).willAnswer(invocation -> {
+      computing.countDown();
+      release.await(5, TimeUnit.SECONDS);
+      return dashboard;
+    });
+
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      Future<AnalyticsDashboardDTO> first = executor.submit(() -> analyticsDashboardCache.getDashboardAnalytics(30));
+      computing.await(5, TimeUnit.SECONDS);
+      Future<AnalyticsDashboardDTO> second = executor.submit(() -> analyticsDashboardCache.getDashboardAnalytics(30));
+      Thread.sleep(100);
+      release.countDown();
+
+      assertSame(dashboard, first.get(5, TimeUnit.SECONDS));
+      assertSame(dashboard, second.get(5, TimeUnit.SECONDS));
+    } finally {
+      executor.shutdownNow();
+    }
+    verify(analyticsService, times(1)).getDashboardAnalytics(30);
+  }
+}
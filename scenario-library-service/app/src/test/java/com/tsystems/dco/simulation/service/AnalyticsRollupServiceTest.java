@@ -0,0 +1,101 @@
+/*
+ *   ========================================================================
+ *  SDV Developer Console
+ *
+ *   Copyright (C) 2022 - 2023 T-Systems International GmbH
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *   SPDX-License-Identifier: Apache-2.0
+ *
+ *   ========================================================================
+ */
+
+package com.tsystems.dco.simulation.service;
+
+import com.tsystems.dco.util.DurationHistogram;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.RETURNS_SELF;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class AnalyticsRollupServiceTest {
+
+  @Mock
+  private EntityManager entityManager;
+
+  @InjectMocks
+  private AnalyticsRollupService analyticsRollupService;
+
+  @Test
+  void recordLaunch() {
+    Query query = mock(Query.class, RETURNS_SELF);
+    given(entityManager.createNativeQuery(anyString())).willReturn(query);
+    UUID simulationId = UUID.randomUUID();
+    analyticsRollupService.recordLaunch(simulationId);
+    verify(query).setParameter("simulationId", simulationId);
+    verify(query).executeUpdate();
+  }
+
+  @Test
+  void recordSuccessfulCompletion() {
+    Query query = mock(Query.class, RETURNS_SELF);
+    given(entityManager.createNativeQuery(anyString())).willReturn(query);
+    analyticsRollupService.recordCompletion(UUID.randomUUID(), "Done", 42);
+    verify(query).setParameter("successCount", 1);
+    verify(query).setParameter("failureCount", 0);
+    verify(query).setParameter("durationCount", 1);
+    verify(query).setParameter("duration", 42);
+    verify(query).setParameter("bucket", DurationHistogram.bucketOf(42));
+    verify(query, times(2)).executeUpdate();
+  }
+
+  @Test
+  void recordFailedCompletionWithoutDuration() {
+    Query query = mock(Query.class, RETURNS_SELF);
+    given(entityManager.createNativeQuery(anyString())).willReturn(query);
+    analyticsRollupService.recordCompletion(UUID.randomUUID(), "Error", null);
+    verify(query).setParameter("successCount", 0);
+    verify(query).setParameter("failureCount", 1);
+    verify(query).setParameter("durationCount", 0);
+    verify(query, never()).setParameter(eq("bucket"), anyInt());
+    verify(query).executeUpdate();
+  }
+
+  @Test
+  void addFinishedSimulation() {
+    Query query = mock(Query.class, RETURNS_SELF);
+    given(entityManager.createNativeQuery(anyString())).willReturn(query);
+    UUID simulationId = UUID.randomUUID();
+    analyticsRollupService.onSimulationFinished(new SimulationFinishedEvent(simulationId, "Done", 42));
+    verify(query, times(2)).setParameter("simulationId", simulationId);
+    verify(query).setParameter("successCount", 1);
+    verify(query, times(2)).executeUpdate();
+  }
+}
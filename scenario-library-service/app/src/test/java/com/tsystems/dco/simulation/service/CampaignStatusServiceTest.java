@@ -0,0 +1,141 @@
+/*
+ *   ========================================================================
+ *  SDV Developer Console
+ *
+ *   Copyright (C) 2022 - 2023 T-Systems International GmbH
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *   SPDX-License-Identifier: Apache-2.0
+ *
+ *   ========================================================================
+ */
+
+package com.tsystems.dco.simulation.service;
+
+import com.tsystems.dco.integration.Campaign;
+import com.tsystems.dco.simulation.entity.SimulationEntity;
+import com.tsystems.dco.simulation.entity.SimulationStatusTransitionEntity;
+import com.tsystems.dco.simulation.repository.SimulationRepository;
+import com.tsystems.dco.simulation.repository.SimulationStatusTransitionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class CampaignStatusServiceTest {
+
+  @Mock
+  private SimulationRepository simulationRepository;
+  @Mock
+  private SimulationStatusTransitionRepository transitionRepository;
+  @Mock
+  private CampaignService campaignService;
+  @Mock
+  private PlatformTransactionManager transactionManager;
+
+  private CampaignStatusService campaignStatusService;
+
+  @BeforeEach
+  void setUp() {
+    campaignStatusService = new CampaignStatusService(simulationRepository, transitionRepository, campaignService,
+      transactionManager, 100);
+  }
+
+  @Test
+  void applyStatusRecordsTransition() {
+    SimulationEntity simulation = SimulationEntity.builder().id(UUID.randomUUID()).campaignId(UUID.randomUUID())
+      .name("TEST").status("Running").build();
+    given(simulationRepository.compareAndSetStatus(simulation.getId(), "Running", "Done")).willReturn(1);
+
+    assertTrue(campaignStatusService.applyStatus(simulation, "Done"));
+
+    ArgumentCaptor<SimulationStatusTransitionEntity> captor = ArgumentCaptor.forClass(SimulationStatusTransitionEntity.class);
+    verify(transitionRepository).save(captor.capture());
+    verify(transactionManager).commit(any());
+    assertEquals("Running", captor.getValue().getFromStatus());
+    assertEquals("Done", captor.getValue().getToStatus());
+    assertEquals("Done", simulation.getStatus());
+    verify(campaignService, never()).onStatusChanged(any(), any(), any());
+  }
+
+  @Test
+  void applyStatusIgnoresUnchangedStatus() {
+    SimulationEntity simulation = SimulationEntity.builder().id(UUID.randomUUID()).status("Running").build();
+
+    assertFalse(campaignStatusService.applyStatus(simulation, "Running"));
+
+    verifyNoInteractions(simulationRepository, transitionRepository, campaignService);
+  }
+
+  @Test
+  void applyStatusLosingRaceHasNoSideEffects() {
+    SimulationEntity simulation = SimulationEntity.builder().id(UUID.randomUUID()).status("Running").build();
+    given(simulationRepository.compareAndSetStatus(simulation.getId(), "Running", "Error")).willReturn(0);
+
+    assertFalse(campaignStatusService.applyStatus(simulation, "Error"));
+
+    verify(transitionRepository, never()).save(any());
+  }
+
+  @Test
+  void pollActiveCampaigns() {
+    SimulationEntity simulation = SimulationEntity.builder().id(UUID.randomUUID()).campaignId(UUID.randomUUID())
+      .name("TEST").status("Running").build();
+    given(simulationRepository.findByStatusIn(any(), any())).willReturn(List.of(simulation));
+    given(campaignService.checkStatus(simulation.getCampaignId()))
+      .willReturn(Campaign.builder().id(simulation.getCampaignId()).status("Done").build());
+    given(simulationRepository.compareAndSetStatus(simulation.getId(), "Running", "Done")).willReturn(1);
+
+    campaignStatusService.pollActiveCampaigns();
+
+    verify(campaignService).onStatusChanged(simulation.getId(), "TEST", "Done");
+  }
+
+  @Test
+  void pollActiveCampaignsPagesThroughAllActiveSimulations() {
+    campaignStatusService = new CampaignStatusService(simulationRepository, transitionRepository, campaignService,
+      transactionManager, 1);
+    SimulationEntity first = SimulationEntity.builder().id(UUID.randomUUID()).campaignId(UUID.randomUUID())
+      .name("FIRST").status("Running").build();
+    SimulationEntity second = SimulationEntity.builder().id(UUID.randomUUID()).campaignId(UUID.randomUUID())
+      .name("SECOND").status("Pending").build();
+    given(simulationRepository.findByStatusIn(any(), any())).willReturn(List.of(first));
+    given(simulationRepository.findByStatusInAndIdGreaterThan(any(), eq(first.getId()), any())).willReturn(List.of(second));
+    given(simulationRepository.findByStatusInAndIdGreaterThan(any(), eq(second.getId()), any())).willReturn(List.of());
+    given(campaignService.checkStatus(any()))
+      .willReturn(Campaign.builder().status("Running").build());
+
+    campaignStatusService.pollActiveCampaigns();
+
+    verify(campaignService).checkStatus(first.getCampaignId());
+    verify(campaignService).checkStatus(second.getCampaignId());
+    verify(simulationRepository).compareAndSetStatus(second.getId(), "Pending", "Running");
+    verify(campaignService, never()).onStatusChanged(any(), any(), any());
+  }
+}
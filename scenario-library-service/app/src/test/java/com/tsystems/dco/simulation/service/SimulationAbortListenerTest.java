@@ -0,0 +1,116 @@
+/*
+ *   ========================================================================
+ *  SDV Developer Console
+ *
+ *   Copyright (C) 2022 - 2023 T-Systems International GmbH
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *   SPDX-License-Identifier: Apache-2.0
+ *
+ *   ========================================================================
+ */
+
+package com.tsystems.dco.simulation.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tsystems.dco.simulation.entity.SimulationEntity;
+import com.tsystems.dco.simulation.entity.SimulationLogEntity;
+import com.tsystems.dco.simulation.repository.SimulationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class SimulationAbortListenerTest {
+
+  @Mock
+  private SimulationRepository simulationRepository;
+  @Mock
+  private CampaignStatusService campaignStatusService;
+  @Mock
+  private SimulationResultService simulationResultService;
+
+  private SimulationAbortListener listener;
+
+  @BeforeEach
+  void setUp() {
+    listener = new SimulationAbortListener(simulationRepository, campaignStatusService, simulationResultService,
+      new ObjectMapper());
+  }
+
+  @Test
+  void abortRunningSimulation() {
+    UUID simulationId = UUID.randomUUID();
+    SimulationEntity simulation = SimulationEntity.builder().id(simulationId).status("Running").build();
+    given(simulationRepository.findById(simulationId)).willReturn(Optional.of(simulation));
+    given(campaignStatusService.applyStatus(simulation, "Error")).willReturn(true);
+
+    listener.onAbort(message(simulationId));
+
+    String reason = "Aborted early by evaluation: failed rules weigh 60 of 100";
+    verify(simulationResultService).addLog(simulationId, SimulationLogEntity.LogLevel.WARN, reason, "EvaluationService");
+    verify(simulationResultService).completeSimulation(simulationId, "Error", null, reason);
+  }
+
+  @Test
+  void ignoreSimulationCompletedConcurrently() {
+    UUID simulationId = UUID.randomUUID();
+    SimulationEntity simulation = SimulationEntity.builder().id(simulationId).status("Running").build();
+    given(simulationRepository.findById(simulationId)).willReturn(Optional.of(simulation));
+    given(campaignStatusService.applyStatus(simulation, "Error")).willReturn(false);
+
+    listener.onAbort(message(simulationId));
+
+    verifyNoInteractions(simulationResultService);
+  }
+
+  @Test
+  void ignoreFinishedSimulation() {
+    UUID simulationId = UUID.randomUUID();
+    given(simulationRepository.findById(simulationId))
+      .willReturn(Optional.of(SimulationEntity.builder().id(simulationId).status("Done").build()));
+
+    listener.onAbort(message(simulationId));
+
+    verify(simulationResultService, never()).completeSimulation(any(), anyString(), any(), any());
+    verifyNoInteractions(campaignStatusService);
+  }
+
+  @Test
+  void ignoreMalformedMessage() {
+    listener.onAbort(new Message("{\"simulationId\":\"nope\"}".getBytes(StandardCharsets.UTF_8), new MessageProperties()));
+
+    verifyNoInteractions(simulationRepository, campaignStatusService, simulationResultService);
+  }
+
+  private static Message message(UUID simulationId) {
+    String body = "{\"simulationId\":\"" + simulationId + "\",\"verdict\":\"FAIL\",\"failedWeight\":60,\"totalWeight\":100}";
+    return new Message(body.getBytes(StandardCharsets.UTF_8), new MessageProperties());
+  }
+}
@@ -0,0 +1,127 @@
+/*
+ *   ========================================================================
+ *  SDV Developer Console
+ *
+ *   Copyright (C) 2022 - 2023 T-Systems International GmbH
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *   SPDX-License-Identifier: Apache-2.0
+ *
+ *   ========================================================================
+ */
+
+package com.tsystems.dco.simulation.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.tsystems.dco.exception.DataNotFoundException;
+import com.tsystems.dco.simulation.entity.SimulationLogEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class SimulationLogStreamServiceTest {
+
+  @Mock
+  private SimulationResultService simulationResultService;
+
+  private SimulationLogStreamService simulationLogStreamService;
+
+  @BeforeEach
+  void setUp() {
+    ObjectMapper objectMapper = JsonMapper.builder().addModule(new JavaTimeModule()).build();
+    simulationLogStreamService = new SimulationLogStreamService(simulationResultService, objectMapper, 2);
+  }
+
+  @Test
+  void ingestInMicroBatches() throws IOException {
+    UUID simulationId = UUID.randomUUID();
+    String ndjson = """
+      {"logLevel":"INFO","message":"one","component":"engine"}
+      {"logLevel":"INFO","message":"two"}
+
+      {"logLevel":"WARN","message":"three","timestampLog":"2023-01-01T10:00:00Z"}
+      {"logLevel":"ERROR","message":"four"}
+      {"logLevel":"INFO","message":"five"}
+      """;
+    given(simulationResultService.addLogs(eq(simulationId), anyList()))
+      .willAnswer(invocation -> ((List<?>) invocation.getArgument(1)).size());
+
+    assertEquals(5, simulationLogStreamService.ingest(simulationId, stream(ndjson)));
+
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<List<SimulationLogEntity>> batches = ArgumentCaptor.forClass(List.class);
+    verify(simulationResultService, times(3)).addLogs(eq(simulationId), batches.capture());
+    assertEquals(List.of(2, 2, 1), batches.getAllValues().stream().map(List::size).toList());
+    assertEquals(SimulationLogEntity.LogLevel.WARN, batches.getAllValues().get(1).get(0).getLogLevel());
+  }
+
+  @Test
+  void ingestRejectsInvalidLine() {
+    UUID simulationId = UUID.randomUUID();
+    DataNotFoundException exception = assertThrows(DataNotFoundException.class,
+      () -> simulationLogStreamService.ingest(simulationId, stream("not json\n")));
+    assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
+    verifyNoInteractions(simulationResultService);
+  }
+
+  @Test
+  void ingestStoresLogsBeforeInvalidLine() {
+    UUID simulationId = UUID.randomUUID();
+    String ndjson = """
+      {"logLevel":"INFO","message":"one"}
+      {"logLevel":"INFO","message":"two"}
+
+      {"logLevel":"INFO","message":"three"}
+      {"logLevel":"INFO","message":
+      {"logLevel":"INFO","message":"five"}
+      """;
+    given(simulationResultService.addLogs(eq(simulationId), anyList()))
+      .willAnswer(invocation -> ((List<?>) invocation.getArgument(1)).size());
+
+    DataNotFoundException exception = assertThrows(DataNotFoundException.class,
+      () -> simulationLogStreamService.ingest(simulationId, stream(ndjson)));
+
+    assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
+    assertTrue(exception.getMessage().startsWith("Invalid log on line 5"));
+    assertTrue(exception.getMessage().endsWith("The 3 logs before it were stored"));
+    verify(simulationResultService, times(2)).addLogs(eq(simulationId), anyList());
+  }
+
+  private ByteArrayInputStream stream(String content) {
+    return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+  }
+}
@@ -0,0 +1,73 @@
+/*
+ *   ========================================================================
+ *  SDV Developer Console
+ *
+ *   Copyright (C) 2022 - 2023 T-Systems International GmbH
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *   SPDX-License-Identifier: Apache-2.0
+ *
+ *   ========================================================================
+ */
+
+package com.tsystems.dco.simulation.service;
+
+import com.tsystems.dco.simulation.entity.SimulationLogEntity;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SimulationLogTailServiceTest {
+
+  private SimulationLogTailService simulationLogTailService;
+
+  @BeforeEach
+  void setUp() {
+    simulationLogTailService = new SimulationLogTailService(60000, 10000, 2, 1);
+  }
+
+  @AfterEach
+  void tearDown() {
+    simulationLogTailService.shutdown();
+  }
+
+  @Test
+  void completeSubscriberWhenQueueOverflows() {
+    UUID simulationId = UUID.randomUUID();
+    UUID otherSimulationId = UUID.randomUUID();
+    SseEmitter emitter = simulationLogTailService.subscribe(simulationId);
+    SseEmitter otherEmitter = simulationLogTailService.subscribe(otherSimulationId);
+
+    simulationLogTailService.onLogsAdded(new SimulationLogsAddedEvent(simulationId, List.of(log(), log(), log())));
+    simulationLogTailService.onLogsAdded(new SimulationLogsAddedEvent(otherSimulationId, List.of(log())));
+
+    assertThrows(IllegalStateException.class, () -> emitter.send("more"));
+    assertDoesNotThrow(() -> otherEmitter.send("more"));
+  }
+
+  private SimulationLogEntity log() {
+    return SimulationLogEntity.builder()
+      .id(UUID.randomUUID())
+      .logLevel(SimulationLogEntity.LogLevel.INFO)
+      .message("message")
+      .build();
+  }
+}
@@ -0,0 +1,131 @@
+/*
+ *   ========================================================================
+ *  SDV Developer Console
+ *
+ *   Copyright (C) 2022 - 2023 T-Systems International GmbH
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *   SPDX-License-Identifier: Apache-2.0
+ *
+ *   ========================================================================
+ */
+
+package com.tsystems.dco.simulation.service;
+
+import com.tsystems.dco.exception.DataNotFoundException;
+import com.tsystems.dco.simulation.dto.MetricSeriesDTO;
+import com.tsystems.dco.simulation.repository.SimulationMetricSeriesRepository;
+import com.tsystems.dco.simulation.repository.SimulationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class SimulationMetricSeriesServiceTest {
+
+  private static final String METRIC = "cpu_usage_percent";
+  private static final Instant FROM = Instant.parse("2024-01-01T00:00:00Z");
+  private static final Instant TO = FROM.plusSeconds(1000);
+
+  @Mock
+  private SimulationMetricSeriesRepository seriesRepository;
+  @Mock
+  private SimulationRepository simulationRepository;
+  private SimulationMetricSeriesService seriesService;
+  private final UUID simulationId = UUID.randomUUID();
+
+  @BeforeEach
+  void setUp() {
+    seriesService = new SimulationMetricSeriesService(seriesRepository, simulationRepository, 5000, 1000);
+  }
+
+  @Test
+  void bucketSeriesUsesRangeOfStoredValues() {
+    given(simulationRepository.existsById(simulationId)).willReturn(true);
+    given(seriesRepository.findRange(simulationId, METRIC))
+      .willReturn(new SimulationMetricSeriesRepository.SeriesRange(FROM, TO, 40));
+    given(seriesRepository.findBuckets(eq(simulationId), eq(METRIC), eq(FROM), eq(TO), anyLong())).willReturn(List.of(
+      MetricSeriesDTO.Point.builder().timestamp(FROM).count(30L).min(1.0).max(9.0).avg(5.0).last(2.0).build(),
+      MetricSeriesDTO.Point.builder().timestamp(FROM.plusSeconds(100)).count(10L).min(3.0).max(4.0).avg(3.5).last(4.0).build()));
+
+    MetricSeriesDTO series = seriesService.getSeries(simulationId, METRIC, null, null, 10, MetricSeriesDTO.Mode.BUCKET);
+
+    assertEquals(MetricSeriesDTO.Mode.BUCKET, series.getMode());
+    assertEquals(100_001L, series.getBucketWidthMs());
+    assertEquals(40L, series.getRawPoints());
+    assertEquals(2, series.getPoints().size());
+  }
+
+  @Test
+  void lttbSeriesSamplesRawPoints() {
+    given(simulationRepository.existsById(simulationId)).willReturn(true);
+    given(seriesRepository.count(simulationId, METRIC, FROM, TO)).willReturn(100L);
+    willAnswer(invocation -> {
+      SimulationMetricSeriesRepository.PointConsumer consumer = invocation.getArgument(4);
+      for (int i = 0; i < 100; i++) {
+        consumer.accept(FROM.toEpochMilli() + i * 1000L, i % 7);
+      }
+      return null;
+    }).given(seriesRepository).streamPoints(eq(simulationId), eq(METRIC), eq(FROM), eq(TO), any());
+
+    MetricSeriesDTO series = seriesService.getSeries(simulationId, METRIC, FROM, TO, 10, MetricSeriesDTO.Mode.LTTB);
+
+    assertEquals(MetricSeriesDTO.Mode.LTTB, series.getMode());
+    assertEquals(100L, series.getRawPoints());
+    assertEquals(10, series.getPoints().size());
+    assertEquals(FROM, series.getPoints().get(0).getTimestamp());
+    assertEquals(FROM.plusSeconds(99), series.getPoints().get(9).getTimestamp());
+  }
+
+  @Test
+  void lttbFallsBackToBucketsAboveLimit() {
+    given(simulationRepository.existsById(simulationId)).willReturn(true);
+    given(seriesRepository.count(simulationId, METRIC, FROM, TO)).willReturn(5000L);
+    given(seriesRepository.findBuckets(eq(simulationId), eq(METRIC), eq(FROM), eq(TO), anyLong())).willReturn(List.of());
+
+    MetricSeriesDTO series = seriesService.getSeries(simulationId, METRIC, FROM, TO, 10, MetricSeriesDTO.Mode.LTTB);
+
+    assertEquals(MetricSeriesDTO.Mode.BUCKET, series.getMode());
+    verify(seriesRepository, never()).streamPoints(any(), any(), any(), any(), any());
+  }
+
+  @Test
+  void rejectsInvertedRange() {
+    given(simulationRepository.existsById(simulationId)).willReturn(true);
+    assertThrows(DataNotFoundException.class,
+      () -> seriesService.getSeries(simulationId, METRIC, TO, FROM, 10, MetricSeriesDTO.Mode.BUCKET));
+  }
+
+  @Test
+  void unknownSimulation() {
+    given(simulationRepository.existsById(simulationId)).willReturn(false);
+    assertThrows(DataNotFoundException.class,
+      () -> seriesService.getSeries(simulationId, METRIC, FROM, TO, 10, MetricSeriesDTO.Mode.BUCKET));
+  }
+}
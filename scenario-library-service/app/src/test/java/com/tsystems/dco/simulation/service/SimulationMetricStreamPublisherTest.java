@@ -0,0 +1,111 @@
+/*
+ *   ========================================================================
+ *  SDV Developer Console
+ *
+ *   Copyright (C) 2022 - 2023 T-Systems International GmbH
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *   SPDX-License-Identifier: Apache-2.0
+ *
+ *   ========================================================================
+ */
+
+package com.tsystems.dco.simulation.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tsystems.dco.common.config.RabbitMQConfig;
+import com.tsystems.dco.simulation.entity.SimulationMetricEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class SimulationMetricStreamPublisherTest {
+
+  @Mock
+  private RabbitTemplate rabbitTemplate;
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private SimulationMetricStreamPublisher publisher;
+
+  @BeforeEach
+  void setUp() {
+    publisher = new SimulationMetricStreamPublisher(rabbitTemplate, objectMapper);
+    ReflectionTestUtils.setField(publisher, "enabled", true);
+  }
+
+  @Test
+  void publishMetricsAsJson() throws IOException {
+    UUID simulationId = UUID.randomUUID();
+    List<SimulationMetricEntity> metrics = List.of(
+      SimulationMetricEntity.builder().metricName("cpu_usage_percent").metricValue(new BigDecimal("42.5"))
+        .recordedAt(Instant.ofEpochMilli(1000)).build(),
+      SimulationMetricEntity.builder().metricName("no_value").build());
+
+    publisher.onMetricsAdded(new SimulationMetricsAddedEvent(simulationId, metrics));
+
+    ArgumentCaptor<Message> message = ArgumentCaptor.forClass(Message.class);
+    verify(rabbitTemplate).send(eq(RabbitMQConfig.SDV_EVENTS_EXCHANGE),
+      eq(RabbitMQConfig.SIMULATION_METRICS_RECORDED_KEY), message.capture());
+    assertEquals(MessageProperties.CONTENT_TYPE_JSON, message.getValue().getMessageProperties().getContentType());
+    JsonNode body = objectMapper.readTree(message.getValue().getBody());
+    assertEquals(simulationId.toString(), body.path("simulationId").asText());
+    assertEquals(1, body.path("metrics").size());
+    assertEquals("cpu_usage_percent", body.path("metrics").path(0).path("name").asText());
+    assertEquals(42.5, body.path("metrics").path(0).path("value").asDouble());
+    assertEquals(1000, body.path("metrics").path(0).path("recordedAt").asLong());
+  }
+
+  @Test
+  void publishFailureIsSwallowed() {
+    doThrow(new IllegalStateException("broker down")).when(rabbitTemplate).send(anyString(), anyString(), any(Message.class));
+    List<SimulationMetricEntity> metrics = List.of(
+      SimulationMetricEntity.builder().metricName("cpu_usage_percent").metricValue(BigDecimal.ONE).build());
+
+    publisher.onMetricsAdded(new SimulationMetricsAddedEvent(UUID.randomUUID(), metrics));
+  }
+
+  @Test
+  void disabled() {
+    ReflectionTestUtils.setField(publisher, "enabled", false);
+    List<SimulationMetricEntity> metrics = List.of(
+      SimulationMetricEntity.builder().metricName("cpu_usage_percent").metricValue(BigDecimal.ONE).build());
+
+    publisher.onMetricsAdded(new SimulationMetricsAddedEvent(UUID.randomUUID(), metrics));
+
+    verifyNoInteractions(rabbitTemplate);
+  }
+}
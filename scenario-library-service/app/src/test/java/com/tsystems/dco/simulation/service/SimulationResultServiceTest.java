@@ -0,0 +1,171 @@
+/*
+ *   ========================================================================
+ *  SDV Developer Console
+ *
+ *   Copyright (C) 2022 - 2023 T-Systems International GmbH
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *   SPDX-License-Identifier: Apache-2.0
+ *
+ *   ========================================================================
+ */
+
+package com.tsystems.dco.simulation.service;
+
+import com.tsystems.dco.exception.DataNotFoundException;
+import com.tsystems.dco.simulation.entity.SimulationEntity;
+import com.tsystems.dco.simulation.entity.SimulationLogEntity;
+import com.tsystems.dco.simulation.entity.SimulationMetricEntity;
+import com.tsystems.dco.simulation.repository.SimulationLogRepository;
+import com.tsystems.dco.simulation.repository.SimulationMetricRepository;
+import com.tsystems.dco.simulation.repository.SimulationRepository;
+import com.tsystems.dco.simulation.repository.SimulationResultBatchRepository;
+import com.tsystems.dco.simulation.repository.SimulationResultRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class SimulationResultServiceTest {
+
+  @InjectMocks
+  private SimulationResultServiceImpl simulationResultService;
+  @Mock
+  private SimulationResultRepository resultRepository;
+  @Mock
+  private SimulationLogRepository logRepository;
+  @Mock
+  private SimulationMetricRepository metricRepository;
+  @Mock
+  private SimulationRepository simulationRepository;
+  @Mock
+  private SimulationResultBatchRepository batchRepository;
+  @Mock
+  private ApplicationEventPublisher applicationEventPublisher;
+
+  @Test
+  void completeSimulationPublishesFirstCompletion() {
+    UUID simulationId = UUID.randomUUID();
+    SimulationEntity simulation = SimulationEntity.builder().id(simulationId).status("Running")
+      .startDate(Instant.now().minusSeconds(60)).build();
+    given(simulationRepository.findByIdForUpdate(simulationId)).willReturn(Optional.of(simulation));
+
+    simulationResultService.completeSimulation(simulationId, "Done", "summary", null);
+
+    assertEquals("Done", simulation.getStatus());
+    verify(simulationRepository).save(simulation);
+    verify(applicationEventPublisher).publishEvent(
+      new SimulationFinishedEvent(simulationId, "Done", simulation.getExecutionDuration()));
+  }
+
+  @Test
+  void completeSimulationAgainIsNotPublished() {
+    UUID simulationId = UUID.randomUUID();
+    SimulationEntity simulation = SimulationEntity.builder().id(simulationId).status("Done")
+      .endDate(Instant.now()).build();
+    given(simulationRepository.findByIdForUpdate(simulationId)).willReturn(Optional.of(simulation));
+
+    simulationResultService.completeSimulation(simulationId, "Error", "summary", "late");
+
+    verify(applicationEventPublisher, never()).publishEvent(any(Object.class));
+  }
+
+  @Test
+  void addMetrics() {
+    UUID simulationId = UUID.randomUUID();
+    List<SimulationMetricEntity> metrics = List.of(
+      SimulationMetricEntity.builder().metricName("cpu_usage_percent").metricValue(BigDecimal.TEN).build(),
+      SimulationMetricEntity.builder().metricName("memory_usage_mb").metricValue(BigDecimal.ONE).build());
+    given(simulationRepository.existsById(simulationId)).willReturn(true);
+    given(batchRepository.insertMetrics(metrics)).willReturn(2);
+
+    assertEquals(2, simulationResultService.addMetrics(simulationId, metrics));
+    metrics.forEach(metric -> assertEquals(simulationId, metric.getSimulationId()));
+    verify(batchRepository).insertMetrics(metrics);
+    verify(applicationEventPublisher).publishEvent(new SimulationMetricsAddedEvent(simulationId, metrics));
+    verifyNoInteractions(metricRepository);
+  }
+
+  @Test
+  void addMetricsForUnknownSimulation() {
+    UUID simulationId = UUID.randomUUID();
+    List<SimulationMetricEntity> metrics = List.of(SimulationMetricEntity.builder().metricName("cpu").build());
+    given(simulationRepository.existsById(simulationId)).willReturn(false);
+
+    assertThrows(DataNotFoundException.class, () -> simulationResultService.addMetrics(simulationId, metrics));
+    verifyNoInteractions(batchRepository);
+  }
+
+  @Test
+  void addLogs() {
+    UUID simulationId = UUID.randomUUID();
+    List<SimulationLogEntity> logs = List.of(
+      SimulationLogEntity.builder().logLevel(SimulationLogEntity.LogLevel.INFO).message("started").build());
+    given(simulationRepository.existsById(simulationId)).willReturn(true);
+    given(batchRepository.insertLogs(logs)).willReturn(1);
+
+    assertEquals(1, simulationResultService.addLogs(simulationId, logs));
+    verify(applicationEventPublisher).publishEvent(new SimulationLogsAddedEvent(simulationId, logs));
+  }
+
+  @Test
+  void addLogsWithoutMessage() {
+    UUID simulationId = UUID.randomUUID();
+    List<SimulationLogEntity> logs = List.of(
+      SimulationLogEntity.builder().message("started").build(),
+      SimulationLogEntity.builder().logLevel(SimulationLogEntity.LogLevel.INFO).build());
+    given(simulationRepository.existsById(simulationId)).willReturn(true);
+
+    DataNotFoundException exception = assertThrows(DataNotFoundException.class,
+      () -> simulationResultService.addLogs(simulationId, logs));
+    assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
+    assertEquals("Log 1 has no message", exception.getMessage());
+    verifyNoInteractions(batchRepository);
+  }
+
+  @Test
+  void addMetricPublishesEvent() {
+    UUID simulationId = UUID.randomUUID();
+    given(metricRepository.save(any(SimulationMetricEntity.class))).willAnswer(invocation -> invocation.getArgument(0));
+
+    SimulationMetricEntity metric = simulationResultService.addMetric(simulationId, "cpu_usage_percent", BigDecimal.TEN,
+      "percent", SimulationMetricEntity.MetricCategory.PERFORMANCE);
+
+    verify(applicationEventPublisher).publishEvent(new SimulationMetricsAddedEvent(simulationId, List.of(metric)));
+  }
+
+  @Test
+  void addEmptyLogs() {
+    assertEquals(0, simulationResultService.addLogs(UUID.randomUUID(), List.of()));
+    verifyNoInteractions(batchRepository, simulationRepository);
+  }
+}
@@ -29,6 +29,7 @@ import com.tsystems.dco.integration.Track;
 import com.tsystems.dco.integration.TrackRepositoryApiClient;
 import com.tsystems.dco.integration.VehicleResponse;
 import com.tsystems.dco.model.SimulationInput;
+import com.tsystems.dco.model.SimulationPage;
 import com.tsystems.dco.scenario.repository.ScenarioRepository;
 import com.tsystems.dco.simulation.entity.SimulationEntity;
 import com.tsystems.dco.simulation.repository.SimulationRepository;
@@ -49,10 +50,14 @@ import java.util.List;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 
 @SpringBootTest
 @ActiveProfiles("test")
@@ -119,9 +124,18 @@ class SimulationServiceTest {
       .createdBy(TEST)
       .environment(TEST)
       .scenarios(Arrays.asList(UUID.randomUUID(), uuid))
+      .tracks(List.of(uuid))
+      .status(TEST)
+      .hardware(TEST).build();
+    SimulationEntity otherSimulation = SimulationEntity.builder().id(UUID.randomUUID()).name(TEST).description(TEST)
+      .createdBy(TEST)
+      .environment(TEST)
+      .scenarios(List.of(uuid))
+      .tracks(List.of(uuid))
       .hardware(TEST).build();
     List<SimulationEntity> simulationEntities = new ArrayList<>();
     simulationEntities.add(simulation);
+    simulationEntities.add(otherSimulation);
     given(page.getContent()).willReturn(simulationEntities);
     given(simulationRepository.findAll(any(Specification.class), any(PageRequest.class))).willReturn(page);
     VehicleResponse vehicleResponse = new VehicleResponse();
@@ -139,19 +153,31 @@ class SimulationServiceTest {
     tracks.add(track);
     given(trackResponseEntity.getBody()).willReturn(tracks);
     given(trackRepositoryApiClient.findTrackByIds(any())).willReturn(trackResponseEntity);
-    Campaign campaign = Campaign.builder().status(TEST).id(uuid).build();
-    given(campaignService.checkStatus(any())).willReturn(campaign);
-    simulationService.simulationReadByQuery(null, TEST, 0, 10, null);
+    SimulationPage simulationPage = simulationService.simulationReadByQuery(null, TEST, 0, 10, null);
+    assertEquals(2, simulationPage.getContent().size());
+    //status is read from the stored simulation, listing has no side effects
+    assertEquals(TEST, simulationPage.getContent().get(0).getStatus());
+    verifyNoInteractions(campaignService);
+    assertEquals(1, simulationPage.getContent().get(1).getNoOfVehicle());
+    assertEquals(List.of(TEST), simulationPage.getContent().get(1).getBrands());
+    //both simulations share a track, resolved with one call for the whole page
+    verify(trackRepositoryApiClient, times(1)).findTrackByIds(any());
   }
 
   @Test
   void isTrackAssociatedWithSimulation() {
+    UUID uuid = UUID.randomUUID();
+    given(simulationRepository.existsByTrackId(uuid)).willReturn(true);
+    assertTrue(simulationService.isTrackAssociatedWithSimulation(uuid));
+    assertFalse(simulationService.isTrackAssociatedWithSimulation(UUID.randomUUID()));
+  }
+
+  @Test
+  void findTracksAssociatedWithSimulation() {
     UUID uuid = UUID.randomUUID();
     List<UUID> uuids = Arrays.asList(uuid, UUID.randomUUID());
-    SimulationEntity simulationEntity = SimulationEntity.builder().tracks(uuids).build();
-    List<SimulationEntity> simulationEntities = new ArrayList<>();
-    simulationEntities.add(simulationEntity);
-    given(simulationRepository.findAll()).willReturn(simulationEntities);
-    simulationService.isTrackAssociatedWithSimulation(UUID.randomUUID());
+    given(simulationRepository.findAssociatedTrackIds(uuids)).willReturn(List.of(uuid));
+    assertEquals(List.of(uuid), simulationService.findTracksAssociatedWithSimulation(uuids));
+    assertTrue(simulationService.findTracksAssociatedWithSimulation(List.of()).isEmpty());
   }
 }
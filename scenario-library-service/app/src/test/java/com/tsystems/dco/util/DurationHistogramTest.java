@@ -0,0 +1,70 @@
+/*
+ *   ========================================================================
+ *  SDV Developer Console
+ *
+ *   Copyright (C) 2022 - 2023 T-Systems International GmbH
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *   SPDX-License-Identifier: Apache-2.0
+ *
+ *   ========================================================================
+ */
+
+package com.tsystems.dco.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DurationHistogramTest {
+
+  @Test
+  void bucketBounds() {
+    for (long value : new long[]{0, 1, 63, 64, 65, 127, 128, 1000, 86_400, 1L << 40}) {
+      int bucket = DurationHistogram.bucketOf(value);
+      assertTrue(DurationHistogram.lowerBound(bucket) <= value);
+      assertTrue(DurationHistogram.upperBound(bucket) >= value);
+      assertEquals(bucket, DurationHistogram.bucketOf(DurationHistogram.lowerBound(bucket)));
+      assertEquals(bucket, DurationHistogram.bucketOf(DurationHistogram.upperBound(bucket)));
+    }
+    assertEquals(DurationHistogram.bucketOf(63) + 1, DurationHistogram.bucketOf(64));
+  }
+
+  @Test
+  void valueAtQuantile() {
+    DurationHistogram histogram = new DurationHistogram();
+    assertNull(histogram.valueAtQuantile(0.5));
+    for (int i = 1; i <= 1000; i++) {
+      histogram.record(i);
+    }
+    assertEquals(1000, histogram.getTotalCount());
+    assertEquals(500, histogram.valueAtQuantile(0.5), 500 * 0.04);
+    assertEquals(900, histogram.valueAtQuantile(0.9), 900 * 0.04);
+    assertEquals(990, histogram.valueAtQuantile(0.99), 990 * 0.04);
+  }
+
+  @Test
+  void merge() {
+    DurationHistogram monday = new DurationHistogram();
+    DurationHistogram tuesday = new DurationHistogram();
+    for (int i = 1; i <= 50; i++) {
+      monday.record(i);
+      tuesday.record(50 + i);
+    }
+    monday.merge(tuesday);
+    assertEquals(100, monday.getTotalCount());
+    assertEquals(50.0, monday.valueAtQuantile(0.5), 0.0);
+    assertEquals(99, monday.valueAtQuantile(0.99), 99 * 0.04);
+  }
+}
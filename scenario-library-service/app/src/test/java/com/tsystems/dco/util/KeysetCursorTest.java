@@ -0,0 +1,77 @@
+/*
+ *   ========================================================================
+ *  SDV Developer Console
+ *
+ *   Copyright (C) 2022 - 2023 T-Systems International GmbH
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *   SPDX-License-Identifier: Apache-2.0
+ *
+ *   ========================================================================
+ */
+package com.tsystems.dco.util;
+
+import com.tsystems.dco.exception.DataNotFoundException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeysetCursorTest {
+
+  @Test
+  void encodeDecodeRoundTrip() {
+    KeysetCursor cursor = new KeysetCursor(Instant.parse("2024-03-01T10:15:30.123456789Z"), UUID.randomUUID());
+    assertEquals(cursor, KeysetCursor.decode(cursor.encode()));
+  }
+
+  @Test
+  void decodeBlankIsFirstPage() {
+    assertNull(KeysetCursor.decode(null));
+    assertNull(KeysetCursor.decode(""));
+  }
+
+  @Test
+  void decodeInvalidCursor() {
+    assertThrows(DataNotFoundException.class, () -> KeysetCursor.decode("not-a-cursor"));
+  }
+
+  @Test
+  void pageHasNextCursorOnlyWhenMoreRowsExist() {
+    Instant now = Instant.now();
+    List<KeysetCursor> rows = List.of(new KeysetCursor(now, UUID.randomUUID()),
+      new KeysetCursor(now, UUID.randomUUID()), new KeysetCursor(now, UUID.randomUUID()));
+
+    KeysetPage<KeysetCursor> page = KeysetPage.of(rows, 2, row -> row, null);
+    assertEquals(2, page.content().size());
+    assertTrue(page.hasNext());
+    assertEquals(rows.get(1), KeysetCursor.decode(page.nextCursor()));
+
+    KeysetPage<KeysetCursor> last = KeysetPage.of(rows, 3, row -> row, 3L);
+    assertFalse(last.hasNext());
+    assertEquals(3L, last.total());
+  }
+
+  @Test
+  void pageSizeOutOfRange() {
+    assertEquals(1, KeysetPage.checkSize(1));
+    assertEquals(KeysetPage.MAX_SIZE, KeysetPage.checkSize(KeysetPage.MAX_SIZE));
+    assertThrows(DataNotFoundException.class, () -> KeysetPage.checkSize(0));
+    assertThrows(DataNotFoundException.class, () -> KeysetPage.checkSize(-1));
+    assertThrows(DataNotFoundException.class, () -> KeysetPage.checkSize(KeysetPage.MAX_SIZE + 1));
+  }
+}
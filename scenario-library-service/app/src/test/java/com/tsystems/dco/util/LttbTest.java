@@ -0,0 +1,63 @@
+/*
+ *   ========================================================================
+ *  SDV Developer Console
+ *
+ *   Copyright (C) 2022 - 2023 T-Systems International GmbH
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *   SPDX-License-Identifier: Apache-2.0
+ *
+ *   ========================================================================
+ */
+
+package com.tsystems.dco.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LttbTest {
+
+  @Test
+  void keepsAllPointsBelowThreshold() {
+    long[] x = {0, 1, 2, 3};
+    double[] y = {1, 2, 3, 4};
+    assertArrayEquals(new int[]{0, 1, 2, 3}, Lttb.downsample(x, y, 4, 10));
+  }
+
+  @Test
+  void keepsFirstLastAndPeaks() {
+    int length = 1000;
+    long[] x = new long[length];
+    double[] y = new double[length];
+    for (int i = 0; i < length; i++) {
+      x[i] = i;
+    }
+    y[250] = 100;
+    y[750] = -100;
+
+    int[] kept = Lttb.downsample(x, y, length, 20);
+
+    assertEquals(20, kept.length);
+    assertEquals(0, kept[0]);
+    assertEquals(length - 1, kept[kept.length - 1]);
+    for (int i = 1; i < kept.length; i++) {
+      assertTrue(kept[i] > kept[i - 1]);
+    }
+    assertTrue(Arrays.stream(kept).anyMatch(index -> index == 250));
+    assertTrue(Arrays.stream(kept).anyMatch(index -> index == 750));
+  }
+}
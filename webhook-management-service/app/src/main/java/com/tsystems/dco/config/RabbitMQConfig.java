@@ -1,10 +1,16 @@
 package com.tsystems.dco.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.amqp.core.AnonymousQueue;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.FanoutExchange;
+import org.springframework.amqp.core.Queue;
 import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.amqp.support.converter.DefaultClassMapper;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -16,6 +22,8 @@ import java.util.Map;
  * This configuration handles message deserialization for the webhook service.
  * The actual queues, exchanges, and bindings are created by the 
  * message-queue-service to ensure they exist before this service starts.
+ * Only the webhook subscriptions exchange, used between replicas of this
+ * service, is declared here.
  */
 @Configuration
 public class RabbitMQConfig {
@@ -25,6 +33,9 @@ public class RabbitMQConfig {
     public static final String TRACK_EVENTS_QUEUE = "track.events";
     public static final String SIMULATION_EVENTS_QUEUE = "simulation.events";
 
+    // Invalidation of the webhook routing index, fanned out to every replica
+    public static final String WEBHOOK_SUBSCRIPTIONS_EXCHANGE = "webhook.subscriptions";
+
     /**
      * Configure Jackson message converter to handle deserialization
      * of messages from RabbitMQ, including those with custom type headers
@@ -63,12 +74,33 @@ public class RabbitMQConfig {
     @Bean
     public SimpleRabbitListenerContainerFactory rabbitListenerContainerFactory(
             ConnectionFactory connectionFactory,
-            Jackson2JsonMessageConverter messageConverter) {
+            Jackson2JsonMessageConverter messageConverter,
+            @Value("${spring.rabbitmq.listener.simple.prefetch:10}") int prefetch) {
         SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
         factory.setConnectionFactory(connectionFactory);
         factory.setMessageConverter(messageConverter);
+        // Unacknowledged messages buffered per consumer while deliveries hold back the listener
+        factory.setPrefetchCount(prefetch);
         factory.setAutoStartup(true);  // Ensure listeners start automatically
         System.out.println("=== RabbitMQ Listener Container Factory configured and will auto-start ===");
         return factory;
     }
+
+    @Bean
+    public FanoutExchange webhookSubscriptionsExchange() {
+        return new FanoutExchange(WEBHOOK_SUBSCRIPTIONS_EXCHANGE, true, false);
+    }
+
+    /**
+     * Queue of this replica, removed when it disconnects
+     */
+    @Bean
+    public Queue webhookSubscriptionsQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Binding webhookSubscriptionsBinding(Queue webhookSubscriptionsQueue, FanoutExchange webhookSubscriptionsExchange) {
+        return BindingBuilder.bind(webhookSubscriptionsQueue).to(webhookSubscriptionsExchange);
+    }
 }
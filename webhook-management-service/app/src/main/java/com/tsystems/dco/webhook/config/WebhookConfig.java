@@ -3,25 +3,31 @@ package com.tsystems.dco.webhook.config;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 import org.springframework.core.annotation.Order;
 import org.springframework.core.Ordered;
-import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
 /**
  * Webhook service configuration including Jackson ObjectMapper for proper date/time serialization
  */
 @Configuration
-@EnableAsync
 @Order(Ordered.HIGHEST_PRECEDENCE)
 public class WebhookConfig {
 
+    /**
+     * Client for webhook test calls, bounded by app.webhook.delivery-timeout like deliveries
+     */
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(@Value("${app.webhook.delivery-timeout:30000}") int deliveryTimeout) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(deliveryTimeout);
+        requestFactory.setReadTimeout(deliveryTimeout);
+        return new RestTemplate(requestFactory);
     }
 
     /**
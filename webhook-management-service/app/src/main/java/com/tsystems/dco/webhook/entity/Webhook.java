@@ -47,7 +47,8 @@ public class Webhook {
     @Column(name = "updated_at")
     private OffsetDateTime updatedAt;
 
-    @Column(name = "last_delivery_at")
+    // Written by WebhookDeliveryStats only, saving the entity must not overwrite flushed deliveries
+    @Column(name = "last_delivery_at", updatable = false)
     private OffsetDateTime lastDeliveryAt;
 
     // Retry configuration
@@ -63,14 +64,14 @@ public class Webhook {
     @Column(name = "max_retry_delay")
     private Integer maxRetryDelay = 300000;
 
-    // Statistics
-    @Column(name = "total_deliveries")
+    // Statistics, incremented in place by WebhookDeliveryStats and never written with the entity
+    @Column(name = "total_deliveries", updatable = false)
     private Integer totalDeliveries = 0;
 
-    @Column(name = "successful_deliveries")
+    @Column(name = "successful_deliveries", updatable = false)
     private Integer successfulDeliveries = 0;
 
-    @Column(name = "failed_deliveries")
+    @Column(name = "failed_deliveries", updatable = false)
     private Integer failedDeliveries = 0;
 
     // Relationships
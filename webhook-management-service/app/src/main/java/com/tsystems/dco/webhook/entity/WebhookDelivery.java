@@ -63,6 +63,10 @@ public class WebhookDelivery {
     @Column(name = "next_retry_at")
     private OffsetDateTime nextRetryAt;
 
+    // Token of the claim on an attempt in progress, outcomes are only stored while it still matches
+    @Column(name = "claim_token")
+    private UUID claimToken;
+
     // Timestamps
     @CreationTimestamp
     @Column(name = "created_at")
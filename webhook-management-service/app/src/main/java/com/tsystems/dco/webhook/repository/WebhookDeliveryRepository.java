@@ -4,12 +4,15 @@ import com.tsystems.dco.webhook.entity.WebhookDelivery;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
@@ -43,4 +46,63 @@ public interface WebhookDeliveryRepository extends JpaRepository<WebhookDelivery
     );
 
     long countByStatus(WebhookDelivery.DeliveryStatus status);
+
+    /**
+     * Lock open deliveries that are due, oldest first. Rows locked by another replica are skipped,
+     * so concurrent callers claim disjoint batches. Must run in the transaction that claims them.
+     */
+    @Query(value = "SELECT id FROM webhook_deliveries "
+            + "WHERE status IN ('PENDING', 'RETRY', 'IN_PROGRESS') AND next_retry_at <= :now "
+            + "ORDER BY next_retry_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<UUID> lockDueDeliveries(@Param("now") OffsetDateTime now, @Param("limit") int limit);
+
+    @Modifying
+    @Query("UPDATE WebhookDelivery d SET d.status = :status, d.nextRetryAt = :leaseUntil, d.claimToken = :claimToken "
+            + "WHERE d.id IN :ids")
+    int claimDeliveries(
+            @Param("ids") List<UUID> ids,
+            @Param("status") WebhookDelivery.DeliveryStatus status,
+            @Param("leaseUntil") OffsetDateTime leaseUntil,
+            @Param("claimToken") UUID claimToken
+    );
+
+    /**
+     * Store the outcome of an attempt and release the claim, if the delivery is still claimed with the
+     * given token. A delivery whose lease expired may have been claimed again in the meantime.
+     *
+     * @return Number of updated deliveries, 0 if the claim was lost
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE WebhookDelivery d SET d.status = :status, d.attemptCount = :attemptCount, "
+            + "d.statusCode = :statusCode, d.responseBody = :responseBody, d.responseTime = :responseTime, "
+            + "d.errorMessage = :errorMessage, d.nextRetryAt = :nextRetryAt, d.completedAt = :completedAt, "
+            + "d.claimToken = null WHERE d.id = :id AND d.claimToken = :claimToken")
+    int updateClaimed(
+            @Param("id") UUID id,
+            @Param("claimToken") UUID claimToken,
+            @Param("status") WebhookDelivery.DeliveryStatus status,
+            @Param("attemptCount") Integer attemptCount,
+            @Param("statusCode") Integer statusCode,
+            @Param("responseBody") String responseBody,
+            @Param("responseTime") Integer responseTime,
+            @Param("errorMessage") String errorMessage,
+            @Param("nextRetryAt") OffsetDateTime nextRetryAt,
+            @Param("completedAt") OffsetDateTime completedAt
+    );
+
+    /**
+     * Store the outcome of an attempt on a claimed delivery, see {@link #updateClaimed}.
+     *
+     * @return false if the delivery was claimed again and the outcome dropped
+     */
+    default boolean saveIfClaimed(WebhookDelivery delivery) {
+        return delivery.getClaimToken() != null && updateClaimed(delivery.getId(), delivery.getClaimToken(),
+                delivery.getStatus(), delivery.getAttemptCount(), delivery.getStatusCode(), delivery.getResponseBody(),
+                delivery.getResponseTime(), delivery.getErrorMessage(), delivery.getNextRetryAt(),
+                delivery.getCompletedAt()) > 0;
+    }
+
+    @Query("SELECT d FROM WebhookDelivery d JOIN FETCH d.webhook WHERE d.id = :id")
+    Optional<WebhookDelivery> findWithWebhookById(@Param("id") UUID id);
 }
@@ -2,9 +2,11 @@ package com.tsystems.dco.webhook.repository;
 
 import com.tsystems.dco.webhook.entity.Webhook;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.OffsetDateTime;
 import java.util.List;
@@ -23,6 +25,29 @@ public interface WebhookRepository extends JpaRepository<Webhook, UUID> {
     @Query("SELECT DISTINCT w FROM Webhook w LEFT JOIN FETCH w.headers LEFT JOIN w.eventTypes et WHERE et.eventType = :eventType AND w.isActive = true")
     List<Webhook> findActiveWebhooksByEventType(@Param("eventType") String eventType);
 
+    @Query("SELECT DISTINCT w FROM Webhook w LEFT JOIN FETCH w.headers LEFT JOIN FETCH w.eventTypes WHERE w.isActive = true")
+    List<Webhook> findActiveWebhooksWithSubscriptions();
+
+    /**
+     * Add counted deliveries in place, concurrent writers do not overwrite each other.
+     *
+     * @param lastDeliveryAt Last successful delivery, null keeps the stored one
+     * @return Number of updated webhooks, 0 if the webhook does not exist
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Webhook w SET w.totalDeliveries = COALESCE(w.totalDeliveries, 0) + :successful + :failed, "
+            + "w.successfulDeliveries = COALESCE(w.successfulDeliveries, 0) + :successful, "
+            + "w.failedDeliveries = COALESCE(w.failedDeliveries, 0) + :failed, "
+            + "w.lastDeliveryAt = COALESCE(:lastDeliveryAt, w.lastDeliveryAt) "
+            + "WHERE w.id = :webhookId")
+    int addDeliveryStats(
+            @Param("webhookId") UUID webhookId,
+            @Param("successful") int successful,
+            @Param("failed") int failed,
+            @Param("lastDeliveryAt") OffsetDateTime lastDeliveryAt
+    );
+
     @Query("SELECT w FROM Webhook w WHERE w.lastDeliveryAt < :cutoffTime")
     List<Webhook> findWebhooksNotDeliveredSince(@Param("cutoffTime") OffsetDateTime cutoffTime);
 
@@ -0,0 +1,75 @@
+package com.tsystems.dco.webhook.routing;
+
+import com.tsystems.dco.webhook.entity.Webhook;
+import com.tsystems.dco.webhook.entity.WebhookEventType;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable snapshot of an active webhook with everything needed to deliver to it, detached from the
+ * persistence context so it can be shared between delivery threads.
+ *
+ * @param id Webhook ID
+ * @param name Webhook name
+ * @param url Receiver URL
+ * @param secret Signing secret, may be null
+ * @param headers Custom request headers
+ * @param eventTypes Subscribed event types, a trailing * subscribes to all types with that prefix
+ * @param maxRetryAttempts Maximum number of attempts per delivery
+ * @param initialRetryDelay Delay before the first retry in milliseconds, may be null
+ * @param backoffMultiplier Growth of the delay per retry, may be null
+ * @param maxRetryDelay Maximum delay between retries in milliseconds, may be null
+ */
+public record WebhookDescriptor(UUID id,
+                                String name,
+                                String url,
+                                String secret,
+                                Map<String, String> headers,
+                                Set<String> eventTypes,
+                                int maxRetryAttempts,
+                                Integer initialRetryDelay,
+                                BigDecimal backoffMultiplier,
+                                Integer maxRetryDelay) {
+
+    private static final int DEFAULT_MAX_RETRY_ATTEMPTS = 3;
+
+    public WebhookDescriptor {
+        headers = Collections.unmodifiableMap(new LinkedHashMap<>(headers));
+        eventTypes = Set.copyOf(eventTypes);
+    }
+
+    /**
+     * Snapshot a webhook, its headers and event types must be loaded.
+     *
+     * @param webhook Webhook entity
+     * @return Descriptor of the webhook
+     */
+    public static WebhookDescriptor from(Webhook webhook) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        if (webhook.getHeaders() != null) {
+            webhook.getHeaders().forEach(header -> headers.put(header.getHeaderName(), header.getHeaderValue()));
+        }
+        Set<String> eventTypes = webhook.getEventTypes() == null ? Set.of() : webhook.getEventTypes().stream()
+                .map(WebhookEventType::getEventType)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        return new WebhookDescriptor(
+                webhook.getId(),
+                webhook.getName(),
+                webhook.getUrl(),
+                webhook.getSecret(),
+                headers,
+                eventTypes,
+                webhook.getMaxRetryAttempts() != null ? webhook.getMaxRetryAttempts() : DEFAULT_MAX_RETRY_ATTEMPTS,
+                webhook.getInitialRetryDelay(),
+                webhook.getBackoffMultiplier(),
+                webhook.getMaxRetryDelay());
+    }
+}
@@ -0,0 +1,174 @@
+package com.tsystems.dco.webhook.routing;
+
+import com.tsystems.dco.webhook.repository.WebhookRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory index from event type to the active webhooks subscribed to it.
+ *
+ * Deliveries resolve their subscribers here instead of querying the database per event. The index is an
+ * immutable snapshot of all active webhooks, replaced as a whole by {@link #rebuild()} when webhooks are
+ * created, updated or deleted on any replica, see {@link WebhookRoutingInvalidator}, and periodically as
+ * a safety net for missed invalidations.
+ *
+ * Subscriptions to an exact event type are looked up directly. A subscription ending in * matches every
+ * event type starting with the part before it, e.g. simulation.* matches simulation.started, and * alone
+ * matches every event type.
+ */
+@Component
+@Slf4j
+public class WebhookRoutingIndex {
+
+    static final String WILDCARD = "*";
+
+    /**
+     * Upper bound of resolved event types memoized per snapshot, event types are not validated.
+     */
+    private static final int MAX_RESOLVED_EVENT_TYPES = 10_000;
+
+    private final WebhookRepository webhookRepository;
+    private final TransactionTemplate loadTransaction;
+    private volatile Routes routes;
+
+    public WebhookRoutingIndex(WebhookRepository webhookRepository, PlatformTransactionManager transactionManager) {
+        this.webhookRepository = webhookRepository;
+        this.loadTransaction = new TransactionTemplate(transactionManager);
+        this.loadTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Active webhooks subscribed to an event type, by exact or wildcard subscription.
+     *
+     * @param eventType Event type
+     * @return Immutable list of webhooks, each at most once
+     */
+    public List<WebhookDescriptor> resolve(String eventType) {
+        return current().resolve(eventType);
+    }
+
+    /**
+     * Active webhook by ID.
+     *
+     * @param webhookId Webhook ID
+     * @return Webhook, empty if it does not exist or is inactive
+     */
+    public Optional<WebhookDescriptor> findWebhook(UUID webhookId) {
+        return Optional.ofNullable(current().byId.get(webhookId));
+    }
+
+    /**
+     * Reload all active webhooks and replace the index. Lookups keep using the previous snapshot
+     * until the new one is complete.
+     */
+    public synchronized void rebuild() {
+        List<WebhookDescriptor> webhooks = loadTransaction.execute(status ->
+                webhookRepository.findActiveWebhooksWithSubscriptions().stream()
+                        .map(WebhookDescriptor::from)
+                        .toList());
+        routes = new Routes(webhooks == null ? List.of() : webhooks);
+        log.info("Rebuilt webhook routing index with {} active webhooks", routes.byId.size());
+    }
+
+    /**
+     * Periodic rebuild, catches up with changes whose invalidation was lost.
+     */
+    @Scheduled(fixedDelayString = "${app.webhook.routing.refresh-interval:300000}",
+            initialDelayString = "${app.webhook.routing.refresh-interval:300000}")
+    public void refresh() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            log.error("Failed to rebuild webhook routing index, keeping the previous one", e);
+        }
+    }
+
+    private Routes current() {
+        Routes current = routes;
+        if (current == null) {
+            synchronized (this) {
+                if (routes == null) {
+                    rebuild();
+                }
+                current = routes;
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Immutable routing snapshot, only the memoized resolutions grow.
+     */
+    private static final class Routes {
+
+        private final Map<String, List<WebhookDescriptor>> exact;
+        private final Map<String, List<WebhookDescriptor>> prefixes;
+        private final Map<UUID, WebhookDescriptor> byId;
+        private final int maxPrefixLength;
+        private final Map<String, List<WebhookDescriptor>> resolved = new ConcurrentHashMap<>();
+
+        Routes(List<WebhookDescriptor> webhooks) {
+            Map<String, List<WebhookDescriptor>> exactRoutes = new HashMap<>();
+            Map<String, List<WebhookDescriptor>> prefixRoutes = new HashMap<>();
+            Map<UUID, WebhookDescriptor> webhooksById = new HashMap<>();
+            for (WebhookDescriptor webhook : webhooks) {
+                webhooksById.put(webhook.id(), webhook);
+                for (String eventType : webhook.eventTypes()) {
+                    if (eventType.endsWith(WILDCARD)) {
+                        String prefix = eventType.substring(0, eventType.length() - WILDCARD.length());
+                        prefixRoutes.computeIfAbsent(prefix, key -> new ArrayList<>()).add(webhook);
+                    } else {
+                        exactRoutes.computeIfAbsent(eventType, key -> new ArrayList<>()).add(webhook);
+                    }
+                }
+            }
+            this.exact = copy(exactRoutes);
+            this.prefixes = copy(prefixRoutes);
+            this.byId = Map.copyOf(webhooksById);
+            this.maxPrefixLength = prefixRoutes.keySet().stream().mapToInt(String::length).max().orElse(-1);
+        }
+
+        List<WebhookDescriptor> resolve(String eventType) {
+            List<WebhookDescriptor> webhooks = resolved.get(eventType);
+            if (webhooks == null) {
+                webhooks = match(eventType);
+                if (resolved.size() < MAX_RESOLVED_EVENT_TYPES) {
+                    resolved.putIfAbsent(eventType, webhooks);
+                }
+            }
+            return webhooks;
+        }
+
+        private List<WebhookDescriptor> match(String eventType) {
+            Map<UUID, WebhookDescriptor> matched = new LinkedHashMap<>();
+            exact.getOrDefault(eventType, List.of()).forEach(webhook -> matched.putIfAbsent(webhook.id(), webhook));
+            // Every prefix of the event type up to the longest wildcard subscription, including the empty one
+            int longestPrefix = Math.min(eventType.length(), maxPrefixLength);
+            for (int length = 0; length <= longestPrefix; length++) {
+                List<WebhookDescriptor> subscribed = prefixes.get(eventType.substring(0, length));
+                if (subscribed != null) {
+                    subscribed.forEach(webhook -> matched.putIfAbsent(webhook.id(), webhook));
+                }
+            }
+            return List.copyOf(matched.values());
+        }
+
+        private static Map<String, List<WebhookDescriptor>> copy(Map<String, List<WebhookDescriptor>> routes) {
+            Map<String, List<WebhookDescriptor>> copy = new HashMap<>();
+            routes.forEach((eventType, webhooks) -> copy.put(eventType, List.copyOf(webhooks)));
+            return Map.copyOf(copy);
+        }
+    }
+}
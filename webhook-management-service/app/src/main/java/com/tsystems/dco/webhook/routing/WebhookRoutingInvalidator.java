@@ -0,0 +1,59 @@
+package com.tsystems.dco.webhook.routing;
+
+import com.tsystems.dco.config.RabbitMQConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Keeps the routing indexes of all replicas in line with the webhooks in the database.
+ *
+ * After a change to webhooks is committed the local index is rebuilt and an invalidation message is
+ * published to the webhook.subscriptions fanout exchange. Every replica consumes it from its own
+ * auto-delete queue and rebuilds its index. Lost messages are caught up by the periodic refresh of
+ * {@link WebhookRoutingIndex}.
+ */
+@Component
+@Slf4j
+public class WebhookRoutingInvalidator {
+
+    static final String ORIGIN = "origin";
+    static final String WEBHOOK_ID = "webhookId";
+
+    private final String instanceId = UUID.randomUUID().toString();
+    private final WebhookRoutingIndex routingIndex;
+    private final RabbitTemplate rabbitTemplate;
+
+    public WebhookRoutingInvalidator(WebhookRoutingIndex routingIndex, RabbitTemplate rabbitTemplate) {
+        this.routingIndex = routingIndex;
+        this.rabbitTemplate = rabbitTemplate;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSubscriptionsChanged(WebhookSubscriptionsChangedEvent event) {
+        routingIndex.refresh();
+        try {
+            rabbitTemplate.convertAndSend(RabbitMQConfig.WEBHOOK_SUBSCRIPTIONS_EXCHANGE, "",
+                    Map.of(ORIGIN, instanceId, WEBHOOK_ID, String.valueOf(event.webhookId())));
+        } catch (AmqpException e) {
+            log.warn("Failed to notify other replicas of the change to webhook {}, they catch up on their next refresh",
+                    event.webhookId(), e);
+        }
+    }
+
+    @RabbitListener(queues = "#{webhookSubscriptionsQueue.name}")
+    public void onInvalidation(Map<String, Object> message) {
+        if (instanceId.equals(message.get(ORIGIN))) {
+            // Rebuilt when the change was committed
+            return;
+        }
+        log.debug("Webhook {} changed on another replica", message.get(WEBHOOK_ID));
+        routingIndex.refresh();
+    }
+}
@@ -0,0 +1,12 @@
+package com.tsystems.dco.webhook.routing;
+
+import java.util.UUID;
+
+/**
+ * Published when a webhook is created, updated or deleted, so the routing index of every replica is
+ * rebuilt once the change is committed.
+ *
+ * @param webhookId ID of the changed webhook
+ */
+public record WebhookSubscriptionsChangedEvent(UUID webhookId) {
+}
@@ -0,0 +1,156 @@
+package com.tsystems.dco.webhook.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Bounded executor for event deliveries with per-webhook bulkheads.
+ *
+ * At most max-pending-events events are being delivered at a time, counted from submission until every
+ * delivery attempt of the event is recorded. Further submissions block the calling RabbitMQ listener, which
+ * then stops acknowledging, so the broker holds back messages beyond the listener prefetch instead of the
+ * service buffering them on the heap.
+ *
+ * Each webhook has at most max-in-flight-per-webhook attempts in flight. Deliveries beyond that are left to
+ * the retry scheduler, so a slow receiver cannot occupy the whole executor.
+ */
+@Component
+@Slf4j
+public class WebhookDeliveryExecutor {
+
+    private final ExecutorService executor;
+    private final Semaphore pendingEvents;
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final int maxInFlightPerWebhook;
+    private final Map<UUID, Semaphore> bulkheads = new ConcurrentHashMap<>();
+
+    public WebhookDeliveryExecutor(MeterRegistry meterRegistry,
+                                   @Value("${app.webhook.delivery.workers:16}") int workers,
+                                   @Value("${app.webhook.delivery.max-pending-events:200}") int maxPendingEvents,
+                                   @Value("${app.webhook.delivery.max-in-flight-per-webhook:20}") int maxInFlightPerWebhook,
+                                   @Value("${app.webhook.delivery.virtual-threads:false}") boolean virtualThreads) {
+        this.executor = virtualThreads
+                ? virtualThreadExecutor(workers, maxPendingEvents)
+                : platformThreadExecutor(workers, maxPendingEvents);
+        this.pendingEvents = new Semaphore(Math.max(1, maxPendingEvents));
+        this.maxInFlightPerWebhook = Math.max(1, maxInFlightPerWebhook);
+
+        Gauge.builder("webhook.delivery.pending.events", pendingCount, AtomicInteger::get)
+                .description("Events accepted for delivery and not yet delivered to all webhooks")
+                .tag("component", "webhook-delivery")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Run the delivery of an event. Blocks while max-pending-events events are being delivered.
+     *
+     * @param delivery Starts the delivery, the returned future completes when it is recorded
+     * @throws RejectedExecutionException if interrupted while waiting, or on shutdown
+     */
+    public void submit(Supplier<CompletableFuture<Void>> delivery) {
+        try {
+            if (!pendingEvents.tryAcquire()) {
+                log.warn("Webhook delivery saturated with {} pending events, holding back consumption", pendingCount.get());
+                pendingEvents.acquire();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrupted while waiting for delivery capacity", e);
+        }
+        pendingCount.incrementAndGet();
+        try {
+            executor.execute(() -> {
+                CompletableFuture<Void> completion;
+                try {
+                    completion = delivery.get();
+                } catch (RuntimeException e) {
+                    log.error("Error starting webhook delivery", e);
+                    completion = CompletableFuture.failedFuture(e);
+                }
+                completion.whenComplete((result, error) -> release());
+            });
+        } catch (RejectedExecutionException e) {
+            release();
+            throw e;
+        }
+    }
+
+    /**
+     * Take a slot of a webhook's bulkhead.
+     *
+     * @param webhookId Webhook ID
+     * @return false if the webhook already has max-in-flight-per-webhook attempts in flight
+     */
+    public boolean tryEnter(UUID webhookId) {
+        return bulkheads.computeIfAbsent(webhookId, id -> new Semaphore(maxInFlightPerWebhook)).tryAcquire();
+    }
+
+    /**
+     * Free a slot taken with {@link #tryEnter(UUID)}.
+     *
+     * @param webhookId Webhook ID
+     */
+    public void leave(UUID webhookId) {
+        Semaphore bulkhead = bulkheads.get(webhookId);
+        if (bulkhead != null) {
+            bulkhead.release();
+        }
+    }
+
+    public int getPendingEvents() {
+        return pendingCount.get();
+    }
+
+    private void release() {
+        pendingCount.decrementAndGet();
+        pendingEvents.release();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            // Deliveries not recorded by now are picked up by the retry scheduler once their lease expires
+            executor.shutdownNow();
+        }
+    }
+
+    private static ExecutorService platformThreadExecutor(int workers, int maxPendingEvents) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        int threads = Math.max(1, workers);
+        return new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(Math.max(1, maxPendingEvents)),
+                runnable -> new Thread(runnable, "webhook-delivery-" + threadNumber.incrementAndGet()));
+    }
+
+    /**
+     * Virtual thread per event on Java 21 and later, the pending events bound the threads. Falls back to
+     * platform threads on older runtimes.
+     */
+    private static ExecutorService virtualThreadExecutor(int workers, int maxPendingEvents) {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            log.warn("Virtual threads need Java 21 or later, delivering on {} platform threads", workers);
+            return platformThreadExecutor(workers, maxPendingEvents);
+        }
+    }
+}
@@ -24,28 +24,33 @@
 package com.tsystems.dco.webhook.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.tsystems.dco.webhook.entity.Webhook;
 import com.tsystems.dco.webhook.entity.WebhookDelivery;
 import com.tsystems.dco.webhook.entity.WebhookDeliveryAttempt;
-import com.tsystems.dco.webhook.entity.WebhookEventType;
 import com.tsystems.dco.webhook.repository.WebhookRepository;
 import com.tsystems.dco.webhook.repository.WebhookDeliveryRepository;
+import com.tsystems.dco.webhook.routing.WebhookDescriptor;
+import com.tsystems.dco.webhook.routing.WebhookRoutingIndex;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.http.*;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
 import javax.crypto.Mac;
 import javax.crypto.spec.SecretKeySpec;
+import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
 import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
 import java.time.OffsetDateTime;
 import java.util.HexFormat;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @Service
 @RequiredArgsConstructor
@@ -54,160 +59,295 @@ public class WebhookDeliveryService {
 
     private final WebhookRepository webhookRepository;
     private final WebhookDeliveryRepository webhookDeliveryRepository;
-    private final RestTemplate restTemplate;
+    private final WebhookHttpClient webhookHttpClient;
     private final ObjectMapper objectMapper;
     private final com.tsystems.dco.webhook.metrics.WebhookMetricsService metricsService;
+    private final WebhookRetryPolicy retryPolicy;
+    private final WebhookDeliveryExecutor deliveryExecutor;
+    private final WebhookRoutingIndex routingIndex;
+    private final WebhookDeliveryStats deliveryStats;
 
-    @Async
+    /**
+     * Deliver an event on the delivery executor. Blocks the caller while the executor is saturated.
+     *
+     * @throws java.util.concurrent.RejectedExecutionException if interrupted while waiting for capacity
+     */
     public void deliverEventToWebhooks(String eventId, String eventType, Map<String, Object> eventData) {
+        deliveryExecutor.submit(() -> deliverToSubscribers(eventId, eventType, eventData));
+    }
+
+    /**
+     * Deliver an event to all active webhooks subscribed to its type. Requests to all subscribers are
+     * in flight at the same time, a slow receiver only delays its own delivery.
+     *
+     * @return Completes when every delivery attempt is recorded
+     */
+    public CompletableFuture<Void> deliverToSubscribers(String eventId, String eventType, Map<String, Object> eventData) {
         log.info("Starting webhook delivery for event {} of type {}", eventId, eventType);
         
         // Find all active webhooks that are subscribed to this event type
-        List<Webhook> webhooks = webhookRepository.findActiveWebhooksByEventType(eventType);
+        List<WebhookDescriptor> webhooks = routingIndex.resolve(eventType);
         
         log.info("Found {} active webhooks for event type {}", webhooks.size(), eventType);
         
-        for (Webhook webhook : webhooks) {
-            deliverEventToWebhook(webhook, eventId, eventType, eventData);
-        }
+        CompletableFuture<?>[] deliveries = webhooks.stream()
+            .map(webhook -> deliverEventToWebhook(webhook, eventId, eventType, eventData))
+            .toArray(CompletableFuture[]::new);
+        return CompletableFuture.allOf(deliveries);
     }
 
-    private void deliverEventToWebhook(Webhook webhook, String eventId, String eventType, Map<String, Object> eventData) {
+    private CompletableFuture<Void> deliverEventToWebhook(WebhookDescriptor webhook, String eventId, String eventType, Map<String, Object> eventData) {
+        boolean admitted = false;
         try {
-            log.info("Delivering event {} to webhook {}", eventId, webhook.getName());
+            log.info("Delivering event {} to webhook {}", eventId, webhook.name());
             
             // Create delivery record
             WebhookDelivery delivery = new WebhookDelivery();
-            delivery.setWebhook(webhook);
+            delivery.setWebhook(webhookRepository.getReferenceById(webhook.id()));
             delivery.setEventId(eventId);
             delivery.setEventType(eventType);
             delivery.setStatus(WebhookDelivery.DeliveryStatus.PENDING);
             delivery.setPayload(eventData);
             delivery.setAttemptCount(0);
-            delivery.setMaxAttempts(webhook.getMaxRetryAttempts());
+            delivery.setMaxAttempts(webhook.maxRetryAttempts());
+            
+            admitted = deliveryExecutor.tryEnter(webhook.id());
+            if (!admitted) {
+                // Bulkhead of the webhook is full, leave the delivery to the retry scheduler
+                deferDelivery(delivery, webhook);
+                return CompletableFuture.completedFuture(null);
+            }
+            // Picked up by the retry scheduler if this replica stops before the attempt is recorded
+            delivery.setNextRetryAt(retryPolicy.leaseUntil(OffsetDateTime.now()));
+            delivery.setClaimToken(UUID.randomUUID());
             
             delivery = webhookDeliveryRepository.save(delivery);
             
             // Attempt delivery
-            attemptDelivery(delivery, webhook, eventData);
+            return attemptDelivery(delivery, webhook, eventData)
+                .whenComplete((result, error) -> deliveryExecutor.leave(webhook.id()))
+                .exceptionally(e -> {
+                    log.error("Error delivering event {} to webhook {}", eventId, webhook.name(), e);
+                    return null;
+                });
             
         } catch (Exception e) {
-            log.error("Error delivering event {} to webhook {}", eventId, webhook.getName(), e);
+            log.error("Error delivering event {} to webhook {}", eventId, webhook.name(), e);
+            if (admitted) {
+                deliveryExecutor.leave(webhook.id());
+            }
+            return CompletableFuture.completedFuture(null);
         }
     }
 
-    private void attemptDelivery(WebhookDelivery delivery, Webhook webhook, Map<String, Object> eventData) {
+    /**
+     * Attempt a delivery claimed by the retry scheduler. Deliveries of webhooks that were deactivated
+     * or deleted in the meantime are cancelled.
+     *
+     * @param delivery Delivery with its webhook reference and the claim token of the scheduler
+     * @return Completes when the attempt is recorded
+     */
+    public CompletableFuture<Void> retryDelivery(WebhookDelivery delivery) {
+        UUID webhookId = delivery.getWebhook().getId();
+        WebhookDescriptor webhook = routingIndex.findWebhook(webhookId).orElse(null);
+        if (webhook == null) {
+            delivery.setStatus(WebhookDelivery.DeliveryStatus.CANCELLED);
+            delivery.setNextRetryAt(null);
+            delivery.markAsCompleted();
+            storeOutcome(delivery);
+            log.info("Cancelled delivery {} of event {}, webhook {} is inactive or deleted",
+                delivery.getId(), delivery.getEventId(), webhookId);
+            return CompletableFuture.completedFuture(null);
+        }
+        
+        if (!deliveryExecutor.tryEnter(webhook.id())) {
+            deferDelivery(delivery, webhook);
+            return CompletableFuture.completedFuture(null);
+        }
+        
+        log.info("Retrying delivery {} of event {} to webhook {} (attempt {} of {})",
+            delivery.getId(), delivery.getEventId(), webhook.name(),
+            delivery.getAttemptCount() + 1, delivery.getMaxAttempts());
+        metricsService.incrementDeliveryRetry(delivery.getEventType());
+        try {
+            return attemptDelivery(delivery, webhook, delivery.getPayload())
+                .whenComplete((result, error) -> deliveryExecutor.leave(webhook.id()));
+        } catch (RuntimeException e) {
+            deliveryExecutor.leave(webhook.id());
+            throw e;
+        }
+    }
+
+    /**
+     * Store a delivery for a later attempt by the retry scheduler, without counting an attempt.
+     */
+    private void deferDelivery(WebhookDelivery delivery, WebhookDescriptor webhook) {
+        delivery.setStatus(WebhookDelivery.DeliveryStatus.RETRY);
+        delivery.setNextRetryAt(retryPolicy.nextAttemptAt(webhook, Math.max(1, delivery.getAttemptCount()), OffsetDateTime.now()));
+        if (delivery.getId() == null) {
+            webhookDeliveryRepository.save(delivery);
+        } else {
+            storeOutcome(delivery);
+        }
+        log.warn("Webhook {} has too many deliveries in flight, deferred event {} to {}",
+            webhook.name(), delivery.getEventId(), delivery.getNextRetryAt());
+    }
+
+    private CompletableFuture<Void> attemptDelivery(WebhookDelivery delivery, WebhookDescriptor webhook, Map<String, Object> eventData) {
         io.micrometer.core.instrument.Timer.Sample timerSample = metricsService.startDeliveryTimer();
+        long startTime = System.currentTimeMillis();
         
+        CompletableFuture<HttpResponse<String>> response;
         try {
             String payload = objectMapper.writeValueAsString(eventData);
             
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            headers.set("User-Agent", "SDV-Webhook-Delivery/1.0");
-            headers.set("X-SDV-Event-ID", delivery.getEventId());
-            headers.set("X-SDV-Event-Type", delivery.getEventType());
-            headers.set("X-SDV-Delivery-ID", delivery.getId().toString());
+            Map<String, String> headers = new LinkedHashMap<>();
+            headers.put(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE);
+            headers.put(HttpHeaders.USER_AGENT, "SDV-Webhook-Delivery/1.0");
+            headers.put("X-SDV-Event-ID", delivery.getEventId());
+            headers.put("X-SDV-Event-Type", delivery.getEventType());
+            headers.put("X-SDV-Delivery-ID", delivery.getId().toString());
             
             // Add webhook signature if secret is configured
-            if (webhook.getSecret() != null && !webhook.getSecret().isEmpty()) {
-                String signature = generateSignature(payload, webhook.getSecret());
-                headers.set("X-SDV-Signature", signature);
+            if (webhook.secret() != null && !webhook.secret().isEmpty()) {
+                String signature = generateSignature(payload, webhook.secret());
+                headers.put("X-SDV-Signature", signature);
             }
             
             // Add custom headers from webhook configuration
-            webhook.getHeaders().forEach(header -> 
-                headers.set(header.getHeaderName(), header.getHeaderValue())
-            );
-            
-            HttpEntity<String> request = new HttpEntity<>(payload, headers);
-            
-            long startTime = System.currentTimeMillis();
-            ResponseEntity<String> response = restTemplate.exchange(
-                webhook.getUrl(),
-                HttpMethod.POST,
-                request,
-                String.class
-            );
-            long responseTime = System.currentTimeMillis() - startTime;
-            
-            // Create delivery attempt record
-            WebhookDeliveryAttempt attempt = new WebhookDeliveryAttempt();
-            attempt.setDelivery(delivery);
-            attempt.setAttemptNumber(delivery.getAttemptCount() + 1);
-            attempt.setStatusCode(response.getStatusCode().value());
-            attempt.setResponseBody(response.getBody());
-            attempt.setResponseTime((int) responseTime);
-            
-            // Update delivery record
-            delivery.setAttemptCount(delivery.getAttemptCount() + 1);
-            delivery.setStatusCode(response.getStatusCode().value());
-            delivery.setResponseBody(response.getBody());
-            delivery.setResponseTime((int) responseTime);
+            headers.putAll(webhook.headers());
             
-            // Record HTTP status code metric
-            metricsService.recordHttpStatusCode(response.getStatusCode().value(), delivery.getEventType());
-            
-            if (response.getStatusCode().is2xxSuccessful()) {
-                delivery.setStatus(WebhookDelivery.DeliveryStatus.SUCCESS);
-                delivery.setCompletedAt(OffsetDateTime.now());
-                
-                // Update webhook statistics
-                webhook.setTotalDeliveries(webhook.getTotalDeliveries() + 1);
-                webhook.setSuccessfulDeliveries(webhook.getSuccessfulDeliveries() + 1);
-                webhook.setLastDeliveryAt(OffsetDateTime.now());
-                webhookRepository.save(webhook);
-                
-                // Record success metrics
-                metricsService.incrementDeliverySuccess(delivery.getEventType());
-                metricsService.recordDeliveryDuration(timerSample, delivery.getEventType(), "success");
-                
-                log.info("Successfully delivered event {} to webhook {}", delivery.getEventId(), webhook.getName());
+            response = webhookHttpClient.post(webhook.url(), headers, payload);
+        } catch (Exception e) {
+            response = CompletableFuture.failedFuture(e);
+        }
+        
+        return response.handle((result, error) -> {
+            int responseTime = (int) (System.currentTimeMillis() - startTime);
+            if (error == null) {
+                recordResponse(delivery, webhook, timerSample, result, responseTime);
             } else {
-                delivery.setStatus(WebhookDelivery.DeliveryStatus.FAILED);
-                delivery.setErrorMessage("HTTP " + response.getStatusCode() + ": " + response.getBody());
-                
-                // Record failure metrics
-                metricsService.incrementDeliveryFailed(delivery.getEventType(), "http_error");
-                metricsService.recordDeliveryDuration(timerSample, delivery.getEventType(), "failed");
-                
-                // Update webhook statistics
-                webhook.setTotalDeliveries(webhook.getTotalDeliveries() + 1);
-                webhook.setFailedDeliveries(webhook.getFailedDeliveries() + 1);
-                webhookRepository.save(webhook);
-                
-                log.warn("Failed to deliver event {} to webhook {}: HTTP {}", 
-                    delivery.getEventId(), webhook.getName(), response.getStatusCode());
+                recordError(delivery, webhook, timerSample, error instanceof CompletionException && error.getCause() != null
+                    ? error.getCause() : error);
             }
+            return null;
+        });
+    }
+
+    private void recordResponse(WebhookDelivery delivery, WebhookDescriptor webhook, io.micrometer.core.instrument.Timer.Sample timerSample,
+                                HttpResponse<String> response, int responseTime) {
+        // Create delivery attempt record
+        WebhookDeliveryAttempt attempt = new WebhookDeliveryAttempt();
+        attempt.setDelivery(delivery);
+        attempt.setAttemptNumber(delivery.getAttemptCount() + 1);
+        attempt.setStatusCode(response.statusCode());
+        attempt.setResponseBody(response.body());
+        attempt.setResponseTime(responseTime);
+        
+        // Update delivery record
+        delivery.setAttemptCount(delivery.getAttemptCount() + 1);
+        delivery.setStatusCode(response.statusCode());
+        delivery.setResponseBody(response.body());
+        delivery.setResponseTime(responseTime);
+        
+        // Record HTTP status code metric
+        metricsService.recordHttpStatusCode(response.statusCode(), delivery.getEventType());
+        
+        if (HttpStatusCode.valueOf(response.statusCode()).is2xxSuccessful()) {
+            delivery.setStatus(WebhookDelivery.DeliveryStatus.SUCCESS);
+            delivery.setNextRetryAt(null);
+            delivery.setCompletedAt(OffsetDateTime.now());
             
-            webhookDeliveryRepository.save(delivery);
-            
-        } catch (Exception e) {
-            log.error("Error attempting delivery for event {} to webhook {}", 
-                delivery.getEventId(), webhook.getName(), e);
-            
-            // Create failed attempt record
-            WebhookDeliveryAttempt attempt = new WebhookDeliveryAttempt();
-            attempt.setDelivery(delivery);
-            attempt.setAttemptNumber(delivery.getAttemptCount() + 1);
-            attempt.setErrorMessage(e.getMessage());
+            // Record success metrics
+            metricsService.incrementDeliverySuccess(delivery.getEventType());
+            metricsService.recordDeliveryDuration(timerSample, delivery.getEventType(), "success");
             
-            // Update delivery record
-            delivery.setAttemptCount(delivery.getAttemptCount() + 1);
-            delivery.setStatus(WebhookDelivery.DeliveryStatus.FAILED);
-            delivery.setErrorMessage(e.getMessage());
+            log.info("Successfully delivered event {} to webhook {}", delivery.getEventId(), webhook.name());
+        } else {
+            delivery.setErrorMessage("HTTP " + response.statusCode() + ": " + response.body());
             
             // Record failure metrics
-            String errorType = e.getClass().getSimpleName();
-            metricsService.incrementDeliveryFailed(delivery.getEventType(), errorType);
+            metricsService.incrementDeliveryFailed(delivery.getEventType(), "http_error");
             metricsService.recordDeliveryDuration(timerSample, delivery.getEventType(), "failed");
             
-            // Update webhook statistics
-            webhook.setTotalDeliveries(webhook.getTotalDeliveries() + 1);
-            webhook.setFailedDeliveries(webhook.getFailedDeliveries() + 1);
-            webhookRepository.save(webhook);
+            scheduleRetryOrFail(delivery, webhook);
             
-            webhookDeliveryRepository.save(delivery);
+            log.warn("Failed to deliver event {} to webhook {}: HTTP {}", 
+                delivery.getEventId(), webhook.name(), response.statusCode());
+        }
+        
+        if (storeOutcome(delivery)) {
+            countFinalOutcome(delivery, webhook);
+        }
+    }
+
+    private void recordError(WebhookDelivery delivery, WebhookDescriptor webhook, io.micrometer.core.instrument.Timer.Sample timerSample,
+                             Throwable e) {
+        log.error("Error attempting delivery for event {} to webhook {}", 
+            delivery.getEventId(), webhook.name(), e);
+        
+        // Create failed attempt record
+        WebhookDeliveryAttempt attempt = new WebhookDeliveryAttempt();
+        attempt.setDelivery(delivery);
+        attempt.setAttemptNumber(delivery.getAttemptCount() + 1);
+        attempt.setErrorMessage(e.getMessage());
+        
+        // Update delivery record
+        delivery.setAttemptCount(delivery.getAttemptCount() + 1);
+        delivery.setErrorMessage(e.getMessage());
+        
+        // Record failure metrics
+        String errorType = e.getClass().getSimpleName();
+        metricsService.incrementDeliveryFailed(delivery.getEventType(), errorType);
+        metricsService.recordDeliveryDuration(timerSample, delivery.getEventType(), "failed");
+        
+        scheduleRetryOrFail(delivery, webhook);
+        
+        if (storeOutcome(delivery)) {
+            countFinalOutcome(delivery, webhook);
+        }
+    }
+
+    /**
+     * Schedule the next attempt of a failed delivery with backoff, or fail it for good once its attempts
+     * are used up.
+     */
+    private void scheduleRetryOrFail(WebhookDelivery delivery, WebhookDescriptor webhook) {
+        if (delivery.hasRetriesLeft()) {
+            delivery.setStatus(WebhookDelivery.DeliveryStatus.RETRY);
+            delivery.setNextRetryAt(retryPolicy.nextAttemptAt(webhook, delivery.getAttemptCount(), OffsetDateTime.now()));
+            log.info("Scheduled retry of delivery {} to webhook {} at {}",
+                delivery.getId(), webhook.name(), delivery.getNextRetryAt());
+            return;
+        }
+        
+        delivery.setStatus(WebhookDelivery.DeliveryStatus.FAILED);
+        delivery.setNextRetryAt(null);
+        delivery.markAsCompleted();
+    }
+
+    /**
+     * Store the outcome of an attempt on the claimed delivery.
+     *
+     * @return false if the lease expired and the delivery was claimed again, the outcome is dropped then
+     */
+    private boolean storeOutcome(WebhookDelivery delivery) {
+        if (webhookDeliveryRepository.saveIfClaimed(delivery)) {
+            return true;
+        }
+        log.warn("Delivery {} of event {} was claimed again after its lease expired, dropped the outcome of this attempt",
+            delivery.getId(), delivery.getEventId());
+        return false;
+    }
+
+    /**
+     * Webhook statistics count a delivery once, when its final outcome is stored.
+     */
+    private void countFinalOutcome(WebhookDelivery delivery, WebhookDescriptor webhook) {
+        if (delivery.getStatus() == WebhookDelivery.DeliveryStatus.SUCCESS) {
+            deliveryStats.recordSuccess(webhook.id(), delivery.getCompletedAt());
+        } else if (delivery.getStatus() == WebhookDelivery.DeliveryStatus.FAILED) {
+            deliveryStats.recordFailure(webhook.id());
         }
     }
 
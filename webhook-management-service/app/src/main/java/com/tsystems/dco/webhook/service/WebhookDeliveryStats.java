@@ -0,0 +1,123 @@
+package com.tsystems.dco.webhook.service;
+
+import com.tsystems.dco.webhook.repository.WebhookRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.OffsetDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Delivery statistics of webhooks, counted in memory and written in batches.
+ *
+ * Final outcomes of deliveries are counted on striped counters without contention between delivery
+ * threads. The deltas are flushed every flush-interval with one UPDATE ... SET x = x + :delta per
+ * webhook, so concurrent deliveries and replicas do not overwrite each other's counts. Flushed deltas
+ * are subtracted from the counters rather than reset, deliveries counted during a flush are kept for
+ * the next one. Counts not flushed yet are exposed to add them to the stored statistics.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class WebhookDeliveryStats {
+
+    private final WebhookRepository webhookRepository;
+    private final Map<UUID, Counters> counters = new ConcurrentHashMap<>();
+
+    public void recordSuccess(UUID webhookId, OffsetDateTime deliveredAt) {
+        Counters webhookCounters = counters(webhookId);
+        webhookCounters.successful.increment();
+        webhookCounters.lastDeliveryAt.accumulateAndGet(deliveredAt, WebhookDeliveryStats::latest);
+    }
+
+    public void recordFailure(UUID webhookId) {
+        counters(webhookId).failed.increment();
+    }
+
+    /**
+     * Successful deliveries of a webhook not flushed yet.
+     */
+    public long unflushedSuccessful(UUID webhookId) {
+        Counters webhookCounters = counters.get(webhookId);
+        return webhookCounters == null ? 0 : webhookCounters.successful.sum();
+    }
+
+    /**
+     * Failed deliveries of a webhook not flushed yet.
+     */
+    public long unflushedFailed(UUID webhookId) {
+        Counters webhookCounters = counters.get(webhookId);
+        return webhookCounters == null ? 0 : webhookCounters.failed.sum();
+    }
+
+    /**
+     * Last successful delivery of a webhook not flushed yet.
+     *
+     * @return Time of the delivery, null if there is none
+     */
+    public OffsetDateTime unflushedLastDeliveryAt(UUID webhookId) {
+        Counters webhookCounters = counters.get(webhookId);
+        return webhookCounters == null ? null : webhookCounters.lastDeliveryAt.get();
+    }
+
+    /**
+     * Write the counted deltas. Deltas that could not be written are kept for the next flush.
+     */
+    @Scheduled(fixedDelayString = "${app.webhook.stats.flush-interval:5000}")
+    public synchronized void flush() {
+        counters.forEach((webhookId, webhookCounters) -> {
+            // sumThenReset would lose increments landing between summing and resetting a cell
+            long successful = webhookCounters.successful.sum();
+            long failed = webhookCounters.failed.sum();
+            if (successful == 0 && failed == 0) {
+                return;
+            }
+            webhookCounters.successful.add(-successful);
+            webhookCounters.failed.add(-failed);
+            OffsetDateTime lastDeliveryAt = webhookCounters.lastDeliveryAt.getAndSet(null);
+            try {
+                int updated = webhookRepository.addDeliveryStats(webhookId, Math.toIntExact(successful),
+                        Math.toIntExact(failed), lastDeliveryAt);
+                if (updated == 0) {
+                    // Webhook was deleted
+                    counters.remove(webhookId, webhookCounters);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Failed to write delivery statistics of webhook {}, retrying on next flush", webhookId, e);
+                webhookCounters.successful.add(successful);
+                webhookCounters.failed.add(failed);
+                if (lastDeliveryAt != null) {
+                    webhookCounters.lastDeliveryAt.accumulateAndGet(lastDeliveryAt, WebhookDeliveryStats::latest);
+                }
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private Counters counters(UUID webhookId) {
+        Counters webhookCounters = counters.get(webhookId);
+        return webhookCounters != null ? webhookCounters : counters.computeIfAbsent(webhookId, id -> new Counters());
+    }
+
+    private static OffsetDateTime latest(OffsetDateTime current, OffsetDateTime candidate) {
+        return current == null || candidate.isAfter(current) ? candidate : current;
+    }
+
+    private static final class Counters {
+
+        private final LongAdder successful = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final AtomicReference<OffsetDateTime> lastDeliveryAt = new AtomicReference<>();
+    }
+}
@@ -29,10 +29,12 @@ import com.tsystems.dco.webhook.metrics.WebhookMetricsService;
 import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.ImmediateRequeueAmqpException;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.stereotype.Service;
 
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 
 @Service
 @Slf4j
@@ -66,6 +68,9 @@ public class WebhookEventConsumer {
                 log.warn("Invalid event data - missing eventType or eventId: {}", eventData);
             }
             
+        } catch (RejectedExecutionException e) {
+            // Not accepted for delivery, e.g. on shutdown, the broker redelivers it
+            throw new ImmediateRequeueAmqpException("Event not accepted for delivery", e);
         } catch (Exception e) {
             log.error("Error processing scenario event", e);
             if (eventData.get("eventType") != null) {
@@ -93,6 +98,9 @@ public class WebhookEventConsumer {
                 log.warn("Invalid event data - missing eventType or eventId: {}", eventData);
             }
             
+        } catch (RejectedExecutionException e) {
+            // Not accepted for delivery, e.g. on shutdown, the broker redelivers it
+            throw new ImmediateRequeueAmqpException("Event not accepted for delivery", e);
         } catch (Exception e) {
             log.error("Error processing track event", e);
             if (eventData.get("eventType") != null) {
@@ -120,6 +128,9 @@ public class WebhookEventConsumer {
                 log.warn("Invalid event data - missing eventType or eventId: {}", eventData);
             }
             
+        } catch (RejectedExecutionException e) {
+            // Not accepted for delivery, e.g. on shutdown, the broker redelivers it
+            throw new ImmediateRequeueAmqpException("Event not accepted for delivery", e);
         } catch (Exception e) {
             log.error("Error processing simulation event", e);
             if (eventData.get("eventType") != null) {
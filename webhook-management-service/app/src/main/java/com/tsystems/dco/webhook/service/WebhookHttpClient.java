@@ -0,0 +1,195 @@
+package com.tsystems.dco.webhook.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Non-blocking HTTP client for webhook deliveries on the JDK HttpClient.
+ *
+ * Connections are pooled and kept alive by the HttpClient, HTTP/2 is negotiated where receivers support it.
+ * Requests to one host are limited to max-connections-per-host at a time, further requests wait in a
+ * per-host queue without holding a thread, so a slow receiver neither exhausts the pool nor delays others.
+ * Requests still queued after max-queue-wait fail with a timeout, the request timeout only starts once
+ * they are sent. Responses are completed on a fixed pool of http.threads, delivery outcomes recorded
+ * in completion handlers cannot pile up threads.
+ */
+@Component
+public class WebhookHttpClient {
+
+    private final ExecutorService executor;
+    private final HttpClient httpClient;
+    private final Duration requestTimeout;
+    private final Duration maxQueueWait;
+    private final int maxConnectionsPerHost;
+    private final Map<String, HostLimiter> hostLimiters = new ConcurrentHashMap<>();
+
+    public WebhookHttpClient(@Value("${app.webhook.http.connect-timeout:5000}") long connectTimeout,
+                             @Value("${app.webhook.delivery-timeout:30000}") long requestTimeout,
+                             @Value("${app.webhook.http.max-queue-wait:30000}") long maxQueueWait,
+                             @Value("${app.webhook.http.max-connections-per-host:20}") int maxConnectionsPerHost,
+                             @Value("${app.webhook.http.threads:8}") int threads,
+                             @Value("${app.webhook.http.http2:true}") boolean http2) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, threads), runnable -> {
+            Thread thread = new Thread(runnable, "webhook-http-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.httpClient = HttpClient.newBuilder()
+                .version(http2 ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(connectTimeout))
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .executor(executor)
+                .build();
+        this.requestTimeout = Duration.ofMillis(requestTimeout);
+        this.maxQueueWait = Duration.ofMillis(maxQueueWait);
+        this.maxConnectionsPerHost = Math.max(1, maxConnectionsPerHost);
+    }
+
+    /**
+     * POST a payload. The returned future completes with the response of any status, or exceptionally
+     * on connect or request timeouts and I/O errors.
+     *
+     * @param url Receiver URL
+     * @param headers Request headers
+     * @param body Request body
+     * @return Response with the body as string
+     */
+    public CompletableFuture<HttpResponse<String>> post(String url, Map<String, String> headers, String body) {
+        HttpRequest request;
+        try {
+            HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url))
+                    .timeout(requestTimeout)
+                    .POST(HttpRequest.BodyPublishers.ofString(body, StandardCharsets.UTF_8));
+            headers.forEach(builder::setHeader);
+            request = builder.build();
+        } catch (IllegalArgumentException e) {
+            // Invalid URL or a header the client manages itself, e.g. Host
+            return CompletableFuture.failedFuture(e);
+        }
+        return hostLimiter(request.uri())
+                .submit(() -> httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8)));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private HostLimiter hostLimiter(URI uri) {
+        String host = uri.getScheme() + "://" + uri.getHost() + ":" + uri.getPort();
+        return hostLimiters.computeIfAbsent(host, key -> new HostLimiter(maxConnectionsPerHost, maxQueueWait));
+    }
+
+    /**
+     * Limits the requests in flight to one host, queued requests are started as running ones complete
+     * or fail once they waited longer than maxWait.
+     */
+    static final class HostLimiter {
+
+        private final int maxInFlight;
+        private final Duration maxWait;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final Queue<Pending> waiting = new ConcurrentLinkedQueue<>();
+
+        HostLimiter(int maxInFlight, Duration maxWait) {
+            this.maxInFlight = maxInFlight;
+            this.maxWait = maxWait;
+        }
+
+        <T> CompletableFuture<T> submit(Supplier<CompletableFuture<T>> call) {
+            CompletableFuture<T> result = new CompletableFuture<>();
+            Pending pending = new Pending(() -> {
+                CompletableFuture<T> response;
+                try {
+                    response = call.get();
+                } catch (RuntimeException e) {
+                    response = CompletableFuture.failedFuture(e);
+                }
+                response.whenComplete((value, error) -> {
+                    release();
+                    if (error != null) {
+                        result.completeExceptionally(error);
+                    } else {
+                        result.complete(value);
+                    }
+                });
+            });
+            waiting.add(pending);
+            drain();
+            if (!pending.started.get()) {
+                CompletableFuture.delayedExecutor(maxWait.toMillis(), TimeUnit.MILLISECONDS).execute(() -> {
+                    if (pending.started.compareAndSet(false, true)) {
+                        waiting.remove(pending);
+                        result.completeExceptionally(new HttpTimeoutException(
+                                "Request not started within " + maxWait.toMillis() + " ms, host at its connection limit"));
+                    }
+                });
+            }
+            return result;
+        }
+
+        int inFlight() {
+            return inFlight.get();
+        }
+
+        int waiting() {
+            return waiting.size();
+        }
+
+        private void release() {
+            inFlight.decrementAndGet();
+            drain();
+        }
+
+        private void drain() {
+            while (!waiting.isEmpty()) {
+                int current = inFlight.get();
+                if (current >= maxInFlight) {
+                    // Started by the release of a running request
+                    return;
+                }
+                if (!inFlight.compareAndSet(current, current + 1)) {
+                    continue;
+                }
+                Pending next = waiting.poll();
+                if (next != null && next.started.compareAndSet(false, true)) {
+                    next.call.run();
+                } else {
+                    // Queue drained meanwhile, or the request timed out while waiting
+                    inFlight.decrementAndGet();
+                }
+            }
+        }
+
+        private static final class Pending {
+
+            private final Runnable call;
+            private final AtomicBoolean started = new AtomicBoolean();
+
+            Pending(Runnable call) {
+                this.call = call;
+            }
+        }
+    }
+}
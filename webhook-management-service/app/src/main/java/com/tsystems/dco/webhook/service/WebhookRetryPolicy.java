@@ -0,0 +1,93 @@
+package com.tsystems.dco.webhook.service;
+
+import com.tsystems.dco.webhook.routing.WebhookDescriptor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Retry timing of webhook deliveries.
+ *
+ * The backoff before a retry grows exponentially from the webhook's initial retry delay by its backoff
+ * multiplier and is capped at its max retry delay. A random share of the backoff (jitter) is subtracted
+ * so retries of deliveries that failed together, e.g. during a receiver outage, spread out.
+ */
+@Component
+public class WebhookRetryPolicy {
+
+    private final long defaultRetryDelay;
+    private final long defaultMaxRetryDelay;
+    private final double jitter;
+    private final long leaseMillis;
+
+    public WebhookRetryPolicy(@Value("${app.webhook.default-retry-delay:5000}") long defaultRetryDelay,
+                              @Value("${app.webhook.max-retry-delay:300000}") long defaultMaxRetryDelay,
+                              @Value("${app.webhook.retry.jitter:0.5}") double jitter,
+                              @Value("${app.webhook.retry.lease:120000}") long leaseMillis) {
+        this.defaultRetryDelay = defaultRetryDelay;
+        this.defaultMaxRetryDelay = defaultMaxRetryDelay;
+        this.jitter = Math.max(0, Math.min(1, jitter));
+        this.leaseMillis = leaseMillis;
+    }
+
+    /**
+     * Backoff without jitter: initialRetryDelay * backoffMultiplier^(failedAttempts - 1), at most maxRetryDelay.
+     *
+     * @param webhook Webhook with the retry configuration
+     * @param failedAttempts Number of failed attempts so far, at least 1
+     * @return Backoff in milliseconds
+     */
+    public long backoffMillis(WebhookDescriptor webhook, int failedAttempts) {
+        long initialDelay = webhook.initialRetryDelay() != null ? webhook.initialRetryDelay() : defaultRetryDelay;
+        long maxDelay = webhook.maxRetryDelay() != null ? webhook.maxRetryDelay() : defaultMaxRetryDelay;
+        double multiplier = webhook.backoffMultiplier() != null ? webhook.backoffMultiplier().doubleValue() : 2.0;
+        double backoff = initialDelay * Math.pow(Math.max(1.0, multiplier), Math.max(0, failedAttempts - 1));
+        return (long) Math.min(backoff, Math.max(initialDelay, maxDelay));
+    }
+
+    /**
+     * Backoff with jitter, uniformly distributed between (1 - jitter) * backoff and backoff.
+     *
+     * @param webhook Webhook with the retry configuration
+     * @param failedAttempts Number of failed attempts so far, at least 1
+     * @return Delay in milliseconds
+     */
+    public long delayMillis(WebhookDescriptor webhook, int failedAttempts) {
+        long backoff = backoffMillis(webhook, failedAttempts);
+        long jitterRange = (long) (backoff * jitter);
+        if (jitterRange <= 0) {
+            return backoff;
+        }
+        return backoff - ThreadLocalRandom.current().nextLong(jitterRange + 1);
+    }
+
+    /**
+     * Time of the next attempt of a failed delivery.
+     *
+     * @param webhook Webhook with the retry configuration
+     * @param failedAttempts Number of failed attempts so far
+     * @param now Time of the failure
+     * @return Time the delivery becomes due
+     */
+    public OffsetDateTime nextAttemptAt(WebhookDescriptor webhook, int failedAttempts, OffsetDateTime now) {
+        return now.plus(delayMillis(webhook, failedAttempts), ChronoUnit.MILLIS);
+    }
+
+    /**
+     * End of the lease of a delivery attempt in progress. A delivery still in progress after its lease,
+     * because the replica attempting it stopped, is due again.
+     *
+     * @param now Start of the attempt
+     * @return Lease deadline
+     */
+    public OffsetDateTime leaseUntil(OffsetDateTime now) {
+        return now.plus(leaseMillis, ChronoUnit.MILLIS);
+    }
+
+    public long getLeaseMillis() {
+        return leaseMillis;
+    }
+}
@@ -0,0 +1,149 @@
+package com.tsystems.dco.webhook.service;
+
+import com.tsystems.dco.webhook.entity.WebhookDelivery;
+import com.tsystems.dco.webhook.repository.WebhookDeliveryRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Dispatches due webhook deliveries: retries scheduled with backoff and attempts whose lease expired
+ * because the replica running them stopped.
+ *
+ * Deliveries are claimed in batches with SELECT ... FOR UPDATE SKIP LOCKED and leased to this replica,
+ * so any number of replicas share the work without attempting a delivery twice. A replica claims no more
+ * deliveries than it has idle workers, claimed deliveries never wait in a queue while their lease runs,
+ * the rest stays due for other replicas or the next poll. Each claim carries a new token, an attempt
+ * only starts and its outcome is only stored while the delivery still carries the token.
+ */
+@Component
+@Slf4j
+public class WebhookRetryScheduler {
+
+    private final WebhookDeliveryRepository webhookDeliveryRepository;
+    private final WebhookDeliveryService webhookDeliveryService;
+    private final WebhookRetryPolicy retryPolicy;
+    private final TransactionTemplate claimTransaction;
+    private final ThreadPoolExecutor workers;
+    private final int workerCount;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final int batchSize;
+
+    public WebhookRetryScheduler(WebhookDeliveryRepository webhookDeliveryRepository,
+                                 WebhookDeliveryService webhookDeliveryService,
+                                 WebhookRetryPolicy retryPolicy,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${app.webhook.retry.batch-size:50}") int batchSize,
+                                 @Value("${app.webhook.retry.workers:8}") int workerCount) {
+        this.webhookDeliveryRepository = webhookDeliveryRepository;
+        this.webhookDeliveryService = webhookDeliveryService;
+        this.retryPolicy = retryPolicy;
+        this.claimTransaction = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.workerCount = Math.max(1, workerCount);
+        // Own pool, retries of failing receivers cannot hold up the delivery of new events. The queue only
+        // hands over claimed deliveries, inFlight keeps them at the number of workers.
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(this.workerCount, this.workerCount, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "webhook-retry-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @Scheduled(fixedDelayString = "${app.webhook.retry.poll-interval:1000}")
+    public void dispatchDueDeliveries() {
+        int capacity;
+        while ((capacity = freeCapacity()) > 0) {
+            int limit = Math.min(batchSize, capacity);
+            UUID claimToken = UUID.randomUUID();
+            List<UUID> claimed = claimDueDeliveries(limit, claimToken);
+            claimed.forEach(deliveryId -> dispatch(deliveryId, claimToken));
+            if (claimed.size() < limit) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Claim due deliveries and lease them to this replica.
+     *
+     * @param limit Maximum number of deliveries
+     * @param claimToken Token stored on the claimed deliveries
+     * @return IDs of the claimed deliveries
+     */
+    List<UUID> claimDueDeliveries(int limit, UUID claimToken) {
+        OffsetDateTime now = OffsetDateTime.now();
+        List<UUID> claimed = claimTransaction.execute(status -> {
+            List<UUID> ids = webhookDeliveryRepository.lockDueDeliveries(now, limit);
+            if (!ids.isEmpty()) {
+                webhookDeliveryRepository.claimDeliveries(ids, WebhookDelivery.DeliveryStatus.IN_PROGRESS,
+                        retryPolicy.leaseUntil(now), claimToken);
+            }
+            return ids;
+        });
+        if (claimed != null && !claimed.isEmpty()) {
+            log.debug("Claimed {} due webhook deliveries", claimed.size());
+        }
+        return claimed == null ? List.of() : claimed;
+    }
+
+    private void dispatch(UUID deliveryId, UUID claimToken) {
+        inFlight.incrementAndGet();
+        try {
+            workers.execute(() -> {
+                try {
+                    retry(deliveryId, claimToken);
+                } finally {
+                    inFlight.decrementAndGet();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.decrementAndGet();
+            // Stays claimed until its lease expires
+            log.warn("Retry workers shut down, delivery {} is picked up after its lease", deliveryId);
+        }
+    }
+
+    /**
+     * Runs until the attempt is recorded, so the worker pool bounds the retries in flight.
+     */
+    private void retry(UUID deliveryId, UUID claimToken) {
+        try {
+            webhookDeliveryRepository.findWithWebhookById(deliveryId)
+                    .filter(delivery -> claimToken.equals(delivery.getClaimToken()))
+                    .ifPresentOrElse(delivery -> webhookDeliveryService.retryDelivery(delivery).join(),
+                            () -> log.debug("Delivery {} was claimed again before its retry started", deliveryId));
+        } catch (Exception e) {
+            log.error("Error retrying webhook delivery {}", deliveryId, e);
+        }
+    }
+
+    private int freeCapacity() {
+        return workerCount - inFlight.get();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        workers.shutdown();
+        if (!workers.awaitTermination(30, TimeUnit.SECONDS)) {
+            // Unfinished deliveries are retried by another replica once their lease expires
+            workers.shutdownNow();
+        }
+    }
+}
@@ -5,8 +5,10 @@ import com.tsystems.dco.webhook.entity.Webhook;
 import com.tsystems.dco.webhook.entity.WebhookEventType;
 import com.tsystems.dco.webhook.entity.WebhookHeader;
 import com.tsystems.dco.webhook.repository.WebhookRepository;
+import com.tsystems.dco.webhook.routing.WebhookSubscriptionsChangedEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpEntity;
@@ -28,6 +30,8 @@ public class WebhookService {
 
     private final WebhookRepository webhookRepository;
     private final RestTemplate restTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final WebhookDeliveryStats deliveryStats;
 
     @Transactional(readOnly = true)
     public WebhookPageResponse listWebhooks(Pageable pageable, String eventType, Boolean isActive) {
@@ -104,6 +108,7 @@ public class WebhookService {
         }
         
         savedWebhook = webhookRepository.save(savedWebhook);
+        eventPublisher.publishEvent(new WebhookSubscriptionsChangedEvent(savedWebhook.getId()));
         
         log.info("Created webhook: {} with ID: {}", savedWebhook.getName(), savedWebhook.getId());
         return mapToWebhookResponse(savedWebhook);
@@ -156,6 +161,7 @@ public class WebhookService {
         }
         
         Webhook savedWebhook = webhookRepository.save(webhook);
+        eventPublisher.publishEvent(new WebhookSubscriptionsChangedEvent(webhookId));
         
         log.info("Updated webhook: {}", webhookId);
         return mapToWebhookResponse(savedWebhook);
@@ -168,6 +174,7 @@ public class WebhookService {
         }
         
         webhookRepository.deleteById(webhookId);
+        eventPublisher.publishEvent(new WebhookSubscriptionsChangedEvent(webhookId));
         log.info("Deleted webhook: {}", webhookId);
     }
 
@@ -236,8 +243,12 @@ public class WebhookService {
         if (webhook.getUpdatedAt() != null) {
             response.setUpdatedAt(webhook.getUpdatedAt());
         }
-        if (webhook.getLastDeliveryAt() != null) {
-            response.setLastDeliveryAt(webhook.getLastDeliveryAt());
+        OffsetDateTime lastDeliveryAt = deliveryStats.unflushedLastDeliveryAt(webhook.getId());
+        if (lastDeliveryAt == null) {
+            lastDeliveryAt = webhook.getLastDeliveryAt();
+        }
+        if (lastDeliveryAt != null) {
+            response.setLastDeliveryAt(lastDeliveryAt);
         }
         
         // Map retry configuration
@@ -248,11 +259,13 @@ public class WebhookService {
         retryConfig.setMaxDelay(webhook.getMaxRetryDelay());
         response.setRetryConfig(retryConfig);
         
-        // Map delivery statistics
+        // Map delivery statistics, including deliveries not flushed to the database yet
+        long unflushedSuccessful = deliveryStats.unflushedSuccessful(webhook.getId());
+        long unflushedFailed = deliveryStats.unflushedFailed(webhook.getId());
         DeliveryStats stats = new DeliveryStats();
-        stats.setTotalDeliveries(webhook.getTotalDeliveries());
-        stats.setSuccessfulDeliveries(webhook.getSuccessfulDeliveries());
-        stats.setFailedDeliveries(webhook.getFailedDeliveries());
+        stats.setTotalDeliveries(withUnflushed(webhook.getTotalDeliveries(), unflushedSuccessful + unflushedFailed));
+        stats.setSuccessfulDeliveries(withUnflushed(webhook.getSuccessfulDeliveries(), unflushedSuccessful));
+        stats.setFailedDeliveries(withUnflushed(webhook.getFailedDeliveries(), unflushedFailed));
         response.setDeliveryStats(stats);
         
         // Map headers
@@ -275,4 +288,11 @@ public class WebhookService {
         
         return response;
     }
+
+    private static Integer withUnflushed(Integer stored, long unflushed) {
+        if (unflushed == 0) {
+            return stored;
+        }
+        return (int) ((stored != null ? stored : 0) + unflushed);
+    }
 }
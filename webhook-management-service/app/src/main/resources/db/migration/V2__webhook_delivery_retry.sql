@@ -0,0 +1,12 @@
+-- Each claim of a delivery, by the replica sending its first attempt or by a retry scheduler, gets a
+-- new token. The outcome of an attempt is only stored while the row still carries its token, so an
+-- attempt that outlived its lease cannot overwrite the delivery after another replica claimed it.
+ALTER TABLE webhook_deliveries ADD COLUMN IF NOT EXISTS claim_token uuid;
+
+-- Due deliveries are claimed by the retry scheduler of every replica with
+--   SELECT ... WHERE status IN ('PENDING', 'RETRY', 'IN_PROGRESS') AND next_retry_at <= now
+--   ORDER BY next_retry_at LIMIT n FOR UPDATE SKIP LOCKED
+-- Only open deliveries are indexed, finished ones make up most of the table.
+CREATE INDEX IF NOT EXISTS idx_webhook_deliveries_due
+  ON webhook_deliveries(next_retry_at)
+  WHERE status IN ('PENDING', 'RETRY', 'IN_PROGRESS');
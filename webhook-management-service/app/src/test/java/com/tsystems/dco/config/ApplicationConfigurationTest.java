@@ -0,0 +1,55 @@
+package com.tsystems.dco.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.YamlPropertiesFactoryBean;
+import org.springframework.core.io.ClassPathResource;
+
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Parses the packaged application.yml and checks that settings sit under the keys their beans read.
+ */
+public class ApplicationConfigurationTest {
+
+    private Properties properties;
+
+    @BeforeEach
+    void setUp() {
+        YamlPropertiesFactoryBean yaml = new YamlPropertiesFactoryBean();
+        yaml.setResources(new ClassPathResource("application.yml"));
+        properties = yaml.getObject();
+    }
+
+    @Test
+    void listener_shouldKeepRetryAndAcknowledgeMode() {
+        assertEquals("true", properties.getProperty("spring.rabbitmq.listener.simple.retry.enabled"));
+        assertEquals("2s", properties.getProperty("spring.rabbitmq.listener.simple.retry.initial-interval"));
+        assertEquals("3", properties.getProperty("spring.rabbitmq.listener.simple.retry.max-attempts"));
+        assertEquals("auto", properties.getProperty("spring.rabbitmq.listener.simple.acknowledge-mode"));
+    }
+
+    @Test
+    void httpClient_shouldBeConfiguredUnderAppWebhookHttp() {
+        assertEquals("5000", properties.getProperty("app.webhook.http.connect-timeout"));
+        assertEquals("20", properties.getProperty("app.webhook.http.max-connections-per-host"));
+        assertEquals("30000", properties.getProperty("app.webhook.http.max-queue-wait"));
+        assertEquals("8", properties.getProperty("app.webhook.http.threads"));
+        assertEquals("true", properties.getProperty("app.webhook.http.http2"));
+    }
+
+    @Test
+    void prefetch_shouldBeReadByTheListenerContainerFactory() {
+        assertEquals("10", properties.getProperty("spring.rabbitmq.listener.simple.prefetch"));
+    }
+
+    @Test
+    void deliveryExecutor_shouldBeConfiguredUnderAppWebhookDelivery() {
+        assertEquals("16", properties.getProperty("app.webhook.delivery.workers"));
+        assertEquals("200", properties.getProperty("app.webhook.delivery.max-pending-events"));
+        assertEquals("20", properties.getProperty("app.webhook.delivery.max-in-flight-per-webhook"));
+        assertEquals("false", properties.getProperty("app.webhook.delivery.virtual-threads"));
+    }
+}
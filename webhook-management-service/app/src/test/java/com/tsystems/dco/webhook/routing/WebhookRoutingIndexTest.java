@@ -0,0 +1,115 @@
+package com.tsystems.dco.webhook.routing;
+
+import com.tsystems.dco.webhook.entity.Webhook;
+import com.tsystems.dco.webhook.entity.WebhookEventType;
+import com.tsystems.dco.webhook.entity.WebhookHeader;
+import com.tsystems.dco.webhook.repository.WebhookRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class WebhookRoutingIndexTest {
+
+    @Mock
+    private WebhookRepository webhookRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private WebhookRoutingIndex routingIndex;
+
+    @BeforeEach
+    void setUp() {
+        routingIndex = new WebhookRoutingIndex(webhookRepository, transactionManager);
+    }
+
+    @Test
+    void resolve_shouldMatchExactAndWildcardSubscriptions() {
+        Webhook created = webhook("created", "SCENARIO_CREATED");
+        Webhook simulations = webhook("simulations", "simulation.*");
+        Webhook all = webhook("all", "*");
+        when(webhookRepository.findActiveWebhooksWithSubscriptions()).thenReturn(List.of(created, simulations, all));
+
+        assertEquals(List.of(created.getId(), all.getId()), ids(routingIndex.resolve("SCENARIO_CREATED")));
+        assertEquals(List.of(all.getId(), simulations.getId()), ids(routingIndex.resolve("simulation.started")));
+        assertEquals(List.of(all.getId()), ids(routingIndex.resolve("simulation")));
+        assertEquals(List.of(all.getId()), ids(routingIndex.resolve("TRACK_DELETED")));
+    }
+
+    @Test
+    void resolve_shouldReturnWebhookOnceForOverlappingSubscriptions() {
+        Webhook webhook = webhook("overlapping", "simulation.started", "simulation.*", "sim*");
+        when(webhookRepository.findActiveWebhooksWithSubscriptions()).thenReturn(List.of(webhook));
+
+        List<WebhookDescriptor> resolved = routingIndex.resolve("simulation.started");
+
+        assertEquals(1, resolved.size());
+        assertEquals("secret-token", resolved.get(0).headers().get("Authorization"));
+        assertSame(resolved, routingIndex.resolve("simulation.started"));
+        assertThrows(UnsupportedOperationException.class, () -> resolved.add(resolved.get(0)));
+    }
+
+    @Test
+    void rebuild_shouldReplaceRoutes() {
+        Webhook before = webhook("before", "SCENARIO_CREATED");
+        Webhook after = webhook("after", "SCENARIO_CREATED");
+        when(webhookRepository.findActiveWebhooksWithSubscriptions()).thenReturn(List.of(before), List.of(after));
+
+        assertEquals(List.of(before.getId()), ids(routingIndex.resolve("SCENARIO_CREATED")));
+
+        routingIndex.rebuild();
+
+        assertEquals(List.of(after.getId()), ids(routingIndex.resolve("SCENARIO_CREATED")));
+        assertTrue(routingIndex.findWebhook(before.getId()).isEmpty());
+        assertEquals("after", routingIndex.findWebhook(after.getId()).orElseThrow().name());
+    }
+
+    @Test
+    void refresh_shouldKeepRoutesWhenLoadingFails() {
+        Webhook webhook = webhook("kept", "SCENARIO_CREATED");
+        when(webhookRepository.findActiveWebhooksWithSubscriptions())
+            .thenReturn(List.of(webhook))
+            .thenThrow(new IllegalStateException("database unavailable"));
+
+        routingIndex.rebuild();
+        routingIndex.refresh();
+
+        assertEquals(List.of(webhook.getId()), ids(routingIndex.resolve("SCENARIO_CREATED")));
+        verify(webhookRepository, times(2)).findActiveWebhooksWithSubscriptions();
+    }
+
+    private static Webhook webhook(String name, String... eventTypes) {
+        Webhook webhook = new Webhook();
+        webhook.setId(UUID.randomUUID());
+        webhook.setName(name);
+        webhook.setUrl("http://test.com/" + name);
+        WebhookHeader header = new WebhookHeader();
+        header.setHeaderName("Authorization");
+        header.setHeaderValue("secret-token");
+        webhook.getHeaders().add(header);
+        for (String eventType : eventTypes) {
+            WebhookEventType type = new WebhookEventType();
+            type.setEventType(eventType);
+            webhook.getEventTypes().add(type);
+        }
+        return webhook;
+    }
+
+    private static List<UUID> ids(List<WebhookDescriptor> webhooks) {
+        return webhooks.stream().map(WebhookDescriptor::id).toList();
+    }
+}
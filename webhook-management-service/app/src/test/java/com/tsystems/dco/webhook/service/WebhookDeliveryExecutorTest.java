@@ -0,0 +1,83 @@
+package com.tsystems.dco.webhook.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class WebhookDeliveryExecutorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private WebhookDeliveryExecutor executor;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        executor.shutdown();
+    }
+
+    @Test
+    void submit_shouldBlockWhileSaturatedUntilAnEventIsDelivered() throws Exception {
+        executor = new WebhookDeliveryExecutor(meterRegistry, 2, 1, 10, false);
+        CompletableFuture<Void> firstDelivery = new CompletableFuture<>();
+        CountDownLatch secondStarted = new CountDownLatch(1);
+
+        executor.submit(() -> firstDelivery);
+        Thread listener = new Thread(() -> executor.submit(() -> {
+            secondStarted.countDown();
+            return CompletableFuture.completedFuture(null);
+        }));
+        listener.start();
+
+        // The listener is held back while the first event is in delivery
+        assertFalse(secondStarted.await(200, TimeUnit.MILLISECONDS));
+        assertEquals(1, executor.getPendingEvents());
+        assertEquals(1.0, meterRegistry.get("webhook.delivery.pending.events").gauge().value());
+
+        firstDelivery.complete(null);
+
+        assertTrue(secondStarted.await(5, TimeUnit.SECONDS));
+        listener.join(5000);
+        assertFalse(listener.isAlive());
+    }
+
+    @Test
+    void submit_shouldReleaseCapacityWhenDeliveryFailsToStart() throws Exception {
+        executor = new WebhookDeliveryExecutor(meterRegistry, 1, 1, 10, false);
+        CountDownLatch secondStarted = new CountDownLatch(1);
+
+        executor.submit(() -> {
+            throw new IllegalStateException("database unavailable");
+        });
+        executor.submit(() -> {
+            secondStarted.countDown();
+            return CompletableFuture.completedFuture(null);
+        });
+
+        assertTrue(secondStarted.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void tryEnter_shouldLimitInFlightAttemptsPerWebhook() {
+        executor = new WebhookDeliveryExecutor(meterRegistry, 1, 1, 2, false);
+        UUID slowWebhook = UUID.randomUUID();
+        UUID otherWebhook = UUID.randomUUID();
+
+        assertTrue(executor.tryEnter(slowWebhook));
+        assertTrue(executor.tryEnter(slowWebhook));
+        assertFalse(executor.tryEnter(slowWebhook));
+        // Other webhooks are not affected
+        assertTrue(executor.tryEnter(otherWebhook));
+
+        executor.leave(slowWebhook);
+
+        assertTrue(executor.tryEnter(slowWebhook));
+    }
+}
@@ -1,26 +1,36 @@
 package com.tsystems.dco.webhook.service;
-import org.springframework.http.HttpEntity;
 import java.util.List;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.tsystems.dco.webhook.entity.Webhook;
 import com.tsystems.dco.webhook.entity.WebhookDelivery;
+import com.tsystems.dco.webhook.metrics.WebhookMetricsService;
 import com.tsystems.dco.webhook.repository.WebhookRepository;
 import com.tsystems.dco.webhook.repository.WebhookDeliveryRepository;
+import com.tsystems.dco.webhook.routing.WebhookDescriptor;
+import com.tsystems.dco.webhook.routing.WebhookRoutingIndex;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.http.HttpMethod;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
-import org.springframework.web.client.RestTemplate;
 
+import java.net.ConnectException;
+import java.net.http.HttpResponse;
+import java.time.OffsetDateTime;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,9 +41,19 @@ public class WebhookDeliveryServiceTest {
     @Mock
     private WebhookDeliveryRepository webhookDeliveryRepository;
     @Mock
-    private RestTemplate restTemplate;
+    private WebhookHttpClient webhookHttpClient;
     @Mock
     private ObjectMapper objectMapper;
+    @Mock
+    private WebhookMetricsService metricsService;
+    @Mock
+    private WebhookRetryPolicy retryPolicy;
+    @Mock
+    private WebhookDeliveryExecutor deliveryExecutor;
+    @Mock
+    private WebhookRoutingIndex routingIndex;
+    @Mock
+    private WebhookDeliveryStats deliveryStats;
 
     @InjectMocks
     private WebhookDeliveryService deliveryService;
@@ -63,19 +83,25 @@ public class WebhookDeliveryServiceTest {
         String eventType = "SCENARIO_CREATED";
 
         // 2. Mock Repository Calls (Find webhooks and save the initial delivery record)
-        when(webhookRepository.findActiveWebhooksByEventType(eventType))
-            .thenReturn(List.of(mockWebhook));
+        when(routingIndex.resolve(eventType))
+            .thenReturn(List.of(WebhookDescriptor.from(mockWebhook)));
         
         when(webhookDeliveryRepository.save(any(WebhookDelivery.class)))
             .thenReturn(mockDelivery); // Mock the initial save
+        when(webhookDeliveryRepository.saveIfClaimed(mockDelivery)).thenReturn(true);
 
         // 3. Mock ObjectMapper (for payload JSON serialization)
         when(objectMapper.writeValueAsString(any())).thenReturn("{\"data\":\"test\"}");
 
-        // 4. Mock RestTemplate (to simulate success)
-        when(restTemplate.exchange(
-            any(String.class), eq(HttpMethod.POST), any(HttpEntity.class), eq(String.class)
-        )).thenReturn(new ResponseEntity<>("SUCCESS", HttpStatus.OK));
+        // 4. Run the delivery in the calling thread and admit it to the webhook's bulkhead
+        doAnswer(invocation -> invocation.<Supplier<CompletableFuture<Void>>>getArgument(0).get())
+            .when(deliveryExecutor).submit(any());
+        when(deliveryExecutor.tryEnter(mockWebhook.getId())).thenReturn(true);
+
+        // 5. Mock the HTTP client (to simulate success)
+        HttpResponse<String> response = response(200, "SUCCESS");
+        when(webhookHttpClient.post(eq("http://test.com/hook"), anyMap(), any(String.class)))
+            .thenReturn(CompletableFuture.completedFuture(response));
 
         // --- ACT ---
         // Call the public method that orchestrates the entire flow
@@ -83,9 +109,188 @@ public class WebhookDeliveryServiceTest {
 
         // --- ASSERT ---
         // 1. Verify that the delivery status was updated to SUCCESS
-        verify(webhookDeliveryRepository, times(2)).save(any(WebhookDelivery.class)); // 1st save is PENDING, 2nd is SUCCESS
+        verify(webhookDeliveryRepository, times(1)).save(any(WebhookDelivery.class)); // 1st save is PENDING
+        verify(webhookDeliveryRepository, times(1)).saveIfClaimed(mockDelivery); // 2nd is SUCCESS, guarded by the claim
 
         // 2. Verify that the webhook statistics were updated
-        verify(webhookRepository, times(1)).save(any(Webhook.class)); 
+        verify(deliveryStats, times(1)).recordSuccess(eq(mockWebhook.getId()), any(OffsetDateTime.class));
+
+        // 3. Verify that the bulkhead slot was freed
+        verify(deliveryExecutor).leave(mockWebhook.getId());
+    }
+
+    @Test
+    void retryDelivery_shouldScheduleNextAttemptWhileRetriesLeft() throws Exception {
+        Webhook webhook = retryWebhook();
+        WebhookDescriptor descriptor = WebhookDescriptor.from(webhook);
+        WebhookDelivery delivery = retryDelivery(webhook, 1);
+        OffsetDateTime nextAttemptAt = OffsetDateTime.now().plusSeconds(10);
+        when(routingIndex.findWebhook(webhook.getId())).thenReturn(Optional.of(descriptor));
+        when(deliveryExecutor.tryEnter(webhook.getId())).thenReturn(true);
+
+        when(objectMapper.writeValueAsString(any())).thenReturn("{\"data\":\"test\"}");
+        when(webhookHttpClient.post(any(String.class), anyMap(), any(String.class)))
+            .thenReturn(CompletableFuture.failedFuture(new ConnectException("Connection refused")));
+        when(retryPolicy.nextAttemptAt(eq(descriptor), eq(2), any(OffsetDateTime.class))).thenReturn(nextAttemptAt);
+        when(webhookDeliveryRepository.saveIfClaimed(delivery)).thenReturn(true);
+
+        deliveryService.retryDelivery(delivery).join();
+
+        assertEquals(WebhookDelivery.DeliveryStatus.RETRY, delivery.getStatus());
+        assertEquals(2, delivery.getAttemptCount());
+        assertEquals(nextAttemptAt, delivery.getNextRetryAt());
+        assertNull(delivery.getCompletedAt());
+        verify(metricsService).incrementDeliveryRetry("SCENARIO_CREATED");
+        verify(webhookDeliveryRepository).saveIfClaimed(delivery);
+        // Not final yet, webhook statistics are unchanged
+        verify(deliveryStats, never()).recordFailure(any());
+    }
+
+    @Test
+    void retryDelivery_shouldFailWhenAttemptsAreUsedUp() throws Exception {
+        Webhook webhook = retryWebhook();
+        WebhookDelivery delivery = retryDelivery(webhook, 2);
+        when(routingIndex.findWebhook(webhook.getId())).thenReturn(Optional.of(WebhookDescriptor.from(webhook)));
+        when(deliveryExecutor.tryEnter(webhook.getId())).thenReturn(true);
+
+        when(objectMapper.writeValueAsString(any())).thenReturn("{\"data\":\"test\"}");
+        HttpResponse<String> response = response(503, "unavailable");
+        when(webhookHttpClient.post(any(String.class), anyMap(), any(String.class)))
+            .thenReturn(CompletableFuture.completedFuture(response));
+        when(webhookDeliveryRepository.saveIfClaimed(delivery)).thenReturn(true);
+
+        deliveryService.retryDelivery(delivery).join();
+
+        assertEquals(WebhookDelivery.DeliveryStatus.FAILED, delivery.getStatus());
+        assertNull(delivery.getNextRetryAt());
+        assertNotNull(delivery.getCompletedAt());
+        verify(retryPolicy, never()).nextAttemptAt(any(), anyInt(), any());
+        verify(deliveryStats).recordFailure(webhook.getId());
+    }
+
+    @Test
+    void retryDelivery_shouldCancelForInactiveWebhook() {
+        Webhook webhook = retryWebhook();
+        webhook.setIsActive(false);
+        WebhookDelivery delivery = retryDelivery(webhook, 1);
+        // Inactive webhooks are not in the routing index
+        when(routingIndex.findWebhook(webhook.getId())).thenReturn(Optional.empty());
+
+        deliveryService.retryDelivery(delivery).join();
+
+        assertEquals(WebhookDelivery.DeliveryStatus.CANCELLED, delivery.getStatus());
+        assertNull(delivery.getNextRetryAt());
+        verify(webhookHttpClient, never()).post(any(), any(), any());
+        verify(webhookDeliveryRepository).saveIfClaimed(delivery);
+    }
+
+    @Test
+    void retryDelivery_shouldDropOutcomeWhenClaimWasLost() throws Exception {
+        Webhook webhook = retryWebhook();
+        WebhookDelivery delivery = retryDelivery(webhook, 2);
+        when(routingIndex.findWebhook(webhook.getId())).thenReturn(Optional.of(WebhookDescriptor.from(webhook)));
+        when(deliveryExecutor.tryEnter(webhook.getId())).thenReturn(true);
+        when(objectMapper.writeValueAsString(any())).thenReturn("{\"data\":\"test\"}");
+        HttpResponse<String> response = response(200, "OK");
+        when(webhookHttpClient.post(any(String.class), anyMap(), any(String.class)))
+            .thenReturn(CompletableFuture.completedFuture(response));
+        // Lease expired during the attempt and another replica claimed the delivery
+        when(webhookDeliveryRepository.saveIfClaimed(delivery)).thenReturn(false);
+
+        deliveryService.retryDelivery(delivery).join();
+
+        verify(deliveryStats, never()).recordSuccess(any(), any());
+        verify(deliveryExecutor).leave(webhook.getId());
+    }
+
+    @Test
+    void deliverToSubscribers_shouldNotWaitForSlowSubscriber() throws Exception {
+        Webhook slow = retryWebhook();
+        slow.setUrl("http://slow.test/hook");
+        Webhook fast = retryWebhook();
+        fast.setUrl("http://fast.test/hook");
+
+        when(routingIndex.resolve("SCENARIO_CREATED"))
+            .thenReturn(List.of(WebhookDescriptor.from(slow), WebhookDescriptor.from(fast)));
+        when(deliveryExecutor.tryEnter(any())).thenReturn(true);
+        when(webhookDeliveryRepository.save(any(WebhookDelivery.class))).thenAnswer(invocation -> {
+            WebhookDelivery delivery = invocation.getArgument(0);
+            if (delivery.getId() == null) {
+                delivery.setId(java.util.UUID.randomUUID());
+            }
+            return delivery;
+        });
+        when(webhookDeliveryRepository.saveIfClaimed(any(WebhookDelivery.class))).thenReturn(true);
+        when(objectMapper.writeValueAsString(any())).thenReturn("{\"data\":\"test\"}");
+        CompletableFuture<HttpResponse<String>> slowResponse = new CompletableFuture<>();
+        HttpResponse<String> fastResponse = response(204, "");
+        HttpResponse<String> lateResponse = response(200, "OK");
+        when(webhookHttpClient.post(eq("http://slow.test/hook"), anyMap(), any(String.class))).thenReturn(slowResponse);
+        when(webhookHttpClient.post(eq("http://fast.test/hook"), anyMap(), any(String.class)))
+            .thenReturn(CompletableFuture.completedFuture(fastResponse));
+
+        CompletableFuture<Void> deliveries = deliveryService.deliverToSubscribers("event-123", "SCENARIO_CREATED", Map.of("data", "test"));
+
+        // Both requests are in flight, the fast one is recorded while the slow one is pending
+        verify(webhookHttpClient).post(eq("http://slow.test/hook"), anyMap(), any(String.class));
+        verify(deliveryStats).recordSuccess(eq(fast.getId()), any(OffsetDateTime.class));
+        verify(deliveryStats, never()).recordSuccess(eq(slow.getId()), any(OffsetDateTime.class));
+        assertFalse(deliveries.isDone());
+
+        slowResponse.complete(lateResponse);
+
+        assertTrue(deliveries.isDone());
+        verify(deliveryStats).recordSuccess(eq(slow.getId()), any(OffsetDateTime.class));
+    }
+
+    @Test
+    void deliverToSubscribers_shouldDeferDeliveryWhenBulkheadIsFull() {
+        Webhook webhook = retryWebhook();
+        WebhookDescriptor descriptor = WebhookDescriptor.from(webhook);
+        OffsetDateTime nextAttemptAt = OffsetDateTime.now().plusSeconds(5);
+        when(routingIndex.resolve("SCENARIO_CREATED")).thenReturn(List.of(descriptor));
+        when(deliveryExecutor.tryEnter(webhook.getId())).thenReturn(false);
+        when(retryPolicy.nextAttemptAt(eq(descriptor), eq(1), any(OffsetDateTime.class))).thenReturn(nextAttemptAt);
+        when(webhookDeliveryRepository.save(any(WebhookDelivery.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        deliveryService.deliverToSubscribers("event-123", "SCENARIO_CREATED", Map.of("data", "test")).join();
+
+        ArgumentCaptor<WebhookDelivery> saved = ArgumentCaptor.forClass(WebhookDelivery.class);
+        verify(webhookDeliveryRepository).save(saved.capture());
+        assertEquals(WebhookDelivery.DeliveryStatus.RETRY, saved.getValue().getStatus());
+        assertEquals(0, saved.getValue().getAttemptCount());
+        assertEquals(nextAttemptAt, saved.getValue().getNextRetryAt());
+        verify(webhookHttpClient, never()).post(any(), any(), any());
+        verify(deliveryExecutor, never()).leave(any());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static HttpResponse<String> response(int statusCode, String body) {
+        HttpResponse<String> response = mock(HttpResponse.class);
+        when(response.statusCode()).thenReturn(statusCode);
+        when(response.body()).thenReturn(body);
+        return response;
+    }
+
+    private static Webhook retryWebhook() {
+        Webhook webhook = new Webhook();
+        webhook.setId(java.util.UUID.randomUUID());
+        webhook.setName("Retry Hook");
+        webhook.setUrl("http://test.com/hook");
+        return webhook;
+    }
+
+    private static WebhookDelivery retryDelivery(Webhook webhook, int attemptCount) {
+        WebhookDelivery delivery = new WebhookDelivery();
+        delivery.setId(java.util.UUID.randomUUID());
+        delivery.setWebhook(webhook);
+        delivery.setEventId("event-123");
+        delivery.setEventType("SCENARIO_CREATED");
+        delivery.setStatus(WebhookDelivery.DeliveryStatus.IN_PROGRESS);
+        delivery.setPayload(Map.of("data", "test"));
+        delivery.setAttemptCount(attemptCount);
+        delivery.setMaxAttempts(3);
+        delivery.setClaimToken(java.util.UUID.randomUUID());
+        return delivery;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,119 @@
+package com.tsystems.dco.webhook.service;
+
+import com.tsystems.dco.webhook.repository.WebhookRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class WebhookDeliveryStatsTest {
+
+    @Mock
+    private WebhookRepository webhookRepository;
+
+    @InjectMocks
+    private WebhookDeliveryStats deliveryStats;
+
+    @Test
+    void flush_shouldWriteAggregatedDeltasOncePerWebhook() throws Exception {
+        UUID webhookId = UUID.randomUUID();
+        OffsetDateTime latest = OffsetDateTime.now();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Thread thread = new Thread(() -> {
+                for (int j = 0; j < 1000; j++) {
+                    deliveryStats.recordSuccess(webhookId, latest.minusSeconds(j));
+                    if (j % 4 == 0) {
+                        deliveryStats.recordFailure(webhookId);
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        when(webhookRepository.addDeliveryStats(webhookId, 4000, 1000, latest)).thenReturn(1);
+
+        assertEquals(4000, deliveryStats.unflushedSuccessful(webhookId));
+        assertEquals(1000, deliveryStats.unflushedFailed(webhookId));
+        assertEquals(latest, deliveryStats.unflushedLastDeliveryAt(webhookId));
+
+        deliveryStats.flush();
+        deliveryStats.flush();
+
+        verify(webhookRepository, times(1)).addDeliveryStats(webhookId, 4000, 1000, latest);
+        assertEquals(0, deliveryStats.unflushedSuccessful(webhookId));
+        assertNull(deliveryStats.unflushedLastDeliveryAt(webhookId));
+    }
+
+    @Test
+    void flush_shouldKeepDeltasWhenWriteFails() {
+        UUID webhookId = UUID.randomUUID();
+        deliveryStats.recordFailure(webhookId);
+        deliveryStats.recordFailure(webhookId);
+        when(webhookRepository.addDeliveryStats(webhookId, 0, 2, null))
+            .thenThrow(new IllegalStateException("database unavailable"));
+
+        deliveryStats.flush();
+
+        assertEquals(2, deliveryStats.unflushedFailed(webhookId));
+
+        deliveryStats.recordFailure(webhookId);
+        when(webhookRepository.addDeliveryStats(webhookId, 0, 3, null)).thenReturn(1);
+
+        deliveryStats.flush();
+
+        verify(webhookRepository).addDeliveryStats(webhookId, 0, 3, null);
+        assertEquals(0, deliveryStats.unflushedFailed(webhookId));
+    }
+
+    @Test
+    void flush_shouldNotLoseDeliveriesCountedWhileFlushing() throws Exception {
+        UUID webhookId = UUID.randomUUID();
+        AtomicLong flushedSuccessful = new AtomicLong();
+        AtomicLong flushedFailed = new AtomicLong();
+        when(webhookRepository.addDeliveryStats(eq(webhookId), anyInt(), anyInt(), any())).thenAnswer(invocation -> {
+            flushedSuccessful.addAndGet(invocation.<Integer>getArgument(1));
+            flushedFailed.addAndGet(invocation.<Integer>getArgument(2));
+            return 1;
+        });
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Thread thread = new Thread(() -> {
+                for (int j = 0; j < 50000; j++) {
+                    deliveryStats.recordSuccess(webhookId, OffsetDateTime.now());
+                    deliveryStats.recordFailure(webhookId);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        while (threads.stream().anyMatch(Thread::isAlive)) {
+            deliveryStats.flush();
+        }
+        deliveryStats.flush();
+
+        assertEquals(200000, flushedSuccessful.get());
+        assertEquals(200000, flushedFailed.get());
+        assertEquals(0, deliveryStats.unflushedSuccessful(webhookId));
+    }
+}
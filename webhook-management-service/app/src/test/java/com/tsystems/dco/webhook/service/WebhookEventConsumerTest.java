@@ -2,19 +2,23 @@
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tsystems.dco.webhook.metrics.WebhookMetricsService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.ImmediateRequeueAmqpException;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @ExtendWith(MockitoExtension.class)
 public class WebhookEventConsumerTest {
@@ -22,6 +26,9 @@ public class WebhookEventConsumerTest {
     @Mock
     private WebhookDeliveryService webhookDeliveryService;
 
+    @Mock
+    private WebhookMetricsService metricsService;
+
     @InjectMocks
     private WebhookEventConsumer webhookEventConsumer;
 
@@ -97,4 +104,19 @@ public class WebhookEventConsumerTest {
             eq(eventData)
         );
     }
+
+    // --- TEST 5: Back-pressure (Event not accepted for delivery) ---
+    @Test
+    void handleSimulationEvent_rejectedDelivery_shouldRequeueEvent() {
+        // Arrange
+        Map<String, Object> eventData = new HashMap<>();
+        eventData.put("eventId", "789");
+        eventData.put("eventType", "SIMULATION_COMPLETED");
+        doThrow(new RejectedExecutionException("interrupted"))
+            .when(webhookDeliveryService).deliverEventToWebhooks("789", "SIMULATION_COMPLETED", eventData);
+
+        // Act & Assert
+        // The event is not acknowledged, so the broker delivers it again
+        assertThrows(ImmediateRequeueAmqpException.class, () -> webhookEventConsumer.handleSimulationEvent(eventData));
+    }
 }
@@ -0,0 +1,136 @@
+package com.tsystems.dco.webhook.service;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class WebhookHttpClientTest {
+
+    private HttpServer receiver;
+    private final AtomicReference<String> receivedSignature = new AtomicReference<>();
+    private final AtomicReference<String> receivedBody = new AtomicReference<>();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        receiver = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        receiver.createContext("/hook", exchange -> {
+            receivedSignature.set(exchange.getRequestHeaders().getFirst("X-SDV-Signature"));
+            receivedBody.set(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            byte[] response = "accepted".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(202, response.length);
+            exchange.getResponseBody().write(response);
+            exchange.close();
+        });
+        receiver.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        receiver.stop(0);
+    }
+
+    @Test
+    void post_shouldDeliverPayloadAndHeaders() throws Exception {
+        WebhookHttpClient client = new WebhookHttpClient(1000, 5000, 5000, 4, 2, true);
+
+        HttpResponse<String> response = client.post(receiverUrl(),
+                Map.of("Content-Type", "application/json", "X-SDV-Signature", "sha256=abc"),
+                "{\"data\":\"test\"}").get(10, TimeUnit.SECONDS);
+
+        assertEquals(202, response.statusCode());
+        assertEquals("accepted", response.body());
+        assertEquals("sha256=abc", receivedSignature.get());
+        assertEquals("{\"data\":\"test\"}", receivedBody.get());
+    }
+
+    @Test
+    void post_shouldFailFutureForInvalidUrl() {
+        WebhookHttpClient client = new WebhookHttpClient(1000, 5000, 5000, 4, 2, true);
+
+        ExecutionException error = assertThrows(ExecutionException.class,
+                () -> client.post("not a url", Map.of(), "{}").get(10, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalArgumentException.class, error.getCause());
+    }
+
+    @Test
+    void hostLimiter_shouldStartQueuedRequestsAsRunningOnesComplete() {
+        WebhookHttpClient.HostLimiter limiter = new WebhookHttpClient.HostLimiter(2, Duration.ofSeconds(10));
+        List<CompletableFuture<String>> calls = new ArrayList<>();
+        List<CompletableFuture<String>> results = new ArrayList<>();
+
+        for (int i = 0; i < 3; i++) {
+            results.add(limiter.submit(() -> {
+                CompletableFuture<String> call = new CompletableFuture<>();
+                calls.add(call);
+                return call;
+            }));
+        }
+
+        assertEquals(2, calls.size());
+        assertEquals(2, limiter.inFlight());
+        assertEquals(1, limiter.waiting());
+
+        calls.get(0).complete("first");
+
+        assertEquals("first", results.get(0).join());
+        assertEquals(3, calls.size());
+        assertEquals(2, limiter.inFlight());
+        assertEquals(0, limiter.waiting());
+
+        calls.get(1).completeExceptionally(new IOException("reset"));
+        calls.get(2).complete("third");
+
+        assertTrue(results.get(1).isCompletedExceptionally());
+        assertEquals("third", results.get(2).join());
+        assertEquals(0, limiter.inFlight());
+    }
+
+    @Test
+    void hostLimiter_shouldFailRequestsQueuedLongerThanMaxWait() {
+        WebhookHttpClient.HostLimiter limiter = new WebhookHttpClient.HostLimiter(1, Duration.ofMillis(50));
+        List<CompletableFuture<String>> calls = new ArrayList<>();
+        Supplier<CompletableFuture<String>> call = () -> {
+            CompletableFuture<String> started = new CompletableFuture<>();
+            calls.add(started);
+            return started;
+        };
+
+        CompletableFuture<String> running = limiter.submit(call);
+        CompletableFuture<String> queued = limiter.submit(call);
+
+        ExecutionException error = assertThrows(ExecutionException.class, () -> queued.get(10, TimeUnit.SECONDS));
+        assertInstanceOf(HttpTimeoutException.class, error.getCause());
+        assertEquals(0, limiter.waiting());
+
+        calls.get(0).complete("first");
+
+        assertEquals("first", running.join());
+        assertEquals(1, calls.size());
+        assertEquals(0, limiter.inFlight());
+    }
+
+    private String receiverUrl() {
+        return "http://127.0.0.1:" + receiver.getAddress().getPort() + "/hook";
+    }
+}
@@ -0,0 +1,71 @@
+package com.tsystems.dco.webhook.service;
+
+import com.tsystems.dco.webhook.routing.WebhookDescriptor;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class WebhookRetryPolicyTest {
+
+    private final WebhookRetryPolicy noJitter = new WebhookRetryPolicy(5000, 300000, 0, 120000);
+    private final WebhookRetryPolicy halfJitter = new WebhookRetryPolicy(5000, 300000, 0.5, 120000);
+
+    @Test
+    void backoff_shouldGrowExponentiallyFromWebhookConfiguration() {
+        WebhookDescriptor webhook = webhook(1000, "3.0", 60000);
+
+        assertEquals(1000, noJitter.backoffMillis(webhook, 1));
+        assertEquals(3000, noJitter.backoffMillis(webhook, 2));
+        assertEquals(9000, noJitter.backoffMillis(webhook, 3));
+        assertEquals(27000, noJitter.backoffMillis(webhook, 4));
+    }
+
+    @Test
+    void backoff_shouldBeCappedAtMaxRetryDelay() {
+        WebhookDescriptor webhook = webhook(1000, "2.0", 10000);
+
+        assertEquals(10000, noJitter.backoffMillis(webhook, 5));
+        assertEquals(10000, noJitter.backoffMillis(webhook, 5000));
+    }
+
+    @Test
+    void backoff_shouldFallBackToDefaults() {
+        WebhookDescriptor webhook = webhook(null, null, null);
+
+        assertEquals(5000, noJitter.backoffMillis(webhook, 1));
+        assertEquals(10000, noJitter.backoffMillis(webhook, 2));
+        assertEquals(300000, noJitter.backoffMillis(webhook, 100));
+    }
+
+    @Test
+    void delay_shouldStayWithinJitterRange() {
+        WebhookDescriptor webhook = webhook(1000, "2.0", 60000);
+
+        for (int i = 0; i < 1000; i++) {
+            long delay = halfJitter.delayMillis(webhook, 3);
+            assertTrue(delay >= 2000 && delay <= 4000, "delay " + delay);
+        }
+        assertEquals(4000, noJitter.delayMillis(webhook, 3));
+    }
+
+    @Test
+    void nextAttemptAt_andLease_shouldBeRelativeToNow() {
+        WebhookDescriptor webhook = webhook(1000, "2.0", 60000);
+        OffsetDateTime now = OffsetDateTime.now();
+
+        assertEquals(now.plusSeconds(2), noJitter.nextAttemptAt(webhook, 2, now));
+        assertEquals(now.plusMinutes(2), noJitter.leaseUntil(now));
+    }
+
+    private static WebhookDescriptor webhook(Integer initialRetryDelay, String backoffMultiplier, Integer maxRetryDelay) {
+        return new WebhookDescriptor(UUID.randomUUID(), "Retry Hook", "http://test.com/hook", null, Map.of(), Set.of(), 3,
+                initialRetryDelay, backoffMultiplier == null ? null : new BigDecimal(backoffMultiplier), maxRetryDelay);
+    }
+}
@@ -0,0 +1,139 @@
+package com.tsystems.dco.webhook.service;
+
+import com.tsystems.dco.webhook.entity.Webhook;
+import com.tsystems.dco.webhook.entity.WebhookDelivery;
+import com.tsystems.dco.webhook.repository.WebhookDeliveryRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class WebhookRetrySchedulerTest {
+
+    @Mock
+    private WebhookDeliveryRepository webhookDeliveryRepository;
+    @Mock
+    private WebhookDeliveryService webhookDeliveryService;
+    @Mock
+    private WebhookRetryPolicy retryPolicy;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private WebhookRetryScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new WebhookRetryScheduler(webhookDeliveryRepository, webhookDeliveryService, retryPolicy,
+                transactionManager, 2, 2);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        scheduler.shutdown();
+    }
+
+    @Test
+    void dispatchDueDeliveries_shouldClaimAndRetryDueDeliveries() {
+        WebhookDelivery first = delivery();
+        WebhookDelivery second = delivery();
+        OffsetDateTime leaseUntil = OffsetDateTime.now().plusMinutes(2);
+        when(retryPolicy.leaseUntil(any(OffsetDateTime.class))).thenReturn(leaseUntil);
+        when(webhookDeliveryRepository.lockDueDeliveries(any(OffsetDateTime.class), eq(2)))
+            .thenReturn(List.of(first.getId(), second.getId()))
+            .thenReturn(List.of());
+        when(webhookDeliveryRepository.claimDeliveries(eq(List.of(first.getId(), second.getId())),
+            eq(WebhookDelivery.DeliveryStatus.IN_PROGRESS), eq(leaseUntil), any(UUID.class)))
+            .thenAnswer(invocation -> {
+                first.setClaimToken(invocation.getArgument(3));
+                second.setClaimToken(invocation.getArgument(3));
+                return 2;
+            });
+        when(webhookDeliveryRepository.findWithWebhookById(first.getId())).thenReturn(Optional.of(first));
+        when(webhookDeliveryRepository.findWithWebhookById(second.getId())).thenReturn(Optional.of(second));
+        when(webhookDeliveryService.retryDelivery(any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        scheduler.dispatchDueDeliveries();
+
+        verify(webhookDeliveryService, timeout(5000)).retryDelivery(first);
+        verify(webhookDeliveryService, timeout(5000)).retryDelivery(second);
+    }
+
+    @Test
+    void dispatchDueDeliveries_shouldNotClaimMoreThanIdleWorkers() throws Exception {
+        WebhookDelivery first = delivery();
+        WebhookDelivery second = delivery();
+        CompletableFuture<Void> firstAttempt = new CompletableFuture<>();
+        CompletableFuture<Void> secondAttempt = new CompletableFuture<>();
+        when(retryPolicy.leaseUntil(any(OffsetDateTime.class))).thenReturn(OffsetDateTime.now().plusMinutes(2));
+        when(webhookDeliveryRepository.lockDueDeliveries(any(OffsetDateTime.class), eq(2)))
+            .thenReturn(List.of(first.getId(), second.getId()));
+        when(webhookDeliveryRepository.claimDeliveries(any(), any(), any(), any(UUID.class))).thenAnswer(invocation -> {
+            first.setClaimToken(invocation.getArgument(3));
+            second.setClaimToken(invocation.getArgument(3));
+            return 2;
+        });
+        when(webhookDeliveryRepository.findWithWebhookById(first.getId())).thenReturn(Optional.of(first));
+        when(webhookDeliveryRepository.findWithWebhookById(second.getId())).thenReturn(Optional.of(second));
+        when(webhookDeliveryService.retryDelivery(first)).thenReturn(firstAttempt);
+        when(webhookDeliveryService.retryDelivery(second)).thenReturn(secondAttempt);
+
+        scheduler.dispatchDueDeliveries();
+        verify(webhookDeliveryService, timeout(5000)).retryDelivery(second);
+
+        // Both workers are busy, nothing is claimed to wait for them
+        scheduler.dispatchDueDeliveries();
+
+        verify(webhookDeliveryRepository, times(1)).lockDueDeliveries(any(OffsetDateTime.class), anyInt());
+        firstAttempt.complete(null);
+        secondAttempt.complete(null);
+    }
+
+    @Test
+    void dispatchDueDeliveries_shouldSkipDeliveryClaimedAgain() {
+        WebhookDelivery delivery = delivery();
+        when(retryPolicy.leaseUntil(any(OffsetDateTime.class))).thenReturn(OffsetDateTime.now().plusMinutes(2));
+        when(webhookDeliveryRepository.lockDueDeliveries(any(OffsetDateTime.class), eq(2)))
+            .thenReturn(List.of(delivery.getId()));
+        // Claimed by another replica between the claim and loading the delivery
+        delivery.setClaimToken(UUID.randomUUID());
+        when(webhookDeliveryRepository.findWithWebhookById(delivery.getId())).thenReturn(Optional.of(delivery));
+
+        scheduler.dispatchDueDeliveries();
+
+        verify(webhookDeliveryRepository, timeout(5000)).findWithWebhookById(delivery.getId());
+        verify(webhookDeliveryService, after(200).never()).retryDelivery(any());
+    }
+
+    @Test
+    void dispatchDueDeliveries_shouldNotClaimWithoutDueDeliveries() {
+        when(webhookDeliveryRepository.lockDueDeliveries(any(OffsetDateTime.class), anyInt())).thenReturn(List.of());
+
+        scheduler.dispatchDueDeliveries();
+
+        verify(webhookDeliveryRepository, times(1)).lockDueDeliveries(any(OffsetDateTime.class), anyInt());
+        verify(webhookDeliveryRepository, never()).claimDeliveries(any(), any(), any(), any());
+        verifyNoInteractions(webhookDeliveryService);
+    }
+
+    private static WebhookDelivery delivery() {
+        WebhookDelivery delivery = new WebhookDelivery();
+        delivery.setId(UUID.randomUUID());
+        delivery.setWebhook(new Webhook());
+        return delivery;
+    }
+}
@@ -6,16 +6,20 @@ import com.tsystems.dco.webhook.entity.Webhook;
 import com.tsystems.dco.webhook.entity.WebhookEventType;
 import com.tsystems.dco.webhook.entity.WebhookHeader;
 import com.tsystems.dco.webhook.repository.WebhookRepository;
+import com.tsystems.dco.webhook.routing.WebhookSubscriptionsChangedEvent;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.web.client.RestTemplate;
 
 import java.net.URI;
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -37,6 +41,12 @@ public class WebhookServiceTest {
     @Mock
     private RestTemplate restTemplate;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private WebhookDeliveryStats deliveryStats;
+
     // Inject mocks into the class under test
     @InjectMocks
     private WebhookService webhookService;
@@ -79,6 +89,9 @@ public class WebhookServiceTest {
         assertEquals(300000, response.getRetryConfig().getMaxDelay(), "Default maxDelay should be 300000.");
         
         assertNotNull(response.getId(), "The created webhook should have an ID.");
+
+        // Verify that the routing index is invalidated
+        verify(eventPublisher).publishEvent(new WebhookSubscriptionsChangedEvent(expectedId));
     }
 
     // ------------------------------------------------------------------
@@ -143,4 +156,54 @@ public class WebhookServiceTest {
         // Verify that the event types were persisted and mapped back.
         assertEquals(2, response.getEventTypes().size(), "Should have 2 event types.");
     }
-}
\ No newline at end of file
+
+    // ------------------------------------------------------------------
+    // TEST 3: Check Routing Invalidation on Delete
+    // ------------------------------------------------------------------
+
+    @Test
+    void deleteWebhook_shouldInvalidateRouting() {
+        // Arrange
+        UUID webhookId = UUID.randomUUID();
+        when(webhookRepository.existsById(webhookId)).thenReturn(true);
+
+        // Act
+        webhookService.deleteWebhook(webhookId);
+
+        // Assert
+        verify(webhookRepository).deleteById(webhookId);
+        verify(eventPublisher).publishEvent(new WebhookSubscriptionsChangedEvent(webhookId));
+    }
+
+    // ------------------------------------------------------------------
+    // TEST 4: Check Delivery Statistics Include Unflushed Counts
+    // ------------------------------------------------------------------
+
+    @Test
+    void getWebhook_shouldAddUnflushedDeliveryStats() {
+        // Arrange
+        Webhook webhook = new Webhook();
+        webhook.setId(UUID.randomUUID());
+        webhook.setName("Counted Webhook");
+        webhook.setUrl("http://test.com/hook");
+        webhook.setTotalDeliveries(10);
+        webhook.setSuccessfulDeliveries(8);
+        webhook.setFailedDeliveries(2);
+        webhook.setLastDeliveryAt(OffsetDateTime.now().minusHours(1));
+        OffsetDateTime unflushedLastDeliveryAt = OffsetDateTime.now();
+
+        when(webhookRepository.findById(webhook.getId())).thenReturn(Optional.of(webhook));
+        when(deliveryStats.unflushedSuccessful(webhook.getId())).thenReturn(3L);
+        when(deliveryStats.unflushedFailed(webhook.getId())).thenReturn(1L);
+        when(deliveryStats.unflushedLastDeliveryAt(webhook.getId())).thenReturn(unflushedLastDeliveryAt);
+
+        // Act
+        WebhookResponse response = webhookService.getWebhook(webhook.getId());
+
+        // Assert
+        assertEquals(14, response.getDeliveryStats().getTotalDeliveries());
+        assertEquals(11, response.getDeliveryStats().getSuccessfulDeliveries());
+        assertEquals(3, response.getDeliveryStats().getFailedDeliveries());
+        assertEquals(unflushedLastDeliveryAt, response.getLastDeliveryAt());
+    }
+}